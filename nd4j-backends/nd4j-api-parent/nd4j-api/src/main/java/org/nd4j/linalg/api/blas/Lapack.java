@@ -36,4 +36,91 @@ public interface Lapack {
      */
     void getri(int N, INDArray A, int lda, int[] IPIV, INDArray WORK, int lwork, int INFO);
 
-}
\ No newline at end of file
+    // solve a general system given its LU decomposition
+
+    /**
+     * Solve A * X = B (or A' * X = B) given the LU decomposition of A
+     * as computed by {@link #getrf(int, int, INDArray, int, int[], int)}.
+     * B is overwritten by the solution.
+     * @param trans 'N' to solve A * X = B, 'T' to solve A' * X = B
+     * @param N
+     * @param NRHS the number of right hand sides (columns of B)
+     * @param A
+     * @param lda
+     * @param IPIV
+     * @param B
+     * @param ldb
+     * @param INFO
+     */
+    void getrs(char trans, int N, int NRHS, INDArray A, int lda, int[] IPIV, INDArray B, int ldb, int INFO);
+
+    // cholesky decomposition of a symmetric positive definite matrix
+
+    /**
+     * Cholesky decomposition of a symmetric positive definite matrix:
+     * the given triangle of A is overwritten by L (A = L * L') for uplo 'L'
+     * or by U (A = U' * U) for uplo 'U'. The other triangle is not referenced.
+     * @param uplo
+     * @param N
+     * @param A
+     * @param lda
+     * @param INFO
+     */
+    void potrf(char uplo, int N, INDArray A, int lda, int INFO);
+
+    // solve a symmetric positive definite system given its cholesky decomposition
+
+    /**
+     * Solve A * X = B given the cholesky decomposition of A
+     * as computed by {@link #potrf(char, int, INDArray, int, int)}.
+     * B is overwritten by the solution.
+     * @param uplo
+     * @param N
+     * @param NRHS the number of right hand sides (columns of B)
+     * @param A
+     * @param lda
+     * @param B
+     * @param ldb
+     * @param INFO
+     */
+    void potrs(char uplo, int N, int NRHS, INDArray A, int lda, INDArray B, int ldb, int INFO);
+
+    // eigen decomposition of a symmetric matrix
+
+    /**
+     * All eigenvalues (and optionally eigenvectors) of a symmetric matrix.
+     * Only the given triangle of A is referenced.
+     * @param jobz 'N' for eigenvalues only, 'V' to also overwrite A with the eigenvectors (as columns)
+     * @param uplo
+     * @param N
+     * @param A
+     * @param lda
+     * @param W filled with the N eigenvalues in ascending order
+     * @param INFO
+     */
+    void syevd(char jobz, char uplo, int N, INDArray A, int lda, INDArray W, int INFO);
+
+    /**
+     * Selected eigenvalues (and optionally eigenvectors) of a symmetric matrix.
+     * Only the given triangle of A is referenced, A is destroyed.
+     * @param jobz 'N' for eigenvalues only, 'V' to also compute the eigenvectors in to Z
+     * @param range 'A' for all eigenvalues, 'V' for the eigenvalues in (vl, vu],
+     *              'I' for the il-th through iu-th (1 based, ascending) eigenvalues
+     * @param uplo
+     * @param N
+     * @param A
+     * @param lda
+     * @param vl
+     * @param vu
+     * @param il
+     * @param iu
+     * @param W filled with the selected eigenvalues in ascending order
+     * @param Z filled with the eigenvectors of the selected eigenvalues (as columns)
+     * @param ldz
+     * @param INFO
+     * @return the number of eigenvalues found
+     */
+    int syevr(char jobz, char range, char uplo, int N, INDArray A, int lda, double vl, double vu, int il, int iu,
+              INDArray W, INDArray Z, int ldz, int INFO);
+
+}
@@ -3,6 +3,10 @@ package org.nd4j.linalg.api.blas;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.quantized.QuantizedMatrix;
+import org.nd4j.linalg.api.ops.TransformOp;
+
+import java.util.List;
 
 /**
  
@@ -52,6 +56,68 @@ public interface Level3 {
      */
     void gemm(INDArray A, INDArray B, INDArray C, boolean transposeA, boolean transposeB, double alpha, double beta );
 
+    /**
+     * C = alpha*op(A)*op(B) + beta*C computed in java by cache blocked,
+     * fork join parallel tiles (and Strassen-Winograd for large enough matrices),
+     * for when blas isn't available or as a reference for it.
+     * A, B and C may be of any order, offset and stride: nothing is copied up front.
+     */
+    void gemmTiled(INDArray A, INDArray B, INDArray C, boolean transposeA, boolean transposeB, double alpha, double beta);
+
+    /**
+     * Quantized gemm for inference: C = A * B' for 8 bit A (m x k) and B (n x k),
+     * accumulated in 32 bit integers and scaled back to real values in to C (m x n).
+     * B is usually a weight matrix with one row (and per row scale) per output.
+     */
+    void gemmQuantized(QuantizedMatrix A, QuantizedMatrix B, INDArray C);
+
+    /**
+     * Quantized gemm for inference: A * B' for 8 bit A (m x k) and B (n x k),
+     * accumulated in 32 bit integers and requantized to 8 bits
+     * with the given (per tensor) scale and zero point.
+     */
+    QuantizedMatrix gemmQuantized(QuantizedMatrix A, QuantizedMatrix B, double scale, int zeroPoint);
+
+    /** gemm with a fused epilogue, as used by dense layers:
+     * C = activation(alpha*op(A)*op(B) + beta*C + bias)
+     * with the bias row vector added to every row.
+     * C is computed in blocks of columns and the bias and activation are applied
+     * to each block right after it is computed, while it is still in cache.
+     * C MUST be f order (see {@link #gemm(INDArray, INDArray, INDArray, boolean, boolean, double, double)}).
+     * The activation is rebound to every block and is left bound to the last one.
+     * @param bias row vector with one entry per column of C (may be null)
+     * @param activation transform applied in place to C (may be null)
+     */
+    void gemm(INDArray A, INDArray B, INDArray C, boolean transposeA, boolean transposeB, double alpha, double beta, INDArray bias, TransformOp activation);
+
+    /**
+     * Batched gemm: C[i] = alpha*op(A[i])*op(B[i]) + beta*C[i] for every i.
+     * All matrices of a batch must have the same shape, which is validated once for the whole batch.
+     * The products are computed in parallel. Matrices of any order and offset are accepted,
+     * non contiguous ones are copied.
+     * @param A the left matrices
+     * @param B the right matrices
+     * @param C the result matrices
+     * @param transposeA whether to transpose the A matrices
+     * @param transposeB whether to transpose the B matrices
+     * @param alpha the scale of the products
+     * @param beta the scale of the existing values of C
+     */
+    void gemmBatched(List<INDArray> A, List<INDArray> B, List<INDArray> C, boolean transposeA, boolean transposeB, double alpha, double beta);
+
+    /**
+     * Strided batched gemm over rank 3 arrays, with the batch being the first dimension:
+     * C[i,:,:] = alpha*op(A[i,:,:])*op(B[i,:,:]) + beta*C[i,:,:]
+     * @param A the left matrices, of shape [batch, rows, columns]
+     * @param B the right matrices, of shape [batch, rows, columns]
+     * @param C the result matrices, of shape [batch, rows, columns]
+     * @param transposeA whether to transpose the A matrices
+     * @param transposeB whether to transpose the B matrices
+     * @param alpha the scale of the products
+     * @param beta the scale of the existing values of C
+     */
+    void gemmBatched(INDArray A, INDArray B, INDArray C, boolean transposeA, boolean transposeB, double alpha, double beta);
+
 
     /**
      * her2k performs a rank-2k update of an n-by-n Hermitian matrix c, that is, one of the following operations:
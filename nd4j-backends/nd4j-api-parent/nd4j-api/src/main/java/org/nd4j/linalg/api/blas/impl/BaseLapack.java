@@ -3,12 +3,486 @@ package org.nd4j.linalg.api.blas.impl;
 import org.nd4j.linalg.api.blas.Lapack;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
 
 /**
  * Base lapack define float and double versions.
  *
+ * The LU routines ({@link #getrf}, {@link #getri}, {@link #getrs}),
+ * the cholesky routines ({@link #potrf}, {@link #potrs}) and the
+ * symmetric eigensolvers ({@link #syevd}, {@link #syevr}) have
+ * plain java implementations here, for column major matrices
+ * with the given leading dimension, which backends may
+ * override with native routines.
+ *
  * @author Adam Gibson
  */
 public  abstract  class BaseLapack implements Lapack {
 
+    /**
+     * LU decomposition of a matrix with partial pivoting.
+     * A is overwritten by L (unit diagonal, not stored) and U,
+     * IPIV holds the (1 based) row each row was swapped with.
+     *
+     * @param M
+     * @param N
+     * @param A
+     * @param lda
+     * @param IPIV
+     * @param INFO
+     */
+    @Override
+    public void getrf(int M, int N, INDArray A, int lda, int[] IPIV, int INFO) {
+        Nd4j.getExecutioner().commit();
+        DataBuffer a = A.data();
+        int min = Math.min(M, N);
+        for (int j = 0; j < min; j++) {
+            int pivot = j;
+            double max = Math.abs(a.getDouble(j + j * lda));
+            for (int i = j + 1; i < M; i++) {
+                double val = Math.abs(a.getDouble(i + j * lda));
+                if (val > max) {
+                    max = val;
+                    pivot = i;
+                }
+            }
+            IPIV[j] = pivot + 1;
+
+            if (pivot != j) {
+                for (int k = 0; k < N; k++) {
+                    double tmp = a.getDouble(j + k * lda);
+                    a.put(j + k * lda, a.getDouble(pivot + k * lda));
+                    a.put(pivot + k * lda, tmp);
+                }
+            }
+
+            double diag = a.getDouble(j + j * lda);
+            if (diag == 0)
+                throw new IllegalArgumentException("Matrix is singular");
+
+            for (int i = j + 1; i < M; i++)
+                a.put(i + j * lda, a.getDouble(i + j * lda) / diag);
+
+            for (int k = j + 1; k < N; k++) {
+                double ujk = a.getDouble(j + k * lda);
+                if (ujk == 0)
+                    continue;
+                for (int i = j + 1; i < M; i++)
+                    a.put(i + k * lda, a.getDouble(i + k * lda) - a.getDouble(i + j * lda) * ujk);
+            }
+        }
+    }
+
+    /**
+     * Generate inverse given LU decomp
+     * (as computed by {@link #getrf(int, int, INDArray, int, int[], int)}).
+     * The work array is not used.
+     *
+     * @param N
+     * @param A
+     * @param lda
+     * @param IPIV
+     * @param WORK
+     * @param lwork
+     * @param INFO
+     */
+    @Override
+    public void getri(int N, INDArray A, int lda, int[] IPIV, INDArray WORK, int lwork, int INFO) {
+        Nd4j.getExecutioner().commit();
+        DataBuffer a = A.data();
+        double[] lu = new double[N * N];
+        for (int j = 0; j < N; j++)
+            for (int i = 0; i < N; i++)
+                lu[i + j * N] = a.getDouble(i + j * lda);
+
+        double[] column = new double[N];
+        for (int j = 0; j < N; j++) {
+            //column j of the identity with the row swaps of the factorization applied
+            for (int i = 0; i < N; i++)
+                column[i] = i == j ? 1 : 0;
+            for (int i = 0; i < N; i++) {
+                int swap = IPIV[i] - 1;
+                if (swap != i) {
+                    double tmp = column[i];
+                    column[i] = column[swap];
+                    column[swap] = tmp;
+                }
+            }
+
+            //forward substitution with the unit lower triangle
+            for (int i = 0; i < N; i++) {
+                double sum = column[i];
+                for (int k = 0; k < i; k++)
+                    sum -= lu[i + k * N] * column[k];
+                column[i] = sum;
+            }
+
+            //back substitution with the upper triangle
+            for (int i = N - 1; i >= 0; i--) {
+                double sum = column[i];
+                for (int k = i + 1; k < N; k++)
+                    sum -= lu[i + k * N] * column[k];
+                column[i] = sum / lu[i + i * N];
+            }
+
+            for (int i = 0; i < N; i++)
+                a.put(i + j * lda, column[i]);
+        }
+    }
+
+    @Override
+    public void getrs(char trans, int N, int NRHS, INDArray A, int lda, int[] IPIV, INDArray B, int ldb, int INFO) {
+        Nd4j.getExecutioner().commit();
+        DataBuffer a = A.data();
+        DataBuffer b = B.data();
+        boolean transpose = trans == 'T' || trans == 't' || trans == 'C' || trans == 'c';
+        for (int c = 0; c < NRHS; c++) {
+            int col = c * ldb;
+            if (!transpose) {
+                //P * L * U * x = b: apply the row swaps, then L (unit diagonal), then U
+                for (int i = 0; i < N; i++)
+                    swap(b, col + i, col + IPIV[i] - 1);
+                for (int i = 0; i < N; i++) {
+                    double sum = b.getDouble(col + i);
+                    for (int k = 0; k < i; k++)
+                        sum -= a.getDouble(i + k * lda) * b.getDouble(col + k);
+                    b.put(col + i, sum);
+                }
+                for (int i = N - 1; i >= 0; i--) {
+                    double sum = b.getDouble(col + i);
+                    for (int k = i + 1; k < N; k++)
+                        sum -= a.getDouble(i + k * lda) * b.getDouble(col + k);
+                    b.put(col + i, sum / a.getDouble(i + i * lda));
+                }
+            } else {
+                //U' * L' * P' * x = b: solve with U', then L', then undo the row swaps
+                for (int i = 0; i < N; i++) {
+                    double sum = b.getDouble(col + i);
+                    for (int k = 0; k < i; k++)
+                        sum -= a.getDouble(k + i * lda) * b.getDouble(col + k);
+                    b.put(col + i, sum / a.getDouble(i + i * lda));
+                }
+                for (int i = N - 1; i >= 0; i--) {
+                    double sum = b.getDouble(col + i);
+                    for (int k = i + 1; k < N; k++)
+                        sum -= a.getDouble(k + i * lda) * b.getDouble(col + k);
+                    b.put(col + i, sum);
+                }
+                for (int i = N - 1; i >= 0; i--)
+                    swap(b, col + i, col + IPIV[i] - 1);
+            }
+        }
+    }
+
+    @Override
+    public void potrf(char uplo, int N, INDArray A, int lda, int INFO) {
+        Nd4j.getExecutioner().commit();
+        DataBuffer a = A.data();
+        boolean upper = uplo == 'U' || uplo == 'u';
+        for (int j = 0; j < N; j++) {
+            double diag = a.getDouble(lower(upper, j, j, lda));
+            for (int k = 0; k < j; k++) {
+                double ljk = a.getDouble(lower(upper, j, k, lda));
+                diag -= ljk * ljk;
+            }
+            if (diag <= 0)
+                throw new IllegalArgumentException("Matrix is not positive definite");
+            diag = Math.sqrt(diag);
+            a.put(lower(upper, j, j, lda), diag);
+
+            for (int i = j + 1; i < N; i++) {
+                double sum = a.getDouble(lower(upper, i, j, lda));
+                for (int k = 0; k < j; k++)
+                    sum -= a.getDouble(lower(upper, i, k, lda)) * a.getDouble(lower(upper, j, k, lda));
+                a.put(lower(upper, i, j, lda), sum / diag);
+            }
+        }
+    }
+
+    @Override
+    public void potrs(char uplo, int N, int NRHS, INDArray A, int lda, INDArray B, int ldb, int INFO) {
+        Nd4j.getExecutioner().commit();
+        DataBuffer a = A.data();
+        DataBuffer b = B.data();
+        boolean upper = uplo == 'U' || uplo == 'u';
+        for (int c = 0; c < NRHS; c++) {
+            int col = c * ldb;
+            //L * y = b
+            for (int i = 0; i < N; i++) {
+                double sum = b.getDouble(col + i);
+                for (int k = 0; k < i; k++)
+                    sum -= a.getDouble(lower(upper, i, k, lda)) * b.getDouble(col + k);
+                b.put(col + i, sum / a.getDouble(lower(upper, i, i, lda)));
+            }
+            //L' * x = y
+            for (int i = N - 1; i >= 0; i--) {
+                double sum = b.getDouble(col + i);
+                for (int k = i + 1; k < N; k++)
+                    sum -= a.getDouble(lower(upper, k, i, lda)) * b.getDouble(col + k);
+                b.put(col + i, sum / a.getDouble(lower(upper, i, i, lda)));
+            }
+        }
+    }
+
+    @Override
+    public void syevd(char jobz, char uplo, int N, INDArray A, int lda, INDArray W, int INFO) {
+        Nd4j.getExecutioner().commit();
+        boolean vectors = jobz == 'V' || jobz == 'v';
+        double[][] v = readSymmetric(uplo, N, A.data(), lda);
+        double[] values = symmetricEigen(v, vectors);
+        DataBuffer w = W.data();
+        for (int i = 0; i < N; i++)
+            w.put(i, values[i]);
+        if (vectors)
+            write(v, 0, N, A.data(), lda);
+    }
+
+    @Override
+    public int syevr(char jobz, char range, char uplo, int N, INDArray A, int lda, double vl, double vu, int il, int iu,
+                     INDArray W, INDArray Z, int ldz, int INFO) {
+        Nd4j.getExecutioner().commit();
+        boolean vectors = jobz == 'V' || jobz == 'v';
+        double[][] v = readSymmetric(uplo, N, A.data(), lda);
+        double[] values = symmetricEigen(v, vectors);
+
+        int begin = 0, end = N;
+        if (range == 'I' || range == 'i') {
+            if (il < 1 || iu > N || il > iu)
+                throw new IllegalArgumentException("Invalid eigenvalue index range [" + il + ", " + iu + "] for a matrix of order " + N);
+            begin = il - 1;
+            end = iu;
+        } else if (range == 'V' || range == 'v') {
+            while (begin < N && values[begin] <= vl)
+                begin++;
+            end = begin;
+            while (end < N && values[end] <= vu)
+                end++;
+        }
+
+        DataBuffer w = W.data();
+        for (int i = begin; i < end; i++)
+            w.put(i - begin, values[i]);
+        if (vectors)
+            write(v, begin, end, Z.data(), ldz);
+        return end - begin;
+    }
+
+    /**
+     * A full copy of the symmetric matrix stored in the given triangle of a
+     */
+    private static double[][] readSymmetric(char uplo, int N, DataBuffer a, int lda) {
+        boolean upper = uplo == 'U' || uplo == 'u';
+        double[][] ret = new double[N][N];
+        for (int j = 0; j < N; j++)
+            for (int i = 0; i <= j; i++) {
+                double value = upper ? a.getDouble(i + j * lda) : a.getDouble(j + i * lda);
+                ret[i][j] = value;
+                ret[j][i] = value;
+            }
+        return ret;
+    }
+
+    /**
+     * Write columns [begin, end) of v as the columns of a column major matrix
+     */
+    private static void write(double[][] v, int begin, int end, DataBuffer buffer, int ld) {
+        for (int j = begin; j < end; j++)
+            for (int i = 0; i < v.length; i++)
+                buffer.put(i + (j - begin) * ld, v[i][j]);
+    }
+
+    /**
+     * Eigen decomposition of a symmetric matrix by householder reduction to tridiagonal form
+     * followed by the implicit QL algorithm (the EISPACK tred2 and tql2 routines).
+     * @param v the symmetric matrix, overwritten by the eigenvectors (as columns) when asked for
+     * @param vectors whether to accumulate the eigenvectors
+     * @return the eigenvalues in ascending order
+     */
+    private static double[] symmetricEigen(double[][] v, boolean vectors) {
+        int n = v.length;
+        double[] d = new double[n];
+        double[] e = new double[n];
+        if (n == 0)
+            return d;
+
+        //householder reduction to tridiagonal form
+        for (int j = 0; j < n; j++)
+            d[j] = v[n - 1][j];
+        for (int i = n - 1; i > 0; i--) {
+            double scale = 0, h = 0;
+            for (int k = 0; k < i; k++)
+                scale += Math.abs(d[k]);
+            if (scale == 0) {
+                e[i] = d[i - 1];
+                for (int j = 0; j < i; j++) {
+                    d[j] = v[i - 1][j];
+                    v[i][j] = 0;
+                    v[j][i] = 0;
+                }
+            } else {
+                for (int k = 0; k < i; k++) {
+                    d[k] /= scale;
+                    h += d[k] * d[k];
+                }
+                double f = d[i - 1];
+                double g = Math.sqrt(h);
+                if (f > 0)
+                    g = -g;
+                e[i] = scale * g;
+                h -= f * g;
+                d[i - 1] = f - g;
+                for (int j = 0; j < i; j++)
+                    e[j] = 0;
+                for (int j = 0; j < i; j++) {
+                    f = d[j];
+                    v[j][i] = f;
+                    g = e[j] + v[j][j] * f;
+                    for (int k = j + 1; k <= i - 1; k++) {
+                        g += v[k][j] * d[k];
+                        e[k] += v[k][j] * f;
+                    }
+                    e[j] = g;
+                }
+                f = 0;
+                for (int j = 0; j < i; j++) {
+                    e[j] /= h;
+                    f += e[j] * d[j];
+                }
+                double hh = f / (h + h);
+                for (int j = 0; j < i; j++)
+                    e[j] -= hh * d[j];
+                for (int j = 0; j < i; j++) {
+                    f = d[j];
+                    g = e[j];
+                    for (int k = j; k <= i - 1; k++)
+                        v[k][j] -= f * e[k] + g * d[k];
+                    d[j] = v[i - 1][j];
+                    v[i][j] = 0;
+                }
+            }
+            d[i] = h;
+        }
+
+        //accumulate the transformations
+        for (int i = 0; i < n - 1; i++) {
+            v[n - 1][i] = v[i][i];
+            v[i][i] = 1;
+            double h = d[i + 1];
+            if (h != 0) {
+                for (int k = 0; k <= i; k++)
+                    d[k] = v[k][i + 1] / h;
+                for (int j = 0; j <= i; j++) {
+                    double g = 0;
+                    for (int k = 0; k <= i; k++)
+                        g += v[k][i + 1] * v[k][j];
+                    for (int k = 0; k <= i; k++)
+                        v[k][j] -= g * d[k];
+                }
+            }
+            for (int k = 0; k <= i; k++)
+                v[k][i + 1] = 0;
+        }
+        for (int j = 0; j < n; j++) {
+            d[j] = v[n - 1][j];
+            v[n - 1][j] = 0;
+        }
+        v[n - 1][n - 1] = 1;
+        e[0] = 0;
+
+        //implicit QL on the tridiagonal matrix
+        for (int i = 1; i < n; i++)
+            e[i - 1] = e[i];
+        e[n - 1] = 0;
+        double f = 0, tst1 = 0;
+        double eps = Math.pow(2.0, -52.0);
+        for (int l = 0; l < n; l++) {
+            tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+            int m = l;
+            while (m < n - 1 && Math.abs(e[m]) > eps * tst1)
+                m++;
+            if (m > l) {
+                do {
+                    double g = d[l];
+                    double p = (d[l + 1] - g) / (2 * e[l]);
+                    double r = Math.hypot(p, 1);
+                    if (p < 0)
+                        r = -r;
+                    d[l] = e[l] / (p + r);
+                    d[l + 1] = e[l] * (p + r);
+                    double dl1 = d[l + 1];
+                    double h = g - d[l];
+                    for (int i = l + 2; i < n; i++)
+                        d[i] -= h;
+                    f += h;
+
+                    p = d[m];
+                    double c = 1, c2 = c, c3 = c;
+                    double el1 = e[l + 1];
+                    double s = 0, s2 = 0;
+                    for (int i = m - 1; i >= l; i--) {
+                        c3 = c2;
+                        c2 = c;
+                        s2 = s;
+                        g = c * e[i];
+                        h = c * p;
+                        r = Math.hypot(p, e[i]);
+                        e[i + 1] = s * r;
+                        s = e[i] / r;
+                        c = p / r;
+                        p = c * d[i] - s * g;
+                        d[i + 1] = h + s * (c * g + s * d[i]);
+                        if (vectors) {
+                            for (int k = 0; k < n; k++) {
+                                h = v[k][i + 1];
+                                v[k][i + 1] = s * v[k][i] + c * h;
+                                v[k][i] = c * v[k][i] - s * h;
+                            }
+                        }
+                    }
+                    p = -s * s2 * c3 * el1 * e[l] / dl1;
+                    e[l] = s * p;
+                    d[l] = c * p;
+                } while (Math.abs(e[l]) > eps * tst1);
+            }
+            d[l] += f;
+            e[l] = 0;
+        }
+
+        //selection sort of the eigenpairs, ascending
+        for (int i = 0; i < n - 1; i++) {
+            int min = i;
+            for (int j = i + 1; j < n; j++)
+                if (d[j] < d[min])
+                    min = j;
+            if (min != i) {
+                double tmp = d[i];
+                d[i] = d[min];
+                d[min] = tmp;
+                if (vectors) {
+                    for (int k = 0; k < n; k++) {
+                        tmp = v[k][i];
+                        v[k][i] = v[k][min];
+                        v[k][min] = tmp;
+                    }
+                }
+            }
+        }
+        return d;
+    }
+
+    /**
+     * The index of element (i, j) of the lower triangular cholesky factor,
+     * which is stored transposed when the upper triangle is used
+     */
+    private static int lower(boolean upper, int i, int j, int lda) {
+        return upper ? j + i * lda : i + j * lda;
+    }
+
+    private static void swap(DataBuffer buffer, int i, int j) {
+        if (i == j)
+            return;
+        double tmp = buffer.getDouble(i);
+        buffer.put(i, buffer.getDouble(j));
+        buffer.put(j, tmp);
+    }
 }
@@ -9,6 +9,10 @@ import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Base class for level 1 functions, abstract headers pulled from:
@@ -17,6 +21,9 @@ import org.nd4j.linalg.factory.Nd4j;
  * @author Adam Gibson
  */
 public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
+    private static Logger log = LoggerFactory.getLogger(BaseLevel1.class);
+    private final static AtomicBoolean TUNED = new AtomicBoolean(false);
+
     /**
      * computes a vector-vector dot product.
      *
@@ -28,13 +35,19 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
      */
     @Override
     public double dot(int n, double alpha, INDArray X, INDArray Y) {
+        Nd4j.getExecutioner().commit();
+        if(useJava(n))
+            return JavaBlas.dot(n,X.data(),0,BlasBufferUtil.getBlasStride(X),Y.data(),0,BlasBufferUtil.getBlasStride(Y));
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
-            return ddot(n,X,BlasBufferUtil.getBlasStride(X),Y,BlasBufferUtil.getBlasStride(X));
-        return sdot(n,X,BlasBufferUtil.getBlasStride(X),Y,BlasBufferUtil.getBlasStride(X));
+            return ddot(n,X,BlasBufferUtil.getBlasStride(X),Y,BlasBufferUtil.getBlasStride(Y));
+        return sdot(n,X,BlasBufferUtil.getBlasStride(X),Y,BlasBufferUtil.getBlasStride(Y));
     }
 
     @Override
     public double dot(int n, DataBuffer x, int offsetX, int incrX, DataBuffer y, int offsetY, int incrY ){
+        Nd4j.getExecutioner().commit();
+        if(useJava(n))
+            return JavaBlas.dot(n,x,offsetX,incrX,y,offsetY,incrY);
         if(supportsDataBufferL1Ops()){
             if(x.dataType() == DataBuffer.Type.FLOAT){
                 return sdot(n,x,offsetX,incrX,y,offsetY,incrY);
@@ -47,7 +60,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
             int[] stridex = {incrX,incrX};
             int[] stridey = {incrY,incrY};
             INDArray arrX = Nd4j.create(x,shapex,stridex,offsetX,'c');
-            INDArray arrY = Nd4j.create(x,shapey,stridey,offsetY,'c');
+            INDArray arrY = Nd4j.create(y,shapey,stridey,offsetY,'c');
             return dot(n,0.0,arrX,arrY);
         }
     }
@@ -74,6 +87,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
      */
     @Override
     public double nrm2(INDArray arr) {
+        Nd4j.getExecutioner().commit();
         if(arr.data().dataType() == DataBuffer.Type.DOUBLE)
             return dnrm2(arr.length(),arr,BlasBufferUtil.getBlasStride(arr));
         return snrm2(arr.length(),arr,BlasBufferUtil.getBlasStride(arr));
@@ -98,6 +112,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
      */
     @Override
     public double asum(INDArray arr) {
+        Nd4j.getExecutioner().commit();
         if(arr.data().dataType() == DataBuffer.Type.DOUBLE)
             return dasum(arr.length(),arr,BlasBufferUtil.getBlasStride(arr));
         return sasum(arr.length(),arr, BlasBufferUtil.getBlasStride(arr));
@@ -105,6 +120,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
 
     @Override
     public double asum(int n, DataBuffer x, int offsetX, int incrX){
+        Nd4j.getExecutioner().commit();
         if(supportsDataBufferL1Ops()){
             if(x.dataType() == DataBuffer.Type.FLOAT){
                 return sasum(n,x,offsetX,incrX);
@@ -135,6 +151,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
 
     @Override
     public int iamax(int n, INDArray arr, int stride) {
+        Nd4j.getExecutioner().commit();
         if(arr.data().dataType() == DataBuffer.Type.DOUBLE)
             return idamax(n,arr,stride);
         return isamax(n,arr,stride);
@@ -142,6 +159,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
 
     @Override
     public int iamax(int n,DataBuffer x, int offsetX, int incrX){
+        Nd4j.getExecutioner().commit();
         if(supportsDataBufferL1Ops()){
             if(x.dataType() == DataBuffer.Type.FLOAT){
                 return isamax(n,x,offsetX,incrX);
@@ -165,6 +183,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
      */
     @Override
     public int iamax(INDArray arr) {
+        Nd4j.getExecutioner().commit();
         if(arr.data().dataType() == DataBuffer.Type.DOUBLE)
             return idamax(arr.length(), arr, BlasBufferUtil.getBlasStride(arr));
         return isamax(arr.length(), arr, BlasBufferUtil.getBlasStride(arr));
@@ -178,6 +197,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
      */
     @Override
     public int iamax(IComplexNDArray arr) {
+        Nd4j.getExecutioner().commit();
         if(arr.data().dataType() == DataBuffer.Type.DOUBLE)
             return izamax(arr.length(), arr, BlasBufferUtil.getBlasStride(arr));
         return icamax(arr.length(), arr, BlasBufferUtil.getBlasStride(arr));
@@ -214,6 +234,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
      */
     @Override
     public void swap(INDArray x, INDArray y) {
+        Nd4j.getExecutioner().commit();
         if(x.data().dataType() == DataBuffer.Type.DOUBLE)
             dswap(x.length(), x, BlasBufferUtil.getBlasStride(x), y, BlasBufferUtil.getBlasStride(y));
         else
@@ -222,6 +243,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
 
     @Override
     public void swap(IComplexNDArray x, IComplexNDArray y) {
+        Nd4j.getExecutioner().commit();
         if(x.data().dataType() == DataBuffer.Type.DOUBLE)
             zswap(x.length(), x, BlasBufferUtil.getBlasStride(x), y, BlasBufferUtil.getBlasStride(y));
 
@@ -240,6 +262,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
      */
     @Override
     public void copy(INDArray x, INDArray y) {
+        Nd4j.getExecutioner().commit();
         if(x.data().dataType() == DataBuffer.Type.DOUBLE)
             dcopy(x.length(), x, BlasBufferUtil.getBlasStride(x), y, BlasBufferUtil.getBlasStride(y));
         else
@@ -250,6 +273,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
      */
     @Override
     public void copy(int n, DataBuffer x, int offsetX, int incrX, DataBuffer y, int offsetY, int incrY ) {
+        Nd4j.getExecutioner().commit();
         if(supportsDataBufferL1Ops()) {
             if (x.dataType() == DataBuffer.Type.DOUBLE) {
                 dcopy(n, x, offsetX, incrX, y, offsetY, incrY);
@@ -262,7 +286,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
             int[] stridex = {incrX,incrX};
             int[] stridey = {incrY,incrY};
             INDArray arrX = Nd4j.create(x,shapex,stridex,offsetX,'c');
-            INDArray arrY = Nd4j.create(x,shapey,stridey,offsetY,'c');
+            INDArray arrY = Nd4j.create(y,shapey,stridey,offsetY,'c');
             copy(arrX,arrY);
         }
     }
@@ -277,6 +301,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
      */
     @Override
     public void copy(IComplexNDArray x, IComplexNDArray y) {
+        Nd4j.getExecutioner().commit();
         if(x.data().dataType() == DataBuffer.Type.DOUBLE)
             zcopy(x.length(), x, BlasBufferUtil.getBlasStride(x), y, BlasBufferUtil.getBlasStride(y));
         else
@@ -295,7 +320,10 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
      */
     @Override
     public void axpy(int n, double alpha, INDArray x, INDArray y) {
-        if(x.data().dataType() == DataBuffer.Type.DOUBLE)
+        Nd4j.getExecutioner().commit();
+        if(useJava(n))
+            JavaBlas.axpy(n, alpha, x.data(), 0, BlasBufferUtil.getBlasStride(x), y.data(), 0, BlasBufferUtil.getBlasStride(y));
+        else if(x.data().dataType() == DataBuffer.Type.DOUBLE)
             daxpy(n, alpha, x, BlasBufferUtil.getBlasStride(x), y, BlasBufferUtil.getBlasStride(y));
         else
             saxpy(n, (float) alpha, x, BlasBufferUtil.getBlasStride(x), y, BlasBufferUtil.getBlasStride(y));
@@ -303,7 +331,10 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
 
     @Override
     public void axpy(int n,double alpha, DataBuffer x, int offsetX, int incrX, DataBuffer y, int offsetY, int incrY ){
-        if(supportsDataBufferL1Ops()) {
+        Nd4j.getExecutioner().commit();
+        if(useJava(n)) {
+            JavaBlas.axpy(n, alpha, x, offsetX, incrX, y, offsetY, incrY);
+        } else if(supportsDataBufferL1Ops()) {
             if (x.dataType() == DataBuffer.Type.DOUBLE) {
                 daxpy(n, alpha, x, offsetX, incrX, y, offsetY, incrY);
             } else {
@@ -315,7 +346,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
             int[] stridex = {incrX,incrX};
             int[] stridey = {incrY,incrY};
             INDArray arrX = Nd4j.create(x,shapex,stridex,offsetX,'c');
-            INDArray arrY = Nd4j.create(x,shapey,stridey,offsetY,'c');
+            INDArray arrY = Nd4j.create(y,shapey,stridey,offsetY,'c');
             axpy(n,alpha,arrX,arrY);
         }
     }
@@ -330,6 +361,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
      */
     @Override
     public void axpy(int n, IComplexNumber alpha, IComplexNDArray x, IComplexNDArray y) {
+        Nd4j.getExecutioner().commit();
         if(x.data().dataType() == DataBuffer.Type.DOUBLE)
             zaxpy(n,alpha.asDouble(),x,BlasBufferUtil.getBlasStride(x),y,BlasBufferUtil.getBlasStride(y));
         else
@@ -360,6 +392,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
      */
     @Override
     public void rot(int N, INDArray X, INDArray Y, double c, double s) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
             drot(N, X, BlasBufferUtil.getBlasStride(X), Y, BlasBufferUtil.getBlasStride(X), c, s);
         else
@@ -417,6 +450,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
      */
     @Override
     public void scal(int N, double alpha, INDArray X) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
             dscal(N, alpha, X, BlasBufferUtil.getBlasStride(X));
         else
@@ -432,6 +466,7 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
      */
     @Override
     public void scal(int N, IComplexNumber alpha, IComplexNDArray X) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
             zscal(N, alpha.asDouble(), X, BlasBufferUtil.getBlasStride(X));
         else
@@ -580,4 +615,52 @@ public abstract  class BaseLevel1 extends BaseLevel implements Level1 {
         return true;
     }
 
+    /**
+     * Whether a level 1 call on vectors of the given length
+     * is cheaper in java than in the backend
+     * (see {@link BlasThresholds#getLevel1Threshold()})
+     * @param n the length of the vectors
+     * @return true if the call should run in java
+     */
+    protected boolean useJava(int n) {
+        if(BlasThresholds.isAutoTune() && TUNED.compareAndSet(false, true))
+            tune();
+        return n <= BlasThresholds.getLevel1Threshold();
+    }
+
+    /**
+     * Measure the vector length up to which {@link JavaBlas#dot}
+     * is at least as fast as the backend's dot and use it as the level 1 threshold.
+     * Backends that can't run on raw buffers keep the configured threshold.
+     */
+    public void tune() {
+        if(!supportsDataBufferL1Ops())
+            return;
+        final DataBuffer x = Nd4j.rand(1, 1 << 14).data();
+        final DataBuffer y = Nd4j.rand(1, 1 << 14).data();
+        int threshold = BlasThresholds.crossover(new BlasThresholds.Benchmark() {
+            private int size;
+
+            @Override
+            public void setUp(int size) {
+                this.size = size;
+            }
+
+            @Override
+            public void runJava() {
+                JavaBlas.dot(size, x, 0, 1, y, 0, 1);
+            }
+
+            @Override
+            public void runBlas() {
+                if(x.dataType() == DataBuffer.Type.DOUBLE)
+                    ddot(size, x, 0, 1, y, 0, 1);
+                else
+                    sdot(size, x, 0, 1, y, 0, 1);
+            }
+        }, 8, 16, 32, 64, 128, 256, 512, 1024, 2048, 4096, 8192, 1 << 14);
+        log.info("Level 1 routines on vectors of up to {} elements will run in java", threshold);
+        BlasThresholds.setLevel1Threshold(threshold);
+    }
+
 }
@@ -1,5 +1,6 @@
 package org.nd4j.linalg.api.blas.impl;
 
+import org.nd4j.linalg.api.blas.BlasBufferUtil;
 import org.nd4j.linalg.api.blas.Level2;
 import org.nd4j.linalg.api.blas.params.GemvParameters;
 import org.nd4j.linalg.api.buffer.DataBuffer;
@@ -8,6 +9,11 @@ import org.nd4j.linalg.api.complex.IComplexFloat;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Base class for level 2 functions, abstract headers pulled from:
@@ -16,6 +22,9 @@ import org.nd4j.linalg.api.ndarray.INDArray;
  * @author Adam Gibson
  */
 public abstract class BaseLevel2 extends BaseLevel implements Level2 {
+    private static Logger log = LoggerFactory.getLogger(BaseLevel2.class);
+    private final static AtomicBoolean TUNED = new AtomicBoolean(false);
+
     /**
      * gemv computes a matrix-vector product using a general matrix and performs one of the following matrix-vector operations:
      * y := alpha*a*x + beta*y  for trans = 'N'or'n';
@@ -33,6 +42,19 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void gemv(char order, char transA, double alpha, INDArray A, INDArray X, double beta, INDArray Y) {
+        Nd4j.getExecutioner().commit();
+        if(useJava(A, X, Y))
+            javaGemv(alpha, A, X, beta, Y);
+        else
+            blasGemv(order, alpha, A, X, beta, Y);
+    }
+
+    private void javaGemv(double alpha, INDArray A, INDArray X, double beta, INDArray Y) {
+        JavaBlas.gemv(A.rows(), A.columns(), alpha, A.data(), 0, A.stride(0), A.stride(1),
+                X.data(), 0, BlasBufferUtil.getBlasStride(X), beta, Y.data(), 0, BlasBufferUtil.getBlasStride(Y));
+    }
+
+    private void blasGemv(char order, double alpha, INDArray A, INDArray X, double beta, INDArray Y) {
         GemvParameters parameters = new GemvParameters(A,X,Y);
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             dgemv(order
@@ -79,6 +101,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void gemv(char order, char transA, IComplexNumber alpha, IComplexNDArray A, IComplexNDArray X, IComplexNumber beta, IComplexNDArray Y) {
+        Nd4j.getExecutioner().commit();
         GemvParameters parameters = new GemvParameters(A,X,Y);
 
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
@@ -130,10 +153,15 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void gbmv(char order, char TransA, int KL, int KU, double alpha, INDArray A, INDArray X, double beta, INDArray Y) {
+        Nd4j.getExecutioner().commit();
+        //A holds the diagonals (band storage): the dimensions of the matrix are those of the vectors
+        boolean trans = TransA == 'T' || TransA == 't' || TransA == 'C' || TransA == 'c';
+        int m = trans ? X.length() : Y.length();
+        int n = trans ? Y.length() : X.length();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
-            dgbmv(order, TransA, A.rows(), A.columns(), KL, KU, alpha, A, A.size(0), X, X.majorStride(), beta, Y, Y.majorStride());
+            dgbmv(order, TransA, m, n, KL, KU, alpha, A, A.size(0), X, X.majorStride(), beta, Y, Y.majorStride());
         else
-            sgbmv(order, TransA, A.rows(), A.columns(), KL, KU, (float) alpha, A, A.size(0), X, X.majorStride(), (float) beta, Y, Y.majorStride());
+            sgbmv(order, TransA, m, n, KL, KU, (float) alpha, A, A.size(0), X, X.majorStride(), (float) beta, Y, Y.majorStride());
 
     }
 
@@ -156,6 +184,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void gbmv(char order, char TransA, int KL, int KU, IComplexNumber alpha, IComplexNDArray A, IComplexNDArray X, IComplexNumber beta, IComplexNDArray Y) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             zgbmv(order, TransA, A.rows(), A.columns(), KL, KU, alpha.asDouble(), A, A.size(0), X, X.majorStride() / 2, beta.asDouble(), Y, Y.majorStride() / 2);
         else
@@ -175,6 +204,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void ger(char order, double alpha, INDArray X, INDArray Y, INDArray A) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
             dger(order,A.rows(),A.columns(),alpha,X,X.majorStride(),Y,Y.majorStride(),A,A.size(0));
         else
@@ -194,6 +224,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void geru(char order, IComplexNumber alpha, IComplexNDArray X, IComplexNDArray Y, IComplexNDArray A) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
             zgeru(order,A.rows(),A.columns(),alpha.asDouble(),X,X.majorStride() / 2,Y,Y.majorStride() / 2,A,A.size(0));
         else
@@ -215,6 +246,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void hbmv(char order, char Uplo, IComplexNumber alpha, IComplexNDArray A, IComplexNDArray X, IComplexNumber beta, IComplexNDArray Y) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             zhbmv(order,Uplo,X.length(),A.columns(),alpha.asDouble(),A,A.size(0),X,X.majorStride() / 2,beta.asDouble(),Y,Y.majorStride() / 2);
         else
@@ -237,6 +269,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void hemv(char order, char Uplo, IComplexNumber alpha, IComplexNDArray A, IComplexNDArray X, IComplexNumber beta, IComplexNDArray Y) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             zhemv(order,Uplo,A.rows(),alpha.asDouble(),A,A.size(0),X,X.majorStride() / 2,beta.asDouble(),Y,Y.majorStride() / 2);
         else
@@ -257,6 +290,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void her2(char order, char Uplo, IComplexNumber alpha, IComplexNDArray X, IComplexNDArray Y, IComplexNDArray A) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
             zher2(order,Uplo,A.rows(),alpha.asDouble(),X,X.majorStride() / 2,Y,Y.majorStride() / 2,A,A.size(0));
         else
@@ -280,6 +314,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void hpmv(char order, char Uplo, int N, IComplexNumber alpha, IComplexNDArray Ap, IComplexNDArray X, IComplexNumber beta, IComplexNDArray Y) {
+        Nd4j.getExecutioner().commit();
         if(Ap.data().dataType() == DataBuffer.Type.DOUBLE)
             zhpmv(order,Uplo, Ap.rows(),alpha.asDouble(),Ap,X,X.majorStride() / 2,beta.asDouble(),Y,Y.majorStride() / 2);
         else
@@ -300,6 +335,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void hpr2(char order, char Uplo, IComplexNumber alpha, IComplexNDArray X, IComplexNDArray Y, IComplexNDArray Ap) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
             zhpr2(order,Uplo,Ap.rows(),alpha.asDouble(),X,X.majorStride() / 2,Y,Y.majorStride() / 2,Ap);
         else
@@ -322,10 +358,11 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void sbmv(char order, char Uplo, double alpha, INDArray A, INDArray X, double beta, INDArray Y) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
-            dsbmv(order,Uplo,X.length(),A.columns(),alpha,A,A.size(0),X,X.majorStride(),beta,Y,Y.majorStride());
+            dsbmv(order,Uplo,X.length(),A.rows() - 1,alpha,A,A.size(0),X,X.majorStride(),beta,Y,Y.majorStride());
         else
-            ssbmv(order, Uplo, X.length(), A.columns(), (float) alpha, A, A.size(0), X, X.majorStride(), (float) beta, Y, Y.majorStride());
+            ssbmv(order, Uplo, X.length(), A.rows() - 1, (float) alpha, A, A.size(0), X, X.majorStride(), (float) beta, Y, Y.majorStride());
 
     }
 
@@ -340,10 +377,11 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void spmv(char order, char Uplo, double alpha, INDArray Ap, INDArray X, double beta, INDArray Y) {
+        Nd4j.getExecutioner().commit();
         if(Ap.data().dataType() == DataBuffer.Type.DOUBLE)
-            dspmv(order,Uplo,X.length(),alpha,Ap,X, Ap.majorStride(),beta,Y,Y.majorStride());
+            dspmv(order,Uplo,X.length(),alpha,Ap,X, X.majorStride(),beta,Y,Y.majorStride());
         else
-            sspmv(order, Uplo, X.length(), (float) alpha, Ap, X, Ap.majorStride(), (float) beta, Y, Y.majorStride());
+            sspmv(order, Uplo, X.length(), (float) alpha, Ap, X, X.majorStride(), (float) beta, Y, Y.majorStride());
 
     }
 
@@ -359,6 +397,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void spr(char order, char Uplo, double alpha, INDArray X, INDArray Ap) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
             dspr(order,Uplo,X.length(),alpha,X,X.majorStride(),Ap);
         else
@@ -379,6 +418,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void spr2(char order, char Uplo, double alpha, INDArray X, INDArray Y, INDArray A) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
             dspr2(order,Uplo,X.length(),alpha,X,X.majorStride(),Y,Y.majorStride(),A);
         else
@@ -401,6 +441,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void symv(char order, char Uplo, double alpha, INDArray A, INDArray X, double beta, INDArray Y) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
             dsymv(order,Uplo,X.length(),alpha,A,A.size(0),X,X.majorStride(),beta,Y,Y.majorStride());
         else
@@ -421,6 +462,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void syr(char order, char Uplo, int N, double alpha, INDArray X, INDArray A) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
             dsyr(order,Uplo,X.length(),alpha,X,X.majorStride(),A,A.size(0));
         else
@@ -438,6 +480,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void syr2(char order, char Uplo, double alpha, INDArray X, INDArray Y, INDArray A) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
             dsyr2(order,Uplo,X.length(),alpha,X,X.majorStride(),Y,Y.majorStride(),A,A.size(0));
         else
@@ -458,10 +501,11 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void tbmv(char order, char Uplo, char TransA, char Diag, INDArray A, INDArray X) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
-            dtbmv(order,Uplo,TransA,Diag,X.length(),A.columns(),A,A.size(0),X,X.majorStride());
+            dtbmv(order,Uplo,TransA,Diag,X.length(),A.rows() - 1,A,A.size(0),X,X.majorStride());
         else
-            stbmv(order, Uplo, TransA, Diag, X.length(), A.columns(), A, A.size(0), X, X.majorStride());
+            stbmv(order, Uplo, TransA, Diag, X.length(), A.rows() - 1, A, A.size(0), X, X.majorStride());
 
     }
 
@@ -477,10 +521,11 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void tbsv(char order, char Uplo, char TransA, char Diag, INDArray A, INDArray X) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
-            dtbsv(order,Uplo,TransA,Diag,X.length(),A.columns(),A,A.size(0),X,X.majorStride());
+            dtbsv(order,Uplo,TransA,Diag,X.length(),A.rows() - 1,A,A.size(0),X,X.majorStride());
         else
-            stbsv(order, Uplo, TransA, Diag, X.length(), A.columns(), A, A.size(0), X, X.majorStride());
+            stbsv(order, Uplo, TransA, Diag, X.length(), A.rows() - 1, A, A.size(0), X, X.majorStride());
 
     }
 
@@ -496,10 +541,11 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void tpmv(char order, char Uplo, char TransA, char Diag, INDArray Ap, INDArray X) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
-            dtpmv(order,Uplo,TransA,Diag,Ap.length(),Ap,X,X.majorStride());
+            dtpmv(order,Uplo,TransA,Diag,X.length(),Ap,X,X.majorStride());
         else
-            stpmv(order, Uplo, TransA, Diag, Ap.length(), Ap, X, X.majorStride());
+            stpmv(order, Uplo, TransA, Diag, X.length(), Ap, X, X.majorStride());
 
     }
 
@@ -515,6 +561,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void tpsv(char order, char Uplo, char TransA, char Diag, INDArray Ap, INDArray X) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
             dtpsv(order,Uplo,TransA,Diag,X.length(),Ap,X,X.majorStride());
         else
@@ -534,6 +581,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void trmv(char order, char Uplo, char TransA, char Diag, INDArray A, INDArray X) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             dtrmv(order,Uplo,TransA,Diag,X.length(),A,A.size(0),X,X.majorStride());
         else
@@ -553,6 +601,7 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
      */
     @Override
     public void trsv(char order, char Uplo, char TransA, char Diag, INDArray A, INDArray X) {
+        Nd4j.getExecutioner().commit();
         if(X.data().dataType() == DataBuffer.Type.DOUBLE)
             dtrsv(order,Uplo,TransA,Diag,A.length(),A,A.size(0),X,X.majorStride());
         else
@@ -829,7 +878,46 @@ public abstract class BaseLevel2 extends BaseLevel implements Level2 {
                                    IComplexDouble alpha,  IComplexNDArray X,  int incX,
                                    IComplexNDArray Y,  int incY, IComplexNDArray Ap);
 
+    /**
+     * Whether a matrix vector product is cheaper in java than in the backend:
+     * real matrices of up to {@link BlasThresholds#getLevel2Threshold()} elements
+     * and vectors that can be walked by a single stride
+     * @return true if the product should run in java
+     */
+    protected boolean useJava(INDArray A, INDArray X, INDArray Y) {
+        if(BlasThresholds.isAutoTune() && TUNED.compareAndSet(false, true))
+            tune();
+        return A.isMatrix() && !(A instanceof IComplexNDArray) && A.length() <= BlasThresholds.getLevel2Threshold()
+                && X.isVector() && Y.isVector() && X.elementWiseStride() > 0 && Y.elementWiseStride() > 0;
+    }
 
+    /**
+     * Measure the matrix size up to which {@link JavaBlas#gemv}
+     * is at least as fast as the backend's gemv and use it as the level 2 threshold.
+     */
+    public void tune() {
+        int threshold = BlasThresholds.crossover(new BlasThresholds.Benchmark() {
+            private INDArray a, x, y;
+
+            @Override
+            public void setUp(int size) {
+                int n = (int) Math.sqrt(size);
+                a = Nd4j.rand(n, n);
+                x = Nd4j.rand(n, 1);
+                y = Nd4j.create(n, 1);
+            }
+
+            @Override
+            public void runJava() {
+                javaGemv(1.0, a, x, 0.0, y);
+            }
+
+            @Override
+            public void runBlas() {
+                blasGemv(a.ordering(), 1.0, a, x, 0.0, y);
+            }
+        }, 16, 64, 256, 1024, 4096, 16384);
+        log.info("Matrix vector products of up to {} elements will run in java", threshold);
+        BlasThresholds.setLevel2Threshold(threshold);
+    }
 }
-
-
@@ -8,7 +8,18 @@ import org.nd4j.linalg.api.complex.IComplexFloat;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.TransformOp;
+import org.nd4j.linalg.api.quantized.QuantizedMatrix;
+import org.nd4j.linalg.executors.ExecutorServiceProvider;
 import org.nd4j.linalg.factory.NDArrayFactory;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Base class for level 3 functions, abstract headers pulled from:
@@ -17,6 +28,12 @@ import org.nd4j.linalg.factory.NDArrayFactory;
  * @author Adam Gibson
  */
 public abstract class BaseLevel3 extends BaseLevel implements Level3 {
+    /**
+     * Number of elements of C that are computed before
+     * the epilogue of a fused gemm is applied to them
+     */
+    public final static int EPILOGUE_TILE_LENGTH = 1 << 14;
+
     /**
      * gemm performs a matrix-matrix operation
      * c := alpha*op(a)*op(b) + beta*c,
@@ -34,6 +51,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
      */
     @Override
     public void gemm(char Order, char TransA, char TransB, double alpha, INDArray A, INDArray B, double beta, INDArray C) {
+        Nd4j.getExecutioner().commit();
         GemmParams params = new GemmParams(A,B,C);
 
         int charOder = Order;
@@ -44,12 +62,12 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
                     ,params.getM()
                     ,params.getN()
                     ,params.getK()
-                    ,1.0
+                    ,alpha
                     ,params.getA()
                     ,params.getLda()
                     ,params.getB()
                     ,params.getLdb()
-                    ,0
+                    ,beta
                     ,C
                     ,params.getLdc());
         else
@@ -59,21 +77,22 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
                     , params.getM()
                     , params.getN()
                     , params.getK()
-                    , 1.0f
+                    , (float) alpha
                     , params.getA()
                     , params.getLda()
                     , params.getB()
                     , params.getLdb()
-                    , 0
+                    , (float) beta
                     , C
                     , params.getLdc());
-
+        params.release();
     }
 
     /**{@inheritDoc}
      */
     @Override
     public void gemm(INDArray A, INDArray B, INDArray C, boolean transposeA, boolean transposeB, double alpha, double beta) {
+        Nd4j.getExecutioner().commit();
         GemmParams params = new GemmParams(A,B,C,transposeA,transposeB);
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             dgemm(A.ordering()
@@ -105,8 +124,251 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
                     , (float) beta
                     , C
                     , params.getLdc());
+        params.release();
+    }
+
+
+    @Override
+    public void gemmTiled(INDArray A, INDArray B, INDArray C, boolean transposeA, boolean transposeB, double alpha, double beta) {
+        Nd4j.getExecutioner().commit();
+        int m = transposeA ? A.columns() : A.rows();
+        int k = transposeA ? A.rows() : A.columns();
+        int n = transposeB ? B.rows() : B.columns();
+        if((transposeB ? B.columns() : B.rows()) != k)
+            throw new IllegalArgumentException("Inner dimensions of op(A) and op(B) don't match: " + k + " and " + (transposeB ? B.columns() : B.rows()));
+        if(C.rows() != m || C.columns() != n)
+            throw new IllegalArgumentException("C must have shape [" + m + "," + n + "] but has shape " + Arrays.toString(C.shape()));
+
+        //views index their data from their own offset, transposes swap the strides
+        JavaGemm.gemm(m, n, k, alpha,
+                A.data(), 0, A.stride(transposeA ? 1 : 0), A.stride(transposeA ? 0 : 1),
+                B.data(), 0, B.stride(transposeB ? 1 : 0), B.stride(transposeB ? 0 : 1),
+                beta, C.data(), 0, C.stride(0), C.stride(1));
+    }
+
+    @Override
+    public void gemmQuantized(QuantizedMatrix A, QuantizedMatrix B, INDArray C) {
+        Nd4j.getExecutioner().commit();
+        int m = A.rows();
+        int n = B.rows();
+        if(C.rows() != m || C.columns() != n)
+            throw new IllegalArgumentException("C must have shape [" + m + "," + n + "] but has shape " + Arrays.toString(C.shape()));
+        int[] accumulators = QuantizedGemm.accumulate(A, B);
+        for(int i = 0; i < m; i++) {
+            double scale = A.scale(i);
+            for(int j = 0; j < n; j++)
+                C.putScalar(i, j, scale * B.scale(j) * accumulators[i * n + j]);
+        }
+    }
+
+    @Override
+    public QuantizedMatrix gemmQuantized(QuantizedMatrix A, QuantizedMatrix B, double scale, int zeroPoint) {
+        Nd4j.getExecutioner().commit();
+        int m = A.rows();
+        int n = B.rows();
+        int[] accumulators = QuantizedGemm.accumulate(A, B);
+        byte[] data = new byte[m * n];
+        for(int i = 0; i < m; i++) {
+            double rowScale = A.scale(i) / scale;
+            for(int j = 0; j < n; j++) {
+                long q = Math.round(rowScale * B.scale(j) * accumulators[i * n + j]) + zeroPoint;
+                data[i * n + j] = (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, q));
+            }
+        }
+        return new QuantizedMatrix(data, m, n, new double[]{scale}, new int[]{zeroPoint});
+    }
+
+    @Override
+    public void gemm(INDArray A, INDArray B, INDArray C, boolean transposeA, boolean transposeB, double alpha, double beta, INDArray bias, TransformOp activation) {
+        int m = transposeA ? A.columns() : A.rows();
+        int n = transposeB ? B.rows() : B.columns();
+        if(C.rows() != m || C.columns() != n)
+            throw new IllegalArgumentException("C must have shape [" + m + "," + n + "] but has shape " + Arrays.toString(C.shape()));
+        if(bias != null && (!bias.isVector() || bias.length() != n))
+            throw new IllegalArgumentException("Bias must be a vector of length " + n);
+        if(C.ordering() != 'f')
+            throw new IllegalArgumentException("C must be fortran ordered");
+        Nd4j.getExecutioner().commit();
+
+        //columns of a fortran ordered C are contiguous: work on blocks of columns that fit in cache.
+        //when a single column doesn't fit, tiles would be gemm calls of a column each:
+        //one gemm over all of C is followed by the epilogue instead
+        int tileColumns = m > EPILOGUE_TILE_LENGTH ? n : Math.max(1, Math.min(n, EPILOGUE_TILE_LENGTH / Math.max(1, m)));
+        for(int start = 0; start < n; start += tileColumns) {
+            int end = Math.min(n, start + tileColumns);
+            boolean whole = start == 0 && end == n;
+            INDArray cTile = whole ? C : C.get(NDArrayIndex.all(), NDArrayIndex.interval(start, end));
+            INDArray bTile = whole ? B : transposeB ? B.get(NDArrayIndex.interval(start, end), NDArrayIndex.all()) : B.get(NDArrayIndex.all(), NDArrayIndex.interval(start, end));
+
+            double tileBeta = beta;
+            if(bias != null) {
+                //the bias goes in to C before the product, which then accumulates on top of it
+                if(beta == 0)
+                    cTile.assign(0.0);
+                else if(beta != 1)
+                    cTile.muli(beta);
+                cTile.addiRowVector(whole ? bias : bias.get(NDArrayIndex.interval(start, end)));
+                tileBeta = 1.0;
+            }
+
+            gemm(A, bTile, cTile, transposeA, transposeB, alpha, tileBeta);
+
+            if(activation != null) {
+                Nd4j.getExecutioner().exec(activation.rebind(cTile, null, cTile));
+                //the op is rebound for the next tile: it must not stay pending
+                Nd4j.getExecutioner().commit();
+            }
+        }
+    }
+
+    @Override
+    public void gemmBatched(List<INDArray> A, List<INDArray> B, List<INDArray> C, boolean transposeA, boolean transposeB, double alpha, double beta) {
+        if(A.size() != B.size() || A.size() != C.size())
+            throw new IllegalArgumentException("A, B and C must have the same number of matrices");
+        if(A.isEmpty())
+            return;
+
+        int[] shapeA = A.get(0).shape();
+        int[] shapeB = B.get(0).shape();
+        int[] shapeC = C.get(0).shape();
+        for(int i = 0; i < A.size(); i++) {
+            if(!A.get(i).isMatrix() || !Arrays.equals(shapeA, A.get(i).shape()))
+                throw new IllegalArgumentException("Matrix " + i + " of A has shape " + Arrays.toString(A.get(i).shape()) + ", expected " + Arrays.toString(shapeA));
+            if(!B.get(i).isMatrix() || !Arrays.equals(shapeB, B.get(i).shape()))
+                throw new IllegalArgumentException("Matrix " + i + " of B has shape " + Arrays.toString(B.get(i).shape()) + ", expected " + Arrays.toString(shapeB));
+            if(!C.get(i).isMatrix() || !Arrays.equals(shapeC, C.get(i).shape()))
+                throw new IllegalArgumentException("Matrix " + i + " of C has shape " + Arrays.toString(C.get(i).shape()) + ", expected " + Arrays.toString(shapeC));
+        }
+
+        int m = transposeA ? shapeA[1] : shapeA[0];
+        int k = transposeA ? shapeA[0] : shapeA[1];
+        int n = transposeB ? shapeB[0] : shapeB[1];
+        if((transposeB ? shapeB[1] : shapeB[0]) != k)
+            throw new IllegalArgumentException("Inner dimensions of op(A) and op(B) don't match: " + k + " and " + (transposeB ? shapeB[1] : shapeB[0]));
+        if(shapeC[0] != m || shapeC[1] != n)
+            throw new IllegalArgumentException("C must have shape [" + m + "," + n + "] but has shape " + Arrays.toString(shapeC));
+
+        Nd4j.getExecutioner().commit();
+        GemmBatchAction action = new GemmBatchAction(A, B, C, transposeA, transposeB, m, n, k, alpha, beta, 0, A.size());
+        if(ForkJoinTask.inForkJoinPool())
+            action.invoke();
+        else
+            ExecutorServiceProvider.getForkJoinPool().invoke(action);
+    }
+
+    @Override
+    public void gemmBatched(INDArray A, INDArray B, INDArray C, boolean transposeA, boolean transposeB, double alpha, double beta) {
+        if(A.rank() != 3 || B.rank() != 3 || C.rank() != 3)
+            throw new IllegalArgumentException("Strided batched gemm requires rank 3 arrays");
+        if(A.size(0) != B.size(0) || A.size(0) != C.size(0))
+            throw new IllegalArgumentException("A, B and C must have the same batch size");
+
+        int batch = A.size(0);
+        List<INDArray> a = new ArrayList<>(batch);
+        List<INDArray> b = new ArrayList<>(batch);
+        List<INDArray> c = new ArrayList<>(batch);
+        for(int i = 0; i < batch; i++) {
+            a.add(matrix(A, i));
+            b.add(matrix(B, i));
+            c.add(matrix(C, i));
+        }
+        gemmBatched(a, b, c, transposeA, transposeB, alpha, beta);
     }
 
+    /**
+     * View of the matrix at the given index along
+     * the first dimension of a rank 3 array.
+     * Never a copy (as a reshape may be for 'f' ordered or strided arrays):
+     * results written to the matrices of C must land in C
+     */
+    private static INDArray matrix(INDArray arr, int i) {
+        return arr.tensorAlongDimension(i, 1, 2);
+    }
+
+    /**
+     * A matrix that can be handed to blas directly:
+     * the matrix itself if it is 'c' or 'f' contiguous,
+     * a fortran ordered copy otherwise
+     */
+    private static INDArray blasCompatible(INDArray arr) {
+        if(isContiguous(arr, 'f') || isContiguous(arr, 'c'))
+            return arr;
+        return arr.dup('f');
+    }
+
+    private static boolean isContiguous(INDArray arr, char order) {
+        if(arr.ordering() != order)
+            return false;
+        if(order == 'c')
+            return (arr.stride(0) == arr.size(1) || arr.size(0) == 1) && (arr.stride(1) == 1 || arr.size(1) == 1);
+        return (arr.stride(0) == 1 || arr.size(0) == 1) && (arr.stride(1) == arr.size(0) || arr.size(1) == 1);
+    }
+
+    /**
+     * C = alpha*op(A)*op(B) + beta*C for one matrix of a validated batch.
+     * 'c' ordered matrices are passed as the transpose of a fortran ordered one,
+     * C is computed in to a fortran ordered copy if it isn't fortran ordered itself.
+     */
+    private void gemmBatchItem(INDArray A, INDArray B, INDArray C, boolean transposeA, boolean transposeB, int m, int n, int k, double alpha, double beta) {
+        INDArray a = blasCompatible(A);
+        INDArray b = blasCompatible(B);
+        INDArray c = isContiguous(C, 'f') ? C : beta == 0 ? Nd4j.create(new int[]{m, n}, 'f') : C.dup('f');
+
+        char transA = (a.ordering() == 'c') != transposeA ? 'T' : 'N';
+        char transB = (b.ordering() == 'c') != transposeB ? 'T' : 'N';
+        int lda = Math.max(1, a.ordering() == 'c' ? a.columns() : a.rows());
+        int ldb = Math.max(1, b.ordering() == 'c' ? b.columns() : b.rows());
+        int ldc = Math.max(1, m);
+
+        if(a.data().dataType() == DataBuffer.Type.DOUBLE)
+            dgemm('f', transA, transB, m, n, k, alpha, a, lda, b, ldb, beta, c, ldc);
+        else
+            sgemm('f', transA, transB, m, n, k, (float) alpha, a, lda, b, ldb, (float) beta, c, ldc);
+
+        if(c != C)
+            C.assign(c);
+    }
+
+    /**
+     * Runs the matrices of a batch in parallel,
+     * splitting until a range holds little enough work
+     */
+    private class GemmBatchAction extends RecursiveAction {
+        private final static long THRESHOLD = 1 << 18;
+
+        private List<INDArray> A, B, C;
+        private boolean transposeA, transposeB;
+        private int m, n, k, start, end;
+        private double alpha, beta;
+
+        private GemmBatchAction(List<INDArray> A, List<INDArray> B, List<INDArray> C, boolean transposeA, boolean transposeB, int m, int n, int k, double alpha, double beta, int start, int end) {
+            this.A = A;
+            this.B = B;
+            this.C = C;
+            this.transposeA = transposeA;
+            this.transposeB = transposeB;
+            this.m = m;
+            this.n = n;
+            this.k = k;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if(end - start > 1 && (long) (end - start) * m * n * k > THRESHOLD) {
+                int mid = start + (end - start) / 2;
+                invokeAll(new GemmBatchAction(A, B, C, transposeA, transposeB, m, n, k, alpha, beta, start, mid),
+                        new GemmBatchAction(A, B, C, transposeA, transposeB, m, n, k, alpha, beta, mid, end));
+                return;
+            }
+
+            for(int i = start; i < end; i++)
+                gemmBatchItem(A.get(i), B.get(i), C.get(i), transposeA, transposeB, m, n, k, alpha, beta);
+        }
+    }
 
     /**
      * her2k performs a rank-2k update of an n-by-n Hermitian matrix c, that is, one of the following operations:
@@ -126,6 +388,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
      */
     @Override
     public void symm(char Order, char Side, char Uplo, double alpha, INDArray A, INDArray B, double beta, INDArray C) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             dsymm(Order,Side,Uplo,C.rows(),C.columns(),alpha,A,A.size(0),B,B.size(0),beta,C,C.size(0));
         else
@@ -150,6 +413,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
      */
     @Override
     public void syrk(char Order, char Uplo, char Trans, double alpha, INDArray A, double beta, INDArray C) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             dsyrk(Order,Uplo,Trans,C.rows(),1,alpha,A,A.size(0),beta,C,C.size(0));
         else
@@ -175,6 +439,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
      */
     @Override
     public void syr2k(char Order, char Uplo, char Trans, double alpha, INDArray A, INDArray B, double beta, INDArray C) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE) {
             dsyr2k(Order,Uplo,Trans,A.rows(),A.columns(),alpha,A,A.size(0),B,B.size(0),beta,C,C.size(0));
         }
@@ -202,6 +467,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
      */
     @Override
     public void trmm(char Order, char Side, char Uplo, char TransA, char Diag, double alpha, INDArray A, INDArray B, INDArray C) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE) {
             dtrmm(Order,Side,Uplo,TransA,Diag,A.rows(),A.columns(),alpha,A,A.size(0),B,B.size(0));
         }
@@ -229,6 +495,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
      */
     @Override
     public void trsm(char Order, char Side, char Uplo, char TransA, char Diag, double alpha, INDArray A, INDArray B) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE) {
             dtrsm(Order,Side,Uplo,TransA,Diag,A.rows(),A.columns(),alpha,A,A.size(0),B,B.size(0));
         }
@@ -254,6 +521,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
      */
     @Override
     public void gemm(char Order, char TransA, char TransB, IComplexNumber alpha, IComplexNDArray A, IComplexNDArray B, IComplexNumber beta, IComplexNDArray C) {
+        Nd4j.getExecutioner().commit();
         GemmParams params = new GemmParams(A,B,C);
 
         if(A.data().dataType() == DataBuffer.Type.DOUBLE) {
@@ -287,7 +555,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
                     , beta.asFloat()
                     , C
                     ,params.getLdc());
-
+        params.release();
     }
 
     /**
@@ -307,6 +575,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
      */
     @Override
     public void hemm(char Order, char Side, char Uplo, IComplexNumber alpha, IComplexNDArray A, IComplexNDArray B, IComplexNumber beta, IComplexNDArray C) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             zhemm(Order,Side,Uplo,B.rows(),B.columns(),alpha.asDouble(),A, A.size(0),B,B.size(0),beta.asDouble(),C,C.size(0));
         else
@@ -331,6 +600,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
      */
     @Override
     public void herk(char Order, char Uplo, char Trans, IComplexNumber alpha, IComplexNDArray A, IComplexNumber beta, IComplexNDArray C) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             zherk(Order,Uplo,Trans,A.rows(),A.columns(),alpha.asDouble(),A,A.size(0),beta.asDouble(),C,C.size(0));
         else
@@ -350,6 +620,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
      */
     @Override
     public void her2k(char Order, char Uplo, char Trans, IComplexNumber alpha, IComplexNDArray A, IComplexNDArray B, IComplexNumber beta, IComplexNDArray C) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             zher2k(Order,Uplo,Trans,A.rows(),A.columns(),alpha.asDouble(),A,A.size(0),B,B.size(0),beta.asDouble(),C,C.size(0));
         else
@@ -375,6 +646,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
      */
     @Override
     public void symm(char Order, char Side, char Uplo, IComplexNumber alpha, IComplexNDArray A, IComplexNDArray B, IComplexNumber beta, IComplexNDArray C) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             zsymm(Order,Side,Uplo,A.rows(),A.columns(),alpha.asDouble(),A,A.size(0),B,B.size(0),beta.asDouble(),C,C.size(0));
         else
@@ -399,6 +671,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
      */
     @Override
     public void syrk(char Order, char Uplo, char Trans, IComplexNumber alpha, IComplexNDArray A, IComplexNumber beta, IComplexNDArray C) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             zsyrk(Order,Uplo,Trans,A.rows(),A.columns(),alpha.asDouble(),A,A.size(0),beta.asDouble(),C,C.size(0));
         else
@@ -424,6 +697,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
      */
     @Override
     public void syr2k(char Order, char Uplo, char Trans, IComplexNumber alpha, IComplexNDArray A, IComplexNDArray B, IComplexNumber beta, IComplexNDArray C) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             zsyr2k(Order,Uplo,Trans,A.rows(),A.columns(),alpha.asDouble(),A,A.size(0),B,B.size(0),beta.asDouble(),C,C.size(0));
         else
@@ -450,6 +724,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
      */
     @Override
     public void trmm(char Order, char Side, char Uplo, char TransA, char Diag, IComplexNumber alpha, IComplexNDArray A, IComplexNDArray B, IComplexNDArray C) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             ztrmm(Order,Side,Uplo,TransA,Diag,A.rows(),A.columns(),alpha.asDouble(),A,A.size(0),B,B.size(0),C,C.size(0));
         else
@@ -476,6 +751,7 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
      */
     @Override
     public void trsm(char Order, char Side, char Uplo, char TransA, char Diag, IComplexNumber alpha, IComplexNDArray A, IComplexNDArray B) {
+        Nd4j.getExecutioner().commit();
         if(A.data().dataType() == DataBuffer.Type.DOUBLE)
             ztrsm(Order,Side,Uplo,TransA,Diag,A.rows(),A.columns(),alpha.asDouble(),A,A.size(0),B,B.size(0));
         else
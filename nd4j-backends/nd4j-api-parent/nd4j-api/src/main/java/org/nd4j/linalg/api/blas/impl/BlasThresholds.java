@@ -0,0 +1,151 @@
+package org.nd4j.linalg.api.blas.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Problem sizes up to which level 1 and level 2 blas calls
+ * are done in java ({@link JavaBlas}) rather than handed to the backend,
+ * where the cost of the call itself (jni, parameter setup, copies)
+ * outweighs the work for small vectors and matrices.
+ *
+ * Thresholds may be set with system properties or programmatically.
+ * With {@link #AUTO_TUNE} set they are measured by a micro benchmark
+ * the first time a level 1/level 2 routine is used (see {@link BaseLevel1#tune()}
+ * and {@link BaseLevel2#tune()}).
+ *
+ * @author Adam Gibson
+ */
+public class BlasThresholds {
+    private static Logger log = LoggerFactory.getLogger(BlasThresholds.class);
+
+    /**
+     * Vector length up to which level 1 routines run in java
+     */
+    public final static String LEVEL1_THRESHOLD = "org.nd4j.linalg.blas.level1.threshold";
+    /**
+     * Matrix length (rows * columns) up to which level 2 routines run in java
+     */
+    public final static String LEVEL2_THRESHOLD = "org.nd4j.linalg.blas.level2.threshold";
+    /**
+     * Matrix length above which java level 2 routines are split over row blocks in parallel
+     */
+    public final static String PARALLEL_THRESHOLD = "org.nd4j.linalg.blas.parallel.threshold";
+    /**
+     * Dimension from which the java gemm ({@link JavaGemm}) switches to Strassen-Winograd,
+     * 0 (the default) to never use it
+     */
+    public final static String STRASSEN_THRESHOLD = "org.nd4j.linalg.blas.strassen.threshold";
+    /**
+     * Whether to measure the level 1 and level 2 thresholds on first use
+     */
+    public final static String AUTO_TUNE = "org.nd4j.linalg.blas.autotune";
+
+    private static volatile int level1Threshold = Integer.parseInt(System.getProperty(LEVEL1_THRESHOLD, "128"));
+    private static volatile int level2Threshold = Integer.parseInt(System.getProperty(LEVEL2_THRESHOLD, "1024"));
+    private static volatile int parallelThreshold = Integer.parseInt(System.getProperty(PARALLEL_THRESHOLD, String.valueOf(1 << 16)));
+    private static volatile int strassenThreshold = Integer.parseInt(System.getProperty(STRASSEN_THRESHOLD, "0"));
+    private static volatile boolean autoTune = Boolean.parseBoolean(System.getProperty(AUTO_TUNE, "false"));
+
+    private BlasThresholds() {}
+
+    /**
+     * A problem that can be solved both in java and by the backend
+     */
+    public interface Benchmark {
+        /**
+         * Prepare the inputs for a problem of the given size
+         * @param size the problem size
+         */
+        void setUp(int size);
+
+        /**
+         * Solve the problem in java
+         */
+        void runJava();
+
+        /**
+         * Solve the problem with the backend
+         */
+        void runBlas();
+    }
+
+    public static int getLevel1Threshold() {
+        return level1Threshold;
+    }
+
+    public static void setLevel1Threshold(int level1Threshold) {
+        BlasThresholds.level1Threshold = level1Threshold;
+    }
+
+    public static int getLevel2Threshold() {
+        return level2Threshold;
+    }
+
+    public static void setLevel2Threshold(int level2Threshold) {
+        BlasThresholds.level2Threshold = level2Threshold;
+    }
+
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public static void setParallelThreshold(int parallelThreshold) {
+        BlasThresholds.parallelThreshold = parallelThreshold;
+    }
+
+    public static int getStrassenThreshold() {
+        return strassenThreshold;
+    }
+
+    public static void setStrassenThreshold(int strassenThreshold) {
+        BlasThresholds.strassenThreshold = strassenThreshold;
+    }
+
+    public static boolean isAutoTune() {
+        return autoTune;
+    }
+
+    public static void setAutoTune(boolean autoTune) {
+        BlasThresholds.autoTune = autoTune;
+    }
+
+    /**
+     * The largest of the given (increasing) sizes for which java
+     * is at least as fast as the backend, measuring sizes
+     * until the backend wins.
+     * @param benchmark the problem to measure
+     * @param sizes the sizes to try, in increasing order
+     * @return the largest size java should be used for, 0 if the backend is always faster
+     */
+    public static int crossover(Benchmark benchmark, int... sizes) {
+        int ret = 0;
+        for (int size : sizes) {
+            benchmark.setUp(size);
+            int repeat = Math.max(1, (1 << 16) / size);
+            long javaTime = Long.MAX_VALUE, blasTime = Long.MAX_VALUE;
+            //best of a few rounds, the first one being warm up
+            for (int round = 0; round < 4; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < repeat; i++)
+                    benchmark.runJava();
+                long javaRound = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < repeat; i++)
+                    benchmark.runBlas();
+                long blasRound = System.nanoTime() - start;
+                if (round > 0) {
+                    javaTime = Math.min(javaTime, javaRound);
+                    blasTime = Math.min(blasTime, blasRound);
+                }
+            }
+
+            log.debug("Size {}: java {} ns, blas {} ns", size, javaTime / repeat, blasTime / repeat);
+            if (javaTime > blasTime)
+                break;
+            ret = size;
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,139 @@
+package org.nd4j.linalg.api.blas.impl;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.executors.ExecutorServiceProvider;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Level 1 and level 2 kernels in plain java working directly on
+ * {@link DataBuffer}s with arbitrary offsets and strides,
+ * so they need neither copies nor a call in to the backend.
+ *
+ * Used for small problems by {@link BaseLevel1} and {@link BaseLevel2}
+ * (see {@link BlasThresholds}) and by the java backend for all sizes:
+ * matrix vector products larger than {@link BlasThresholds#getParallelThreshold()}
+ * are split over blocks of rows in parallel.
+ *
+ * @author Adam Gibson
+ */
+public class JavaBlas {
+
+    private JavaBlas() {}
+
+    /**
+     * x . y
+     */
+    public static double dot(int n, DataBuffer x, int offsetX, int incX, DataBuffer y, int offsetY, int incY) {
+        double sum = 0;
+        if (incX == 1 && incY == 1) {
+            for (int i = 0; i < n; i++)
+                sum += x.getDouble(offsetX + i) * y.getDouble(offsetY + i);
+        } else {
+            for (int i = 0; i < n; i++)
+                sum += x.getDouble(offsetX + i * incX) * y.getDouble(offsetY + i * incY);
+        }
+        return sum;
+    }
+
+    /**
+     * y := alpha * x + y
+     */
+    public static void axpy(int n, double alpha, DataBuffer x, int offsetX, int incX, DataBuffer y, int offsetY, int incY) {
+        if (incX == 1 && incY == 1) {
+            for (int i = 0; i < n; i++) {
+                int yIdx = offsetY + i;
+                y.put(yIdx, y.getDouble(yIdx) + alpha * x.getDouble(offsetX + i));
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                int yIdx = offsetY + i * incY;
+                y.put(yIdx, y.getDouble(yIdx) + alpha * x.getDouble(offsetX + i * incX));
+            }
+        }
+    }
+
+    /**
+     * y := alpha * A * x + beta * y
+     * for an m x n matrix A whose element (i, j) is at offsetA + i * rowStride + j * columnStride.
+     * Transposes are expressed by swapping the strides (and m and n).
+     */
+    public static void gemv(int m, int n, double alpha, DataBuffer a, int offsetA, int rowStride, int columnStride,
+                            DataBuffer x, int offsetX, int incX, double beta, DataBuffer y, int offsetY, int incY) {
+        GemvAction action = new GemvAction(m, n, alpha, a, offsetA, rowStride, columnStride, x, offsetX, incX, beta, y, offsetY, incY, 0, m);
+        if ((long) m * n <= BlasThresholds.getParallelThreshold() || m < 2)
+            action.compute();
+        else if (ForkJoinTask.inForkJoinPool())
+            action.invoke();
+        else
+            ExecutorServiceProvider.getForkJoinPool().invoke(action);
+    }
+
+    /**
+     * A block of rows of a matrix vector product.
+     * Each block owns its elements of y, so blocks are independent.
+     */
+    private static class GemvAction extends RecursiveAction {
+        private int m, n;
+        private double alpha, beta;
+        private DataBuffer a, x, y;
+        private int offsetA, rowStride, columnStride, offsetX, incX, offsetY, incY;
+        private int start, end;
+
+        private GemvAction(int m, int n, double alpha, DataBuffer a, int offsetA, int rowStride, int columnStride,
+                           DataBuffer x, int offsetX, int incX, double beta, DataBuffer y, int offsetY, int incY, int start, int end) {
+            this.m = m;
+            this.n = n;
+            this.alpha = alpha;
+            this.a = a;
+            this.offsetA = offsetA;
+            this.rowStride = rowStride;
+            this.columnStride = columnStride;
+            this.x = x;
+            this.offsetX = offsetX;
+            this.incX = incX;
+            this.beta = beta;
+            this.y = y;
+            this.offsetY = offsetY;
+            this.incY = incY;
+            this.start = start;
+            this.end = end;
+        }
+
+        private GemvAction block(int start, int end) {
+            return new GemvAction(m, n, alpha, a, offsetA, rowStride, columnStride, x, offsetX, incX, beta, y, offsetY, incY, start, end);
+        }
+
+        @Override
+        protected void compute() {
+            if ((long) (end - start) * n > BlasThresholds.getParallelThreshold() && end - start > 1) {
+                int mid = start + (end - start) / 2;
+                invokeAll(block(start, mid), block(mid, end));
+                return;
+            }
+
+            double[] sums = new double[end - start];
+            if (Math.abs(rowStride) <= Math.abs(columnStride)) {
+                //column major: accumulate column by column so A is walked down its columns
+                for (int j = 0; j < n; j++) {
+                    double xj = x.getDouble(offsetX + j * incX);
+                    if (xj == 0)
+                        continue;
+                    int col = offsetA + j * columnStride;
+                    for (int i = start; i < end; i++)
+                        sums[i - start] += xj * a.getDouble(col + i * rowStride);
+                }
+            } else {
+                //row major: every element of y is a dot product with a row of A
+                for (int i = start; i < end; i++)
+                    sums[i - start] = dot(n, a, offsetA + i * rowStride, columnStride, x, offsetX, incX);
+            }
+
+            for (int i = start; i < end; i++) {
+                int yIdx = offsetY + i * incY;
+                y.put(yIdx, alpha * sums[i - start] + (beta == 0 ? 0 : beta * y.getDouble(yIdx)));
+            }
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package org.nd4j.linalg.api.blas.impl;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.executors.ExecutorServiceProvider;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Matrix multiply in plain java for when no blas is available
+ * or for products too large for the caches.
+ *
+ * C is computed in tiles, split recursively over fork join tasks.
+ * Every tile walks K in blocks: a block of op(B) and, in turn, blocks of op(A)
+ * are packed in to contiguous scratch arrays (one set per thread, reused between calls)
+ * so the inner loop only touches memory that is in cache.
+ *
+ * Above {@link BlasThresholds#getStrassenThreshold()} the product is split with the
+ * Strassen-Winograd scheme (7 half size products instead of 8), computed in parallel.
+ *
+ * Matrices are given by a buffer, an offset and the strides of their rows and columns,
+ * so any 'c', 'f' or strided view is read in place. Transposes are expressed by swapping strides.
+ *
+ * @author Adam Gibson
+ */
+public class JavaGemm {
+    /**
+     * Rows of op(A) packed per block
+     */
+    public final static int BLOCK_M = 64;
+    /**
+     * Columns of op(A) (rows of op(B)) packed per block
+     */
+    public final static int BLOCK_K = 256;
+    /**
+     * Columns of op(B) packed per block
+     */
+    public final static int BLOCK_N = 128;
+    /**
+     * Number of multiply adds below which a tile of C isn't split further
+     */
+    public final static long PARALLEL_THRESHOLD = 1 << 18;
+
+    private final static ThreadLocal<double[][]> SCRATCH = new ThreadLocal<double[][]>() {
+        @Override
+        protected double[][] initialValue() {
+            return new double[3][];
+        }
+    };
+
+    private JavaGemm() {}
+
+    /**
+     * C := alpha * op(A) * op(B) + beta * C
+     * for an m x k op(A), a k x n op(B) and an m x n C
+     * whose element (i, j) is at offset + i * rowStride + j * columnStride of their buffers.
+     *
+     * Only m, n and k are known here: callers check that the shapes of op(A), op(B) and C
+     * agree with them (see {@link org.nd4j.linalg.api.blas.params.GemmParams}).
+     *
+     * @throws IllegalArgumentException if a dimension is negative
+     */
+    public static void gemm(int m, int n, int k, double alpha,
+                            DataBuffer a, int offsetA, int rowStrideA, int columnStrideA,
+                            DataBuffer b, int offsetB, int rowStrideB, int columnStrideB,
+                            double beta, DataBuffer c, int offsetC, int rowStrideC, int columnStrideC) {
+        if (m < 0 || n < 0 || k < 0)
+            throw new IllegalArgumentException("Illegal dimensions m = " + m + ", n = " + n + ", k = " + k);
+        Matrix C = new Matrix(c, offsetC, rowStrideC, columnStrideC);
+        if (beta != 1) {
+            for (int j = 0; j < n; j++)
+                for (int i = 0; i < m; i++)
+                    C.put(i, j, beta == 0 ? 0 : beta * C.get(i, j));
+        }
+        if (m == 0 || n == 0 || k == 0 || alpha == 0)
+            return;
+
+        Matrix A = new Matrix(a, offsetA, rowStrideA, columnStrideA);
+        Matrix B = new Matrix(b, offsetB, rowStrideB, columnStrideB);
+        int strassen = BlasThresholds.getStrassenThreshold();
+        if (strassen > 0 && Math.min(m, Math.min(n, k)) >= strassen) {
+            double[] product = strassen(dense(A, m, k), dense(B, k, n), m, k, n, strassen);
+            for (int j = 0; j < n; j++)
+                for (int i = 0; i < m; i++)
+                    C.put(i, j, C.get(i, j) + alpha * product[i + j * m]);
+        } else
+            run(new TileAction(A, B, C, k, alpha, 0, m, 0, n));
+    }
+
+    private static void run(ForkJoinTask<?> task) {
+        if (ForkJoinTask.inForkJoinPool())
+            task.invoke();
+        else
+            ExecutorServiceProvider.getForkJoinPool().invoke(task);
+    }
+
+    /**
+     * The scratch array of the calling thread at the given slot,
+     * grown to hold at least length elements
+     */
+    private static double[] scratch(int slot, int length) {
+        double[][] scratch = SCRATCH.get();
+        if (scratch[slot] == null || scratch[slot].length < length)
+            scratch[slot] = new double[length];
+        return scratch[slot];
+    }
+
+    /**
+     * A matrix in a buffer or a java array, addressed by offset and strides
+     */
+    private static class Matrix {
+        private DataBuffer buffer;
+        private double[] array;
+        private int offset, rowStride, columnStride;
+
+        private Matrix(DataBuffer buffer, int offset, int rowStride, int columnStride) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.rowStride = rowStride;
+            this.columnStride = columnStride;
+        }
+
+        /**
+         * A dense column major array with the given number of rows
+         */
+        private Matrix(double[] array, int rows) {
+            this.array = array;
+            this.rowStride = 1;
+            this.columnStride = rows;
+        }
+
+        private double get(int i, int j) {
+            int idx = offset + i * rowStride + j * columnStride;
+            return array != null ? array[idx] : buffer.getDouble(idx);
+        }
+
+        private void put(int i, int j, double value) {
+            int idx = offset + i * rowStride + j * columnStride;
+            if (array != null)
+                array[idx] = value;
+            else
+                buffer.put(idx, value);
+        }
+    }
+
+    /**
+     * C[rowStart:rowEnd, columnStart:columnEnd] += alpha * A[rowStart:rowEnd, :] * B[:, columnStart:columnEnd],
+     * split over the larger dimension of the tile until it holds little enough work
+     */
+    private static class TileAction extends RecursiveAction {
+        private Matrix A, B, C;
+        private int k, rowStart, rowEnd, columnStart, columnEnd;
+        private double alpha;
+
+        private TileAction(Matrix A, Matrix B, Matrix C, int k, double alpha, int rowStart, int rowEnd, int columnStart, int columnEnd) {
+            this.A = A;
+            this.B = B;
+            this.C = C;
+            this.k = k;
+            this.alpha = alpha;
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+            this.columnStart = columnStart;
+            this.columnEnd = columnEnd;
+        }
+
+        @Override
+        protected void compute() {
+            int rows = rowEnd - rowStart;
+            int columns = columnEnd - columnStart;
+            if ((long) rows * columns * k > PARALLEL_THRESHOLD && Math.max(rows, columns) > BLOCK_M) {
+                if (rows >= columns) {
+                    int mid = rowStart + split(rows, BLOCK_M);
+                    invokeAll(new TileAction(A, B, C, k, alpha, rowStart, mid, columnStart, columnEnd),
+                            new TileAction(A, B, C, k, alpha, mid, rowEnd, columnStart, columnEnd));
+                } else {
+                    int mid = columnStart + split(columns, BLOCK_M);
+                    invokeAll(new TileAction(A, B, C, k, alpha, rowStart, rowEnd, columnStart, mid),
+                            new TileAction(A, B, C, k, alpha, rowStart, rowEnd, mid, columnEnd));
+                }
+                return;
+            }
+
+            for (int j0 = columnStart; j0 < columnEnd; j0 += BLOCK_N) {
+                int nc = Math.min(BLOCK_N, columnEnd - j0);
+                for (int p0 = 0; p0 < k; p0 += BLOCK_K) {
+                    int kc = Math.min(BLOCK_K, k - p0);
+                    //op(B)[p0:p0+kc, j0:j0+nc], column by column, scaled by alpha
+                    double[] packedB = scratch(0, kc * nc);
+                    for (int j = 0; j < nc; j++)
+                        for (int p = 0; p < kc; p++)
+                            packedB[p + j * kc] = alpha * B.get(p0 + p, j0 + j);
+
+                    for (int i0 = rowStart; i0 < rowEnd; i0 += BLOCK_M) {
+                        int mc = Math.min(BLOCK_M, rowEnd - i0);
+                        double[] packedA = scratch(1, mc * kc);
+                        for (int p = 0; p < kc; p++)
+                            for (int i = 0; i < mc; i++)
+                                packedA[i + p * mc] = A.get(i0 + i, p0 + p);
+
+                        double[] tile = scratch(2, mc);
+                        for (int j = 0; j < nc; j++) {
+                            for (int i = 0; i < mc; i++)
+                                tile[i] = 0;
+                            int bOffset = j * kc;
+                            for (int p = 0; p < kc; p++) {
+                                double bpj = packedB[bOffset + p];
+                                if (bpj == 0)
+                                    continue;
+                                int aOffset = p * mc;
+                                for (int i = 0; i < mc; i++)
+                                    tile[i] += packedA[aOffset + i] * bpj;
+                            }
+                            for (int i = 0; i < mc; i++)
+                                C.put(i0 + i, j0 + j, C.get(i0 + i, j0 + j) + tile[i]);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Half of length, rounded to a multiple of the block size where possible
+         */
+        private static int split(int length, int block) {
+            int half = length / 2;
+            if (half > block)
+                half -= half % block;
+            return half;
+        }
+    }
+
+    /**
+     * A dense column major copy of an m x n matrix
+     */
+    private static double[] dense(Matrix matrix, int m, int n) {
+        double[] ret = new double[m * n];
+        for (int j = 0; j < n; j++)
+            for (int i = 0; i < m; i++)
+                ret[i + j * m] = matrix.get(i, j);
+        return ret;
+    }
+
+    /**
+     * The m x n product of the dense column major m x k a and k x n b
+     * by Strassen-Winograd recursion down to the given size
+     */
+    private static double[] strassen(double[] a, double[] b, int m, int k, int n, int threshold) {
+        double[] c = new double[m * n];
+        if (Math.min(m, Math.min(k, n)) < Math.max(2, threshold)) {
+            run(new TileAction(new Matrix(a, m), new Matrix(b, k), new Matrix(c, m), k, 1, 0, m, 0, n));
+            return c;
+        }
+
+        //quadrants of (zero padded) even size
+        int mh = (m + 1) / 2, kh = (k + 1) / 2, nh = (n + 1) / 2;
+        double[] a11 = quadrant(a, m, k, 0, 0, mh, kh), a12 = quadrant(a, m, k, 0, kh, mh, kh);
+        double[] a21 = quadrant(a, m, k, mh, 0, mh, kh), a22 = quadrant(a, m, k, mh, kh, mh, kh);
+        double[] b11 = quadrant(b, k, n, 0, 0, kh, nh), b12 = quadrant(b, k, n, 0, nh, kh, nh);
+        double[] b21 = quadrant(b, k, n, kh, 0, kh, nh), b22 = quadrant(b, k, n, kh, nh, kh, nh);
+
+        double[] s1 = add(a21, a22, 1), s2 = add(s1, a11, -1), s3 = add(a11, a21, -1), s4 = add(a12, s2, -1);
+        double[] t1 = add(b12, b11, -1), t2 = add(b22, t1, -1), t3 = add(b22, b12, -1), t4 = add(t2, b21, -1);
+
+        StrassenProduct[] products = {
+                new StrassenProduct(a11, b11, mh, kh, nh, threshold),
+                new StrassenProduct(a12, b21, mh, kh, nh, threshold),
+                new StrassenProduct(s4, b22, mh, kh, nh, threshold),
+                new StrassenProduct(a22, t4, mh, kh, nh, threshold),
+                new StrassenProduct(s1, t1, mh, kh, nh, threshold),
+                new StrassenProduct(s2, t2, mh, kh, nh, threshold),
+                new StrassenProduct(s3, t3, mh, kh, nh, threshold)
+        };
+        if (ForkJoinTask.inForkJoinPool())
+            ForkJoinTask.invokeAll(products);
+        else
+            ExecutorServiceProvider.getForkJoinPool().invoke(new StrassenAll(products));
+
+        double[] p1 = products[0].result, p2 = products[1].result, p3 = products[2].result, p4 = products[3].result;
+        double[] p5 = products[4].result, p6 = products[5].result, p7 = products[6].result;
+        double[] u2 = add(p1, p6, 1);
+        double[] u3 = add(u2, p7, 1);
+        double[] u4 = add(u2, p5, 1);
+        //C11 = p1 + p2, C12 = u4 + p3, C21 = u3 - p4, C22 = u3 + p5
+        for (int j = 0; j < n; j++) {
+            boolean left = j < nh;
+            int jq = left ? j : j - nh;
+            for (int i = 0; i < m; i++) {
+                boolean top = i < mh;
+                int q = (top ? i : i - mh) + jq * mh;
+                double value;
+                if (top)
+                    value = left ? p1[q] + p2[q] : u4[q] + p3[q];
+                else
+                    value = left ? u3[q] - p4[q] : u3[q] + p5[q];
+                c[i + j * m] = value;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * The rows x columns block of the dense m x n matrix x at (row, column),
+     * with the part outside of x left at zero
+     */
+    private static double[] quadrant(double[] x, int m, int n, int row, int column, int rows, int columns) {
+        double[] ret = new double[rows * columns];
+        int rowEnd = Math.min(rows, m - row);
+        int columnEnd = Math.min(columns, n - column);
+        for (int j = 0; j < columnEnd; j++)
+            System.arraycopy(x, row + (column + j) * m, ret, j * rows, rowEnd);
+        return ret;
+    }
+
+    /**
+     * x + sign * y
+     */
+    private static double[] add(double[] x, double[] y, double sign) {
+        double[] ret = new double[x.length];
+        for (int i = 0; i < ret.length; i++)
+            ret[i] = x[i] + sign * y[i];
+        return ret;
+    }
+
+    private static class StrassenProduct extends RecursiveAction {
+        private double[] a, b, result;
+        private int m, k, n, threshold;
+
+        private StrassenProduct(double[] a, double[] b, int m, int k, int n, int threshold) {
+            this.a = a;
+            this.b = b;
+            this.m = m;
+            this.k = k;
+            this.n = n;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            result = strassen(a, b, m, k, n, threshold);
+        }
+    }
+
+    private static class StrassenAll extends RecursiveAction {
+        private StrassenProduct[] products;
+
+        private StrassenAll(StrassenProduct[] products) {
+            this.products = products;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(products);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.nd4j.linalg.api.blas.impl;
+
+import org.nd4j.linalg.api.quantized.QuantizedMatrix;
+import org.nd4j.linalg.executors.ExecutorServiceProvider;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Integer kernel of the quantized gemm: (A - zA) * (B - zB)'
+ * for 8 bit A (m x k) and B (n x k), accumulated in 32 bit integers.
+ *
+ * Both operands are row major, so every element of the result is a dot product
+ * of two contiguous byte rows. The zero points are folded in afterwards from the row sums:
+ * sum (a - za)(b - zb) = sum a b - zb sum a - za sum b + k za zb.
+ * With 8 bit values and zero points every term (a - za)(b - zb) is at most 255^2 < 2^16 in magnitude,
+ * so k may be up to 2^15 without overflowing the result (the intermediate terms may wrap,
+ * which is exact in two's complement as long as the result fits).
+ *
+ * @author Adam Gibson
+ */
+public class QuantizedGemm {
+    /**
+     * Number of multiply adds below which a range of rows isn't split further
+     */
+    public final static long PARALLEL_THRESHOLD = 1 << 18;
+    /**
+     * Largest inner dimension the 32 bit accumulators can't overflow for
+     */
+    public final static int MAX_K = 1 << 15;
+
+    private QuantizedGemm() {}
+
+    /**
+     * The integer product (A - zA) * (B - zB)'
+     * @param A the left matrix (m x k)
+     * @param B the right matrix, transposed (n x k)
+     * @return the m x n accumulators, row major
+     */
+    public static int[] accumulate(QuantizedMatrix A, QuantizedMatrix B) {
+        if (A.columns() != B.columns())
+            throw new IllegalArgumentException("Inner dimensions don't match: A has " + A.columns() + " columns and B " + B.columns());
+        if (A.columns() > MAX_K)
+            throw new IllegalArgumentException("Inner dimension " + A.columns() + " may overflow the accumulators (at most " + MAX_K + ")");
+
+        int[] ret = new int[A.rows() * B.rows()];
+        int[] sumsB = rowSums(B);
+        AccumulateAction action = new AccumulateAction(A, B, sumsB, ret, 0, A.rows());
+        if ((long) A.rows() * B.rows() * A.columns() <= PARALLEL_THRESHOLD)
+            action.compute();
+        else if (ForkJoinTask.inForkJoinPool())
+            action.invoke();
+        else
+            ExecutorServiceProvider.getForkJoinPool().invoke(action);
+        return ret;
+    }
+
+    private static int[] rowSums(QuantizedMatrix matrix) {
+        byte[] data = matrix.data();
+        int k = matrix.columns();
+        int[] ret = new int[matrix.rows()];
+        for (int i = 0; i < ret.length; i++) {
+            int sum = 0;
+            for (int p = i * k; p < (i + 1) * k; p++)
+                sum += data[p];
+            ret[i] = sum;
+        }
+        return ret;
+    }
+
+    /**
+     * A range of rows of the product
+     */
+    private static class AccumulateAction extends RecursiveAction {
+        private QuantizedMatrix A, B;
+        private int[] sumsB, result;
+        private int start, end;
+
+        private AccumulateAction(QuantizedMatrix A, QuantizedMatrix B, int[] sumsB, int[] result, int start, int end) {
+            this.A = A;
+            this.B = B;
+            this.sumsB = sumsB;
+            this.result = result;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            int n = B.rows();
+            int k = A.columns();
+            if ((long) (end - start) * n * k > PARALLEL_THRESHOLD && end - start > 1) {
+                int mid = start + (end - start) / 2;
+                invokeAll(new AccumulateAction(A, B, sumsB, result, start, mid), new AccumulateAction(A, B, sumsB, result, mid, end));
+                return;
+            }
+
+            byte[] a = A.data();
+            byte[] b = B.data();
+            for (int i = start; i < end; i++) {
+                int aOffset = i * k;
+                int sumA = 0;
+                for (int p = 0; p < k; p++)
+                    sumA += a[aOffset + p];
+                int za = A.zeroPoint(i);
+                for (int j = 0; j < n; j++) {
+                    int bOffset = j * k;
+                    int dot = 0;
+                    for (int p = 0; p < k; p++)
+                        dot += a[aOffset + p] * b[bOffset + p];
+                    int zb = B.zeroPoint(j);
+                    result[i * n + j] = dot - zb * sumA - za * sumsB[j] + k * za * zb;
+                }
+            }
+        }
+    }
+}
@@ -1,22 +1,44 @@
 package org.nd4j.linalg.api.blas.params;
 
 import lombok.Data;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Used for setting the gemm parameters
  * Separates blas logic from
  * the run time itself.
  *
+ * Matrices with a unit stride along either dimension (including 'c' and 'f'
+ * ordered sub matrix views) are passed to blas as they are, using the
+ * transpose flags and leading dimensions. Other matrices are copied in to
+ * a per thread scratch buffer which is handed back with {@link #release()}.
+ * The number of copies is tracked by {@link #getCopies()} and {@link #getCopiedElements()}.
+ *
  * @author Adam Gibson
  */
 public @Data class GemmParams {
+    private static final AtomicLong copies = new AtomicLong();
+    private static final AtomicLong copiedElements = new AtomicLong();
+    //scratch buffers of the calling thread for a and b; taken while in use so nested calls never share them
+    private static final ThreadLocal<DataBuffer[]> scratch = new ThreadLocal<DataBuffer[]>() {
+        @Override
+        protected DataBuffer[] initialValue() {
+            return new DataBuffer[2];
+        }
+    };
+
     private int lda,ldb,ldc,m,n,k;
     private INDArray a,b,c;
     private char transA = 'N';
     private char transB = 'N';
     private char ordering = 'f';
+    private DataBuffer[] taken = new DataBuffer[2];
 
 
     /**
@@ -30,6 +52,9 @@ public @Data class GemmParams {
             throw new IllegalArgumentException("B columns must match C columns");
         if(a.rows() != c.rows())
             throw new IllegalArgumentException("A rows must equal C rows");
+        if(a.columns() != b.rows())
+            throw new IllegalArgumentException("Inner dimensions of A and B don't match: A has shape "
+                    + Arrays.toString(a.shape()) + " and B has shape " + Arrays.toString(b.shape()));
 
 
 
@@ -67,6 +92,7 @@ public @Data class GemmParams {
                 //in fortran ordering only
                 this.a = copyIfNeccessary(a);
                 this.b = b.dup(a.ordering());
+                countCopy(b);
                 this.c = c;
 
                 this.m = c.rows();
@@ -85,10 +111,8 @@ public @Data class GemmParams {
 
 
         }
-        else {
-            //automatically assume fortran ordering
-            //multiple backends force us to be
-            //in fortran ordering only
+        else if(a instanceof IComplexNDArray || b instanceof IComplexNDArray) {
+            //complex strides count real elements: keep to contiguous matrices
             this.a = copyIfNeccessary(a);
             this.b = copyIfNeccessary(b);
             this.c = c;
@@ -104,6 +128,30 @@ public @Data class GemmParams {
 
             this.transA = (this.a.ordering() == 'c' ? 'T' : 'N');
             this.transB = (this.b.ordering() == 'c' ? 'T' : 'N');
+        }
+        else {
+            //always fortran ordering: a matrix with unit stride along its rows
+            //is the transpose of a fortran ordered one
+            char layoutA = layout(a);
+            char layoutB = layout(b);
+            this.a = layoutA == 0 ? scratchCopy(a, 0) : a;
+            this.b = layoutB == 0 ? scratchCopy(b, 1) : b;
+            if(layoutA == 0)
+                layoutA = 'f';
+            if(layoutB == 0)
+                layoutB = 'f';
+            this.c = c;
+
+            this.m = c.rows();
+            this.n = c.columns();
+            this.k = a.columns();
+
+            this.lda = leadingDimension(this.a, layoutA);
+            this.ldb = leadingDimension(this.b, layoutB);
+            this.ldc = c.rows();
+
+            this.transA = (layoutA == 'c' ? 'T' : 'N');
+            this.transB = (layoutB == 'c' ? 'T' : 'N');
 
         }
 
@@ -116,18 +164,109 @@ public @Data class GemmParams {
 
 
 
+    /**
+     * Hand the scratch buffers used for copies of a and b
+     * back to the calling thread once blas is done with them.
+     * a and b must not be used after this.
+     */
+    public void release() {
+        DataBuffer[] buffers = scratch.get();
+        for(int i = 0; i < taken.length; i++) {
+            if(taken[i] != null) {
+                buffers[i] = taken[i];
+                taken[i] = null;
+            }
+        }
+    }
+
+    /**
+     * @return the number of matrices copied to make them blas compatible
+     */
+    public static long getCopies() {
+        return copies.get();
+    }
+
+    /**
+     * @return the total number of elements copied to make matrices blas compatible
+     */
+    public static long getCopiedElements() {
+        return copiedElements.get();
+    }
+
+    /**
+     * Reset the copy counters
+     */
+    public static void resetCopies() {
+        copies.set(0);
+        copiedElements.set(0);
+    }
+
+    private static void countCopy(INDArray arr) {
+        copies.incrementAndGet();
+        copiedElements.addAndGet(arr.length());
+    }
+
+    /**
+     * How the matrix can be read by (fortran ordered) blas:
+     * 'f' for a unit stride down the columns, 'c' for a unit stride along the rows
+     * (blas then reads the transpose) or 0 if it has to be copied.
+     * Strides of dimensions of size 1 are never used and don't matter.
+     */
+    private static char layout(INDArray arr) {
+        boolean columnMajor = (arr.rows() == 1 || arr.stride(0) == 1) && (arr.columns() == 1 || arr.stride(1) >= arr.rows());
+        boolean rowMajor = (arr.columns() == 1 || arr.stride(1) == 1) && (arr.rows() == 1 || arr.stride(0) >= arr.columns());
+        if(rowMajor && (arr.ordering() == 'c' || !columnMajor))
+            return 'c';
+        if(columnMajor)
+            return 'f';
+        return 0;
+    }
+
+    private static int leadingDimension(INDArray arr, char layout) {
+        if(layout == 'c')
+            return arr.rows() == 1 ? Math.max(1, arr.columns()) : arr.stride(0);
+        return arr.columns() == 1 ? Math.max(1, arr.rows()) : arr.stride(1);
+    }
+
+    /**
+     * A fortran ordered copy of the matrix in the scratch buffer of the calling thread
+     */
+    private INDArray scratchCopy(INDArray arr, int slot) {
+        countCopy(arr);
+        if(arr.data().dataType() != Nd4j.dataType())
+            return arr.dup('f');
+
+        DataBuffer[] buffers = scratch.get();
+        DataBuffer buffer = buffers[slot];
+        if(buffer == null || buffer.length() < arr.length())
+            buffer = Nd4j.createBuffer(arr.length(), false);
+        buffers[slot] = null;
+        taken[slot] = buffer;
+
+        int[] shape = new int[]{arr.rows(), arr.columns()};
+        INDArray ret = Nd4j.create(buffer, shape, Nd4j.getStrides(shape, 'f'), 0, 'f');
+        ret.assign(arr);
+        return ret;
+    }
+
     private INDArray copyIfNeccessary(INDArray arr) {
         //See also: Shape.toMmulCompatible - want same conditions here and there
         if(arr.isMatrix()) {
             //Check if matrix values are contiguous in memory. If not: dup
             //Contiguous for c if: stride[0] == shape[1] and stride[1] = 1
             //Contiguous for f if: stride[0] == 1 and stride[1] == shape[0]
-            if(!Nd4j.allowsSpecifyOrdering() && arr.ordering() == 'c' && (arr.stride(0) != arr.size(1) || arr.stride(1) != 1))
+            if(!Nd4j.allowsSpecifyOrdering() && arr.ordering() == 'c' && (arr.stride(0) != arr.size(1) || arr.stride(1) != 1)) {
+                countCopy(arr);
                 return arr.dup();
-            else if(arr.ordering() == 'f' && (arr.stride(0) != 1 || arr.stride(1) != arr.size(0)))
+            }
+            else if(arr.ordering() == 'f' && (arr.stride(0) != 1 || arr.stride(1) != arr.size(0))) {
+                countCopy(arr);
                 return arr.dup();
-            else if(arr.elementWiseStride() < 0)
+            }
+            else if(arr.elementWiseStride() < 0) {
+                countCopy(arr);
                 return arr.dup();
+            }
         }
         return arr;
     }
@@ -1,50 +1,213 @@
 package org.nd4j.linalg.api.iter;
 
-import org.nd4j.linalg.api.shape.Shape;
 import org.nd4j.linalg.util.ArrayUtil;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
- * Represents a cache linear index lookup
+ * Represents a cache linear index lookup:
+ * the nd index of every linear index of a shape, computed once.
+ *
+ * Tables are immutable once built and may be shared between threads.
+ * {@link #get(int[], char)} hands out tables from a process wide cache,
+ * keyed by the contents of the shape and the ordering.
+ * The cache is bounded by the total number of cached ints
+ * ({@link #CACHE_SIZE}, 4M by default), least recently used tables are evicted first
+ * and tables larger than the whole cache aren't cached at all.
+ *
  * @author Adam Gibson
  */
 public class LinearIndexLookup implements Serializable {
+    /**
+     * Maximum number of ints held by all cached tables together
+     */
+    public final static String CACHE_SIZE = "org.nd4j.linalg.iter.lookup.cache.size";
+
+    private static volatile long cacheSize = Long.parseLong(System.getProperty(CACHE_SIZE, String.valueOf(1 << 22)));
+    private static final Map<Key, LinearIndexLookup> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private static long cachedInts = 0;
+
     private char ordering;
-    private int[][] indexes;
     private int[] shape;
-    private boolean[] exists;
     private int numIndexes;
+    //nd indexes of all linear indexes, one after the other
+    private int[] indexes;
 
     /**
      *
      * @param shape the shape of the linear index
      * @param ordering the ordering of the linear index
      */
-    public LinearIndexLookup(int[] shape,char ordering) {
-        this.shape = shape;
+    public LinearIndexLookup(int[] shape, char ordering) {
+        if (ordering != 'c' && ordering != 'f')
+            throw new IllegalArgumentException("Illegal ordering " + ordering);
+        this.shape = ArrayUtil.copy(shape);
         this.ordering = ordering;
         numIndexes = ArrayUtil.prod(shape);
-        indexes = new int[numIndexes][shape.length];
-        exists = new boolean[numIndexes];
+        indexes = new int[numIndexes * shape.length];
+
+        int rank = shape.length;
+        int[] position = new int[rank];
+        for (int i = 0; i < numIndexes; i++) {
+            System.arraycopy(position, 0, indexes, i * rank, rank);
+            increment(this.shape, ordering, position);
+        }
+    }
+
+    /**
+     * Advance an nd index to the next linear index of the given shape and ordering
+     * @param shape the shape
+     * @param ordering the ordering ('c' moves the last dimension fastest, 'f' the first)
+     * @param position the nd index to advance in place
+     */
+    static void increment(int[] shape, char ordering, int[] position) {
+        if (ordering == 'c') {
+            for (int d = shape.length - 1; d >= 0; d--) {
+                if (++position[d] < shape[d])
+                    return;
+                position[d] = 0;
+            }
+        } else {
+            for (int d = 0; d < shape.length; d++) {
+                if (++position[d] < shape[d])
+                    return;
+                position[d] = 0;
+            }
+        }
     }
 
     /**
      * Give back a sub
      * wrt the given linear index
      * @param index the index
-     * @return the sub for the given index
+     * @return the sub for the given index (a new array)
      */
     public int[] lookup(int index) {
-        if(exists[index]) {
-            return indexes[index];
+        return lookup(index, new int[shape.length]);
+    }
+
+    /**
+     * Copy the sub for the given linear index in to dst
+     * @param index the index
+     * @param dst the array to write to, of at least the rank of the shape
+     * @return dst
+     */
+    public int[] lookup(int index, int[] dst) {
+        if (index < 0 || index >= numIndexes)
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for length " + numIndexes);
+        System.arraycopy(indexes, index * shape.length, dst, 0, shape.length);
+        return dst;
+    }
+
+    public int length() {
+        return numIndexes;
+    }
+
+    public char ordering() {
+        return ordering;
+    }
+
+    /**
+     * The table for the given shape and ordering,
+     * from the cache when there is one
+     * @param shape the shape
+     * @param ordering the ordering
+     * @return the lookup table
+     */
+    public static LinearIndexLookup get(int[] shape, char ordering) {
+        Key key = new Key(shape, ordering);
+        synchronized (cache) {
+            LinearIndexLookup lookup = cache.get(key);
+            if (lookup != null)
+                return lookup;
         }
-        else {
-            exists[index] = true;
-            indexes[index] = ordering == 'c' ? Shape.ind2subC(shape,index,numIndexes) : Shape.ind2sub(shape,index,numIndexes);
-            return indexes[index];
+
+        //built outside of the lock: at worst 2 threads build the same table
+        LinearIndexLookup lookup = new LinearIndexLookup(shape, ordering);
+        long size = lookup.indexes.length;
+        if (size > cacheSize)
+            return lookup;
+        synchronized (cache) {
+            LinearIndexLookup existing = cache.get(key);
+            if (existing != null)
+                return existing;
+            cache.put(key, lookup);
+            cachedInts += size;
+            evict();
         }
+        return lookup;
     }
 
+    //callers hold the lock on the cache
+    private static void evict() {
+        Iterator<LinearIndexLookup> iter = cache.values().iterator();
+        while (cachedInts > cacheSize && iter.hasNext()) {
+            cachedInts -= iter.next().indexes.length;
+            iter.remove();
+        }
+    }
 
+    /**
+     * The number of tables currently cached
+     */
+    public static int cachedTables() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Drop all cached tables
+     */
+    public static void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+            cachedInts = 0;
+        }
+    }
+
+    public static long getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Set the maximum number of ints held by the cache, evicting tables as needed
+     * @param cacheSize the new size
+     */
+    public static void setCacheSize(long cacheSize) {
+        synchronized (cache) {
+            LinearIndexLookup.cacheSize = cacheSize;
+            evict();
+        }
+    }
+
+    /**
+     * Cache key comparing shapes by content
+     */
+    private static class Key {
+        private int[] shape;
+        private char ordering;
+
+        private Key(int[] shape, char ordering) {
+            this.shape = ArrayUtil.copy(shape);
+            this.ordering = ordering;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key))
+                return false;
+            Key other = (Key) o;
+            return ordering == other.ordering && Arrays.equals(shape, other.shape);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(shape) + ordering;
+        }
+    }
 }
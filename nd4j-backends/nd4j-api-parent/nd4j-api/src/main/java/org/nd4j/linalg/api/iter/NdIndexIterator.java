@@ -1,12 +1,9 @@
 package org.nd4j.linalg.api.iter;
 
-import org.apache.commons.math3.util.Pair;
-import org.nd4j.linalg.api.shape.Shape;
 import org.nd4j.linalg.util.ArrayUtil;
 
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.NoSuchElementException;
 
 /**
  * Iterates and returns int arrays
@@ -16,6 +13,11 @@ import java.util.Map;
  * the shape until each item in the "position"
  * hits the current shape
  *
+ * Indexes are advanced in place rather than recomputed from the linear index;
+ * {@link #nextInto(int[])} copies them in to a caller supplied array
+ * so iterating doesn't allocate per element.
+ * With caching enabled the indexes come from a shared {@link LinearIndexLookup} table.
+ *
  * @author Adam Gibson
  */
 public class NdIndexIterator implements Iterator<int[]> {
@@ -24,8 +26,8 @@ public class NdIndexIterator implements Iterator<int[]> {
     private int[] shape;
     private char order = 'c';
     private boolean cache = false;
-    private static Map<Pair<int[],Character>,LinearIndexLookup> lookupMap = new HashMap<>();
     private LinearIndexLookup lookup;
+    private int[] position;
 
 
     /**
@@ -44,26 +46,16 @@ public class NdIndexIterator implements Iterator<int[]> {
      * @param shape the shape to iterate over
      */
     public NdIndexIterator(char order,boolean cache,int...shape) {
+        if(order != 'c' && order != 'f')
+            throw new IllegalArgumentException("Illegal ordering " + order);
         this.shape = ArrayUtil.copy(shape);
         this.length = ArrayUtil.prod(shape);
         this.order = order;
         this.cache = cache;
-        if(this.cache) {
-            LinearIndexLookup lookup = lookupMap.get(new Pair<>(shape,order));
-            if(lookup == null) {
-                lookup = new LinearIndexLookup(shape,order);
-                //warm up the cache
-                for(int i = 0; i < length; i++) {
-                    lookup.lookup(i);
-                }
-                lookupMap.put(new Pair<>(shape,order),lookup);
-                this.lookup = lookup;
-            }
-            else {
-                this.lookup = lookupMap.get(new Pair<>(shape,order));
-            }
-
-        }
+        if(this.cache)
+            this.lookup = LinearIndexLookup.get(shape, order);
+        else
+            this.position = new int[shape.length];
     }
     /**
      *  Pass in the shape to iterate over
@@ -82,14 +74,23 @@ public class NdIndexIterator implements Iterator<int[]> {
 
     @Override
     public int[] next() {
-        if(lookup != null)
-            return lookup.lookup(i++);
-        switch(order) {
-            case 'c':  return Shape.ind2subC(shape,i++);
-            case 'f':  return Shape.ind2sub(shape, i++);
-            default: throw new IllegalArgumentException("Illegal ordering " + order);
-        }
+        return nextInto(new int[shape.length]);
+    }
 
+    /**
+     * Copy the next index in to the given array
+     * @param dst the array to write to, of at least the rank of the shape
+     * @return dst
+     */
+    public int[] nextInto(int[] dst) {
+        if(!hasNext())
+            throw new NoSuchElementException();
+        if(lookup != null)
+            return lookup.lookup(i++, dst);
+        System.arraycopy(position, 0, dst, 0, shape.length);
+        LinearIndexLookup.increment(shape, order, position);
+        i++;
+        return dst;
     }
 
 
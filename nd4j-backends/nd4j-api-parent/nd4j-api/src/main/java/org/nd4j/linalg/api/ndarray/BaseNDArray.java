@@ -40,9 +40,15 @@ import org.nd4j.linalg.api.ops.impl.transforms.*;
 import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.AddOp;
 import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.DivOp;
 import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.MulOp;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.RDivOp;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.RSubOp;
 import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.SubOp;
 import org.nd4j.linalg.api.ops.impl.transforms.comparison.*;
 import org.nd4j.linalg.api.ops.impl.broadcast.*;
+import org.nd4j.linalg.api.ops.Op;
+import org.nd4j.linalg.api.ops.executioner.tasks.TransformAction;
+import org.nd4j.linalg.api.shape.loop.strided.StridedLoop;
+import org.nd4j.linalg.executors.ExecutorServiceProvider;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.indexing.*;
 import org.nd4j.linalg.indexing.conditions.Condition;
@@ -59,6 +65,7 @@ import java.lang.Iterable;
 import java.nio.IntBuffer;
 import java.util.*;
 import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
 
 import static org.nd4j.linalg.factory.Nd4j.createUninitialized;
 
@@ -1106,6 +1113,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
 
     @Override
     public  INDArray putScalar(int i, double value) {
+        //the element is written outside of the executioner: pending lazy ops must land first
+        Nd4j.getExecutioner().commit();
         if(i < 0)
             i += rank();
         if(isScalar()) {
@@ -1137,6 +1146,7 @@ public abstract class BaseNDArray implements INDArray, Iterable {
 
     @Override
     public INDArray putScalar(int[] indexes, double value) {
+        Nd4j.getExecutioner().commit();
         for(int i = 0; i < indexes.length; i++) {
             if(indexes[i] < 0)
                 indexes[i] += rank();
@@ -1160,6 +1170,7 @@ public abstract class BaseNDArray implements INDArray, Iterable {
     @Override
     public INDArray putScalar(int row, int col, double value){
         if(rank != 2) throw new IllegalStateException("Cannot use putScalar(int,int,double) on a rank " + rank + " INDArray");
+        Nd4j.getExecutioner().commit();
         long offset = Shape.getOffsetUnsafe(shapeInformation, row, col);
         data.put(offset, value);
         return this;
@@ -1168,6 +1179,7 @@ public abstract class BaseNDArray implements INDArray, Iterable {
     @Override
     public INDArray putScalar(int dim0, int dim1, int dim2, double value){
         if(rank != 3) throw new IllegalStateException("Cannot use putScalar(int,int,int,double) on a rank " + rank + " INDArray");
+        Nd4j.getExecutioner().commit();
         long offset = Shape.getOffsetUnsafe(shapeInformation, dim0, dim1, dim2);
         data.put(offset, value);
         return this;
@@ -1176,6 +1188,7 @@ public abstract class BaseNDArray implements INDArray, Iterable {
     @Override
     public INDArray putScalar(int dim0, int dim1, int dim2, int dim3, double value){
         if(rank != 4) throw new IllegalStateException("Cannot use putScalar(int,int,int,int,double) on a rank " + rank + " INDArray");
+        Nd4j.getExecutioner().commit();
         long offset = Shape.getOffsetUnsafe(shapeInformation, dim0, dim1, dim2, dim3);
         data.put(offset, value);
         return this;
@@ -1281,11 +1294,15 @@ public abstract class BaseNDArray implements INDArray, Iterable {
 
     @Override
     public INDArray lt(INDArray other) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, null, 'l');
         return dup().lti(other);
     }
 
     @Override
     public INDArray lti(INDArray other) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, this, 'l');
         Nd4j.getExecutioner().exec(new LessThan(this, other, this, length()));
         return this;
     }
@@ -1303,33 +1320,45 @@ public abstract class BaseNDArray implements INDArray, Iterable {
 
     @Override
     public INDArray neq(INDArray other) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, null, 'n');
         return dup().neqi(other);
     }
 
     @Override
     public INDArray neqi(INDArray other) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, this, 'n');
         Nd4j.getExecutioner().exec(new NotEqualTo(this, other, this, length()));
         return this;
     }
 
     @Override
     public INDArray eq(INDArray other) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, null, 'e');
         return dup().eqi(other);
     }
 
     @Override
     public INDArray eqi(INDArray other) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, this, 'e');
         Nd4j.getExecutioner().exec(new EqualTo(this, other, this, length()));
         return this;
     }
 
     @Override
     public INDArray gt(INDArray other) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, null, 'g');
         return dup().gti(other);
     }
 
     @Override
     public INDArray gti(INDArray other) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, this, 'g');
         Nd4j.getExecutioner().exec(new GreaterThan(this, other, this, length()));
         return this;
     }
@@ -1469,12 +1498,15 @@ public abstract class BaseNDArray implements INDArray, Iterable {
 
     @Override
     public INDArray dup() {
+        //the copy is made outside of the executioner: pending lazy ops must land first
+        Nd4j.getExecutioner().commit();
         INDArray ret = Shape.toOffsetZeroCopy(this);
         return ret;
     }
 
     @Override
     public INDArray dup(char order){
+        Nd4j.getExecutioner().commit();
         return Shape.toOffsetZeroCopy(this, order);
     }
 
@@ -1498,6 +1530,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
      */
     @Override
     public double getDouble(int... indices) {
+        //the element is read outside of the executioner: pending lazy ops must land first
+        Nd4j.getExecutioner().commit();
         for(int i = 0; i < indices.length; i++) {
             if(indices[i] < 0)
                 indices[i] += rank();
@@ -2156,6 +2190,107 @@ public abstract class BaseNDArray implements INDArray, Iterable {
         }
     }
 
+    /**
+     * Whether a pairwise op with other has to broadcast: the shapes differ and
+     * either the lengths differ or the shapes broadcast to a common shape
+     * (so [3,1] op [1,3] is [3,3]). Arrays of the same length whose shapes
+     * can't be broadcast are matched element by element as before.
+     */
+    protected boolean broadcasts(INDArray other) {
+        if (Arrays.equals(shape(), other.shape()))
+            return false;
+        if (lengthLong() != other.lengthLong())
+            return true;
+        return Shape.broadcastOutputShape(shape(), other.shape()) != null;
+    }
+
+    /**
+     * Do a pairwise op with NumPy broadcasting (see {@link Shape#broadcastOutputShape(int[], int[])})
+     * a : add
+     * s : subtract
+     * m : multiply
+     * d : divide
+     * h : reverse subtraction
+     * t : reverse division
+     * g, l, e, n : greater than, less than, equal to, not equal to
+     *
+     * Both operands are read through zero stride views of the broadcast shape
+     * ({@link Shape#broadcastView(INDArray, int[])}) by a strided loop in the memory order of the result,
+     * so nothing the size of the result but the result itself is allocated.
+     *
+     * @param other the other operand
+     * @param result the array to write to, of the broadcast shape (allocated when null)
+     * @param operation the operation
+     * @return the result
+     */
+    protected INDArray broadcastPairwise(INDArray other, INDArray result, char operation) {
+        int[] shape = Shape.broadcastOutputShape(shape(), other.shape());
+        if (shape == null)
+            throw new IllegalStateException("Mis matched shapes: can't broadcast " + Arrays.toString(shape()) + " and " + Arrays.toString(other.shape()));
+        if (result == null)
+            result = createUninitialized(shape, ordering());
+        else if (!Arrays.equals(result.shape(), shape))
+            throw new IllegalStateException("Result has shape " + Arrays.toString(result.shape()) + ", the broadcast shape is " + Arrays.toString(shape));
+
+        //a stretched operand sharing memory with the result would read elements that were already written
+        INDArray first = this;
+        if (!Arrays.equals(shape(), shape) && data().sameUnderlyingData(result.data()))
+            first = dup();
+        if (!Arrays.equals(other.shape(), shape) && other.data().sameUnderlyingData(result.data()))
+            other = other.dup();
+        INDArray x = Shape.broadcastView(first, shape);
+        INDArray y = Shape.broadcastView(other, shape);
+
+        long n = result.lengthLong();
+        Op op;
+        switch (operation) {
+            case 'a':
+                op = new AddOp(x, y, result);
+                break;
+            case 's':
+                op = new SubOp(x, y, result, n);
+                break;
+            case 'm':
+                op = new MulOp(x, y, result, n);
+                break;
+            case 'd':
+                op = new DivOp(x, y, result, n);
+                break;
+            case 'h':
+                op = new RSubOp(x, y, result, n);
+                break;
+            case 't':
+                op = new RDivOp(x, y, result, n);
+                break;
+            case 'g':
+                op = new GreaterThan(x, y, result, n);
+                break;
+            case 'l':
+                op = new LessThan(x, y, result, n);
+                break;
+            case 'e':
+                op = new EqualTo(x, y, result, n);
+                break;
+            case 'n':
+                op = new NotEqualTo(x, y, result, n);
+                break;
+            default:
+                throw new UnsupportedOperationException("Unknown operation: " + operation);
+        }
+
+        Nd4j.getExecutioner().commit();
+        StridedLoop loop = new StridedLoop(2, x, y, result);
+        TransformAction action = TransformAction.strided(op, x, y, result, loop, 0, loop.outerLength());
+        if (ForkJoinTask.inForkJoinPool())
+            action.invoke();
+        else
+            ExecutorServiceProvider.getForkJoinPool().invoke(action);
+
+        if (Nd4j.ENFORCE_NUMERICAL_STABILITY && (operation == 'd' || operation == 't'))
+            Nd4j.clearNans(result);
+        return result;
+    }
+
     private void applyScalarOp(INDArray vector,char operation) {
         if(this instanceof IComplexNDArray) {
             IComplexNDArray row = (IComplexNDArray) vector;
@@ -2497,6 +2632,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
      */
     @Override
     public INDArray div(INDArray other) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, null, 'd');
         return dup().divi(other);
     }
 
@@ -2509,6 +2646,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
      */
     @Override
     public INDArray div(INDArray other, INDArray result) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, result, 'd');
         return dup().divi(other, result);
     }
 
@@ -2520,6 +2659,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
      */
     @Override
     public INDArray mul(INDArray other) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, null, 'm');
         return dup().muli(other);
     }
 
@@ -2532,6 +2673,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
      */
     @Override
     public INDArray mul(INDArray other, INDArray result) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, result, 'm');
         return dup().muli(other, result);
     }
 
@@ -2543,6 +2686,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
      */
     @Override
     public INDArray sub(INDArray other) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, null, 's');
         return dup().subi(other);
     }
 
@@ -2555,6 +2700,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
      */
     @Override
     public INDArray sub(INDArray other, INDArray result) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, result, 's');
         return dup().subi(other, result);
     }
 
@@ -2566,6 +2713,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
      */
     @Override
     public INDArray add(INDArray other) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, null, 'a');
         return dup().addi(other);
     }
 
@@ -2578,6 +2727,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
      */
     @Override
     public INDArray add(INDArray other, INDArray result) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, result, 'a');
         return dup().addi(other, result);
     }
 
@@ -2711,6 +2862,9 @@ public abstract class BaseNDArray implements INDArray, Iterable {
             return other.divi(getDouble(0), result);
         }
 
+        if (broadcasts(other))
+            return broadcastPairwise(other, result, 'd');
+
         Nd4j.getExecutioner().exec(new DivOp(this, other, result, length()));
 
         if (Nd4j.ENFORCE_NUMERICAL_STABILITY)
@@ -2745,6 +2899,9 @@ public abstract class BaseNDArray implements INDArray, Iterable {
             return other.muli(getDouble(0), result);
         }
 
+        if (broadcasts(other))
+            return broadcastPairwise(other, result, 'm');
+
         LinAlgExceptions.assertSameLength(other,result);
 
         Nd4j.getExecutioner().exec(new MulOp(this, other, result, length()));
@@ -2782,6 +2939,9 @@ public abstract class BaseNDArray implements INDArray, Iterable {
             return other.subi(getDouble(0), result);
         }
 
+        if (broadcasts(other))
+            return broadcastPairwise(other, result, 's');
+
         LinAlgExceptions.assertSameLength(other,result);
 
 
@@ -2822,6 +2982,9 @@ public abstract class BaseNDArray implements INDArray, Iterable {
         }
 
 
+        if (broadcasts(other))
+            return broadcastPairwise(other, result, 'a');
+
         LinAlgExceptions.assertSameLength(other,result);
 
         Nd4j.getExecutioner().exec(new AddOp(this, other, result));
@@ -2852,6 +3015,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
      */
     @Override
     public INDArray rdiv(INDArray other) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, null, 't');
         return dup().rdivi(other);
     }
 
@@ -2875,6 +3040,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
      */
     @Override
     public INDArray rdiv(INDArray other, INDArray result) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, result, 't');
         return dup().rdivi(other, result);
     }
 
@@ -2899,6 +3066,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
      */
     @Override
     public INDArray rsub(INDArray other, INDArray result) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, result, 'h');
         return dup().rsubi(other, result);
     }
 
@@ -2908,6 +3077,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
      */
     @Override
     public INDArray rsub(INDArray other) {
+        if (broadcasts(other))
+            return broadcastPairwise(other, null, 'h');
         return dup().rsubi(other);
     }
 
@@ -3269,6 +3440,7 @@ public abstract class BaseNDArray implements INDArray, Iterable {
 
     @Override
     public double getDouble(int i) {
+        Nd4j.getExecutioner().commit();
         if(i >= length()) {
             throw new IllegalArgumentException("Unable to get linear index >= " + length());
         }
@@ -3669,6 +3841,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
      */
     @Override
     public INDArray getRows(int[] rindices) {
+        if(isMatrix())
+            return Nd4j.pullRows(this, 1, rindices);
         return get(new SpecifiedIndex(rindices));
     }
 
@@ -3835,8 +4009,9 @@ public abstract class BaseNDArray implements INDArray, Iterable {
         }
         else {
             NdIndexIterator iter = new NdIndexIterator(n.shape());
+            int[] next = new int[n.rank()];
             while(iter.hasNext()) {
-                int[] next = iter.next();
+                iter.nextInto(next);
                 double val = getDouble(next);
                 double val2 = n.getDouble(next);
                 if (Math.abs(val - val2) >= Nd4j.EPS_THRESHOLD) {
@@ -4537,6 +4712,7 @@ public abstract class BaseNDArray implements INDArray, Iterable {
 
     //Custom serialization for Java serialization
     protected void write(ObjectOutputStream out) throws IOException {
+        Nd4j.getExecutioner().commit();
         if(this.isView()){
             //As per Nd4j.write, duplicate before writing to the output stream
             //BaseDataBuffer.write(...) doesn't know about strides etc, so dup (or equiv. strategy) is necessary here
@@ -38,6 +38,10 @@ public abstract class BaseOp implements Op {
     protected long numProcessed;
     protected Object[] extraArgs;
     protected boolean passThrough;
+    //buffer of the last extra args handed out, reused while the values stay the same
+    protected DataBuffer extraArgsBuffer;
+    //result array the caller bound with rebind, reductions along dimensions write in to it
+    protected INDArray boundZ;
 
 
     public BaseOp() {
@@ -66,26 +70,45 @@ public abstract class BaseOp implements Op {
     @Override
     public DataBuffer extraArgsDataBuff() {
         if(extraArgs != null) {
-            if(x.data().dataType() == DataBuffer.Type.FLOAT) {
-                float extraz[] = new float[extraArgs.length];
-                for(int i = 0; i < extraArgs.length; i++) {
-                    Number arg = (Number) extraArgs[i];
-                    float val = arg.floatValue();
-                    extraz[i] = val;
-                }
-                return Nd4j.getConstantHandler().getConstantBuffer(extraz);
+            if(extraArgsBuffer != null && extraArgsBuffer.dataType() == x.data().dataType() && sameValues(extraArgsBuffer, extraArgs))
+                return extraArgsBuffer;
+
+            extraArgsBuffer = constantExtraArgs();
+            return extraArgsBuffer;
+        }
+        return null;
+    }
+
+    private static boolean sameValues(DataBuffer buffer, Object[] args) {
+        if(buffer.length() != args.length)
+            return false;
+        for(int i = 0; i < args.length; i++) {
+            double val = ((Number) args[i]).doubleValue();
+            if(buffer.dataType() == DataBuffer.Type.FLOAT ? buffer.getFloat(i) != (float) val : buffer.getDouble(i) != val)
+                return false;
+        }
+        return true;
+    }
+
+    private DataBuffer constantExtraArgs() {
+        if(x.data().dataType() == DataBuffer.Type.FLOAT) {
+            float extraz[] = new float[extraArgs.length];
+            for(int i = 0; i < extraArgs.length; i++) {
+                Number arg = (Number) extraArgs[i];
+                float val = arg.floatValue();
+                extraz[i] = val;
             }
-            else {
-                double extraz[] = new double[extraArgs.length];
-                for(int i = 0; i < extraArgs.length; i++) {
-                    Number arg = (Number) extraArgs[i];
-                    double val = arg.doubleValue();
-                    extraz[i] = val;
-                }
-                return Nd4j.getConstantHandler().getConstantBuffer(extraz);
+            return Nd4j.getConstantHandler().getConstantBuffer(extraz);
+        }
+        else {
+            double extraz[] = new double[extraArgs.length];
+            for(int i = 0; i < extraArgs.length; i++) {
+                Number arg = (Number) extraArgs[i];
+                double val = arg.doubleValue();
+                extraz[i] = val;
             }
+            return Nd4j.getConstantHandler().getConstantBuffer(extraz);
         }
-        return null;
     }
 
     @Override
@@ -222,6 +245,21 @@ public abstract class BaseOp implements Op {
         this.n = n;
     }
 
+    @Override
+    public Op rebind(INDArray x, INDArray y, INDArray z) {
+        if(x == null)
+            throw new IllegalArgumentException("X must not be null");
+        init(x, y, z == null ? x : z, x.lengthLong());
+        numProcessed = 0;
+        boundZ = z != null && z != x && z != y ? z : null;
+        return this;
+    }
+
+    @Override
+    public INDArray boundZ() {
+        return boundZ;
+    }
+
     @Override
     public long numProcessed() {
         return numProcessed;
@@ -90,6 +90,14 @@ public abstract class BaseScalarOp extends BaseOp implements ScalarOp {
         return complexNumber;
     }
 
+    @Override
+    public void setScalar(Number num) {
+        this.num = num;
+        if(x instanceof IComplexNDArray)
+            complexNumber = Nd4j.createComplexNumber(num,0);
+        init(x, y, z, n);
+    }
+
     @Override
     public int[] getDimension() {
         return new int[0];
@@ -264,4 +264,31 @@ public interface Op {
      */
     void setN(long n);
 
+    /**
+     * Bind this op to new arrays so the same instance
+     * can be executed again without allocating a new op.
+     * The op is initialized again for the new arrays
+     * with n being the length of x.
+     * For accumulations z may be an array of the result shape
+     * which is then reused for reductions along dimensions.
+     * An op that is still pending in a lazily executed graph
+     * must not be rebound before the graph is committed.
+     *
+     * @param x the input
+     * @param y the pairwise input (may be null)
+     * @param z the result
+     * @return this op
+     */
+    Op rebind(INDArray x, INDArray y, INDArray z);
+
+    /**
+     * The result array bound with {@link #rebind(INDArray, INDArray, INDArray)},
+     * separate from x and y. Reductions along dimensions only write in to z
+     * when it is this array, a result stored in z by an earlier execution
+     * is never overwritten.
+     *
+     * @return the bound result or null if none was bound
+     */
+    INDArray boundZ();
+
 }
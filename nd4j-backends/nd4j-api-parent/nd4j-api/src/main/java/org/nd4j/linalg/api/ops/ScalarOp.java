@@ -38,4 +38,11 @@ public interface ScalarOp extends BroadcastOp {
      *@return
      */
     IComplexNumber complexScalar();
+
+    /**
+     * Change the scalar, for reusing the op
+     * with a different value
+     * @param num the new scalar
+     */
+    void setScalar(Number num);
 }
@@ -0,0 +1,445 @@
+package org.nd4j.linalg.api.ops.executioner;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.*;
+import org.nd4j.linalg.api.ops.impl.accum.Variance;
+import org.nd4j.linalg.executors.ExecutorServiceProvider;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * An op executioner that runs ops asynchronously
+ * on top of another executioner.
+ *
+ * Every op submitted through the execAsync methods is scheduled on
+ * an executor service (by default the one from {@link ExecutorServiceProvider})
+ * and a future for its result is returned right away.
+ * Ops are ordered by the buffers they touch: an op waits for the last op
+ * writing any buffer it reads, and for every pending reader and writer
+ * of the buffer it writes. Ops over unrelated buffers run concurrently.
+ *
+ * Each calling thread may have at most queueSize ops in flight;
+ * submitting more blocks until earlier ops complete.
+ *
+ * The blocking {@link OpExecutioner} methods are scheduled the same way
+ * and wait for their result, so they are ordered with respect to pending async ops.
+ * This is the host side equivalent of the asynchronous flow controller used by the cuda backend.
+ *
+ * Ops may call Nd4j.getExecutioner() while they run, so this
+ * should wrap the configured executioner rather than replace it.
+ *
+ * @author Adam Gibson
+ */
+public class AsyncOpExecutioner implements OpExecutioner {
+    public final static int DEFAULT_QUEUE_SIZE = 32;
+
+    private OpExecutioner executioner;
+    private ExecutorService executorService;
+    private int queueSize;
+    //guarded by itself
+    private final Map<DataBuffer, BufferAccess> accesses = new IdentityHashMap<>();
+    private ThreadLocal<Semaphore> permits = new ThreadLocal<>();
+    private ThreadLocal<Set<OpFuture>> outstanding = new ThreadLocal<>();
+
+    public AsyncOpExecutioner(OpExecutioner executioner) {
+        this(executioner, ExecutorServiceProvider.getExecutorService(), DEFAULT_QUEUE_SIZE);
+    }
+
+    /**
+     * @param executioner the executioner used to actually run ops
+     * @param executorService the executor service ops are scheduled on
+     * @param queueSize the maximum number of ops in flight per calling thread
+     */
+    public AsyncOpExecutioner(OpExecutioner executioner, ExecutorService executorService, int queueSize) {
+        if (queueSize < 1)
+            throw new IllegalArgumentException("Queue size must be >= 1");
+        this.executioner = executioner;
+        this.executorService = executorService;
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Schedule the op.
+     * The future's result is the same as {@link #execAndReturn(Op)}
+     * @param op the op to execute
+     * @return a future for the result of the op
+     */
+    public Future<INDArray> execAsync(final Op op) {
+        return submit(op, new Callable<INDArray>() {
+            @Override
+            public INDArray call() throws Exception {
+                return executioner.execAndReturn(op);
+            }
+        });
+    }
+
+    /**
+     * Schedule an accumulation along one or more dimensions
+     * @param op the accumulation
+     * @param dimension the dimensions to accumulate along
+     * @return a future for the result of the accumulation
+     */
+    public Future<INDArray> execAsync(final Accumulation op, final int... dimension) {
+        return submit(op, new Callable<INDArray>() {
+            @Override
+            public INDArray call() throws Exception {
+                return executioner.exec(op, dimension);
+            }
+        });
+    }
+
+    /**
+     * Schedule an index accumulation along one or more dimensions
+     * @param op the index accumulation
+     * @param dimension the dimensions to accumulate along
+     * @return a future for the result of the accumulation
+     */
+    public Future<INDArray> execAsync(final IndexAccumulation op, final int... dimension) {
+        return submit(op, new Callable<INDArray>() {
+            @Override
+            public INDArray call() throws Exception {
+                return executioner.exec(op, dimension);
+            }
+        });
+    }
+
+    /**
+     * Schedule a broadcast along one or more dimensions
+     * @param op the broadcast op
+     * @param dimension the dimensions to broadcast along
+     * @return a future for the result of the op
+     */
+    public Future<INDArray> execAsync(final BroadcastOp op, final int... dimension) {
+        return submit(op, new Callable<INDArray>() {
+            @Override
+            public INDArray call() throws Exception {
+                return executioner.exec(op, dimension);
+            }
+        });
+    }
+
+    /**
+     * Wait for every op submitted by the calling thread to complete
+     */
+    public void synchronize() {
+        Set<OpFuture> pending = outstanding.get();
+        if (pending == null)
+            return;
+        for (OpFuture future : new ArrayList<>(pending))
+            await(future);
+    }
+
+    /**
+     * The executioner ops are run with
+     * @return the underlying executioner
+     */
+    public OpExecutioner getExecutioner() {
+        return executioner;
+    }
+
+    private Future<INDArray> submit(Op op, Callable<INDArray> callable) {
+        List<DataBuffer> reads = new ArrayList<>();
+        List<DataBuffer> writes = new ArrayList<>();
+        //accumulations write a freshly allocated result, unless z was bound for reuse
+        boolean reduces = op instanceof Accumulation || op instanceof IndexAccumulation;
+        if (op.z() != null && (!reduces || op.z() == op.boundZ()))
+            writes.add(root(op.z().data()));
+        if (op.x() != null && !containsBuffer(writes, op.x().data()))
+            reads.add(root(op.x().data()));
+        if (op.y() != null && !containsBuffer(writes, op.y().data()) && !containsBuffer(reads, op.y().data()))
+            reads.add(root(op.y().data()));
+
+        Semaphore semaphore = permits.get();
+        if (semaphore == null) {
+            semaphore = new Semaphore(queueSize);
+            permits.set(semaphore);
+            outstanding.set(Collections.newSetFromMap(new ConcurrentHashMap<OpFuture, Boolean>()));
+        }
+
+        semaphore.acquireUninterruptibly();
+        OpFuture future = new OpFuture(callable, semaphore, outstanding.get(), reads, writes);
+        outstanding.get().add(future);
+
+        boolean ready;
+        synchronized (accesses) {
+            Set<OpFuture> dependencies = Collections.newSetFromMap(new IdentityHashMap<OpFuture, Boolean>());
+            for (DataBuffer buffer : reads) {
+                BufferAccess access = access(buffer);
+                if (access.writer != null)
+                    dependencies.add(access.writer);
+                access.readers.add(future);
+            }
+
+            for (DataBuffer buffer : writes) {
+                BufferAccess access = access(buffer);
+                if (access.writer != null)
+                    dependencies.add(access.writer);
+                dependencies.addAll(access.readers);
+                access.readers.clear();
+                access.writer = future;
+            }
+
+            for (OpFuture dependency : dependencies) {
+                if (dependency.finished)
+                    continue;
+                dependency.dependents.add(future);
+                future.waitingOn++;
+            }
+            ready = future.waitingOn == 0;
+        }
+
+        if (ready)
+            executorService.execute(future);
+        return future;
+    }
+
+    private static boolean containsBuffer(List<DataBuffer> buffers, DataBuffer buffer) {
+        DataBuffer root = root(buffer);
+        for (DataBuffer other : buffers)
+            if (other == root)
+                return true;
+        return false;
+    }
+
+    private BufferAccess access(DataBuffer buffer) {
+        BufferAccess access = accesses.get(buffer);
+        if (access == null) {
+            access = new BufferAccess();
+            accesses.put(buffer, access);
+        }
+        return access;
+    }
+
+    private void completed(OpFuture future) {
+        List<OpFuture> ready = new ArrayList<>();
+        synchronized (accesses) {
+            future.finished = true;
+            for (DataBuffer buffer : future.reads)
+                release(buffer, future);
+            for (DataBuffer buffer : future.writes)
+                release(buffer, future);
+
+            for (OpFuture dependent : future.dependents) {
+                if (--dependent.waitingOn == 0)
+                    ready.add(dependent);
+            }
+            future.dependents.clear();
+        }
+
+        for (OpFuture dependent : ready)
+            executorService.execute(dependent);
+    }
+
+    private void release(DataBuffer buffer, OpFuture future) {
+        BufferAccess access = accesses.get(buffer);
+        if (access == null)
+            return;
+        if (access.writer == future)
+            access.writer = null;
+        access.readers.remove(future);
+        if (access.writer == null && access.readers.isEmpty())
+            accesses.remove(buffer);
+    }
+
+    private static DataBuffer root(DataBuffer buffer) {
+        DataBuffer original = buffer.originalDataBuffer();
+        return original == null ? buffer : original;
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for op", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException("Op failed", e.getCause());
+        }
+    }
+
+    /**
+     * Readers and the last writer of a buffer
+     */
+    private static class BufferAccess {
+        private OpFuture writer;
+        private List<OpFuture> readers = new ArrayList<>();
+    }
+
+    /**
+     * A scheduled op: runs once every op it depends on has completed
+     * and releases its dependents when it completes.
+     */
+    private class OpFuture extends FutureTask<INDArray> {
+        //guarded by accesses
+        private int waitingOn;
+        private boolean finished;
+        private List<OpFuture> dependents = new ArrayList<>();
+        private Semaphore semaphore;
+        private Set<OpFuture> owner;
+        private List<DataBuffer> reads;
+        private List<DataBuffer> writes;
+
+        private OpFuture(Callable<INDArray> callable, Semaphore semaphore, Set<OpFuture> owner, List<DataBuffer> reads, List<DataBuffer> writes) {
+            super(callable);
+            this.semaphore = semaphore;
+            this.owner = owner;
+            this.reads = reads;
+            this.writes = writes;
+        }
+
+        @Override
+        protected void done() {
+            completed(this);
+            owner.remove(this);
+            semaphore.release();
+        }
+    }
+
+    @Override
+    public Op exec(final Op op) {
+        await(submit(op, new Callable<INDArray>() {
+            @Override
+            public INDArray call() throws Exception {
+                executioner.exec(op);
+                return op.z();
+            }
+        }));
+        return op;
+    }
+
+    @Override
+    public void iterateOverAllRows(final Op op) {
+        await(submit(op, new Callable<INDArray>() {
+            @Override
+            public INDArray call() throws Exception {
+                executioner.iterateOverAllRows(op);
+                return op.z();
+            }
+        }));
+    }
+
+    @Override
+    public void iterateOverAllColumns(final Op op) {
+        await(submit(op, new Callable<INDArray>() {
+            @Override
+            public INDArray call() throws Exception {
+                executioner.iterateOverAllColumns(op);
+                return op.z();
+            }
+        }));
+    }
+
+    @Override
+    public INDArray execAndReturn(TransformOp op) {
+        return await(execAsync(op));
+    }
+
+    @Override
+    public Accumulation execAndReturn(Accumulation op) {
+        exec(op);
+        return op;
+    }
+
+    @Override
+    public Accumulation execAndReturn(final Variance op, final boolean biasCorrected) {
+        await(submit(op, new Callable<INDArray>() {
+            @Override
+            public INDArray call() throws Exception {
+                executioner.execAndReturn(op, biasCorrected);
+                return op.z();
+            }
+        }));
+        return op;
+    }
+
+    @Override
+    public IndexAccumulation execAndReturn(IndexAccumulation op) {
+        exec(op);
+        return op;
+    }
+
+    @Override
+    public INDArray execAndReturn(ScalarOp op) {
+        return await(execAsync(op));
+    }
+
+    @Override
+    public INDArray execAndReturn(BroadcastOp op) {
+        return await(execAsync(op));
+    }
+
+    @Override
+    public Op exec(final Op op, final int... dimension) {
+        await(submit(op, new Callable<INDArray>() {
+            @Override
+            public INDArray call() throws Exception {
+                executioner.exec(op, dimension);
+                return op.z();
+            }
+        }));
+        return op;
+    }
+
+    @Override
+    public INDArray exec(Accumulation accumulation, int... dimension) {
+        return await(execAsync(accumulation, dimension));
+    }
+
+    @Override
+    public INDArray exec(BroadcastOp broadcast, int... dimension) {
+        return await(execAsync(broadcast, dimension));
+    }
+
+    @Override
+    public INDArray exec(final Variance accumulation, final boolean biasCorrected, final int... dimension) {
+        return await(submit(accumulation, new Callable<INDArray>() {
+            @Override
+            public INDArray call() throws Exception {
+                return executioner.exec(accumulation, biasCorrected, dimension);
+            }
+        }));
+    }
+
+    @Override
+    public INDArray exec(IndexAccumulation indexAccum, int... dimension) {
+        return await(execAsync(indexAccum, dimension));
+    }
+
+    @Override
+    public INDArray execAndReturn(Op op) {
+        return await(execAsync(op));
+    }
+
+    @Override
+    public ExecutionMode executionMode() {
+        return executioner.executionMode();
+    }
+
+    @Override
+    public void setExecutionMode(ExecutionMode executionMode) {
+        executioner.setExecutionMode(executionMode);
+    }
+
+    /**
+     * Ops are executed on pool threads, so they are never recorded
+     * by the underlying executioner's lazy mode.
+     */
+    @Override
+    public void setLazy(boolean lazy) {
+        executioner.setLazy(lazy);
+    }
+
+    @Override
+    public boolean isLazy() {
+        return executioner.isLazy();
+    }
+
+    @Override
+    public void commit() {
+        executioner.commit();
+    }
+}
@@ -24,11 +24,23 @@ import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.api.ops.*;
+import org.nd4j.linalg.api.ops.executioner.tasks.AccumulationTask;
+import org.nd4j.linalg.api.ops.executioner.tasks.IndexAccumulationTask;
+import org.nd4j.linalg.api.ops.executioner.tasks.ReduceAlongDimensionAction;
+import org.nd4j.linalg.api.ops.executioner.tasks.TransformAction;
+import org.nd4j.linalg.api.ops.graph.OpGraph;
 import org.nd4j.linalg.api.ops.impl.accum.Variance;
+import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.api.shape.loop.strided.StridedLoop;
 
+import org.nd4j.linalg.executors.ExecutorServiceProvider;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.util.ArrayUtil;
 
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Basic op executioner. Knows how to iterate over
  * the buffers of each respective ndarray and apply transformations
@@ -39,6 +51,10 @@ public  class DefaultOpExecutioner implements OpExecutioner {
 
 
     protected ExecutionMode executionMode = ExecutionMode.JAVA;
+    protected ThreadLocal<OpGraph> lazyGraph = new ThreadLocal<>();
+    //threads with lazy execution enabled: while there are none,
+    //commits from element access and blas calls skip the thread local lookup
+    private static final AtomicInteger lazyThreads = new AtomicInteger();
 
     public DefaultOpExecutioner() {
     }
@@ -51,7 +67,119 @@ public  class DefaultOpExecutioner implements OpExecutioner {
             return op;
         }
 
-        throw new IllegalStateException("Java computation no longer supported");
+        if (op.x() instanceof IComplexNDArray)
+            throw new UnsupportedOperationException("Java computation of complex ops is not supported");
+
+        if (op instanceof ScalarOp || op instanceof TransformOp) {
+            execElementWise(op);
+        } else if (op instanceof BroadcastOp) {
+            exec((BroadcastOp) op, ((BroadcastOp) op).getDimension());
+        } else if (op instanceof Accumulation) {
+            Accumulation acc = (Accumulation) op;
+            INDArray x = AccumulationTask.walkable(op.x());
+            INDArray y = op.y() == null ? null : AccumulationTask.walkable(op.y());
+            double accum = invoke(new AccumulationTask(acc, x, y, 0, x.lengthLong()));
+            acc.setFinalResult(acc.calculateFinalResult(accum, x.lengthLong()));
+        } else if (op instanceof IndexAccumulation) {
+            IndexAccumulation acc = (IndexAccumulation) op;
+            INDArray x = AccumulationTask.walkable(op.x());
+            INDArray y = op.y() == null ? null : AccumulationTask.walkable(op.y());
+            acc.setFinalResult(invoke(new IndexAccumulationTask(acc, x, y, 0, x.lengthLong())).getSecond());
+        } else {
+            throw new UnsupportedOperationException("Unknown op type " + op.getClass());
+        }
+        return op;
+    }
+
+    /**
+     * Run a transform or scalar op in java, element by element
+     * by element wise stride when the arrays can be walked directly
+     * and with a {@link StridedLoop} over their buffers otherwise
+     */
+    protected void execElementWise(Op op) {
+        INDArray x = op.x();
+        INDArray y = op instanceof ScalarOp ? null : op.y();
+        INDArray z = op.z();
+        if (y != null && !Arrays.equals(x.shape(), y.shape())) {
+            //same length, different shape: elements are matched in 'c' order
+            //(dup first when a view can't be had: a copying reshape would assign back through here)
+            INDArray reshaped = Shape.newShapeNoCopy(y, x.shape(), false);
+            y = reshaped != null ? reshaped : y.dup('c').reshape('c', x.shape());
+            op.setY(y);
+        }
+        if (!Arrays.equals(x.shape(), z.shape())) {
+            //z is written to, so only a view of it will do
+            INDArray reshaped = Shape.newShapeNoCopy(z, x.shape(), false);
+            if (reshaped != null)
+                z = reshaped;
+        }
+        boolean direct = y == null ? OpExecutionerUtil.canDoOpDirectly(x, z) : OpExecutionerUtil.canDoOpDirectly(x, y, z);
+        if (direct) {
+            invoke(new TransformAction(op, x, y, z, 0, x.lengthLong()));
+        } else {
+            //any other layout: walk the buffers by their strides, without copies or per element index math
+            StridedLoop loop = y == null ? new StridedLoop(x, z) : new StridedLoop(x, y, z);
+            invoke(TransformAction.strided(op, x, y, z, loop, 0, loop.outerLength()));
+        }
+    }
+
+    /**
+     * Run the given task on the fork join pool,
+     * or inline when already running inside of it
+     */
+    protected <T> T invoke(ForkJoinTask<T> task) {
+        if (ForkJoinTask.inForkJoinPool())
+            return task.invoke();
+        return ExecutorServiceProvider.getForkJoinPool().invoke(task);
+    }
+
+    /**
+     * The array the result of a reduction along dimensions is written to.
+     * This is the array bound with {@link Op#rebind(INDArray, INDArray, INDArray)} when it is
+     * a 'c' ordered array of the result shape (so a reused op keeps writing in to the same array)
+     * and a new array filled with the initial value otherwise. A result an earlier execution
+     * stored in z is not reused, the caller may still hold it.
+     * Every element of a reused z is overwritten by the reduction.
+     * @param op the reduction
+     * @param retShape the shape of the result
+     * @param initialValue the value a new result is filled with
+     * @return the array to write the result to
+     */
+    protected INDArray reductionResult(Op op, int[] retShape, double initialValue) {
+        INDArray z = op.boundZ();
+        if (z != null && z == op.z() && z != op.x() && z != op.y() && !z.isView()
+                && (z.ordering() == 'c' || z.isVector()) && Arrays.equals(z.shape(), retShape))
+            return z;
+        return Nd4j.valueArrayOf(retShape, initialValue);
+    }
+
+    /**
+     * The shape of the result of reducing
+     * an array of the given shape along the given dimension(s)
+     */
+    protected int[] reductionShape(int[] shape, int... dimension) {
+        int[] retShape = ArrayUtil.removeIndex(shape, dimension);
+        //ensure vector is proper shape
+        if (retShape.length == 1) {
+            if (dimension[0] == 0)
+                retShape = new int[]{1, retShape[0]};
+            else
+                retShape = new int[]{retShape[0], 1};
+        } else if (retShape.length == 0) {
+            retShape = new int[]{1, 1};
+        }
+        return retShape;
+    }
+
+    /**
+     * Normalize negative dimensions and sort them
+     */
+    protected int[] normalizeDimension(int rank, int... dimension) {
+        int[] ret = new int[dimension.length];
+        for (int i = 0; i < dimension.length; i++)
+            ret[i] = dimension[i] < 0 ? dimension[i] + rank : dimension[i];
+        Arrays.sort(ret);
+        return ret;
     }
 
     @Override
@@ -80,6 +208,10 @@ public  class DefaultOpExecutioner implements OpExecutioner {
             op.setZ(op.z());
             exec(op);
         }
+        //element wise ops: every row is a tensor along the last dimension, processed in parallel in place
+        else if (appliesPerElement(op)) {
+            invoke(new TransformAction(op, new int[]{op.x().rank() - 1}, false, 0, op.x().tensorssAlongDimension(op.x().rank() - 1)));
+        }
         //execute row wise
         else if (op.x().isMatrix()) {
             if (op.x() instanceof IComplexNDArray) {
@@ -132,6 +264,10 @@ public  class DefaultOpExecutioner implements OpExecutioner {
         if (op.x().isVector()) {
             exec(op);
         }
+        //element wise ops: every column is a tensor along the first dimension, processed in parallel in place
+        else if (appliesPerElement(op)) {
+            invoke(new TransformAction(op, new int[]{0}, false, 0, op.x().tensorssAlongDimension(0)));
+        }
         //execute row wise
         else if (op.x().isMatrix() || op.x().isColumnVector()) {
             exec(op, 1);
@@ -163,6 +299,19 @@ public  class DefaultOpExecutioner implements OpExecutioner {
     }
 
 
+    /**
+     * Whether the op works element by element, so it can be applied to rows or columns
+     * with a {@link TransformAction} over tensors along a dimension: a java transform or scalar op
+     * that is not special or pass through, with x, y and z of the same shape
+     */
+    private boolean appliesPerElement(Op op) {
+        if (!(op instanceof TransformOp || op instanceof ScalarOp) || op.isPassThrough() || op.isExecSpecial())
+            return false;
+        if (op.x() instanceof IComplexNDArray || op.z() == null || !Arrays.equals(op.x().shape(), op.z().shape()))
+            return false;
+        return op instanceof ScalarOp || op.y() == null || Arrays.equals(op.x().shape(), op.y().shape());
+    }
+
     @Override
     public INDArray execAndReturn(TransformOp op) {
         Op result = exec(op);
@@ -212,7 +361,7 @@ public  class DefaultOpExecutioner implements OpExecutioner {
             throw new IllegalStateException("exec(Op,int...) should never be invoked for Accumulation/IndexAccumulation");
         } else if (op instanceof ScalarOp) {
             //Scalar op along dimension should be same as on the entire NDArray
-            throw new IllegalStateException("Java computation no longer supported");
+            return exec(op);
         }else if (op instanceof TransformOp) {
             throw new UnsupportedOperationException("Executing transform ops along a dimension should be done via exec special");
         } else {
@@ -264,7 +413,11 @@ public  class DefaultOpExecutioner implements OpExecutioner {
             return ret;
         }
 
-        throw new UnsupportedOperationException("Java computation no longer supported");
+        dimension = normalizeDimension(op.x().rank(), dimension);
+        INDArray ret = reductionResult(op, reductionShape(op.x().shape(), dimension), op.zeroDouble());
+        invoke(new ReduceAlongDimensionAction(op, ret, dimension, 0, op.x().tensorssAlongDimension(dimension)));
+        op.setZ(ret);
+        return ret;
     }
 
     @Override
@@ -275,8 +428,20 @@ public  class DefaultOpExecutioner implements OpExecutioner {
 
     @Override
     public INDArray exec(IndexAccumulation op, int... dimension) {
-        throw new UnsupportedOperationException("Operation should use exec special");
+        if (dimension.length == op.x().rank())
+            dimension = new int[]{Integer.MAX_VALUE};
 
+        if (dimension[0] == Integer.MAX_VALUE)
+            return Nd4j.scalar(execAndReturn(op).getFinalResult());
+
+        if (op.x() instanceof IComplexNDArray)
+            throw new UnsupportedOperationException("Java computation of complex ops is not supported");
+
+        dimension = normalizeDimension(op.x().rank(), dimension);
+        INDArray ret = reductionResult(op, reductionShape(op.x().shape(), dimension), 0.0);
+        invoke(new ReduceAlongDimensionAction(op, ret, dimension, 0, op.x().tensorssAlongDimension(dimension)));
+        op.setZ(ret);
+        return ret;
     }
 
     public ExecutionMode executionMode() {
@@ -288,6 +453,52 @@ public  class DefaultOpExecutioner implements OpExecutioner {
         this.executionMode = executionMode;
     }
 
+    @Override
+    public void setLazy(boolean lazy) {
+        if (lazy) {
+            if (lazyGraph.get() == null) {
+                lazyGraph.set(new OpGraph());
+                lazyThreads.incrementAndGet();
+            }
+        } else if (lazyGraph.get() != null) {
+            commit();
+            lazyGraph.remove();
+            lazyThreads.decrementAndGet();
+        }
+    }
+
+    @Override
+    public boolean isLazy() {
+        return lazyThreads.get() > 0 && lazyGraph.get() != null;
+    }
+
+    @Override
+    public void commit() {
+        if (lazyThreads.get() == 0)
+            return;
+        OpGraph graph = lazyGraph.get();
+        if (graph != null)
+            graph.commit();
+    }
+
+    /**
+     * Record the op for later fused execution
+     * if lazy execution is enabled for the calling thread.
+     * Ops that can't be recorded cause pending ops to be committed,
+     * so the caller can execute them right away.
+     *
+     * @param op the op to record
+     * @param dimension the dimension (for broadcast ops)
+     * @return true if the op was recorded, false if the
+     * caller should execute it now
+     */
+    protected boolean record(Op op, int... dimension) {
+        if (lazyThreads.get() == 0)
+            return false;
+        OpGraph graph = lazyGraph.get();
+        return graph != null && graph.record(op, dimension);
+    }
+
 
 
 
@@ -302,7 +513,25 @@ public  class DefaultOpExecutioner implements OpExecutioner {
             return broadcast.z();
         }
 
-        throw new IllegalStateException("Java computation no longer supported");
+        if (broadcast.x() instanceof IComplexNDArray)
+            throw new UnsupportedOperationException("Java computation of complex ops is not supported");
+
+        if (dimension[0] == Integer.MAX_VALUE) {
+            execElementWise(broadcast);
+            return broadcast.z();
+        }
+
+        //every tensor along the broadcast dimension(s) is combined with y as a whole
+        dimension = normalizeDimension(broadcast.x().rank(), dimension);
+        long tadLength = 1;
+        for (int d : dimension)
+            tadLength *= broadcast.x().size(d);
+        if (broadcast.y().lengthLong() != tadLength)
+            throw new AssertionError("Broadcast vector of shape " + Arrays.toString(broadcast.y().shape())
+                    + " does not match length " + tadLength + " of dimension " + Arrays.toString(dimension)
+                    + " of shape " + Arrays.toString(broadcast.x().shape()));
+        invoke(new TransformAction(broadcast, dimension, true, 0, broadcast.x().tensorssAlongDimension(dimension)));
+        return broadcast.z();
 
     }
 }
@@ -155,4 +155,35 @@ public interface OpExecutioner {
      */
     void setExecutionMode(ExecutionMode executionMode);
 
+    /**
+     * Enable or disable lazy execution for the calling thread.
+     * While lazy, element wise ops (transform, scalar and broadcast)
+     * are recorded rather than executed and consecutive ops
+     * over the same array are fused in to a single pass when
+     * {@link #commit()} is called.
+     *
+     * Pending ops are committed before an array is read or written
+     * outside of the executioner: element access (getDouble, putScalar),
+     * dup, blas and lapack calls, strided loops and serialization.
+     * Code that reads {@link org.nd4j.linalg.api.ndarray.INDArray#data()}
+     * directly must call {@link #commit()} first.
+     * Disabling lazy execution commits any pending ops.
+     * Backends that can not fuse ops execute them eagerly.
+     *
+     * @param lazy whether to record ops for the calling thread
+     */
+    void setLazy(boolean lazy);
+
+    /**
+     * Whether lazy execution is enabled for the calling thread
+     * @return true if ops are being recorded for the calling thread
+     */
+    boolean isLazy();
+
+    /**
+     * Execute every op recorded by the calling thread.
+     * This is a no op when lazy execution is disabled.
+     */
+    void commit();
+
 }
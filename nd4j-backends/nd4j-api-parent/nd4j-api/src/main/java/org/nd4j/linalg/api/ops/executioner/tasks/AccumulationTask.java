@@ -0,0 +1,105 @@
+package org.nd4j.linalg.api.ops.executioner.tasks;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.Accumulation;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Accumulates a range of elements in java.
+ * The result is the raw accumulation (before {@link Accumulation#calculateFinalResult(double, long)}).
+ *
+ * Either a range of elements of arrays walked directly by element wise stride,
+ * or a range of tensors along a dimension which are each accumulated as vectors.
+ * Sub results of parallel tasks are merged with {@link Accumulation#combineSubResults(double, double)}.
+ *
+ * @author Adam Gibson
+ */
+public class AccumulationTask extends RecursiveTask<Double> {
+    private Accumulation op;
+    private INDArray x, y;
+    private int[] dimension;
+    private long start, end;
+
+    /**
+     * Accumulate a range of elements of x (and y)
+     * @param op the accumulation
+     * @param x the input
+     * @param y the pairwise input (may be null)
+     * @param start the first element
+     * @param end one past the last element
+     */
+    public AccumulationTask(Accumulation op, INDArray x, INDArray y, long start, long end) {
+        this.op = op;
+        this.x = x;
+        this.y = y;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Accumulate a range of tensors of the op's input along the given dimension
+     * @param op the accumulation
+     * @param dimension the dimension(s) tensors are taken along
+     * @param start the first tensor
+     * @param end one past the last tensor
+     */
+    public AccumulationTask(Accumulation op, int[] dimension, long start, long end) {
+        this(op, op.x(), op.y(), start, end);
+        this.dimension = dimension;
+    }
+
+    @Override
+    protected Double compute() {
+        long work = dimension == null ? end - start : (end - start) * x.tensorAlongDimension(0, dimension).length();
+        if (work > TransformAction.THRESHOLD && end - start > 1) {
+            long mid = start + (end - start) / 2;
+            AccumulationTask first = dimension == null ? new AccumulationTask(op, x, y, start, mid) : new AccumulationTask(op, dimension, start, mid);
+            AccumulationTask second = dimension == null ? new AccumulationTask(op, x, y, mid, end) : new AccumulationTask(op, dimension, mid, end);
+            first.fork();
+            double right = second.compute();
+            return op.combineSubResults(first.join(), right);
+        }
+
+        if (dimension == null)
+            return accumulate(op, x, y, start, end);
+
+        double accum = op.zeroDouble();
+        for (long i = start; i < end; i++) {
+            int tad = (int) i;
+            INDArray xTad = walkable(x.tensorAlongDimension(tad, dimension));
+            INDArray yTad = y == null ? null : walkable(y.tensorAlongDimension(tad, dimension));
+            accum = op.combineSubResults(accum, accumulate(op, xTad, yTad, 0, xTad.lengthLong()));
+        }
+        return accum;
+    }
+
+    /**
+     * The given array if it can be walked by element wise stride,
+     * otherwise a 'c' ordered copy of it
+     */
+    public static INDArray walkable(INDArray arr) {
+        return arr.isVector() || arr.elementWiseStride() > 0 && arr.ordering() == 'c' ? arr : arr.dup('c');
+    }
+
+    /**
+     * Serially accumulate the given range of elements
+     * of arrays that are walked by element wise stride
+     */
+    public static double accumulate(Accumulation op, INDArray x, INDArray y, long start, long end) {
+        DataBuffer xData = x.data();
+        int incX = x.elementWiseStride();
+        double accum = op.zeroDouble();
+        if (y == null) {
+            for (long i = start; i < end; i++)
+                accum = op.update(accum, op.op(xData.getDouble(i * incX)));
+        } else {
+            DataBuffer yData = y.data();
+            int incY = y.elementWiseStride();
+            for (long i = start; i < end; i++)
+                accum = op.update(accum, op.op(xData.getDouble(i * incX), yData.getDouble(i * incY)));
+        }
+        return accum;
+    }
+}
@@ -0,0 +1,98 @@
+package org.nd4j.linalg.api.ops.executioner.tasks;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Copies the selected tensors along a dimension of an array
+ * in to the rows of a matrix (see {@link org.nd4j.linalg.factory.Nd4j#pullRows(INDArray, int, int[])}).
+ *
+ * Tensors are numbered in 'c' order over the dimensions that are not the tensor dimension,
+ * and their offsets are computed from the shape and strides of the source directly:
+ * no views are created.
+ * Ranges of rows with more than {@link TransformAction#THRESHOLD} elements are split in half and run in parallel.
+ *
+ * @author Adam Gibson
+ */
+public class GatherAction extends RecursiveAction {
+    private DataBuffer src, dst;
+    private int[] keptShape, keptStride;
+    private int tadLength, tadStride;
+    private int[] indexes;
+    private int rowStride, columnStride;
+    private int start, end;
+
+    /**
+     * @param source the array to take tensors from
+     * @param dimension the dimension tensors are taken along
+     * @param indexes the tensors to take
+     * @param result the matrix to copy them to (indexes.length x the tensor length)
+     */
+    public GatherAction(INDArray source, int dimension, int[] indexes, INDArray result) {
+        int rank = source.rank();
+        this.src = source.data();
+        this.dst = result.data();
+        this.keptShape = new int[rank - 1];
+        this.keptStride = new int[rank - 1];
+        for (int i = 0, k = 0; i < rank; i++) {
+            if (i == dimension)
+                continue;
+            keptShape[k] = source.size(i);
+            keptStride[k++] = source.stride(i);
+        }
+        this.tadLength = source.size(dimension);
+        this.tadStride = source.stride(dimension);
+        this.indexes = indexes;
+        this.rowStride = result.stride(0);
+        this.columnStride = result.stride(1);
+        this.start = 0;
+        this.end = indexes.length;
+    }
+
+    private GatherAction(GatherAction parent, int start, int end) {
+        this.src = parent.src;
+        this.dst = parent.dst;
+        this.keptShape = parent.keptShape;
+        this.keptStride = parent.keptStride;
+        this.tadLength = parent.tadLength;
+        this.tadStride = parent.tadStride;
+        this.indexes = parent.indexes;
+        this.rowStride = parent.rowStride;
+        this.columnStride = parent.columnStride;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+        if ((long) (end - start) * tadLength > TransformAction.THRESHOLD && end - start > 1) {
+            int mid = start + (end - start) / 2;
+            invokeAll(new GatherAction(this, start, mid), new GatherAction(this, mid, end));
+            return;
+        }
+
+        boolean isFloat = src.dataType() == DataBuffer.Type.FLOAT && dst.dataType() == DataBuffer.Type.FLOAT;
+        for (int i = start; i < end; i++) {
+            long offset = tadOffset(indexes[i]);
+            long dstOffset = (long) i * rowStride;
+            if (isFloat) {
+                for (int j = 0; j < tadLength; j++, offset += tadStride, dstOffset += columnStride)
+                    dst.put(dstOffset, src.getFloat(offset));
+            } else {
+                for (int j = 0; j < tadLength; j++, offset += tadStride, dstOffset += columnStride)
+                    dst.put(dstOffset, src.getDouble(offset));
+            }
+        }
+    }
+
+    private long tadOffset(int index) {
+        long offset = 0;
+        for (int k = keptShape.length - 1; k >= 0; k--) {
+            offset += (long) (index % keptShape[k]) * keptStride[k];
+            index /= keptShape[k];
+        }
+        return offset;
+    }
+}
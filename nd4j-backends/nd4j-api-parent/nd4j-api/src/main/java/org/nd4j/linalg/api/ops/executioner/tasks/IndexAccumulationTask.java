@@ -0,0 +1,92 @@
+package org.nd4j.linalg.api.ops.executioner.tasks;
+
+import org.apache.commons.math3.util.Pair;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.IndexAccumulation;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs an index accumulation over a range of elements in java.
+ * The arrays must be walkable by element wise stride; the index
+ * returned is the position of the element in that walk.
+ *
+ * Sub results of parallel tasks are merged with
+ * {@link IndexAccumulation#combineSubResults(Pair, Pair)}.
+ *
+ * @author Adam Gibson
+ */
+public class IndexAccumulationTask extends RecursiveTask<Pair<Double, Integer>> {
+    private IndexAccumulation op;
+    private INDArray x, y;
+    private long start, end;
+
+    /**
+     * @param op the index accumulation
+     * @param x the input
+     * @param y the pairwise input (may be null)
+     * @param start the first element
+     * @param end one past the last element
+     */
+    public IndexAccumulationTask(IndexAccumulation op, INDArray x, INDArray y, long start, long end) {
+        this.op = op;
+        this.x = x;
+        this.y = y;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    protected Pair<Double, Integer> compute() {
+        if (end - start > TransformAction.THRESHOLD) {
+            long mid = start + (end - start) / 2;
+            IndexAccumulationTask first = new IndexAccumulationTask(op, x, y, start, mid);
+            IndexAccumulationTask second = new IndexAccumulationTask(op, x, y, mid, end);
+            first.fork();
+            Pair<Double, Integer> right = second.compute();
+            Pair<Double, Integer> left = first.join();
+            //an empty half has no valid index
+            if (left.getSecond() < 0)
+                return right;
+            if (right.getSecond() < 0)
+                return left;
+            return op.combineSubResults(left, right);
+        }
+
+        return accumulate(op, x, y, start, end);
+    }
+
+    /**
+     * Serially run the index accumulation over the given range of elements
+     * @return the accumulated value and its index
+     */
+    public static Pair<Double, Integer> accumulate(IndexAccumulation op, INDArray x, INDArray y, long start, long end) {
+        DataBuffer xData = x.data();
+        int incX = x.elementWiseStride();
+        double accum = op.zeroDouble();
+        int idx = -1;
+        if (y == null) {
+            for (long i = start; i < end; i++) {
+                double val = xData.getDouble(i * incX);
+                int next = op.update(accum, idx, val, (int) i);
+                if (next != idx) {
+                    idx = next;
+                    accum = val;
+                }
+            }
+        } else {
+            DataBuffer yData = y.data();
+            int incY = y.elementWiseStride();
+            for (long i = start; i < end; i++) {
+                double val = xData.getDouble(i * incX);
+                int next = op.update(accum, idx, val, yData.getDouble(i * incY), (int) i);
+                if (next != idx) {
+                    idx = next;
+                    accum = val;
+                }
+            }
+        }
+        return new Pair<>(accum, idx);
+    }
+}
@@ -0,0 +1,236 @@
+package org.nd4j.linalg.api.ops.executioner.tasks;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.accum.distances.Distance;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Brute force k nearest neighbour search of the rows of a query matrix among the rows of a corpus
+ * (see {@link org.nd4j.linalg.factory.Nd4j#knn(INDArray, INDArray, int, Distance)}).
+ *
+ * Queries are processed in blocks of {@link #QUERY_BLOCK} rows, blocks run in parallel.
+ * Every block walks the corpus in tiles of about {@link #TILE_ELEMENTS} elements so the tile stays in cache
+ * while all queries of the block are compared with it.
+ * Euclidean distances and cosine similarities come from a single gemm of the query block by the tile:
+ * |q - c|^2 = |q|^2 + |c|^2 - 2 q.c and cos(q, c) = q.c / (|q| |c|), with the norms computed once up front.
+ * Manhattan distances have no such expansion and are computed directly on a copy of the tile.
+ *
+ * Every query keeps its best k candidates in a bounded heap (keys and rows in primitive arrays, the worst on top),
+ * which is sorted in place when the corpus is done. Ties are broken by row, the lower first.
+ *
+ * @author Adam Gibson
+ */
+public class KnnAction extends RecursiveAction {
+    /**
+     * Number of queries compared with every corpus tile together
+     */
+    public final static int QUERY_BLOCK = 64;
+    /**
+     * Number of corpus elements per tile
+     */
+    public final static int TILE_ELEMENTS = 1 << 16;
+
+    private INDArray corpus, queries;
+    private int k;
+    private Distance distance;
+    //squared norms for euclidean distances, norms for cosine similarities, null otherwise
+    private double[] corpusNorms, queryNorms;
+    private INDArray indices, values;
+    private int start, end;
+
+    /**
+     * @param corpus the rows to search (n x d)
+     * @param queries the rows to search for (q x d)
+     * @param k the number of neighbours of every query (at most n)
+     * @param distance the measure to rank by
+     * @param indices the matrix to write the rows of the neighbours to (q x k)
+     * @param values the matrix to write the distances or similarities of the neighbours to (q x k)
+     */
+    public KnnAction(INDArray corpus, INDArray queries, int k, Distance distance, INDArray indices, INDArray values) {
+        this.corpus = corpus;
+        this.queries = queries;
+        this.k = k;
+        this.distance = distance;
+        this.indices = indices;
+        this.values = values;
+        if (distance != Distance.MANHATTAN) {
+            boolean squared = distance == Distance.EUCLIDEAN;
+            this.corpusNorms = rowNorms(corpus, squared);
+            this.queryNorms = rowNorms(queries, squared);
+        }
+        this.start = 0;
+        this.end = queries.rows();
+    }
+
+    private KnnAction(KnnAction parent, int start, int end) {
+        this.corpus = parent.corpus;
+        this.queries = parent.queries;
+        this.k = parent.k;
+        this.distance = parent.distance;
+        this.corpusNorms = parent.corpusNorms;
+        this.queryNorms = parent.queryNorms;
+        this.indices = parent.indices;
+        this.values = parent.values;
+        this.start = start;
+        this.end = end;
+    }
+
+    private static double[] rowNorms(INDArray matrix, boolean squared) {
+        INDArray norms = matrix.norm2(1);
+        double[] ret = new double[matrix.rows()];
+        for (int i = 0; i < ret.length; i++) {
+            double norm = norms.getDouble(i);
+            ret[i] = squared ? norm * norm : norm;
+        }
+        return ret;
+    }
+
+    @Override
+    protected void compute() {
+        if (end - start > QUERY_BLOCK) {
+            //split on block boundaries
+            int mid = start + Math.max(1, (end - start) / QUERY_BLOCK / 2) * QUERY_BLOCK;
+            invokeAll(new KnnAction(this, start, mid), new KnnAction(this, mid, end));
+            return;
+        }
+
+        int blockRows = end - start;
+        int columns = corpus.columns();
+        int rows = corpus.rows();
+        int tileRows = Math.max(1, Math.min(rows, TILE_ELEMENTS / Math.max(1, columns)));
+        INDArray block = queries.get(NDArrayIndex.interval(start, end), NDArrayIndex.all());
+
+        double[] keys = new double[blockRows * k];
+        int[] neighbours = new int[blockRows * k];
+        int[] sizes = new int[blockRows];
+        double[] queryCopy = distance == Distance.MANHATTAN ? copy(block) : null;
+        INDArray scores = null;
+
+        for (int tileStart = 0; tileStart < rows; tileStart += tileRows) {
+            int tileEnd = Math.min(rows, tileStart + tileRows);
+            int tileLength = tileEnd - tileStart;
+            INDArray tile = corpus.get(NDArrayIndex.interval(tileStart, tileEnd), NDArrayIndex.all());
+
+            if (distance == Distance.MANHATTAN) {
+                double[] tileCopy = copy(tile);
+                for (int i = 0; i < blockRows; i++)
+                    for (int j = 0; j < tileLength; j++) {
+                        double sum = 0;
+                        for (int p = 0, q = i * columns, c = j * columns; p < columns; p++)
+                            sum += Math.abs(queryCopy[q + p] - tileCopy[c + p]);
+                        offer(keys, neighbours, sizes, i, sum, tileStart + j);
+                    }
+                continue;
+            }
+
+            //the gemm result must be a zero offset 'f' matrix: one is kept for the full tiles
+            if (scores == null || scores.columns() != tileLength)
+                scores = Nd4j.create(new int[] {blockRows, tileLength}, 'f');
+            Nd4j.gemm(block, tile, scores, false, true, 1.0, 0.0);
+            DataBuffer dots = scores.data();
+            for (int j = 0; j < tileLength; j++) {
+                int row = tileStart + j;
+                double corpusNorm = corpusNorms[row];
+                for (int i = 0; i < blockRows; i++) {
+                    double dot = dots.getDouble(i + (long) j * blockRows);
+                    double key;
+                    if (distance == Distance.EUCLIDEAN)
+                        key = queryNorms[start + i] + corpusNorm - 2 * dot;
+                    else {
+                        //highest similarity first, vectors with no direction are similar to nothing
+                        double norms = queryNorms[start + i] * corpusNorm;
+                        key = norms == 0 ? 0 : -dot / norms;
+                    }
+                    offer(keys, neighbours, sizes, i, key, row);
+                }
+            }
+        }
+
+        for (int i = 0; i < blockRows; i++) {
+            sort(keys, neighbours, i * k, sizes[i]);
+            for (int j = 0; j < sizes[i]; j++) {
+                double key = keys[i * k + j];
+                double value;
+                if (distance == Distance.EUCLIDEAN)
+                    value = Math.sqrt(Math.max(0, key));
+                else if (distance == Distance.COSINE)
+                    value = -key;
+                else
+                    value = key;
+                indices.putScalar(start + i, j, neighbours[i * k + j]);
+                values.putScalar(start + i, j, value);
+            }
+        }
+    }
+
+    //a row major copy of a matrix
+    private static double[] copy(INDArray matrix) {
+        INDArray dup = matrix.dup('c');
+        DataBuffer buffer = dup.data();
+        double[] ret = new double[dup.length()];
+        for (int i = 0; i < ret.length; i++)
+            ret[i] = buffer.getDouble(i);
+        return ret;
+    }
+
+    private static boolean before(double keyA, int rowA, double keyB, int rowB) {
+        int ret = Double.compare(keyA, keyB);
+        return ret < 0 || (ret == 0 && rowA < rowB);
+    }
+
+    private void offer(double[] keys, int[] rows, int[] sizes, int query, double key, int row) {
+        int offset = query * k;
+        int size = sizes[query];
+        if (size < k) {
+            //sift up from the end
+            int position = size;
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (!before(keys[offset + parent], rows[offset + parent], key, row))
+                    break;
+                keys[offset + position] = keys[offset + parent];
+                rows[offset + position] = rows[offset + parent];
+                position = parent;
+            }
+            keys[offset + position] = key;
+            rows[offset + position] = row;
+            sizes[query] = size + 1;
+        } else if (before(key, row, keys[offset], rows[offset])) {
+            siftDown(keys, rows, offset, size, key, row);
+        }
+    }
+
+    //place key and row at the root and move it down until no child comes after it
+    private static void siftDown(double[] keys, int[] rows, int offset, int size, double key, int row) {
+        int position = 0;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size)
+                break;
+            if (child + 1 < size && before(keys[offset + child], rows[offset + child], keys[offset + child + 1], rows[offset + child + 1]))
+                child++;
+            if (!before(key, row, keys[offset + child], rows[offset + child]))
+                break;
+            keys[offset + position] = keys[offset + child];
+            rows[offset + position] = rows[offset + child];
+            position = child;
+        }
+        keys[offset + position] = key;
+        rows[offset + position] = row;
+    }
+
+    //heap sort: repeatedly move the worst remaining candidate to the end
+    private static void sort(double[] keys, int[] rows, int offset, int size) {
+        for (int last = size - 1; last > 0; last--) {
+            double key = keys[offset + last];
+            int row = rows[offset + last];
+            keys[offset + last] = keys[offset];
+            rows[offset + last] = rows[offset];
+            siftDown(keys, rows, offset, last, key, row);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.nd4j.linalg.api.ops.executioner.tasks;
+
+import org.apache.commons.math3.util.Pair;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.Accumulation;
+import org.nd4j.linalg.api.ops.IndexAccumulation;
+import org.nd4j.linalg.api.ops.Op;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Reduces a range of tensors along a dimension in java,
+ * writing the result for tensor i to linear index i of the result array.
+ * Handles both {@link Accumulation} and {@link IndexAccumulation}.
+ *
+ * @author Adam Gibson
+ */
+public class ReduceAlongDimensionAction extends RecursiveAction {
+    private Op op;
+    private INDArray result;
+    private int[] dimension;
+    private int tadLength;
+    private int start, end;
+
+    /**
+     * @param op the accumulation or index accumulation
+     * @param result the array to write the per tensor results to
+     * @param dimension the dimension(s) to reduce along
+     * @param start the first tensor
+     * @param end one past the last tensor
+     */
+    public ReduceAlongDimensionAction(Op op, INDArray result, int[] dimension, int start, int end) {
+        this.op = op;
+        this.result = result;
+        this.dimension = dimension;
+        this.start = start;
+        this.end = end;
+        this.tadLength = op.x().tensorAlongDimension(0, dimension).length();
+    }
+
+    @Override
+    protected void compute() {
+        if ((long) (end - start) * tadLength > TransformAction.THRESHOLD && end - start > 1) {
+            int mid = start + (end - start) / 2;
+            invokeAll(new ReduceAlongDimensionAction(op, result, dimension, start, mid),
+                      new ReduceAlongDimensionAction(op, result, dimension, mid, end));
+            return;
+        }
+
+        for (int i = start; i < end; i++) {
+            INDArray x = AccumulationTask.walkable(op.x().tensorAlongDimension(i, dimension));
+            INDArray y = op.y() == null ? null : AccumulationTask.walkable(op.y().tensorAlongDimension(i, dimension));
+            if (op instanceof IndexAccumulation) {
+                Pair<Double, Integer> pair = IndexAccumulationTask.accumulate((IndexAccumulation) op, x, y, 0, x.lengthLong());
+                result.putScalar(i, pair.getSecond());
+            } else {
+                Accumulation acc = (Accumulation) op;
+                double accum = AccumulationTask.accumulate(acc, x, y, 0, x.lengthLong());
+                result.putScalar(i, acc.calculateFinalResult(accum, x.length()));
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.nd4j.linalg.api.ops.executioner.tasks;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Writes or adds the rows of a matrix of updates to the given rows of a target matrix
+ * (see {@link org.nd4j.linalg.factory.Nd4j#scatterAdd(INDArray, int[], INDArray)}).
+ *
+ * The updates are grouped by target row first (a sort of (row, position) pairs),
+ * and every group is handled by a single task: rows listed more than once are
+ * accumulated (or overwritten) in the order they were given, without locks or atomics,
+ * and the result doesn't depend on how the work was split.
+ * Ranges of updates with more than {@link TransformAction#THRESHOLD} elements
+ * are split at a group boundary and run in parallel.
+ *
+ * @author Adam Gibson
+ */
+public class ScatterAction extends RecursiveAction {
+    private DataBuffer target, updates;
+    private int targetRowStride, targetColumnStride;
+    private int updateRowStride, updateColumnStride;
+    private int columns;
+    private boolean add;
+    //target row in the upper, position in the indexes in the lower 32 bits, sorted
+    private long[] keys;
+    private int start, end;
+
+    /**
+     * @param target the matrix to update
+     * @param indexes the target row of every row of updates
+     * @param updates the updates, one row per index
+     * @param add whether to add the updates to the target rows rather than overwrite them
+     */
+    public ScatterAction(INDArray target, int[] indexes, INDArray updates, boolean add) {
+        this.target = target.data();
+        this.updates = updates.data();
+        this.targetRowStride = target.stride(0);
+        this.targetColumnStride = target.stride(1);
+        this.updateRowStride = updates.stride(0);
+        this.updateColumnStride = updates.stride(1);
+        this.columns = target.columns();
+        this.add = add;
+        this.keys = new long[indexes.length];
+        for (int i = 0; i < indexes.length; i++)
+            keys[i] = ((long) indexes[i] << 32) | i;
+        Arrays.sort(keys);
+        this.start = 0;
+        this.end = keys.length;
+    }
+
+    private ScatterAction(ScatterAction parent, int start, int end) {
+        this.target = parent.target;
+        this.updates = parent.updates;
+        this.targetRowStride = parent.targetRowStride;
+        this.targetColumnStride = parent.targetColumnStride;
+        this.updateRowStride = parent.updateRowStride;
+        this.updateColumnStride = parent.updateColumnStride;
+        this.columns = parent.columns;
+        this.add = parent.add;
+        this.keys = parent.keys;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+        if ((long) (end - start) * columns > TransformAction.THRESHOLD && end - start > 1) {
+            //split at the start of a group so every row is handled by one task
+            int mid = start + (end - start) / 2;
+            while (mid < end && row(keys[mid]) == row(keys[mid - 1]))
+                mid++;
+            if (mid == end) {
+                mid = start + (end - start) / 2;
+                while (mid > start && row(keys[mid]) == row(keys[mid - 1]))
+                    mid--;
+            }
+            if (mid > start && mid < end) {
+                invokeAll(new ScatterAction(this, start, mid), new ScatterAction(this, mid, end));
+                return;
+            }
+        }
+
+        for (int i = start; i < end; i++) {
+            int row = row(keys[i]);
+            //overwriting: only the last update of a row counts
+            if (!add && i + 1 < end && row(keys[i + 1]) == row)
+                continue;
+            long targetOffset = (long) row * targetRowStride;
+            long updateOffset = (long) position(keys[i]) * updateRowStride;
+            for (int j = 0; j < columns; j++, targetOffset += targetColumnStride, updateOffset += updateColumnStride) {
+                double update = updates.getDouble(updateOffset);
+                target.put(targetOffset, add ? target.getDouble(targetOffset) + update : update);
+            }
+        }
+    }
+
+    private static int row(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int position(long key) {
+        return (int) key;
+    }
+}
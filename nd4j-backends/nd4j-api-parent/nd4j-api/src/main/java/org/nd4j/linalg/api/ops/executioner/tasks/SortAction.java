@@ -0,0 +1,254 @@
+package org.nd4j.linalg.api.ops.executioner.tasks;
+
+import org.bytedeco.javacpp.indexer.DoubleIndexer;
+import org.bytedeco.javacpp.indexer.FloatIndexer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorts every tensor along a dimension of an array in place
+ * (see {@link org.nd4j.linalg.factory.Nd4j#sort(INDArray, int, boolean)}),
+ * optionally writing the original position of every sorted element to an index array of the same shape.
+ *
+ * Tensor offsets are computed from the shape and strides directly (no views are created),
+ * every tensor is read in to a primitive scratch array that is reused for the whole range,
+ * sorted there and written back. Float and double tensors with a unit stride are moved with bulk indexer copies.
+ * Indexes are sorted as ints against the values, nothing is boxed.
+ * Ranges of tensors with more than {@link TransformAction#THRESHOLD} elements are split in half and run in parallel.
+ *
+ * @author Adam Gibson
+ */
+public class SortAction extends RecursiveAction {
+    //below this length runs are sorted by insertion
+    private final static int INSERTION_SORT_THRESHOLD = 16;
+
+    private DataBuffer data, indexData;
+    private int[] keptShape, keptStride, indexKeptStride;
+    private int tadLength, tadStride, indexTadStride;
+    private boolean ascending;
+    private int start, end;
+
+    /**
+     * @param array the array to sort
+     * @param dimension the dimension to sort along
+     * @param ascending whether to sort smallest to largest
+     * @param indexes the array to write the original positions to (of the shape of array), may be null
+     */
+    public SortAction(INDArray array, int dimension, boolean ascending, INDArray indexes) {
+        int rank = array.rank();
+        this.data = array.data();
+        this.keptShape = new int[rank - 1];
+        this.keptStride = new int[rank - 1];
+        this.indexKeptStride = new int[rank - 1];
+        for (int i = 0, k = 0; i < rank; i++) {
+            if (i == dimension)
+                continue;
+            keptShape[k] = array.size(i);
+            keptStride[k] = array.stride(i);
+            if (indexes != null)
+                indexKeptStride[k] = indexes.stride(i);
+            k++;
+        }
+        this.tadLength = array.size(dimension);
+        this.tadStride = array.stride(dimension);
+        if (indexes != null) {
+            this.indexData = indexes.data();
+            this.indexTadStride = indexes.stride(dimension);
+        }
+        this.ascending = ascending;
+        this.start = 0;
+        this.end = tads(keptShape);
+    }
+
+    private SortAction(SortAction parent, int start, int end) {
+        this.data = parent.data;
+        this.indexData = parent.indexData;
+        this.keptShape = parent.keptShape;
+        this.keptStride = parent.keptStride;
+        this.indexKeptStride = parent.indexKeptStride;
+        this.tadLength = parent.tadLength;
+        this.tadStride = parent.tadStride;
+        this.indexTadStride = parent.indexTadStride;
+        this.ascending = parent.ascending;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+        if ((long) (end - start) * tadLength > TransformAction.THRESHOLD && end - start > 1) {
+            int mid = start + (end - start) / 2;
+            invokeAll(new SortAction(this, start, mid), new SortAction(this, mid, end));
+            return;
+        }
+        if (tadLength < 2 && indexData == null)
+            return;
+
+        if (indexData != null)
+            sortWithIndexes();
+        else if (data.dataType() == DataBuffer.Type.FLOAT && data.indexer() instanceof FloatIndexer)
+            sortFloats();
+        else
+            sortDoubles();
+    }
+
+    private void sortFloats() {
+        float[] values = new float[tadLength];
+        FloatIndexer indexer = (FloatIndexer) data.indexer();
+        long bufferOffset = data.offset();
+        for (int i = start; i < end; i++) {
+            long offset = tadOffset(i, keptStride);
+            if (tadStride == 1)
+                indexer.get(bufferOffset + offset, values, 0, tadLength);
+            else
+                for (int j = 0; j < tadLength; j++)
+                    values[j] = indexer.get(bufferOffset + offset + (long) j * tadStride);
+
+            Arrays.sort(values);
+            if (!ascending)
+                reverse(values);
+
+            if (tadStride == 1)
+                indexer.put(bufferOffset + offset, values, 0, tadLength);
+            else
+                for (int j = 0; j < tadLength; j++)
+                    indexer.put(bufferOffset + offset + (long) j * tadStride, values[j]);
+        }
+    }
+
+    private void sortDoubles() {
+        double[] values = new double[tadLength];
+        boolean direct = data.dataType() == DataBuffer.Type.DOUBLE && data.indexer() instanceof DoubleIndexer;
+        for (int i = start; i < end; i++) {
+            long offset = tadOffset(i, keptStride);
+            if (direct && tadStride == 1)
+                ((DoubleIndexer) data.indexer()).get(data.offset() + offset, values, 0, tadLength);
+            else
+                read(data, offset, tadStride, values, tadLength);
+
+            Arrays.sort(values);
+            if (!ascending)
+                reverse(values);
+
+            if (direct && tadStride == 1)
+                ((DoubleIndexer) data.indexer()).put(data.offset() + offset, values, 0, tadLength);
+            else
+                for (int j = 0; j < tadLength; j++)
+                    data.put(offset + (long) j * tadStride, values[j]);
+        }
+    }
+
+    private void sortWithIndexes() {
+        double[] values = new double[tadLength];
+        int[] order = new int[tadLength];
+        int[] scratch = new int[tadLength];
+        for (int i = start; i < end; i++) {
+            long offset = tadOffset(i, keptStride);
+            long indexOffset = tadOffset(i, indexKeptStride);
+            read(data, offset, tadStride, values, tadLength);
+            for (int j = 0; j < tadLength; j++)
+                order[j] = j;
+            sortIndexes(values, order, scratch, tadLength, ascending);
+            for (int j = 0; j < tadLength; j++) {
+                data.put(offset + (long) j * tadStride, values[order[j]]);
+                indexData.put(indexOffset + (long) j * indexTadStride, order[j]);
+            }
+        }
+    }
+
+    /**
+     * The offset of a tensor, numbered in 'c' order over the kept dimensions
+     */
+    private long tadOffset(int index, int[] strides) {
+        long offset = 0;
+        for (int k = keptShape.length - 1; k >= 0; k--) {
+            offset += (long) (index % keptShape[k]) * strides[k];
+            index /= keptShape[k];
+        }
+        return offset;
+    }
+
+    static int tads(int[] keptShape) {
+        int ret = 1;
+        for (int size : keptShape)
+            ret *= size;
+        return ret;
+    }
+
+    static void read(DataBuffer buffer, long offset, int stride, double[] values, int length) {
+        for (int j = 0; j < length; j++, offset += stride)
+            values[j] = buffer.getDouble(offset);
+    }
+
+    private static void reverse(float[] values) {
+        for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+            float tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    private static void reverse(double[] values) {
+        for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+            double tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    /**
+     * Compare 2 positions by their values, ties (and equal NaNs) by position,
+     * so every ordering of positions is total
+     * @return a negative number when a comes first
+     */
+    static int compare(double[] values, int a, int b, boolean ascending) {
+        int ret = Double.compare(values[a], values[b]);
+        if (!ascending)
+            ret = -ret;
+        if (ret == 0)
+            ret = a < b ? -1 : (a == b ? 0 : 1);
+        return ret;
+    }
+
+    /**
+     * Sort the first length positions in order by their values (a merge sort on ints)
+     * @param values the values positions refer to
+     * @param order the positions to sort, in place
+     * @param scratch an array of at least length ints
+     * @param length the number of positions to sort
+     * @param ascending whether to sort smallest value first
+     */
+    public static void sortIndexes(double[] values, int[] order, int[] scratch, int length, boolean ascending) {
+        mergeSort(values, order, scratch, 0, length, ascending);
+    }
+
+    private static void mergeSort(double[] values, int[] order, int[] scratch, int from, int to, boolean ascending) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int current = order[i];
+                int j = i - 1;
+                for (; j >= from && compare(values, order[j], current, ascending) > 0; j--)
+                    order[j + 1] = order[j];
+                order[j + 1] = current;
+            }
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        mergeSort(values, order, scratch, from, mid, ascending);
+        mergeSort(values, order, scratch, mid, to, ascending);
+        if (compare(values, order[mid - 1], order[mid], ascending) <= 0)
+            return;
+
+        System.arraycopy(order, from, scratch, from, to - from);
+        for (int i = from, left = from, right = mid; i < to; i++) {
+            if (right >= to || (left < mid && compare(values, scratch[left], scratch[right], ascending) <= 0))
+                order[i] = scratch[left++];
+            else
+                order[i] = scratch[right++];
+        }
+    }
+}
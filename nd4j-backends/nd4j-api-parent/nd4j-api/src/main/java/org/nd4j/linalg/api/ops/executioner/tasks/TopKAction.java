@@ -0,0 +1,156 @@
+package org.nd4j.linalg.api.ops.executioner.tasks;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Selects the k largest (or smallest) elements of every tensor along a dimension of an array
+ * (see {@link org.nd4j.linalg.factory.Nd4j#topK(INDArray, int, int, boolean)}).
+ *
+ * Every tensor is scanned once while keeping the positions of the best k elements seen so far
+ * in a binary heap of ints with the worst of them on top, so selecting is O(n log k) rather than a full sort.
+ * Only the k selected positions are sorted afterwards. Ties are broken by position, the earlier first.
+ * The values and their positions are written to arrays of the shape of the source with the dimension resized to k.
+ * Ranges of tensors with more than {@link TransformAction#THRESHOLD} elements are split in half and run in parallel.
+ *
+ * @author Adam Gibson
+ */
+public class TopKAction extends RecursiveAction {
+    private DataBuffer src, valueData, indexData;
+    private int[] keptShape, keptStride, valueKeptStride, indexKeptStride;
+    private int tadLength, tadStride, valueTadStride, indexTadStride;
+    private int k;
+    private boolean largest;
+    private int start, end;
+
+    /**
+     * @param source the array to select from
+     * @param dimension the dimension to select along
+     * @param k the number of elements to select from every tensor (at most the size of the dimension)
+     * @param largest whether to select the largest elements (the smallest otherwise)
+     * @param values the array to write the selected values to
+     * @param indexes the array to write the positions of the selected values to
+     */
+    public TopKAction(INDArray source, int dimension, int k, boolean largest, INDArray values, INDArray indexes) {
+        int rank = source.rank();
+        this.src = source.data();
+        this.valueData = values.data();
+        this.indexData = indexes.data();
+        this.keptShape = new int[rank - 1];
+        this.keptStride = new int[rank - 1];
+        this.valueKeptStride = new int[rank - 1];
+        this.indexKeptStride = new int[rank - 1];
+        for (int i = 0, j = 0; i < rank; i++) {
+            if (i == dimension)
+                continue;
+            keptShape[j] = source.size(i);
+            keptStride[j] = source.stride(i);
+            valueKeptStride[j] = values.stride(i);
+            indexKeptStride[j++] = indexes.stride(i);
+        }
+        this.tadLength = source.size(dimension);
+        this.tadStride = source.stride(dimension);
+        this.valueTadStride = values.stride(dimension);
+        this.indexTadStride = indexes.stride(dimension);
+        this.k = k;
+        this.largest = largest;
+        this.start = 0;
+        this.end = SortAction.tads(keptShape);
+    }
+
+    private TopKAction(TopKAction parent, int start, int end) {
+        this.src = parent.src;
+        this.valueData = parent.valueData;
+        this.indexData = parent.indexData;
+        this.keptShape = parent.keptShape;
+        this.keptStride = parent.keptStride;
+        this.valueKeptStride = parent.valueKeptStride;
+        this.indexKeptStride = parent.indexKeptStride;
+        this.tadLength = parent.tadLength;
+        this.tadStride = parent.tadStride;
+        this.valueTadStride = parent.valueTadStride;
+        this.indexTadStride = parent.indexTadStride;
+        this.k = parent.k;
+        this.largest = parent.largest;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+        if ((long) (end - start) * tadLength > TransformAction.THRESHOLD && end - start > 1) {
+            int mid = start + (end - start) / 2;
+            invokeAll(new TopKAction(this, start, mid), new TopKAction(this, mid, end));
+            return;
+        }
+
+        //the best elements come first: descending when selecting the largest
+        boolean ascending = !largest;
+        double[] values = new double[tadLength];
+        int[] heap = new int[k];
+        int[] scratch = new int[k];
+        for (int i = start; i < end; i++) {
+            SortAction.read(src, tadOffset(i, keptStride), tadStride, values, tadLength);
+
+            int size = 0;
+            for (int j = 0; j < tadLength; j++) {
+                if (size < k) {
+                    heap[size] = j;
+                    siftUp(values, heap, size++, ascending);
+                } else if (SortAction.compare(values, j, heap[0], ascending) < 0) {
+                    heap[0] = j;
+                    siftDown(values, heap, size, ascending);
+                }
+            }
+            SortAction.sortIndexes(values, heap, scratch, size, ascending);
+
+            long valueOffset = tadOffset(i, valueKeptStride);
+            long indexOffset = tadOffset(i, indexKeptStride);
+            for (int j = 0; j < size; j++) {
+                valueData.put(valueOffset + (long) j * valueTadStride, values[heap[j]]);
+                indexData.put(indexOffset + (long) j * indexTadStride, heap[j]);
+            }
+        }
+    }
+
+    //the heap keeps the worst selected position at the root: a parent never comes before its children
+    private static void siftUp(double[] values, int[] heap, int position, boolean ascending) {
+        int value = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (SortAction.compare(values, heap[parent], value, ascending) >= 0)
+                break;
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = value;
+    }
+
+    private static void siftDown(double[] values, int[] heap, int size, boolean ascending) {
+        int value = heap[0];
+        int position = 0;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size)
+                break;
+            if (child + 1 < size && SortAction.compare(values, heap[child + 1], heap[child], ascending) > 0)
+                child++;
+            if (SortAction.compare(values, heap[child], value, ascending) <= 0)
+                break;
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = value;
+    }
+
+    private long tadOffset(int index, int[] strides) {
+        long offset = 0;
+        for (int d = keptShape.length - 1; d >= 0; d--) {
+            offset += (long) (index % keptShape[d]) * strides[d];
+            index /= keptShape[d];
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,195 @@
+package org.nd4j.linalg.api.ops.executioner.tasks;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.Op;
+import org.nd4j.linalg.api.ops.ScalarOp;
+import org.nd4j.linalg.api.ops.executioner.OpExecutionerUtil;
+import org.nd4j.linalg.api.ops.impl.transforms.Set;
+import org.nd4j.linalg.api.shape.loop.strided.OffsetTripleVisitor;
+import org.nd4j.linalg.api.shape.loop.strided.StridedKernels;
+import org.nd4j.linalg.api.shape.loop.strided.StridedLoop;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Applies a transform, scalar or broadcast op in java.
+ *
+ * Either a range of elements of arrays that can be walked directly
+ * by element wise stride (see {@link org.nd4j.linalg.api.ops.executioner.OpExecutionerUtil#canDoOpDirectly(INDArray)})
+ * or a range of tensors along a dimension, in which case every tensor is processed as a vector,
+ * or a range of the outermost dimension of a {@link StridedLoop} over arrays of any layout
+ * (see {@link #strided(Op, INDArray, INDArray, INDArray, StridedLoop, long, long)}).
+ * Ranges larger than {@link #THRESHOLD} elements are split in half and run in parallel.
+ *
+ * @author Adam Gibson
+ */
+public class TransformAction extends RecursiveAction {
+    /**
+     * Minimum number of elements handled by a single task
+     */
+    public final static int THRESHOLD = 8192;
+
+    private Op op;
+    private INDArray x, y, z;
+    private int[] dimension;
+    private boolean broadcast;
+    private StridedLoop loop;
+    private long start, end;
+
+    /**
+     * Apply the op to a range of elements of arrays with matching layout
+     * @param op the op to apply
+     * @param x the input
+     * @param y the pairwise input (may be null)
+     * @param z the output
+     * @param start the first element
+     * @param end one past the last element
+     */
+    public TransformAction(Op op, INDArray x, INDArray y, INDArray z, long start, long end) {
+        this.op = op;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Apply the op to a range of tensors along the given dimension
+     * @param op the op to apply
+     * @param dimension the dimension(s) tensors are taken along
+     * @param broadcast if true y is applied as a whole to every tensor
+     *                  rather than being split in to tensors itself
+     * @param start the first tensor
+     * @param end one past the last tensor
+     */
+    public TransformAction(Op op, int[] dimension, boolean broadcast, long start, long end) {
+        this.op = op;
+        this.x = op.x();
+        this.y = op.y();
+        this.z = op.z();
+        this.dimension = dimension;
+        this.broadcast = broadcast;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Apply the op to the elements of arrays of the same shape but of any layout,
+     * walking their buffers with a strided loop.
+     * @param op the op to apply
+     * @param x the input
+     * @param y the pairwise input (may be null)
+     * @param z the output
+     * @param loop the loop over x, z (for scalar ops or ops without y) or x, y, z
+     * @param start the first index of the outermost dimension of the loop
+     * @param end one past the last index of the outermost dimension of the loop
+     */
+    public static TransformAction strided(Op op, INDArray x, INDArray y, INDArray z, StridedLoop loop, long start, long end) {
+        TransformAction ret = new TransformAction(op, x, y, z, start, end);
+        ret.loop = loop;
+        return ret;
+    }
+
+    @Override
+    protected void compute() {
+        long work;
+        if (loop != null)
+            work = (end - start) * (loop.length() / Math.max(1, loop.outerLength()));
+        else
+            work = dimension == null ? end - start : (end - start) * x.tensorAlongDimension(0, dimension).length();
+        if (work > THRESHOLD && end - start > 1) {
+            long mid = start + (end - start) / 2;
+            if (loop != null)
+                invokeAll(strided(op, x, y, z, loop, start, mid), strided(op, x, y, z, loop, mid, end));
+            else if (dimension == null)
+                invokeAll(new TransformAction(op, x, y, z, start, mid), new TransformAction(op, x, y, z, mid, end));
+            else
+                invokeAll(new TransformAction(op, dimension, broadcast, start, mid), new TransformAction(op, dimension, broadcast, mid, end));
+            return;
+        }
+
+        if (loop != null) {
+            applyStrided();
+        } else if (dimension == null) {
+            apply(op, x, y, z, start, end);
+        } else {
+            for (long i = start; i < end; i++) {
+                int tad = (int) i;
+                INDArray xTad = x.tensorAlongDimension(tad, dimension);
+                INDArray zTad = z.tensorAlongDimension(tad, dimension);
+                INDArray yTad = y == null || op instanceof ScalarOp ? null : broadcast ? y : y.tensorAlongDimension(tad, dimension);
+                if (xTad.isVector() || OpExecutionerUtil.canDoOpDirectly(xTad, zTad) && (yTad == null || OpExecutionerUtil.canDoOpDirectly(xTad, yTad, zTad))) {
+                    apply(op, xTad, yTad, zTad, 0, xTad.lengthLong());
+                } else {
+                    //tensors along more than one dimension: work on 'c' ordered copies
+                    INDArray out = Nd4j.create(xTad.shape(), 'c');
+                    apply(op, xTad.dup('c'), yTad == null ? null : yTad.dup('c'), out, 0, out.lengthLong());
+                    zTad.assign(out);
+                }
+            }
+        }
+    }
+
+    private void applyStrided() {
+        final DataBuffer xData = x.data();
+        final DataBuffer zData = z.data();
+        if (op instanceof Set) {
+            //plain copies (assign, dup) go through the copy kernels
+            if (y == null)
+                StridedKernels.copy(loop, 0, xData, 1, zData, (int) start, (int) end);
+            else
+                StridedKernels.copy(loop, 1, y.data(), 2, zData, (int) start, (int) end);
+            return;
+        }
+        final boolean isFloat = xData.dataType() == DataBuffer.Type.FLOAT;
+        if (y == null || op instanceof ScalarOp) {
+            loop.forEach(new OffsetTripleVisitor() {
+                @Override
+                public void visit(int offsetX, int offsetZ, int unused) {
+                    double val = xData.getDouble(offsetX);
+                    zData.put(offsetZ, isFloat ? op.op((float) val) : op.op(val));
+                }
+            }, (int) start, (int) end);
+        } else {
+            final DataBuffer yData = y.data();
+            loop.forEach(new OffsetTripleVisitor() {
+                @Override
+                public void visit(int offsetX, int offsetY, int offsetZ) {
+                    double val = xData.getDouble(offsetX);
+                    double other = yData.getDouble(offsetY);
+                    zData.put(offsetZ, isFloat ? op.op((float) val, (float) other) : op.op(val, other));
+                }
+            }, (int) start, (int) end);
+        }
+    }
+
+    /**
+     * Apply the op serially to the given range of elements
+     * of arrays that are walked by element wise stride
+     */
+    public static void apply(Op op, INDArray x, INDArray y, INDArray z, long start, long end) {
+        DataBuffer xData = x.data();
+        DataBuffer zData = z.data();
+        int incX = x.elementWiseStride();
+        int incZ = z.elementWiseStride();
+        boolean isFloat = xData.dataType() == DataBuffer.Type.FLOAT;
+
+        if (y == null || op instanceof ScalarOp) {
+            for (long i = start; i < end; i++) {
+                double val = xData.getDouble(i * incX);
+                zData.put(i * incZ, isFloat ? op.op((float) val) : op.op(val));
+            }
+        } else {
+            DataBuffer yData = y.data();
+            int incY = y.elementWiseStride();
+            for (long i = start; i < end; i++) {
+                double val = xData.getDouble(i * incX);
+                double other = yData.getDouble(i * incY);
+                zData.put(i * incZ, isFloat ? op.op((float) val, (float) other) : op.op(val, other));
+            }
+        }
+    }
+}
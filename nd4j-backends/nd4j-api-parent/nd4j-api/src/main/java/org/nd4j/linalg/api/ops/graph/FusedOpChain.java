@@ -0,0 +1,332 @@
+package org.nd4j.linalg.api.ops.graph;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.BroadcastOp;
+import org.nd4j.linalg.api.ops.Op;
+import org.nd4j.linalg.api.ops.ScalarOp;
+import org.nd4j.linalg.executors.ExecutorServiceProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A chain of element wise ops where the
+ * input of every op is the output of the op before it.
+ *
+ * Rather than running one pass over the buffers per op,
+ * the chain is executed block by block: a block of the source
+ * is loaded once, every op is applied to it while it is still in cache
+ * and the block is only written back when an op's output array differs
+ * from the next op's input (or at the end of the chain).
+ *
+ * @author Adam Gibson
+ */
+public class FusedOpChain {
+    /**
+     * Number of elements processed per block
+     */
+    public final static int BLOCK_SIZE = 4096;
+    /**
+     * Chains shorter than this are executed on the calling thread
+     */
+    public final static int PARALLEL_THRESHOLD = 8 * BLOCK_SIZE;
+
+    private INDArray source;
+    private long length;
+    private boolean isFloat;
+    private List<Stage> stages = new ArrayList<>();
+
+    /**
+     * Start a new chain with the given op
+     * @param op the first op of the chain
+     * @param dimension the dimension (for broadcast ops)
+     */
+    public FusedOpChain(Op op, int... dimension) {
+        this.source = op.x();
+        this.length = op.x().lengthLong();
+        this.isFloat = op.x().data().dataType() == DataBuffer.Type.FLOAT;
+        append(op, dimension);
+    }
+
+    /**
+     * Returns true if the given op can be executed
+     * as part of a fused chain at all
+     * @param op the op to check
+     * @param dimension the dimension (for broadcast ops)
+     * @return true if the op is a candidate for fusion
+     */
+    public static boolean canFuse(Op op, int... dimension) {
+        INDArray x = op.x();
+        INDArray z = op.z();
+        if (x == null || z == null || op.isExecSpecial() || op.isPassThrough())
+            return false;
+        if (x instanceof IComplexNDArray)
+            return false;
+        if (x.lengthLong() != z.lengthLong() || op.n() != x.lengthLong())
+            return false;
+        DataBuffer.Type type = x.data().dataType();
+        if (type == DataBuffer.Type.INT || z.data().dataType() != type)
+            return false;
+        if (x.elementWiseStride() < 1 || z.elementWiseStride() < 1)
+            return false;
+        if (!sameLayout(x, z))
+            return false;
+
+        if (op instanceof ScalarOp)
+            return ((ScalarOp) op).scalar() != null;
+
+        if (op instanceof BroadcastOp) {
+            INDArray y = op.y();
+            if (y == null || y.data().dataType() != type || y.elementWiseStride() < 1 || !y.isVector())
+                return false;
+            if (x.rank() != 2 || dimension == null || dimension.length != 1)
+                return false;
+            int dim = dimension[0] < 0 ? dimension[0] + 2 : dimension[0];
+            return (dim == 0 || dim == 1) && y.length() == x.size(dim) && !x.isVector();
+        }
+
+        if (op.y() != null) {
+            INDArray y = op.y();
+            if (y.data().dataType() != type || y.elementWiseStride() < 1)
+                return false;
+            return y.lengthLong() == x.lengthLong() && sameLayout(x, y);
+        }
+
+        return true;
+    }
+
+    /**
+     * Whether the two arrays visit their elements in the same
+     * order when walked by element wise stride
+     */
+    private static boolean sameLayout(INDArray a, INDArray b) {
+        if (a.isVector() && b.isVector())
+            return true;
+        if (a.ordering() != b.ordering())
+            return false;
+        return Arrays.equals(a.shape(), b.shape());
+    }
+
+    /**
+     * The array the last op in the chain writes to
+     * @return the current output of the chain
+     */
+    public INDArray tip() {
+        return stages.get(stages.size() - 1).op.z();
+    }
+
+    /**
+     * Whether the given op continues this chain
+     * (its input is the current output of the chain)
+     * @param op the op to test
+     * @return true if the op can be appended
+     */
+    public boolean continuedBy(Op op) {
+        return op.x().lengthLong() == length
+                && (op.x().data().dataType() == DataBuffer.Type.FLOAT) == isFloat
+                && sameView(op.x(), tip())
+                && sameLayout(source, op.x());
+    }
+
+    /**
+     * Append an op to the chain
+     * @param op the op to append
+     * @param dimension the dimension (for broadcast ops)
+     */
+    public void append(Op op, int... dimension) {
+        stages.add(new Stage(op, dimension));
+    }
+
+    /**
+     * Number of ops in this chain
+     * @return the number of ops
+     */
+    public int size() {
+        return stages.size();
+    }
+
+    /**
+     * All of the arrays read by this chain
+     * @return the arrays read by the chain
+     */
+    public List<INDArray> reads() {
+        List<INDArray> ret = new ArrayList<>();
+        ret.add(source);
+        for (Stage stage : stages)
+            if (stage.op.y() != null)
+                ret.add(stage.op.y());
+        return ret;
+    }
+
+    /**
+     * The arrays read by this chain as broadcast operands
+     * (elements are not read in the same order they are written)
+     * @return the broadcast operands of the chain
+     */
+    public List<INDArray> broadcastReads() {
+        List<INDArray> ret = new ArrayList<>();
+        for (Stage stage : stages)
+            if (stage.broadcast)
+                ret.add(stage.op.y());
+        return ret;
+    }
+
+    /**
+     * All of the arrays written by this chain
+     * @return the arrays written by the chain
+     */
+    public List<INDArray> writes() {
+        List<INDArray> ret = new ArrayList<>();
+        for (Stage stage : stages)
+            ret.add(stage.op.z());
+        return ret;
+    }
+
+    /**
+     * Execute the chain, writing every intermediate
+     * result that is visible to the caller
+     */
+    public void exec() {
+        for (int i = 0; i < stages.size(); i++) {
+            Stage stage = stages.get(i);
+            stage.store = i == stages.size() - 1 || !sameView(stage.op.z(), stages.get(i + 1).op.z());
+        }
+
+        if (length <= PARALLEL_THRESHOLD)
+            execBlocks(0, length);
+        else
+            ExecutorServiceProvider.getForkJoinPool().invoke(new ChainTask(0, length));
+    }
+
+    private void execBlocks(long start, long end) {
+        int maxLength = (int) Math.min(BLOCK_SIZE, end - start);
+        double[] block = new double[maxLength];
+        DataBuffer sourceData = source.data();
+        int sourceStride = source.elementWiseStride();
+
+        for (long blockStart = start; blockStart < end; blockStart += BLOCK_SIZE) {
+            int blockLength = (int) Math.min(BLOCK_SIZE, end - blockStart);
+            for (int j = 0; j < blockLength; j++)
+                block[j] = sourceData.getDouble((blockStart + j) * sourceStride);
+
+            for (Stage stage : stages) {
+                stage.apply(block, blockStart, blockLength, isFloat);
+                if (stage.store) {
+                    INDArray z = stage.op.z();
+                    DataBuffer zData = z.data();
+                    int zStride = z.elementWiseStride();
+                    for (int j = 0; j < blockLength; j++)
+                        zData.put((blockStart + j) * zStride, block[j]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the two arrays are views over the
+     * exact same elements
+     */
+    public static boolean sameView(INDArray a, INDArray b) {
+        if (a == b)
+            return true;
+        return root(a.data()) == root(b.data())
+                && a.offset() == b.offset()
+                && a.ordering() == b.ordering()
+                && Arrays.equals(a.shape(), b.shape())
+                && Arrays.equals(a.stride(), b.stride());
+    }
+
+    /**
+     * The buffer that actually owns the memory of the given buffer
+     */
+    public static DataBuffer root(DataBuffer buffer) {
+        DataBuffer original = buffer.originalDataBuffer();
+        return original == null ? buffer : original;
+    }
+
+    /**
+     * One op of the chain along with how to
+     * resolve its pairwise/broadcast operand
+     */
+    private static class Stage {
+        private Op op;
+        private boolean broadcast;
+        private boolean byRow;
+        private int columns;
+        private int rows;
+        private boolean store;
+
+        private Stage(Op op, int... dimension) {
+            this.op = op;
+            if (op instanceof BroadcastOp && !(op instanceof ScalarOp)) {
+                broadcast = true;
+                int dim = dimension[0] < 0 ? dimension[0] + 2 : dimension[0];
+                rows = op.x().rows();
+                columns = op.x().columns();
+                //walking in 'c' order the column index moves fastest, in 'f' order the row index does
+                byRow = op.x().ordering() == 'c' ? dim == 0 : dim == 1;
+            }
+        }
+
+        private int broadcastIndex(long i) {
+            int inner = op.x().ordering() == 'c' ? columns : rows;
+            return (int) (byRow ? i / inner : i % inner);
+        }
+
+        private void apply(double[] block, long start, int length, boolean isFloat) {
+            INDArray y = op.y();
+            if (op instanceof ScalarOp || y == null) {
+                if (isFloat)
+                    for (int j = 0; j < length; j++)
+                        block[j] = op.op((float) block[j]);
+                else
+                    for (int j = 0; j < length; j++)
+                        block[j] = op.op(block[j]);
+                return;
+            }
+
+            DataBuffer yData = y.data();
+            int yStride = y.elementWiseStride();
+            if (broadcast) {
+                for (int j = 0; j < length; j++) {
+                    double other = yData.getDouble(broadcastIndex(start + j) * yStride);
+                    block[j] = isFloat ? op.op((float) block[j], (float) other) : op.op(block[j], other);
+                }
+            } else {
+                for (int j = 0; j < length; j++) {
+                    double other = yData.getDouble((start + j) * yStride);
+                    block[j] = isFloat ? op.op((float) block[j], (float) other) : op.op(block[j], other);
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits the chain in to ranges of whole blocks
+     * executed on the fork join pool
+     */
+    private class ChainTask extends RecursiveAction {
+        private long start, end;
+
+        private ChainTask(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= PARALLEL_THRESHOLD) {
+                execBlocks(start, end);
+                return;
+            }
+
+            long blocks = (end - start + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            long mid = start + (blocks / 2) * BLOCK_SIZE;
+            invokeAll(new ChainTask(start, mid), new ChainTask(mid, end));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.nd4j.linalg.api.ops.graph;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.BroadcastOp;
+import org.nd4j.linalg.api.ops.Op;
+import org.nd4j.linalg.api.ops.ScalarOp;
+import org.nd4j.linalg.api.ops.TransformOp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records element wise ops (transform, scalar and broadcast)
+ * instead of executing them.
+ *
+ * Each recorded op either extends an existing {@link FusedOpChain}
+ * (its input is the output of that chain) or starts a new one.
+ * Chains only ever depend on each other through the buffers they
+ * read and write: whenever an op would read a buffer a pending chain
+ * writes, or write a buffer a pending chain touches, the graph
+ * is committed first so results are identical to eager execution.
+ *
+ * A graph is meant to be used by a single thread.
+ *
+ * @author Adam Gibson
+ */
+public class OpGraph {
+    private List<FusedOpChain> chains = new ArrayList<>();
+
+    /**
+     * Record the given op.
+     * Ops that can not be fused cause every
+     * pending op to be executed and are not recorded.
+     *
+     * @param op the op to record
+     * @param dimension the dimension (for broadcast ops)
+     * @return true if the op was recorded and will be executed on
+     * {@link #commit()}, false if the caller must execute it
+     */
+    public boolean record(Op op, int... dimension) {
+        if (!isElementWise(op) || !FusedOpChain.canFuse(op, dimension)) {
+            commit();
+            return false;
+        }
+
+        FusedOpChain extended = null;
+        for (FusedOpChain chain : chains) {
+            if (chain.continuedBy(op)) {
+                extended = chain;
+                break;
+            }
+        }
+
+        if (extended != null && !conflicts(op, extended)) {
+            extended.append(op, dimension);
+            return true;
+        }
+
+        if (conflicts(op, null))
+            commit();
+
+        chains.add(new FusedOpChain(op, dimension));
+        return true;
+    }
+
+    /**
+     * Execute every pending op
+     */
+    public void commit() {
+        if (chains.isEmpty())
+            return;
+        //clear first: a failing chain should not be retried on the next commit
+        List<FusedOpChain> pending = chains;
+        chains = new ArrayList<>();
+        for (FusedOpChain chain : pending)
+            chain.exec();
+    }
+
+    /**
+     * Number of ops waiting for a commit
+     * @return the number of pending ops
+     */
+    public int pendingOps() {
+        int ret = 0;
+        for (FusedOpChain chain : chains)
+            ret += chain.size();
+        return ret;
+    }
+
+    private boolean isElementWise(Op op) {
+        return op instanceof TransformOp || op instanceof ScalarOp || op instanceof BroadcastOp;
+    }
+
+    /**
+     * An op conflicts with the pending graph if it reads memory written by a pending chain,
+     * or writes memory read or written by a pending chain.
+     * An op extending a chain in place may overwrite the chain's own memory as long as
+     * it is the exact same view (elements line up, so each block only touches its own elements),
+     * unless that memory is also read as a broadcast operand.
+     */
+    private boolean conflicts(Op op, FusedOpChain extending) {
+        INDArray x = op.x();
+        INDArray y = op.y();
+        INDArray z = op.z();
+        boolean inPlace = FusedOpChain.sameView(x, z);
+        for (FusedOpChain chain : chains) {
+            List<INDArray> writes = chain.writes();
+            List<INDArray> reads = chain.reads();
+            if (chain != extending && contains(writes, x))
+                return true;
+            if (y != null && contains(writes, y))
+                return true;
+            if (chain == extending && inPlace) {
+                if (overlapsOtherView(reads, z) || overlapsOtherView(writes, z) || contains(chain.broadcastReads(), z))
+                    return true;
+            } else if (contains(writes, z) || contains(reads, z)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean overlapsOtherView(List<INDArray> arrs, INDArray arr) {
+        for (INDArray other : arrs) {
+            if (sameMemory(other, arr) && !FusedOpChain.sameView(other, arr))
+                return true;
+        }
+        return false;
+    }
+
+    private boolean contains(List<INDArray> arrs, INDArray arr) {
+        for (INDArray other : arrs)
+            if (sameMemory(other, arr))
+                return true;
+        return false;
+    }
+
+    private boolean sameMemory(INDArray a, INDArray b) {
+        DataBuffer first = FusedOpChain.root(a.data());
+        DataBuffer second = FusedOpChain.root(b.data());
+        return first == second;
+    }
+}
@@ -65,21 +65,28 @@ public class StandardDeviation extends Variance {
     public Op opForDimension(int index, int dimension) {
         INDArray xAlongDimension = x.vectorAlongDimension(index, dimension);
 
+        StandardDeviation ret;
         if (y() != null)
-            return new StandardDeviation(xAlongDimension, y.vectorAlongDimension(index, dimension), xAlongDimension.length());
+            ret = new StandardDeviation(xAlongDimension, y.vectorAlongDimension(index, dimension), xAlongDimension.length());
         else
-            return new StandardDeviation(xAlongDimension);
-
+            ret = new StandardDeviation(xAlongDimension);
+        ret.setBiasCorrected(biasCorrected);
+        ret.setApplyFinalTransform(applyFinalTransform());
+        return ret;
     }
 
     @Override
     public Variance opForDimension(int index, int... dimension) {
         INDArray xAlongDimension = x.tensorAlongDimension(index, dimension);
 
+        StandardDeviation ret;
         if (y() != null)
-            return new StandardDeviation(xAlongDimension, y.tensorAlongDimension(index, dimension), xAlongDimension.length());
+            ret = new StandardDeviation(xAlongDimension, y.tensorAlongDimension(index, dimension), xAlongDimension.length());
         else
-            return new StandardDeviation(xAlongDimension);
+            ret = new StandardDeviation(xAlongDimension);
+        ret.setBiasCorrected(biasCorrected);
+        ret.setApplyFinalTransform(applyFinalTransform());
+        return ret;
     }
 
     @Override
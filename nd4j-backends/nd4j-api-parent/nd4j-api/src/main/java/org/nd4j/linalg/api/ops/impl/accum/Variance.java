@@ -181,7 +181,8 @@ public class Variance extends BaseAccumulation {
         if (y() != null)
             ret = new Variance(xAlongDimension, y.tensorAlongDimension(index, dimension), xAlongDimension.length());
         else
-            ret = new Variance(x.tensorAlongDimension(index, dimension),biasCorrected);
+            ret = new Variance(x.tensorAlongDimension(index, dimension));
+        ret.setBiasCorrected(biasCorrected);
         ret.setApplyFinalTransform(applyFinalTransform());
         return ret;
     }
@@ -0,0 +1,23 @@
+package org.nd4j.linalg.api.ops.impl.accum.distances;
+
+/**
+ * The measures nearest neighbour search can rank by
+ * (see {@link org.nd4j.linalg.factory.Nd4j#knn(org.nd4j.linalg.api.ndarray.INDArray, org.nd4j.linalg.api.ndarray.INDArray, int, Distance)}).
+ * Each gives the same values as its accumulation.
+ *
+ * @author Adam Gibson
+ */
+public enum Distance {
+    /**
+     * {@link EuclideanDistance}, smallest first
+     */
+    EUCLIDEAN,
+    /**
+     * {@link CosineSimilarity}, largest first
+     */
+    COSINE,
+    /**
+     * {@link ManhattanDistance}, smallest first
+     */
+    MANHATTAN
+}
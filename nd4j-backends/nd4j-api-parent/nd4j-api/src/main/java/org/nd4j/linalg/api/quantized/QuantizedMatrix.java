@@ -0,0 +1,121 @@
+package org.nd4j.linalg.api.quantized;
+
+import java.util.Arrays;
+
+/**
+ * A matrix of 8 bit integers, stored row major, with an affine mapping back to real values:
+ * element (i, j) stands for scale(i) * (get(i, j) - zeroPoint(i)).
+ *
+ * The scale and zero point are either shared by the whole matrix (per tensor)
+ * or given for every row (per row, as used for the output channels of weight matrices).
+ * At a quarter of the size of a float matrix this is meant for inference
+ * (see {@link org.nd4j.linalg.api.blas.Level3#gemmQuantized}).
+ * Matrices are created with {@link org.nd4j.linalg.ops.transforms.Transforms#quantize}.
+ *
+ * @author Adam Gibson
+ */
+public class QuantizedMatrix {
+    private byte[] data;
+    private int rows, columns;
+    private double[] scales;
+    private int[] zeroPoints;
+
+    /**
+     * @param data the values, row major (rows * columns of them)
+     * @param rows the number of rows
+     * @param columns the number of columns
+     * @param scales one scale for the whole matrix or one per row
+     * @param zeroPoints one zero point for the whole matrix or one per row
+     */
+    public QuantizedMatrix(byte[] data, int rows, int columns, double[] scales, int[] zeroPoints) {
+        if (data.length != rows * columns)
+            throw new IllegalArgumentException("Expected " + (rows * columns) + " values but got " + data.length);
+        if (scales.length != zeroPoints.length || (scales.length != 1 && scales.length != rows))
+            throw new IllegalArgumentException("Expected 1 or " + rows + " scales and zero points but got " + scales.length + " and " + zeroPoints.length);
+        for (int zeroPoint : zeroPoints)
+            if (zeroPoint < Byte.MIN_VALUE || zeroPoint > Byte.MAX_VALUE)
+                throw new IllegalArgumentException("Zero point " + zeroPoint + " is not an 8 bit integer");
+        this.data = data;
+        this.rows = rows;
+        this.columns = columns;
+        this.scales = scales;
+        this.zeroPoints = zeroPoints;
+    }
+
+    /**
+     * The raw values, row major
+     * @return the values
+     */
+    public byte[] data() {
+        return data;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public int[] shape() {
+        return new int[] {rows, columns};
+    }
+
+    /**
+     * Whether every row has its own scale and zero point
+     * (a single row matrix is always treated as quantized per tensor)
+     * @return true for per row quantization
+     */
+    public boolean isPerRow() {
+        return scales.length > 1;
+    }
+
+    /**
+     * The scale of the given row
+     * @param row the row
+     * @return the scale
+     */
+    public double scale(int row) {
+        return scales.length == 1 ? scales[0] : scales[row];
+    }
+
+    /**
+     * The zero point of the given row
+     * @param row the row
+     * @return the zero point
+     */
+    public int zeroPoint(int row) {
+        return zeroPoints.length == 1 ? zeroPoints[0] : zeroPoints[row];
+    }
+
+    /**
+     * The raw (quantized) value of element (i, j)
+     */
+    public int get(int i, int j) {
+        return data[i * columns + j];
+    }
+
+    /**
+     * The real value element (i, j) stands for
+     */
+    public double getDouble(int i, int j) {
+        return scale(i) * (get(i, j) - zeroPoint(i));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof QuantizedMatrix))
+            return false;
+        QuantizedMatrix other = (QuantizedMatrix) o;
+        return rows == other.rows && columns == other.columns && Arrays.equals(data, other.data)
+                && Arrays.equals(scales, other.scales) && Arrays.equals(zeroPoints, other.zeroPoints);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(data) + Arrays.hashCode(scales);
+    }
+}
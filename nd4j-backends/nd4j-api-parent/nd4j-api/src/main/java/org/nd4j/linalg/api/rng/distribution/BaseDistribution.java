@@ -19,7 +19,6 @@
 
 package org.nd4j.linalg.api.rng.distribution;
 
-import java.util.Iterator;
 
 import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.analysis.solvers.UnivariateSolverUtils;
@@ -260,10 +259,11 @@ public abstract class BaseDistribution implements Distribution {
     @Override
     public INDArray sample(int[] shape) {
         INDArray ret = Nd4j.create(shape);
-        Iterator<int[]> idxIter = new NdIndexIterator(shape);	//For consistent values irrespective of c vs. fortran ordering
+        NdIndexIterator idxIter = new NdIndexIterator(shape);	//For consistent values irrespective of c vs. fortran ordering
+        int[] idx = new int[shape.length];
         int len = ret.length();
         for( int i=0; i<len; i++ ){
-        	ret.putScalar(idxIter.next(), sample());
+        	ret.putScalar(idxIter.nextInto(idx), sample());
         }
         return ret;
     }
@@ -19,7 +19,6 @@
 
 package org.nd4j.linalg.api.rng.distribution.impl;
 
-import java.util.Iterator;
 
 import org.apache.commons.math3.exception.NotPositiveException;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
@@ -256,18 +255,19 @@ public class BinomialDistribution extends BaseDistribution {
     @Override
     public INDArray sample(int[] shape) {
         INDArray ret = Nd4j.create(shape);
-        Iterator<int[]> idxIter = new NdIndexIterator(shape);	//For consistent values irrespective of c vs. fortran ordering
+        NdIndexIterator idxIter = new NdIndexIterator(shape);	//For consistent values irrespective of c vs. fortran ordering
+        int[] idx = new int[shape.length];
         int len = ret.length();
         if (p != null){
             for (int i = 0; i < len; i++) {
-            	int[] idx = idxIter.next();
+            	idxIter.nextInto(idx);
                 org.apache.commons.math3.distribution.BinomialDistribution binomialDistribution = new org.apache.commons.math3.distribution.BinomialDistribution((RandomGenerator) Nd4j.getRandom(), numberOfTrials, p.getDouble(idx));
                 ret.putScalar(idx, binomialDistribution.sample());
             }
         } else {
         	org.apache.commons.math3.distribution.BinomialDistribution binomialDistribution = new org.apache.commons.math3.distribution.BinomialDistribution((RandomGenerator) Nd4j.getRandom(), numberOfTrials, probabilityOfSuccess);
             for (int i = 0; i < len; i++) {
-                ret.putScalar(idxIter.next(), binomialDistribution.sample());
+                ret.putScalar(idxIter.nextInto(idx), binomialDistribution.sample());
             }
         }
         return ret;
@@ -19,7 +19,6 @@
 
 package org.nd4j.linalg.api.rng.distribution.impl;
 
-import java.util.Iterator;
 
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
@@ -334,16 +333,17 @@ public class NormalDistribution extends BaseDistribution {
     @Override
     public INDArray sample(int[] shape) {
         INDArray ret = Nd4j.create(shape);
-        Iterator<int[]> idxIter = new NdIndexIterator(shape);	//For consistent values irrespective of c vs. fortran ordering
+        NdIndexIterator idxIter = new NdIndexIterator(shape);	//For consistent values irrespective of c vs. fortran ordering
+        int[] idx = new int[shape.length];
         int len = ret.length();
         if( means != null ){
         	for( int i=0; i<len; i++ ){
-        		int[] idx = idxIter.next();
+        		idxIter.nextInto(idx);
         		ret.putScalar(idx, standardDeviation * random.nextGaussian() + means.getDouble(idx));
         	}
         } else {
         	for( int i=0; i<len; i++ ){
-        		ret.putScalar(idxIter.next(), standardDeviation * random.nextGaussian() + mean);
+        		ret.putScalar(idxIter.nextInto(idx), standardDeviation * random.nextGaussian() + mean);
         	}
         }
         return ret;
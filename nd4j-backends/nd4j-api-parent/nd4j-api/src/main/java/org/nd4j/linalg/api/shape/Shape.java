@@ -26,6 +26,7 @@ import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.CopyOp;
 import org.nd4j.linalg.api.shape.loop.coordinatefunction.CoordinateFunction;
+import org.nd4j.linalg.api.shape.loop.strided.StridedLoop;
 import org.nd4j.linalg.api.shape.loop.one.RawArrayIterationInformation1;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.indexing.INDArrayIndex;
@@ -166,18 +167,32 @@ public class Shape {
     }
 
     /**
-     * Iterate over 2
-     * coordinate spaces given 2 arrays
-     * @param arr the first array
+     * Iterate over the coordinates of an array in 'c' order.
+     * The same coordinate array is passed (and updated) for every element.
+     * To visit the elements themselves prefer {@link StridedLoop},
+     * which walks buffer offsets without recomputing them from coordinates.
+     * @param arr the array
      * @param coordinateFunction the coordinate function to use
      *
      */
     public static void iterate(INDArray arr,CoordinateFunction coordinateFunction) {
-        Shape.iterate(0
-                ,arr.rank()
-                ,arr.shape()
-                ,new int[arr.rank()]
-                ,coordinateFunction);
+        int[] shape = arr.shape();
+        for(int size : shape)
+            if(size == 0)
+                return;
+        int[] coord = new int[shape.length];
+        int[][] args = {coord};
+        while(true) {
+            coordinateFunction.process(args);
+            int d = shape.length - 1;
+            for(; d >= 0; d--) {
+                if(++coord[d] < shape[d])
+                    break;
+                coord[d] = 0;
+            }
+            if(d < 0)
+                break;
+        }
     }
 
     /**
@@ -282,7 +297,6 @@ public class Shape {
      * @return the double at the specified index
      */
     public static long getOffset(long baseOffset,int[] shape,int[] stride,int...indices) {
-        //int ret =  mappers[shape.length].getOffset(baseOffset, shape, stride, indices);
         if(shape.length != stride.length || indices.length != shape.length)
             throw new IllegalArgumentException("Indexes, shape, and stride must be the same length");
         long offset = baseOffset;
@@ -1898,4 +1912,53 @@ public class Shape {
         if(doCopy) return Shape.toOffsetZeroCopyAnyOrder(input);
         else return input;
     }
+
+    /**
+     * The shape two arrays broadcast to with NumPy semantics:
+     * shapes are aligned from the last dimension, missing leading dimensions count as 1
+     * and every pair of sizes must be equal or contain a 1, which is stretched to the other
+     * @param left the first shape
+     * @param right the second shape
+     * @return the broadcast shape, or null when the shapes are incompatible
+     */
+    public static int[] broadcastOutputShape(int[] left, int[] right) {
+        int rank = Math.max(left.length, right.length);
+        int[] ret = new int[rank];
+        for (int i = 0; i < rank; i++) {
+            int l = i < rank - left.length ? 1 : left[i - (rank - left.length)];
+            int r = i < rank - right.length ? 1 : right[i - (rank - right.length)];
+            if (l != r && l != 1 && r != 1)
+                return null;
+            ret[i] = l == 1 ? r : l;
+        }
+        return ret;
+    }
+
+    /**
+     * A view of an array stretched to a larger shape it broadcasts to
+     * (see {@link #broadcastOutputShape(int[], int[])}) without copying:
+     * stretched and missing leading dimensions get a stride of 0,
+     * so every element is read as many times as it is repeated.
+     * Views like this are meant to be read, writing to them writes the same element repeatedly.
+     * @param arr the array to stretch
+     * @param shape the shape to stretch it to
+     * @return arr when it already has the shape, the zero stride view otherwise
+     */
+    public static INDArray broadcastView(INDArray arr, int[] shape) {
+        if (Arrays.equals(arr.shape(), shape))
+            return arr;
+        int[] arrShape = arr.shape();
+        int lead = shape.length - arrShape.length;
+        if (lead < 0)
+            throw new IllegalArgumentException("Can't broadcast " + Arrays.toString(arrShape) + " to " + Arrays.toString(shape));
+        int[] strides = new int[shape.length];
+        for (int i = lead; i < shape.length; i++) {
+            int size = arrShape[i - lead];
+            if (size == shape[i])
+                strides[i] = size == 1 ? 0 : arr.stride(i - lead);
+            else if (size != 1)
+                throw new IllegalArgumentException("Can't broadcast " + Arrays.toString(arrShape) + " to " + Arrays.toString(shape));
+        }
+        return Nd4j.create(arr.data(), shape, strides, arr.offset(), arr.ordering());
+    }
 }
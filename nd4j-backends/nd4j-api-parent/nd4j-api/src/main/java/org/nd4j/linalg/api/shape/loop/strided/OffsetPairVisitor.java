@@ -0,0 +1,17 @@
+package org.nd4j.linalg.api.shape.loop.strided;
+
+/**
+ * Visits the buffer offsets of matching elements of 2 arrays of the same shape
+ * (see {@link StridedLoop})
+ *
+ * @author Adam Gibson
+ */
+public interface OffsetPairVisitor {
+
+    /**
+     * @param offsetX the offset of the element in the data buffer of the first array
+     * @param offsetY the offset of the element in the data buffer of the second array
+     */
+    void visit(int offsetX, int offsetY);
+
+}
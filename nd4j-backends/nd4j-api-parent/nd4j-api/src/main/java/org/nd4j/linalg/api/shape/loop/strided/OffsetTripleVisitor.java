@@ -0,0 +1,18 @@
+package org.nd4j.linalg.api.shape.loop.strided;
+
+/**
+ * Visits the buffer offsets of matching elements of 3 arrays of the same shape
+ * (see {@link StridedLoop})
+ *
+ * @author Adam Gibson
+ */
+public interface OffsetTripleVisitor {
+
+    /**
+     * @param offsetX the offset of the element in the data buffer of the first array
+     * @param offsetY the offset of the element in the data buffer of the second array
+     * @param offsetZ the offset of the element in the data buffer of the third array
+     */
+    void visit(int offsetX, int offsetY, int offsetZ);
+
+}
@@ -0,0 +1,16 @@
+package org.nd4j.linalg.api.shape.loop.strided;
+
+/**
+ * Visits the buffer offset of every element of an array
+ * (see {@link StridedLoop})
+ *
+ * @author Adam Gibson
+ */
+public interface OffsetVisitor {
+
+    /**
+     * @param offset the offset of the element in the data buffer of the array
+     */
+    void visit(int offset);
+
+}
@@ -0,0 +1,17 @@
+package org.nd4j.linalg.api.shape.loop.strided;
+
+/**
+ * A function of one element, without boxing
+ * (see {@link StridedLoop#apply(org.nd4j.linalg.api.ndarray.INDArray, ScalarFunction)})
+ *
+ * @author Adam Gibson
+ */
+public interface ScalarFunction {
+
+    /**
+     * @param value the value of the element
+     * @return the new value
+     */
+    double apply(double value);
+
+}
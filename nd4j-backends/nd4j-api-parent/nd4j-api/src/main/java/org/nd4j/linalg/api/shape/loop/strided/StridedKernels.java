@@ -0,0 +1,234 @@
+package org.nd4j.linalg.api.shape.loop.strided;
+
+import org.bytedeco.javacpp.indexer.DoubleIndexer;
+import org.bytedeco.javacpp.indexer.FloatIndexer;
+import org.bytedeco.javacpp.indexer.Indexer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+/**
+ * Strided copy and element wise kernels specialized by rank and data type.
+ *
+ * Unlike {@link StridedLoop#forEach(OffsetTripleVisitor, int, int)}, which calls back a visitor
+ * for every element, the kernels run the two innermost dimensions of a {@link StridedLoop}
+ * as plain nested loops and only step the outer dimensions with a counter.
+ * Float and double buffers are read and written through their indexers,
+ * so the inner loops have no virtual calls or type checks the JIT can't hoist;
+ * other buffers fall back to {@link DataBuffer#getDouble(long)} and {@link DataBuffer#put(long, double)}.
+ *
+ * Operands are picked from the loop by position (0 for the first array the loop was planned for),
+ * and like the loop itself kernels may be limited to a range of the outermost dimension.
+ *
+ * @author Adam Gibson
+ */
+public class StridedKernels {
+    private final static int COPY_FLOAT = 0;
+    private final static int COPY_DOUBLE = 1;
+    private final static int COPY_BUFFER = 2;
+    private final static int MAP_FLOAT = 3;
+    private final static int MAP_DOUBLE = 4;
+    private final static int MAP_BUFFER = 5;
+
+    private StridedKernels() {}
+
+    /**
+     * Copy src in to dst (of the same shape, any layout)
+     * @param src the array to copy
+     * @param dst the array to copy to
+     * @return dst
+     */
+    public static INDArray copy(INDArray src, INDArray dst) {
+        StridedLoop loop = new StridedLoop(src, dst);
+        copy(loop, 0, src.data(), 1, dst.data(), 0, loop.outerLength());
+        return dst;
+    }
+
+    /**
+     * Copy the elements of one operand of a loop to another
+     * for the given range of the outermost dimension
+     * @param loop the loop
+     * @param from the operand copied from
+     * @param src the buffer of the operand copied from
+     * @param to the operand copied to
+     * @param dst the buffer of the operand copied to
+     * @param start the first index of the outermost dimension
+     * @param end one past the last index of the outermost dimension
+     */
+    public static void copy(StridedLoop loop, int from, DataBuffer src, int to, DataBuffer dst, int start, int end) {
+        Kernel kernel;
+        if (src.dataType() == DataBuffer.Type.FLOAT && dst.dataType() == DataBuffer.Type.FLOAT
+                && src.indexer() instanceof FloatIndexer && dst.indexer() instanceof FloatIndexer)
+            kernel = new Kernel(COPY_FLOAT, src, dst, null);
+        else if (src.dataType() == DataBuffer.Type.DOUBLE && dst.dataType() == DataBuffer.Type.DOUBLE
+                && src.indexer() instanceof DoubleIndexer && dst.indexer() instanceof DoubleIndexer)
+            kernel = new Kernel(COPY_DOUBLE, src, dst, null);
+        else
+            kernel = new Kernel(COPY_BUFFER, src, dst, null);
+        run(loop, from, to, kernel, start, end);
+    }
+
+    /**
+     * dst = function(src) element wise, for the given range of the outermost dimension.
+     * Float buffers are computed in double precision and rounded on the way back.
+     * @param loop the loop
+     * @param from the input operand
+     * @param src the buffer of the input operand
+     * @param to the output operand (may be the same as the input)
+     * @param dst the buffer of the output operand
+     * @param function the function to apply
+     * @param start the first index of the outermost dimension
+     * @param end one past the last index of the outermost dimension
+     */
+    public static void map(StridedLoop loop, int from, DataBuffer src, int to, DataBuffer dst, ScalarFunction function, int start, int end) {
+        Kernel kernel;
+        if (src.dataType() == DataBuffer.Type.FLOAT && dst.dataType() == DataBuffer.Type.FLOAT
+                && src.indexer() instanceof FloatIndexer && dst.indexer() instanceof FloatIndexer)
+            kernel = new Kernel(MAP_FLOAT, src, dst, function);
+        else if (src.dataType() == DataBuffer.Type.DOUBLE && dst.dataType() == DataBuffer.Type.DOUBLE
+                && src.indexer() instanceof DoubleIndexer && dst.indexer() instanceof DoubleIndexer)
+            kernel = new Kernel(MAP_DOUBLE, src, dst, function);
+        else
+            kernel = new Kernel(MAP_BUFFER, src, dst, function);
+        run(loop, from, to, kernel, start, end);
+    }
+
+    /**
+     * Run the kernel over the two innermost dimensions,
+     * stepping the others like an odometer
+     */
+    private static void run(StridedLoop loop, int from, int to, Kernel kernel, int start, int end) {
+        if (loop.length() == 0 || start >= end)
+            return;
+        int rank = loop.rank;
+        int[] shape = loop.shape;
+        int[] s = loop.strides[from];
+        int[] d = loop.strides[to];
+        if (rank == 0) {
+            kernel.block(0, 0, 0, 0, 0, 0, 1, 1);
+            return;
+        }
+        if (rank == 1) {
+            kernel.block(start * s[0], 0, s[0], start * d[0], 0, d[0], 1, end - start);
+            return;
+        }
+        if (rank == 2) {
+            kernel.block(start * s[0], s[0], s[1], start * d[0], d[0], d[1], end - start, shape[1]);
+            return;
+        }
+
+        int rows = rank - 2, cols = rank - 1;
+        int[] counter = new int[rank];
+        for (int outer = start; outer < end; outer++) {
+            int offsetS = outer * s[0], offsetD = outer * d[0];
+            for (int i = 1; i < rows; i++)
+                counter[i] = 0;
+            while (true) {
+                kernel.block(offsetS, s[rows], s[cols], offsetD, d[rows], d[cols], shape[rows], shape[cols]);
+                int i = rows - 1;
+                for (; i >= 1; i--) {
+                    offsetS += s[i];
+                    offsetD += d[i];
+                    if (++counter[i] < shape[i])
+                        break;
+                    offsetS -= s[i] * shape[i];
+                    offsetD -= d[i] * shape[i];
+                    counter[i] = 0;
+                }
+                if (i < 1)
+                    break;
+            }
+        }
+    }
+
+    /**
+     * A 2d strided block kernel bound to its buffers
+     */
+    private static class Kernel {
+        private int kind;
+        private DataBuffer src, dst;
+        private long srcOffset, dstOffset;
+        private Indexer srcIndexer, dstIndexer;
+        private ScalarFunction function;
+
+        private Kernel(int kind, DataBuffer src, DataBuffer dst, ScalarFunction function) {
+            this.kind = kind;
+            this.src = src;
+            this.dst = dst;
+            this.srcOffset = src.offset();
+            this.dstOffset = dst.offset();
+            this.srcIndexer = src.indexer();
+            this.dstIndexer = dst.indexer();
+            this.function = function;
+        }
+
+        private void block(int offsetS, int s0, int s1, int offsetD, int d0, int d1, int n0, int n1) {
+            switch (kind) {
+                case COPY_FLOAT:
+                    copyFloat((FloatIndexer) srcIndexer, srcOffset + offsetS, s0, s1, (FloatIndexer) dstIndexer, dstOffset + offsetD, d0, d1, n0, n1);
+                    break;
+                case COPY_DOUBLE:
+                    copyDouble((DoubleIndexer) srcIndexer, srcOffset + offsetS, s0, s1, (DoubleIndexer) dstIndexer, dstOffset + offsetD, d0, d1, n0, n1);
+                    break;
+                case COPY_BUFFER:
+                    copyBuffer(src, offsetS, s0, s1, dst, offsetD, d0, d1, n0, n1);
+                    break;
+                case MAP_FLOAT:
+                    mapFloat((FloatIndexer) srcIndexer, srcOffset + offsetS, s0, s1, (FloatIndexer) dstIndexer, dstOffset + offsetD, d0, d1, n0, n1, function);
+                    break;
+                case MAP_DOUBLE:
+                    mapDouble((DoubleIndexer) srcIndexer, srcOffset + offsetS, s0, s1, (DoubleIndexer) dstIndexer, dstOffset + offsetD, d0, d1, n0, n1, function);
+                    break;
+                default:
+                    mapBuffer(src, offsetS, s0, s1, dst, offsetD, d0, d1, n0, n1, function);
+            }
+        }
+    }
+
+    private static void copyFloat(FloatIndexer src, long offsetS, int s0, int s1, FloatIndexer dst, long offsetD, int d0, int d1, int n0, int n1) {
+        for (int i = 0; i < n0; i++, offsetS += s0, offsetD += d0) {
+            long x = offsetS, z = offsetD;
+            for (int j = 0; j < n1; j++, x += s1, z += d1)
+                dst.put(z, src.get(x));
+        }
+    }
+
+    private static void copyDouble(DoubleIndexer src, long offsetS, int s0, int s1, DoubleIndexer dst, long offsetD, int d0, int d1, int n0, int n1) {
+        for (int i = 0; i < n0; i++, offsetS += s0, offsetD += d0) {
+            long x = offsetS, z = offsetD;
+            for (int j = 0; j < n1; j++, x += s1, z += d1)
+                dst.put(z, src.get(x));
+        }
+    }
+
+    private static void copyBuffer(DataBuffer src, long offsetS, int s0, int s1, DataBuffer dst, long offsetD, int d0, int d1, int n0, int n1) {
+        for (int i = 0; i < n0; i++, offsetS += s0, offsetD += d0) {
+            long x = offsetS, z = offsetD;
+            for (int j = 0; j < n1; j++, x += s1, z += d1)
+                dst.put(z, src.getDouble(x));
+        }
+    }
+
+    private static void mapFloat(FloatIndexer src, long offsetS, int s0, int s1, FloatIndexer dst, long offsetD, int d0, int d1, int n0, int n1, ScalarFunction function) {
+        for (int i = 0; i < n0; i++, offsetS += s0, offsetD += d0) {
+            long x = offsetS, z = offsetD;
+            for (int j = 0; j < n1; j++, x += s1, z += d1)
+                dst.put(z, (float) function.apply(src.get(x)));
+        }
+    }
+
+    private static void mapDouble(DoubleIndexer src, long offsetS, int s0, int s1, DoubleIndexer dst, long offsetD, int d0, int d1, int n0, int n1, ScalarFunction function) {
+        for (int i = 0; i < n0; i++, offsetS += s0, offsetD += d0) {
+            long x = offsetS, z = offsetD;
+            for (int j = 0; j < n1; j++, x += s1, z += d1)
+                dst.put(z, function.apply(src.get(x)));
+        }
+    }
+
+    private static void mapBuffer(DataBuffer src, long offsetS, int s0, int s1, DataBuffer dst, long offsetD, int d0, int d1, int n0, int n1, ScalarFunction function) {
+        for (int i = 0; i < n0; i++, offsetS += s0, offsetD += d0) {
+            long x = offsetS, z = offsetD;
+            for (int j = 0; j < n1; j++, x += s1, z += d1)
+                dst.put(z, function.apply(src.getDouble(x)));
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package org.nd4j.linalg.api.shape.loop.strided;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.api.shape.StridePermutation;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.Arrays;
+
+/**
+ * Iterative walk over the elements of up to 3 arrays of the same shape
+ * by their raw buffer offsets.
+ *
+ * Dimensions of size 1 are dropped, the others are ordered by the strides of the first array
+ * (or of the one given, see {@link #StridedLoop(int, INDArray...)}) with
+ * {@link Shape#createSortedStrides(int[])} so its memory is visited in order,
+ * and neighbouring dimensions that are contiguous in every array are collapsed in to one.
+ * Offsets are then advanced by adding strides, with a single counter array per walk:
+ * nothing is allocated per element.
+ *
+ * Offsets are relative to the data buffer of each array ({@link INDArray#data()}).
+ * Walks may be limited to a range of the outermost (collapsed) dimension,
+ * which is how they are split over threads.
+ * {@link StridedKernels} run copies and element wise functions over a loop
+ * without a callback per element.
+ * The static helpers ({@link #forEachOffset(INDArray, OffsetVisitor)}, {@link #apply(INDArray, ScalarFunction)},..)
+ * access buffers outside of the op executioner, so they commit pending lazy ops first.
+ *
+ * @author Adam Gibson
+ */
+public class StridedLoop {
+    //the collapsed walk, read directly by StridedKernels
+    int rank;
+    int[] shape;
+    int[][] strides;
+    private long length;
+
+    /**
+     * Plan a walk over the given arrays
+     * @param arrays 1 to 3 arrays of the same shape
+     */
+    public StridedLoop(INDArray... arrays) {
+        this(0, arrays);
+    }
+
+    /**
+     * Plan a walk over the given arrays in the memory order of one of them,
+     * e.g. of the output when the inputs are broadcast views with zero strides
+     * ({@link Shape#broadcastView(INDArray, int[])}), which would otherwise be walked
+     * with their repeated dimensions innermost
+     * @param ordering the position of the array whose strides order the dimensions
+     * @param arrays 1 to 3 arrays of the same shape
+     */
+    public StridedLoop(int ordering, INDArray... arrays) {
+        if (arrays.length < 1 || arrays.length > 3)
+            throw new IllegalArgumentException("Between 1 and 3 arrays can be walked together, got " + arrays.length);
+        if (ordering < 0 || ordering >= arrays.length)
+            throw new IllegalArgumentException("No array " + ordering + " to order the walk by, got " + arrays.length);
+        int[] fullShape = arrays[0].shape();
+        for (int i = 1; i < arrays.length; i++)
+            if (!Arrays.equals(fullShape, arrays[i].shape()))
+                throw new IllegalArgumentException("Arrays must have the same shape: " + Arrays.toString(fullShape)
+                        + " and " + Arrays.toString(arrays[i].shape()));
+
+        length = 1;
+        for (int size : fullShape)
+            length *= size;
+
+        //the dimensions that matter, outermost (largest stride of the ordering array) first
+        int kept = 0;
+        for (int size : fullShape)
+            if (size != 1)
+                kept++;
+        int[] dimensions = new int[kept];
+        int[] keptStrides = new int[kept];
+        for (int d = 0, i = 0; d < fullShape.length; d++)
+            if (fullShape[d] != 1) {
+                dimensions[i] = d;
+                keptStrides[i++] = arrays[ordering].stride(d);
+            }
+        StridePermutation[] sorted = Shape.createSortedStrides(keptStrides);
+
+        int[] sortedShape = new int[kept];
+        int[][] sortedStrides = new int[3][kept];
+        for (int i = 0; i < kept; i++) {
+            int d = dimensions[sorted[i].getPermutation()];
+            sortedShape[i] = fullShape[d];
+            for (int a = 0; a < arrays.length; a++)
+                sortedStrides[a][i] = arrays[a].stride(d);
+        }
+
+        //collapse an outer dimension in to the inner one when it continues it in every array
+        shape = new int[kept];
+        strides = new int[3][kept];
+        rank = 0;
+        for (int i = kept - 1; i >= 0; i--) {
+            if (rank > 0 && continues(sortedStrides, i, shape[rank - 1], rank - 1)) {
+                shape[rank - 1] *= sortedShape[i];
+                continue;
+            }
+            shape[rank] = sortedShape[i];
+            for (int a = 0; a < 3; a++)
+                strides[a][rank] = sortedStrides[a][i];
+            rank++;
+        }
+        //collapsed dimensions were collected innermost first
+        shape = reverse(Arrays.copyOf(shape, rank));
+        for (int a = 0; a < 3; a++)
+            strides[a] = reverse(Arrays.copyOf(strides[a], rank));
+    }
+
+    private boolean continues(int[][] sortedStrides, int outer, int innerSize, int inner) {
+        for (int a = 0; a < 3; a++)
+            if (sortedStrides[a][outer] != strides[a][inner] * innerSize)
+                return false;
+        return true;
+    }
+
+    private static int[] reverse(int[] arr) {
+        for (int i = 0, j = arr.length - 1; i < j; i++, j--) {
+            int tmp = arr[i];
+            arr[i] = arr[j];
+            arr[j] = tmp;
+        }
+        return arr;
+    }
+
+    /**
+     * The number of dimensions left after dropping and collapsing
+     * @return the rank of the walk
+     */
+    public int rank() {
+        return rank;
+    }
+
+    /**
+     * The number of elements walked
+     * @return the length of the arrays
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * The size of the outermost dimension of the walk,
+     * the unit ranges of {@link #forEach(OffsetTripleVisitor, int, int)} are given in
+     * @return the size of the outermost dimension
+     */
+    public int outerLength() {
+        if (length == 0)
+            return 0;
+        return rank == 0 ? 1 : shape[0];
+    }
+
+    /**
+     * Visit the offsets of the first array
+     */
+    public void forEach(final OffsetVisitor visitor) {
+        forEach(new OffsetTripleVisitor() {
+            @Override
+            public void visit(int offsetX, int offsetY, int offsetZ) {
+                visitor.visit(offsetX);
+            }
+        }, 0, outerLength());
+    }
+
+    /**
+     * Visit the offsets of the first 2 arrays
+     */
+    public void forEach(final OffsetPairVisitor visitor) {
+        forEach(new OffsetTripleVisitor() {
+            @Override
+            public void visit(int offsetX, int offsetY, int offsetZ) {
+                visitor.visit(offsetX, offsetY);
+            }
+        }, 0, outerLength());
+    }
+
+    /**
+     * Visit the offsets of all arrays (0 for arrays that weren't given)
+     * for the elements in the given range of the outermost dimension
+     * @param visitor the visitor
+     * @param start the first index of the outermost dimension
+     * @param end one past the last index of the outermost dimension
+     */
+    public void forEach(OffsetTripleVisitor visitor, int start, int end) {
+        if (length == 0 || start >= end)
+            return;
+        if (rank == 0) {
+            visitor.visit(0, 0, 0);
+            return;
+        }
+
+        int[] sx = strides[0], sy = strides[1], sz = strides[2];
+        int last = rank - 1;
+        int n = shape[last];
+        int incX = sx[last], incY = sy[last], incZ = sz[last];
+        if (rank == 1) {
+            for (int i = start, x = start * incX, y = start * incY, z = start * incZ; i < end; i++, x += incX, y += incY, z += incZ)
+                visitor.visit(x, y, z);
+            return;
+        }
+
+        int[] counter = new int[rank];
+        for (int outer = start; outer < end; outer++) {
+            int offsetX = outer * sx[0], offsetY = outer * sy[0], offsetZ = outer * sz[0];
+            Arrays.fill(counter, 0);
+            while (true) {
+                for (int i = 0, x = offsetX, y = offsetY, z = offsetZ; i < n; i++, x += incX, y += incY, z += incZ)
+                    visitor.visit(x, y, z);
+
+                //advance the dimensions between the outermost and the innermost like an odometer
+                int d = last - 1;
+                for (; d >= 1; d--) {
+                    offsetX += sx[d];
+                    offsetY += sy[d];
+                    offsetZ += sz[d];
+                    if (++counter[d] < shape[d])
+                        break;
+                    offsetX -= sx[d] * shape[d];
+                    offsetY -= sy[d] * shape[d];
+                    offsetZ -= sz[d] * shape[d];
+                    counter[d] = 0;
+                }
+                if (d < 1)
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Visit the offset of every element of an array, in memory order
+     * @param arr the array
+     * @param visitor the visitor
+     */
+    public static void forEachOffset(INDArray arr, OffsetVisitor visitor) {
+        Nd4j.getExecutioner().commit();
+        new StridedLoop(arr).forEach(visitor);
+    }
+
+    /**
+     * Visit the offsets of the matching elements of 2 arrays of the same shape,
+     * in the memory order of the first
+     * @param x the first array
+     * @param y the second array
+     * @param visitor the visitor
+     */
+    public static void forEachOffset(INDArray x, INDArray y, OffsetPairVisitor visitor) {
+        Nd4j.getExecutioner().commit();
+        new StridedLoop(x, y).forEach(visitor);
+    }
+
+    /**
+     * Apply a function to every element of an array in place
+     * @param arr the array
+     * @param function the function
+     * @return arr
+     */
+    public static INDArray apply(INDArray arr, ScalarFunction function) {
+        return apply(arr, arr, function);
+    }
+
+    /**
+     * z = function(x) element wise
+     * @param x the input
+     * @param z the output, of the shape of x
+     * @param function the function
+     * @return z
+     */
+    public static INDArray apply(INDArray x, INDArray z, ScalarFunction function) {
+        Nd4j.getExecutioner().commit();
+        StridedLoop loop = new StridedLoop(x, z);
+        StridedKernels.map(loop, 0, x.data(), 1, z.data(), function, 0, loop.outerLength());
+        return z;
+    }
+}
@@ -0,0 +1,162 @@
+package org.nd4j.linalg.api.sparse;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.Arrays;
+
+/**
+ * Base class for sparse matrices.
+ * Holds the shape and the buffer of stored values and implements
+ * everything that only needs to visit the stored elements once
+ * (in whatever order the format keeps them).
+ *
+ * Elements stored more than once (only allowed in COO format) are summed.
+ *
+ * @author Adam Gibson
+ */
+public abstract class BaseSparseNDArray implements ISparseNDArray {
+    protected DataBuffer values;
+    protected int[] shape;
+
+    protected BaseSparseNDArray(DataBuffer values, int[] shape) {
+        if (shape.length != 2)
+            throw new IllegalArgumentException("Sparse arrays must be matrices, got shape " + Arrays.toString(shape));
+        if (values.dataType() == DataBuffer.Type.INT)
+            throw new IllegalArgumentException("Sparse values must be a float or double buffer");
+        this.values = values;
+        this.shape = shape;
+    }
+
+    /**
+     * The row of every stored element, in storage order
+     * @return the row indices of the stored elements
+     */
+    protected abstract int[] storedRows();
+
+    /**
+     * The column of the k'th stored element
+     * (relative to {@link #valueOffset()})
+     * @param k the index of the stored element
+     * @return the column of the element
+     */
+    protected abstract int storedColumn(int k);
+
+    @Override
+    public int[] shape() {
+        return new int[] {shape[0], shape[1]};
+    }
+
+    @Override
+    public int rows() {
+        return shape[0];
+    }
+
+    @Override
+    public int columns() {
+        return shape[1];
+    }
+
+    @Override
+    public DataBuffer data() {
+        return values;
+    }
+
+    @Override
+    public ISparseNDArray getRow(int row) {
+        return getRows(row, row + 1);
+    }
+
+    @Override
+    public INDArray mmul(INDArray other) {
+        return mmul(other, Nd4j.create(rows(), other.columns()));
+    }
+
+    @Override
+    public Number sumNumber() {
+        double sum = 0;
+        int offset = valueOffset();
+        for (int k = 0; k < nnz(); k++)
+            sum += values.getDouble(offset + k);
+        return sum;
+    }
+
+    @Override
+    public Number norm1Number() {
+        //the norm is over elements: sum duplicates first
+        if (format() == Format.COO)
+            return toCSR().norm1Number();
+        double sum = 0;
+        int offset = valueOffset();
+        for (int k = 0; k < nnz(); k++)
+            sum += Math.abs(values.getDouble(offset + k));
+        return sum;
+    }
+
+    @Override
+    public Number norm2Number() {
+        //the norm is over elements: sum duplicates first
+        if (format() == Format.COO)
+            return toCSR().norm2Number();
+        double sum = 0;
+        int offset = valueOffset();
+        for (int k = 0; k < nnz(); k++) {
+            double val = values.getDouble(offset + k);
+            sum += val * val;
+        }
+        return Math.sqrt(sum);
+    }
+
+    @Override
+    public INDArray sum(int dimension) {
+        return Nd4j.create(reduce(dimension, false), reducedShape(dimension));
+    }
+
+    @Override
+    public INDArray norm2(int dimension) {
+        if (format() == Format.COO)
+            return toCSR().norm2(dimension);
+        double[] ret = reduce(dimension, true);
+        for (int i = 0; i < ret.length; i++)
+            ret[i] = Math.sqrt(ret[i]);
+        return Nd4j.create(ret, reducedShape(dimension));
+    }
+
+    @Override
+    public INDArray toDense() {
+        INDArray ret = Nd4j.create(rows(), columns());
+        int[] storedRows = storedRows();
+        int offset = valueOffset();
+        for (int k = 0; k < storedRows.length; k++) {
+            int column = storedColumn(k);
+            ret.putScalar(storedRows[k], column, ret.getDouble(storedRows[k], column) + values.getDouble(offset + k));
+        }
+        return ret;
+    }
+
+    @Override
+    public String toString() {
+        return format() + " " + Arrays.toString(shape) + " nnz=" + nnz() + "\n" + toDense();
+    }
+
+    private int[] reducedShape(int dimension) {
+        if (dimension == 0)
+            return new int[] {1, columns()};
+        if (dimension == 1)
+            return new int[] {rows(), 1};
+        throw new IllegalArgumentException("Illegal dimension " + dimension + " for a sparse matrix");
+    }
+
+    private double[] reduce(int dimension, boolean squares) {
+        reducedShape(dimension);
+        double[] ret = new double[dimension == 0 ? columns() : rows()];
+        int[] storedRows = storedRows();
+        int offset = valueOffset();
+        for (int k = 0; k < storedRows.length; k++) {
+            double val = values.getDouble(offset + k);
+            ret[dimension == 0 ? storedColumn(k) : storedRows[k]] += squares ? val * val : val;
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,179 @@
+package org.nd4j.linalg.api.sparse;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+/**
+ * A sparse matrix: only the non zero elements are stored,
+ * in {@link DataBuffer}s so they can be handed to the same
+ * backends and serialized the same way as dense arrays.
+ *
+ * Results of operations that are dense in general
+ * (products with dense matrices, reductions along a dimension)
+ * are returned as dense {@link INDArray}s.
+ *
+ * @author Adam Gibson
+ */
+public interface ISparseNDArray {
+
+    /**
+     * The storage format of a sparse matrix
+     */
+    enum Format {
+        /**
+         * Compressed sparse row: values and column indices ordered by row,
+         * plus a pointer to the first element of every row
+         */
+        CSR,
+        /**
+         * Coordinate: the row, column and value of every element in any order
+         */
+        COO
+    }
+
+    /**
+     * The storage format of this matrix
+     * @return the storage format
+     */
+    Format format();
+
+    /**
+     * The shape of the matrix
+     * @return the shape (always of rank 2)
+     */
+    int[] shape();
+
+    /**
+     * The number of rows
+     * @return the number of rows
+     */
+    int rows();
+
+    /**
+     * The number of columns
+     * @return the number of columns
+     */
+    int columns();
+
+    /**
+     * The number of stored (non zero) elements
+     * @return the number of stored elements
+     */
+    int nnz();
+
+    /**
+     * The stored values.
+     * Only the first {@link #nnz()} elements
+     * starting at {@link #valueOffset()} belong to this matrix.
+     * @return the buffer of stored values
+     */
+    DataBuffer data();
+
+    /**
+     * The index of the first value of this matrix in {@link #data()}
+     * (non zero for row slices which share their parent's buffers)
+     * @return the offset of the first stored value
+     */
+    int valueOffset();
+
+    /**
+     * The element at the given row and column
+     * @param row the row
+     * @param column the column
+     * @return the element, 0 if it is not stored
+     */
+    double getDouble(int row, int column);
+
+    /**
+     * A single row as a 1 x columns sparse matrix
+     * @param row the row to get
+     * @return the row
+     */
+    ISparseNDArray getRow(int row);
+
+    /**
+     * The rows begin (inclusive) to end (exclusive)
+     * as a sparse matrix in CSR format.
+     * A CSR matrix returns a view sharing its buffers.
+     * @param begin the first row
+     * @param end one past the last row
+     * @return the rows
+     */
+    ISparseNDArray getRows(int begin, int end);
+
+    /**
+     * Matrix multiply this sparse matrix with a dense matrix
+     * @param other the dense right hand side
+     * @return the dense product
+     */
+    INDArray mmul(INDArray other);
+
+    /**
+     * Matrix multiply this sparse matrix with a dense matrix
+     * in to the given dense result
+     * @param other the dense right hand side
+     * @param result the array to write the product to, of shape rows x other.columns()
+     * @return the result
+     */
+    INDArray mmul(INDArray other, INDArray result);
+
+    /**
+     * The sum of all elements
+     * @return the sum
+     */
+    Number sumNumber();
+
+    /**
+     * The sum along a dimension:
+     * a row vector of column sums for dimension 0,
+     * a column vector of row sums for dimension 1
+     * @param dimension the dimension to sum along
+     * @return the dense sums
+     */
+    INDArray sum(int dimension);
+
+    /**
+     * The sum of the absolute values of all elements
+     * @return the norm1
+     */
+    Number norm1Number();
+
+    /**
+     * The euclidean (frobenius) norm of all elements
+     * @return the norm2
+     */
+    Number norm2Number();
+
+    /**
+     * The euclidean norms along a dimension
+     * (see {@link #sum(int)} for the shape of the result)
+     * @param dimension the dimension to take the norms along
+     * @return the dense norms
+     */
+    INDArray norm2(int dimension);
+
+    /**
+     * A dense copy of this matrix
+     * @return the dense matrix
+     */
+    INDArray toDense();
+
+    /**
+     * This matrix in CSR format
+     * @return this matrix if it already is CSR, otherwise a converted copy
+     */
+    ISparseNDArray toCSR();
+
+    /**
+     * This matrix in COO format
+     * @return this matrix if it already is COO, otherwise a converted copy
+     */
+    ISparseNDArray toCOO();
+
+    /**
+     * A compact copy of this matrix whose buffers
+     * hold exactly the stored elements of this matrix
+     * @return the copy
+     */
+    ISparseNDArray dup();
+}
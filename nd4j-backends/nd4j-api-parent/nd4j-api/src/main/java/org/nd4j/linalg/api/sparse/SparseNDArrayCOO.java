@@ -0,0 +1,165 @@
+package org.nd4j.linalg.api.sparse;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.Arrays;
+
+/**
+ * A sparse matrix in coordinate format:
+ * the row, column and value of every stored element, in any order.
+ * An element may be stored more than once, the stored values being summed.
+ *
+ * COO is cheap to build incrementally; products and row slices
+ * are computed on the equivalent {@link SparseNDArrayCSR}.
+ *
+ * @author Adam Gibson
+ */
+public class SparseNDArrayCOO extends BaseSparseNDArray {
+    private DataBuffer rowIndices;
+    private DataBuffer columnIndices;
+
+    /**
+     * Create a COO matrix
+     * @param values the stored values
+     * @param rowIndices the row of every stored value (an int buffer)
+     * @param columnIndices the column of every stored value (an int buffer)
+     * @param shape the shape of the matrix
+     */
+    public SparseNDArrayCOO(DataBuffer values, DataBuffer rowIndices, DataBuffer columnIndices, int[] shape) {
+        super(values, shape);
+        if (rowIndices.dataType() != DataBuffer.Type.INT || columnIndices.dataType() != DataBuffer.Type.INT)
+            throw new IllegalArgumentException("Row and column indices must be int buffers");
+        if (rowIndices.length() != values.length() || columnIndices.length() != values.length())
+            throw new IllegalArgumentException("Got " + values.length() + " values but " + rowIndices.length() + " row indices and "
+                    + columnIndices.length() + " column indices");
+        for (int k = 0; k < values.length(); k++)
+            if (rowIndices.getInt(k) < 0 || rowIndices.getInt(k) >= shape[0] || columnIndices.getInt(k) < 0 || columnIndices.getInt(k) >= shape[1])
+                throw new IllegalArgumentException("Index " + rowIndices.getInt(k) + "," + columnIndices.getInt(k) + " out of bounds for shape "
+                        + Arrays.toString(shape));
+        this.rowIndices = rowIndices;
+        this.columnIndices = columnIndices;
+    }
+
+    /**
+     * The row of every stored value
+     * @return the row indices
+     */
+    public DataBuffer rowIndices() {
+        return rowIndices;
+    }
+
+    /**
+     * The column of every stored value
+     * @return the column indices
+     */
+    public DataBuffer columnIndices() {
+        return columnIndices;
+    }
+
+    @Override
+    public Format format() {
+        return Format.COO;
+    }
+
+    @Override
+    public int nnz() {
+        return (int) values.length();
+    }
+
+    @Override
+    public int valueOffset() {
+        return 0;
+    }
+
+    @Override
+    protected int[] storedRows() {
+        return rowIndices.asInt();
+    }
+
+    @Override
+    protected int storedColumn(int k) {
+        return columnIndices.getInt(k);
+    }
+
+    @Override
+    public double getDouble(int row, int column) {
+        if (row < 0 || row >= rows() || column < 0 || column >= columns())
+            throw new IllegalArgumentException("Index " + row + "," + column + " out of bounds for shape " + Arrays.toString(shape));
+        double ret = 0;
+        for (int k = 0; k < nnz(); k++)
+            if (rowIndices.getInt(k) == row && columnIndices.getInt(k) == column)
+                ret += values.getDouble(k);
+        return ret;
+    }
+
+    @Override
+    public ISparseNDArray getRows(int begin, int end) {
+        return toCSR().getRows(begin, end);
+    }
+
+    @Override
+    public INDArray mmul(INDArray other, INDArray result) {
+        return toCSR().mmul(other, result);
+    }
+
+    /**
+     * Converts to CSR: values are bucketed by row (keeping their order within a row)
+     * and values stored more than once for the same element are summed.
+     */
+    @Override
+    public ISparseNDArray toCSR() {
+        int nnz = nnz();
+        int[] pointers = new int[rows() + 1];
+        for (int k = 0; k < nnz; k++)
+            pointers[rowIndices.getInt(k) + 1]++;
+        for (int i = 0; i < rows(); i++)
+            pointers[i + 1] += pointers[i];
+
+        int[] next = Arrays.copyOf(pointers, rows());
+        int[] columns = new int[nnz];
+        double[] sorted = new double[nnz];
+        for (int k = 0; k < nnz; k++) {
+            int p = next[rowIndices.getInt(k)]++;
+            columns[p] = columnIndices.getInt(k);
+            sorted[p] = values.getDouble(k);
+        }
+
+        //merge duplicates within every row
+        int[] compactPointers = new int[rows() + 1];
+        int[] lastSeen = new int[columns()];
+        Arrays.fill(lastSeen, -1);
+        int count = 0;
+        for (int i = 0; i < rows(); i++) {
+            int rowStart = count;
+            for (int p = pointers[i]; p < pointers[i + 1]; p++) {
+                int column = columns[p];
+                if (lastSeen[column] >= rowStart) {
+                    sorted[lastSeen[column]] += sorted[p];
+                } else {
+                    lastSeen[column] = count;
+                    columns[count] = column;
+                    sorted[count] = sorted[p];
+                    count++;
+                }
+            }
+            compactPointers[i + 1] = count;
+        }
+
+        return new SparseNDArrayCSR(Nd4j.createBuffer(Arrays.copyOf(sorted, count)), Nd4j.createBuffer(Arrays.copyOf(columns, count)),
+                Nd4j.createBuffer(compactPointers), shape());
+    }
+
+    @Override
+    public ISparseNDArray toCOO() {
+        return this;
+    }
+
+    @Override
+    public ISparseNDArray dup() {
+        int nnz = nnz();
+        return new SparseNDArrayCOO(SparseNDArrayCSR.copy(values, 0, nnz), SparseNDArrayCSR.copy(rowIndices, 0, nnz),
+                SparseNDArrayCSR.copy(columnIndices, 0, nnz), shape());
+    }
+}
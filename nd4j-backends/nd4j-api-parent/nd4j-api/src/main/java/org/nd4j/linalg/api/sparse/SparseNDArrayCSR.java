@@ -0,0 +1,247 @@
+package org.nd4j.linalg.api.sparse;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.executors.ExecutorServiceProvider;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A sparse matrix in compressed sparse row format.
+ *
+ * The values and their column indices are stored row by row,
+ * row i being the elements rowPointers[i] until rowPointers[i + 1].
+ * An element may only be stored once.
+ *
+ * Row slices ({@link #getRows(int, int)}) share all three buffers
+ * with the matrix they are taken from.
+ *
+ * @author Adam Gibson
+ */
+public class SparseNDArrayCSR extends BaseSparseNDArray {
+    /**
+     * Minimum number of multiply adds done by a single task of a product
+     */
+    public final static int THRESHOLD = 1 << 14;
+
+    private DataBuffer columnIndices;
+    private DataBuffer rowPointers;
+    //index of the pointer of the first row of this matrix in rowPointers
+    private int rowOffset;
+
+    /**
+     * Create a CSR matrix
+     * @param values the stored values
+     * @param columnIndices the column of every stored value (an int buffer)
+     * @param rowPointers the index of the first value of every row
+     *                    followed by the number of values (an int buffer of length rows + 1)
+     * @param shape the shape of the matrix
+     */
+    public SparseNDArrayCSR(DataBuffer values, DataBuffer columnIndices, DataBuffer rowPointers, int[] shape) {
+        this(values, columnIndices, rowPointers, 0, shape);
+        if (rowPointers.length() != shape[0] + 1)
+            throw new IllegalArgumentException("Expected " + (shape[0] + 1) + " row pointers but got " + rowPointers.length());
+        if (columnIndices.length() < pointer(shape[0]) || values.length() < pointer(shape[0]))
+            throw new IllegalArgumentException("Row pointers reference " + pointer(shape[0]) + " values but only " + values.length() + " values and "
+                    + columnIndices.length() + " column indices were given");
+        for (int i = 0; i < shape[0]; i++)
+            if (pointer(i) > pointer(i + 1))
+                throw new IllegalArgumentException("Row pointers must be non decreasing");
+        for (int k = 0; k < nnz(); k++)
+            if (storedColumn(k) < 0 || storedColumn(k) >= shape[1])
+                throw new IllegalArgumentException("Column index " + storedColumn(k) + " out of bounds for shape " + Arrays.toString(shape));
+    }
+
+    private SparseNDArrayCSR(DataBuffer values, DataBuffer columnIndices, DataBuffer rowPointers, int rowOffset, int[] shape) {
+        super(values, shape);
+        if (columnIndices.dataType() != DataBuffer.Type.INT || rowPointers.dataType() != DataBuffer.Type.INT)
+            throw new IllegalArgumentException("Column indices and row pointers must be int buffers");
+        this.columnIndices = columnIndices;
+        this.rowPointers = rowPointers;
+        this.rowOffset = rowOffset;
+    }
+
+    /**
+     * The column of every stored value
+     * (only the elements from {@link #valueOffset()} on belong to this matrix)
+     * @return the column indices
+     */
+    public DataBuffer columnIndices() {
+        return columnIndices;
+    }
+
+    /**
+     * The row pointers, relative to the start of {@link #data()}
+     * (only the rows + 1 pointers from {@link #rowOffset()} on belong to this matrix)
+     * @return the row pointers
+     */
+    public DataBuffer rowPointers() {
+        return rowPointers;
+    }
+
+    /**
+     * The index of the first row pointer of this matrix in {@link #rowPointers()}
+     * @return the row offset
+     */
+    public int rowOffset() {
+        return rowOffset;
+    }
+
+    /**
+     * The index in {@link #data()} of the first value of the given row
+     * @param row the row (rows() for one past the last value)
+     * @return the index of the first value of the row
+     */
+    public int pointer(int row) {
+        return rowPointers.getInt(rowOffset + row);
+    }
+
+    @Override
+    public Format format() {
+        return Format.CSR;
+    }
+
+    @Override
+    public int nnz() {
+        return pointer(rows()) - pointer(0);
+    }
+
+    @Override
+    public int valueOffset() {
+        return pointer(0);
+    }
+
+    @Override
+    protected int[] storedRows() {
+        int[] ret = new int[nnz()];
+        int k = 0;
+        for (int i = 0; i < rows(); i++)
+            for (int p = pointer(i); p < pointer(i + 1); p++)
+                ret[k++] = i;
+        return ret;
+    }
+
+    @Override
+    protected int storedColumn(int k) {
+        return columnIndices.getInt(valueOffset() + k);
+    }
+
+    @Override
+    public double getDouble(int row, int column) {
+        if (row < 0 || row >= rows() || column < 0 || column >= columns())
+            throw new IllegalArgumentException("Index " + row + "," + column + " out of bounds for shape " + Arrays.toString(shape));
+        for (int p = pointer(row); p < pointer(row + 1); p++)
+            if (columnIndices.getInt(p) == column)
+                return values.getDouble(p);
+        return 0;
+    }
+
+    @Override
+    public ISparseNDArray getRows(int begin, int end) {
+        if (begin < 0 || end > rows() || begin > end)
+            throw new IllegalArgumentException("Illegal rows " + begin + " to " + end + " for " + rows() + " rows");
+        return new SparseNDArrayCSR(values, columnIndices, rowPointers, rowOffset + begin, new int[] {end - begin, columns()});
+    }
+
+    @Override
+    public INDArray mmul(INDArray other, INDArray result) {
+        if (other.rank() != 2 || other.rows() != columns())
+            throw new IllegalArgumentException("Shapes " + Arrays.toString(shape) + " and " + Arrays.toString(other.shape()) + " can not be multiplied");
+        if (result.rank() != 2 || result.rows() != rows() || result.columns() != other.columns())
+            throw new IllegalArgumentException("Result must be of shape [" + rows() + ", " + other.columns() + "] but is " + Arrays.toString(result.shape()));
+
+        MmulAction action = new MmulAction(other, result, 0, rows());
+        if (ForkJoinTask.inForkJoinPool())
+            action.invoke();
+        else
+            ExecutorServiceProvider.getForkJoinPool().invoke(action);
+        return result;
+    }
+
+    @Override
+    public ISparseNDArray toCSR() {
+        return this;
+    }
+
+    @Override
+    public ISparseNDArray toCOO() {
+        int nnz = nnz();
+        int offset = valueOffset();
+        return new SparseNDArrayCOO(copy(values, offset, nnz), Nd4j.createBuffer(storedRows()), copy(columnIndices, offset, nnz), shape());
+    }
+
+    @Override
+    public ISparseNDArray dup() {
+        int nnz = nnz();
+        int offset = valueOffset();
+        int[] pointers = new int[rows() + 1];
+        for (int i = 0; i <= rows(); i++)
+            pointers[i] = pointer(i) - offset;
+        return new SparseNDArrayCSR(copy(values, offset, nnz), copy(columnIndices, offset, nnz), Nd4j.createBuffer(pointers), shape());
+    }
+
+    /**
+     * A compact copy of length elements of the given buffer starting at offset
+     */
+    static DataBuffer copy(DataBuffer buffer, int offset, int length) {
+        if (buffer.dataType() == DataBuffer.Type.INT) {
+            int[] ret = new int[length];
+            for (int i = 0; i < length; i++)
+                ret[i] = buffer.getInt(offset + i);
+            return Nd4j.createBuffer(ret);
+        }
+        double[] ret = new double[length];
+        for (int i = 0; i < length; i++)
+            ret[i] = buffer.getDouble(offset + i);
+        return Nd4j.createBuffer(ret);
+    }
+
+    /**
+     * Computes a range of rows of a sparse x dense product:
+     * every row of the result is accumulated from the rows of the dense
+     * matrix selected by the columns stored in the corresponding sparse row.
+     */
+    private class MmulAction extends RecursiveAction {
+        private INDArray other, result;
+        private int start, end;
+
+        private MmulAction(INDArray other, INDArray result, int start, int end) {
+            this.other = other;
+            this.result = result;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            long work = (long) (pointer(end) - pointer(start)) * other.columns();
+            if (work > THRESHOLD && end - start > 1) {
+                int mid = start + (end - start) / 2;
+                invokeAll(new MmulAction(other, result, start, mid), new MmulAction(other, result, mid, end));
+                return;
+            }
+
+            int n = other.columns();
+            DataBuffer otherData = other.data();
+            DataBuffer resultData = result.data();
+            int otherRowStride = other.stride(0), otherColumnStride = other.stride(1);
+            int resultRowStride = result.stride(0), resultColumnStride = result.stride(1);
+            double[] row = new double[n];
+            for (int i = start; i < end; i++) {
+                Arrays.fill(row, 0);
+                for (int p = pointer(i); p < pointer(i + 1); p++) {
+                    double val = values.getDouble(p);
+                    int otherOffset = columnIndices.getInt(p) * otherRowStride;
+                    for (int j = 0; j < n; j++)
+                        row[j] += val * otherData.getDouble(otherOffset + j * otherColumnStride);
+                }
+                int resultOffset = i * resultRowStride;
+                for (int j = 0; j < n; j++)
+                    resultData.put(resultOffset + j * resultColumnStride, row[j]);
+            }
+        }
+    }
+}
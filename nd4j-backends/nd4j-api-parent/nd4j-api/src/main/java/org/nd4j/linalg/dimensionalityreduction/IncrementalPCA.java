@@ -0,0 +1,128 @@
+package org.nd4j.linalg.dimensionalityreduction;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
+import org.nd4j.linalg.factory.Nd4j;
+
+/**
+ * PCA that is fit one batch of examples at a time,
+ * so the data never has to be held in memory as a whole
+ * (Ross et al.: Incremental learning for robust visual tracking, 2008).
+ *
+ * After every batch only the mean, the top k principal components and their
+ * singular values are kept. A new batch is merged by decomposing the (k + batch + 1) x features
+ * matrix of the scaled previous components, the centered batch and a mean correction row
+ * with {@link RandomizedSVD}.
+ *
+ * @author Adam Gibson
+ */
+public class IncrementalPCA {
+    private int nComponents;
+    private long examplesSeen;
+    private INDArray mean;
+    private INDArray components;
+    private INDArray singularValues;
+
+    /**
+     * @param nComponents the number of principal components to keep
+     */
+    public IncrementalPCA(int nComponents) {
+        if (nComponents < 1)
+            throw new IllegalArgumentException("Number of components must be positive");
+        this.nComponents = nComponents;
+    }
+
+    /**
+     * Fit the features of every data set of the iterator
+     * @param iterator the data to fit
+     * @return this
+     */
+    public IncrementalPCA fit(DataSetIterator iterator) {
+        while (iterator.hasNext())
+            partialFit(iterator.next().getFeatureMatrix());
+        return this;
+    }
+
+    /**
+     * Update the principal components with a batch of examples
+     * @param batch the examples, one per row
+     * @return this
+     */
+    public IncrementalPCA partialFit(INDArray batch) {
+        if (components != null && batch.columns() != components.rows())
+            throw new IllegalArgumentException("Expected " + components.rows() + " features but got " + batch.columns());
+
+        long total = examplesSeen + batch.rows();
+        INDArray batchMean = batch.mean(0);
+        INDArray centered = batch.subRowVector(batchMean);
+
+        INDArray stacked;
+        if (components == null) {
+            stacked = centered;
+            mean = batchMean;
+        } else {
+            INDArray previous = components.transpose().mulColumnVector(singularValues.transpose());
+            INDArray correction = mean.sub(batchMean).muli(Math.sqrt((double) examplesSeen * batch.rows() / total));
+            stacked = Nd4j.vstack(previous, centered, correction);
+            mean = mean.mul((double) examplesSeen / total).addi(batchMean.mul((double) batch.rows() / total));
+        }
+
+        int k = Math.min(nComponents, Math.min(stacked.rows(), stacked.columns()));
+        INDArray[] usv = RandomizedSVD.svd(stacked, k);
+        singularValues = usv[1];
+        components = usv[2];
+        examplesSeen = total;
+        return this;
+    }
+
+    /**
+     * Project examples on to the principal components
+     * @param X the examples, one per row
+     * @return the projections (examples x components)
+     */
+    public INDArray transform(INDArray X) {
+        if (components == null)
+            throw new IllegalStateException("Not fit yet");
+        return X.subRowVector(mean).mmul(components);
+    }
+
+    /**
+     * The principal components, one per column (features x components)
+     * @return the components
+     */
+    public INDArray getComponents() {
+        return components;
+    }
+
+    /**
+     * The variance along every principal component
+     * @return the explained variances (1 x components)
+     */
+    public INDArray getExplainedVariance() {
+        return singularValues.mul(singularValues).divi(Math.max(1, examplesSeen - 1));
+    }
+
+    /**
+     * The singular values of the centered data seen so far
+     * @return the singular values (1 x components)
+     */
+    public INDArray getSingularValues() {
+        return singularValues;
+    }
+
+    /**
+     * The mean of all examples seen so far
+     * @return the mean (1 x features)
+     */
+    public INDArray getMean() {
+        return mean;
+    }
+
+    /**
+     * The number of examples fit so far
+     * @return the number of examples
+     */
+    public long getExamplesSeen() {
+        return examplesSeen;
+    }
+}
@@ -87,5 +87,37 @@ public class PCA {
 
     }
 
+    /**
+     * Reduce the dimension of x
+     * to the specified number of dimensions
+     * by projecting it on to its top principal components,
+     * found by a {@link RandomizedSVD} of x rather than
+     * by the eigen decomposition of the full covariance matrix.
+     *
+     * @param X         the x to reduce (not modified)
+     * @param nDims     the number of dimensions to reduce to
+     * @param normalize whether to center the columns of x first
+     * @return the reduced dimension (real valued)
+     */
+    public static INDArray pcaRandomized(INDArray X, int nDims, boolean normalize) {
+        if (normalize)
+            X = X.subRowVector(X.mean(0));
+
+        //X V = U S
+        INDArray[] usv = RandomizedSVD.svd(X, nDims);
+        return usv[0].mulRowVector(usv[1]);
+    }
+
+    /**
+     * The top principal components of x,
+     * found by a {@link RandomizedSVD} of the centered x
+     *
+     * @param X     the x to find the components of (not modified)
+     * @param nDims the number of components
+     * @return the components, one per column (features x nDims)
+     */
+    public static INDArray principalComponents(INDArray X, int nDims) {
+        return RandomizedSVD.svd(X.subRowVector(X.mean(0)), nDims)[2];
+    }
 
 }
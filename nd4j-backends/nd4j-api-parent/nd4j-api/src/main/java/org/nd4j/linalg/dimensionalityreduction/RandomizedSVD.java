@@ -0,0 +1,120 @@
+package org.nd4j.linalg.dimensionalityreduction;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.rng.Random;
+import org.nd4j.linalg.eigen.Eigen;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+
+/**
+ * Truncated singular value decomposition by randomized range finding
+ * (Halko, Martinsson and Tropp: Finding structure with randomness, 2011).
+ *
+ * The range of X is sampled by multiplying it with a gaussian matrix of k + oversamples columns,
+ * sharpened by a few power iterations, and orthonormalized in to Q.
+ * The (small) matrix Q' X is then decomposed exactly.
+ * Only products with X and decompositions of (k + oversamples) wide matrices are needed,
+ * so the top k singular vectors of a tall matrix are found without forming X' X.
+ *
+ * All results are real.
+ *
+ * @author Adam Gibson
+ */
+public class RandomizedSVD {
+    public final static int DEFAULT_OVERSAMPLES = 10;
+    public final static int DEFAULT_POWER_ITERATIONS = 2;
+
+    private RandomizedSVD() {}
+
+    /**
+     * The top k singular values and vectors of X
+     * @param X the matrix to decompose (m x n)
+     * @param k the number of singular values
+     * @return U (m x k), the singular values (a 1 x k row vector, in descending order) and V (n x k)
+     */
+    public static INDArray[] svd(INDArray X, int k) {
+        return svd(X, k, DEFAULT_OVERSAMPLES, DEFAULT_POWER_ITERATIONS, Nd4j.getRandom());
+    }
+
+    /**
+     * The top k singular values and vectors of X
+     * @param X the matrix to decompose (m x n)
+     * @param k the number of singular values
+     * @param oversamples the number of extra random samples of the range of X
+     * @param powerIterations the number of power iterations (more for slowly decaying spectra)
+     * @param rng the random number generator to sample the range with
+     * @return U (m x k), the singular values (a 1 x k row vector, in descending order) and V (n x k)
+     */
+    public static INDArray[] svd(INDArray X, int k, int oversamples, int powerIterations, Random rng) {
+        int min = Math.min(X.rows(), X.columns());
+        if (k < 1 || k > min)
+            throw new IllegalArgumentException("Number of singular values must be between 1 and " + min + " but was " + k);
+        int samples = Math.min(k + oversamples, min);
+
+        INDArray Q = orthonormalize(X.mmul(Nd4j.randn(X.columns(), samples, rng)));
+        for (int i = 0; i < powerIterations; i++) {
+            INDArray Z = orthonormalize(X.transpose().mmul(Q));
+            Q = orthonormalize(X.mmul(Z));
+        }
+
+        INDArray[] usv = svdShortWide(Q.transpose().mmul(X));
+        INDArray U = Q.mmul(usv[0]);
+        return new INDArray[] {
+                U.get(NDArrayIndex.all(), NDArrayIndex.interval(0, k)).dup(),
+                usv[1].get(NDArrayIndex.point(0), NDArrayIndex.interval(0, k)).dup(),
+                usv[2].get(NDArrayIndex.all(), NDArrayIndex.interval(0, k)).dup()
+        };
+    }
+
+    /**
+     * An orthonormal basis for the columns of Y by modified gram schmidt.
+     * Columns that are (numerically) dependent on the previous ones become 0.
+     * @param Y the matrix to orthonormalize (not modified)
+     * @return Q, of the shape of Y
+     */
+    public static INDArray orthonormalize(INDArray Y) {
+        INDArray Q = Y.dup('f');
+        double eps = Nd4j.EPS_THRESHOLD * Math.max(1.0, Y.norm2Number().doubleValue());
+        for (int j = 0; j < Q.columns(); j++) {
+            INDArray qj = Q.getColumn(j);
+            for (int i = 0; i < j; i++) {
+                INDArray qi = Q.getColumn(i);
+                double r = Nd4j.getBlasWrapper().dot(qi, qj);
+                Nd4j.getBlasWrapper().level1().axpy(qj.length(), -r, qi, qj);
+            }
+            double norm = qj.norm2Number().doubleValue();
+            if (norm > eps)
+                qj.divi(norm);
+            else
+                qj.assign(0);
+        }
+        return Q;
+    }
+
+    /**
+     * Exact thin singular value decomposition of a matrix with few rows
+     * (r x n with r small) through the eigen decomposition of B B'.
+     * @param B the matrix to decompose
+     * @return U (r x r), the singular values (1 x r, descending) and V (n x r)
+     */
+    public static INDArray[] svdShortWide(INDArray B) {
+        int r = B.rows();
+        INDArray[] eigen = Eigen.symmetricEigen(B.mmul(B.transpose()), true);
+        INDArray U = eigen[1];
+        INDArray S = Nd4j.create(1, r);
+        for (int j = 0; j < r; j++)
+            S.putScalar(j, Math.sqrt(Math.max(eigen[0].getDouble(j), 0)));
+
+        //V = B' U diag(1 / s)
+        INDArray V = B.transpose().mmul(U);
+        double max = S.getDouble(0);
+        for (int j = 0; j < r; j++) {
+            double s = S.getDouble(j);
+            if (s > Nd4j.EPS_THRESHOLD * Math.max(1.0, max))
+                V.getColumn(j).divi(s);
+            else
+                V.getColumn(j).assign(0);
+        }
+        return new INDArray[] {U, S, V};
+    }
+}
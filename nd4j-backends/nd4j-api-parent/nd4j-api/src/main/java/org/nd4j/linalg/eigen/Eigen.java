@@ -19,6 +19,7 @@
 
 package org.nd4j.linalg.eigen;
 
+import org.nd4j.linalg.api.blas.Lapack;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
@@ -26,6 +27,10 @@ import org.nd4j.linalg.factory.Nd4j;
 /**
  * Compute eigen values
  *
+ * For symmetric matrices (covariance, gram and kernel matrices)
+ * prefer {@link #symmetricEigen(INDArray, boolean)}: it stays real valued
+ * and may compute only the largest eigenpairs.
+ *
  * @author Adam Gibson
  */
 public class Eigen {
@@ -139,5 +144,67 @@ public class Eigen {
         return W;
     }
 
+    /**
+     * All eigenvalues and optionally the eigenvectors of a symmetric matrix
+     * through the lapack syevd routine of the backend.
+     *
+     * @param A the symmetric matrix (not modified). Only the upper triangle will be considered.
+     * @param computeVectors whether to compute the eigenvectors too
+     * @return the eigenvalues (a 1 x n row vector, in descending order) and,
+     * if computeVectors is set, the eigenvectors as the columns of an n x n matrix
+     */
+    public static INDArray[] symmetricEigen(INDArray A, boolean computeVectors) {
+        if (!A.isSquare())
+            throw new IllegalArgumentException("invalid array: must be square matrix");
+        int n = A.rows();
+        //lapack needs a column major matrix without gaps
+        INDArray a = A.dup('f');
+        INDArray w = Nd4j.create(1, n);
+        Lapack lapack = Nd4j.getBlasWrapper().lapack();
+        lapack.syevd(computeVectors ? 'V' : 'N', 'U', n, a, n, w, 0);
+        return descending(w, computeVectors ? a : null);
+    }
+
+    /**
+     * The k largest eigenvalues and optionally their eigenvectors of a symmetric matrix
+     * through the lapack syevr routine of the backend.
+     *
+     * @param A the symmetric matrix (not modified). Only the upper triangle will be considered.
+     * @param k the number of eigenpairs
+     * @param computeVectors whether to compute the eigenvectors too
+     * @return the eigenvalues (a 1 x k row vector, in descending order) and,
+     * if computeVectors is set, the eigenvectors as the columns of an n x k matrix
+     */
+    public static INDArray[] symmetricEigen(INDArray A, int k, boolean computeVectors) {
+        if (!A.isSquare())
+            throw new IllegalArgumentException("invalid array: must be square matrix");
+        int n = A.rows();
+        if (k < 1 || k > n)
+            throw new IllegalArgumentException("Number of eigenpairs must be between 1 and " + n + " but was " + k);
+        INDArray a = A.dup('f');
+        INDArray w = Nd4j.create(1, k);
+        INDArray z = computeVectors ? Nd4j.create(new int[] {n, k}, 'f') : null;
+        Lapack lapack = Nd4j.getBlasWrapper().lapack();
+        lapack.syevr(computeVectors ? 'V' : 'N', 'I', 'U', n, a, n, 0, 0, n - k + 1, n, w, z, n, 0);
+        return descending(w, z);
+    }
+
+    /**
+     * Reverse the ascending eigenpairs lapack returns
+     */
+    private static INDArray[] descending(INDArray values, INDArray vectors) {
+        int k = values.length();
+        INDArray reversedValues = Nd4j.create(1, k);
+        for (int i = 0; i < k; i++)
+            reversedValues.putScalar(i, values.getDouble(k - 1 - i));
+        if (vectors == null)
+            return new INDArray[] {reversedValues};
+
+        INDArray reversedVectors = Nd4j.create(vectors.rows(), k);
+        for (int i = 0; i < k; i++)
+            reversedVectors.putColumn(i, vectors.getColumn(k - 1 - i));
+        return new INDArray[] {reversedValues, reversedVectors};
+    }
+
 
 }
@@ -21,6 +21,8 @@ package org.nd4j.linalg.factory;
 
 
 import java.util.*;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 import org.nd4j.linalg.api.blas.Lapack;
 import org.nd4j.linalg.api.blas.Level1;
@@ -33,8 +35,15 @@ import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.iter.NdIndexIterator;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.executioner.tasks.GatherAction;
+import org.nd4j.linalg.api.ops.executioner.tasks.ScatterAction;
 import org.nd4j.linalg.api.rng.distribution.Distribution;
 import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.api.shape.loop.strided.StridedKernels;
+import org.nd4j.linalg.api.sparse.ISparseNDArray;
+import org.nd4j.linalg.api.sparse.SparseNDArrayCOO;
+import org.nd4j.linalg.api.sparse.SparseNDArrayCSR;
+import org.nd4j.linalg.executors.ExecutorServiceProvider;
 import org.nd4j.linalg.indexing.INDArrayIndex;
 import org.nd4j.linalg.indexing.NDArrayIndex;
 import org.nd4j.linalg.util.ArrayUtil;
@@ -318,6 +327,56 @@ public abstract class BaseNDArrayFactory implements NDArrayFactory {
         return toFlattened(order, Arrays.asList(matrices));
     }
 
+    @Override
+    public INDArray toFlattened(INDArray out, char order, Collection<INDArray> matrices) {
+        long length = 0;
+        for (INDArray m : matrices)
+            length += m.length();
+        if (!out.isVector() || out.length() != length)
+            throw new IllegalArgumentException("Output must be a vector of length " + length + ", got shape " + Arrays.toString(out.shape()));
+        Nd4j.getExecutioner().commit();
+        int stride = vectorStride(out);
+        int linearIndex = 0;
+        for (INDArray m : matrices) {
+            StridedKernels.copy(m, blockView(out, stride, linearIndex, m.shape(), order));
+            linearIndex += m.length();
+        }
+        return out;
+    }
+
+    @Override
+    public INDArray[] unflatten(INDArray flat, char order, int[]... shapes) {
+        long length = 0;
+        for (int[] shape : shapes)
+            length += ArrayUtil.prodLong(shape);
+        if (!flat.isVector() || flat.length() != length)
+            throw new IllegalArgumentException("Flat array must be a vector of length " + length + ", got shape " + Arrays.toString(flat.shape()));
+        int stride = vectorStride(flat);
+        INDArray[] ret = new INDArray[shapes.length];
+        int linearIndex = 0;
+        for (int i = 0; i < shapes.length; i++) {
+            ret[i] = blockView(flat, stride, linearIndex, shapes[i], order);
+            linearIndex += ArrayUtil.prod(shapes[i]);
+        }
+        return ret;
+    }
+
+    //the distance between consecutive elements of a vector
+    private static int vectorStride(INDArray vector) {
+        return vector.size(0) == 1 ? vector.stride(vector.rank() - 1) : vector.stride(0);
+    }
+
+    //a view with the given shape of the block of a vector starting at the given element
+    private static INDArray blockView(INDArray vector, int vectorStride, int start, int[] shape, char order) {
+        //rank 1 shapes are row vectors, as for create
+        shape = Shape.ensureAtMinRowVector(shape);
+        int[] strides = ArrayUtil.copy(Nd4j.getStrides(shape, order));
+        for (int i = 0; i < strides.length; i++)
+            strides[i] *= vectorStride;
+        //offsets of views are relative to the buffer the vector views
+        return Nd4j.create(vector.data(), shape, strides, vector.offset() + start * vectorStride, order);
+    }
+
     /**
      * Create the identity ndarray
      *
@@ -1089,6 +1148,80 @@ public abstract class BaseNDArrayFactory implements NDArrayFactory {
 
     }
 
+    @Override
+    public INDArray pullRows(INDArray source, int sourceDimension, int[] indexes, char order) {
+        if (sourceDimension < 0)
+            sourceDimension += source.rank();
+        if (sourceDimension < 0 || sourceDimension >= source.rank())
+            throw new IllegalArgumentException("Illegal dimension " + sourceDimension + " for an array of rank " + source.rank());
+        int tads = source.length() / source.size(sourceDimension);
+        for (int index : indexes)
+            if (index < 0 || index >= tads)
+                throw new IllegalArgumentException("Index " + index + " is out of bounds for " + tads + " tensors along dimension " + sourceDimension);
+
+        Nd4j.getExecutioner().commit();
+        INDArray ret = Nd4j.create(new int[]{indexes.length, source.size(sourceDimension)}, order);
+        invoke(new GatherAction(source, sourceDimension, indexes, ret));
+        return ret;
+    }
+
+    @Override
+    public INDArray scatterUpdate(INDArray target, int[] indexes, INDArray updates) {
+        return scatter(target, indexes, updates, false);
+    }
+
+    @Override
+    public INDArray scatterAdd(INDArray target, int[] indexes, INDArray updates) {
+        return scatter(target, indexes, updates, true);
+    }
+
+    private INDArray scatter(INDArray target, int[] indexes, INDArray updates, boolean add) {
+        if (target.rank() != 2 || updates.rank() != 2)
+            throw new IllegalArgumentException("Target and updates must be matrices");
+        if (updates.rows() != indexes.length || updates.columns() != target.columns())
+            throw new IllegalArgumentException("Expected " + indexes.length + " x " + target.columns() + " updates but got "
+                    + Arrays.toString(updates.shape()));
+        for (int index : indexes)
+            if (index < 0 || index >= target.rows())
+                throw new IllegalArgumentException("Row " + index + " is out of bounds for " + target.rows() + " rows");
+
+        Nd4j.getExecutioner().commit();
+        invoke(new ScatterAction(target, indexes, updates, add));
+        return target;
+    }
+
+    private static void invoke(RecursiveAction action) {
+        if (ForkJoinTask.inForkJoinPool())
+            action.invoke();
+        else
+            ExecutorServiceProvider.getForkJoinPool().invoke(action);
+    }
+
+    @Override
+    public INDArray concat(INDArray out, int dimension, INDArray... toConcat) {
+        int sumAlongDim = 0;
+        for (int i = 0; i < toConcat.length; i++) {
+            if (toConcat[i].rank() != out.rank())
+                throw new IllegalArgumentException("Array " + i + " has rank " + toConcat[i].rank() + ", the output " + out.rank());
+            for (int j = 0; j < out.rank(); j++)
+                if (j != dimension && toConcat[i].size(j) != out.size(j))
+                    throw new IllegalArgumentException("Illegal concatenation at array " + i + " and shape element " + j);
+            sumAlongDim += toConcat[i].size(dimension);
+        }
+        if (sumAlongDim != out.size(dimension))
+            throw new IllegalArgumentException("Output has size " + out.size(dimension) + " along dimension " + dimension + ", the arrays " + sumAlongDim);
+
+        Nd4j.getExecutioner().commit();
+        int offsetAlongDim = 0;
+        for (INDArray arr : toConcat) {
+            //the block of out the array goes to: out's strides, shifted along the dimension
+            INDArray target = Nd4j.create(out.data(), arr.shape(), out.stride(), out.offset() + offsetAlongDim * out.stride(dimension), out.ordering());
+            StridedKernels.copy(arr, target);
+            offsetAlongDim += arr.size(dimension);
+        }
+        return out;
+    }
+
     /**
      * concatenate ndarrays along a dimension
      *
@@ -1946,4 +2079,35 @@ public abstract class BaseNDArrayFactory implements NDArrayFactory {
         }
         return create(Nd4j.createBuffer(data), shape, stride, order, offset);
     }
+
+    @Override
+    public ISparseNDArray createSparseCSR(double[] values, int[] columnIndices, int[] rowPointers, int[] shape) {
+        return new SparseNDArrayCSR(Nd4j.createBuffer(values), Nd4j.createBuffer(columnIndices), Nd4j.createBuffer(rowPointers), shape);
+    }
+
+    @Override
+    public ISparseNDArray createSparseCSR(INDArray dense) {
+        if (dense.rank() != 2)
+            throw new IllegalArgumentException("Only matrices can be made sparse");
+        int[] rowPointers = new int[dense.rows() + 1];
+        List<Integer> columnIndices = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; i < dense.rows(); i++) {
+            for (int j = 0; j < dense.columns(); j++) {
+                double val = dense.getDouble(i, j);
+                if (val != 0) {
+                    columnIndices.add(j);
+                    values.add(val);
+                }
+            }
+            rowPointers[i + 1] = values.size();
+        }
+
+        return createSparseCSR(ArrayUtil.toArrayDouble(values), ArrayUtil.toArray(columnIndices), rowPointers, dense.shape());
+    }
+
+    @Override
+    public ISparseNDArray createSparseCOO(double[] values, int[] rowIndices, int[] columnIndices, int[] shape) {
+        return new SparseNDArrayCOO(Nd4j.createBuffer(values), Nd4j.createBuffer(rowIndices), Nd4j.createBuffer(columnIndices), shape);
+    }
 }
@@ -31,6 +31,7 @@ import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.api.rng.distribution.Distribution;
+import org.nd4j.linalg.api.sparse.ISparseNDArray;
 
 import java.util.Collection;
 import java.util.Iterator;
@@ -237,6 +238,29 @@ public interface NDArrayFactory {
      */
     INDArray toFlattened(char order, INDArray... matrices);
 
+    /**
+     * Flatten all of the ndarrays in to an existing vector,
+     * without allocating a new one
+     *
+     * @param out the vector to write to, of the total length of the ndarrays
+     * @param order the order in which the ndarray values should be flattened
+     * @param matrices the ndarrays to flatten
+     * @return out
+     */
+    INDArray toFlattened(INDArray out, char order, Collection<INDArray> matrices);
+
+    /**
+     * The reverse of {@link #toFlattened(INDArray, char, Collection)}:
+     * views of consecutive blocks of a vector with the given shapes.
+     * Writes to the views write to the vector and the other way around, nothing is copied.
+     *
+     * @param flat the vector to view, of the total length of the shapes
+     * @param order the order the blocks were flattened in
+     * @param shapes the shapes of the views
+     * @return the views, one per shape
+     */
+    INDArray[] unflatten(INDArray flat, char order, int[]... shapes);
+
     /**
      * Create the identity ndarray
      *
@@ -381,6 +405,51 @@ public interface NDArrayFactory {
      */
     INDArray concat(int dimension, INDArray... toConcat);
 
+    /**
+     * Concatenate ndarrays along a dimension in to an existing ndarray,
+     * without allocating a new one
+     *
+     * @param out the ndarray to write to, of the shape of the result (any layout)
+     * @param dimension the dimension to concatenate along
+     * @param toConcat  the ndarrays to concatenate
+     * @return out
+     */
+    INDArray concat(INDArray out, int dimension, INDArray... toConcat);
+
+    /**
+     * Copy the tensors along a dimension with the given indexes
+     * in to the rows of a new matrix
+     *
+     * @param source the array to take tensors from
+     * @param sourceDimension the dimension tensors are taken along (1 for the rows of a matrix)
+     * @param indexes the indexes of the tensors, may repeat
+     * @param order the ordering of the result
+     * @return an indexes.length x tensor length matrix
+     */
+    INDArray pullRows(INDArray source, int sourceDimension, int[] indexes, char order);
+
+    /**
+     * Overwrite the given rows of a matrix.
+     * When a row is listed more than once the last of its updates is kept.
+     *
+     * @param target the matrix to update
+     * @param indexes the row of the target every row of the updates is written to
+     * @param updates indexes.length x target.columns() updates
+     * @return target
+     */
+    INDArray scatterUpdate(INDArray target, int[] indexes, INDArray updates);
+
+    /**
+     * Add to the given rows of a matrix.
+     * When a row is listed more than once all of its updates are added.
+     *
+     * @param target the matrix to update
+     * @param indexes the row of the target every row of the updates is added to
+     * @param updates indexes.length x target.columns() updates
+     * @return target
+     */
+    INDArray scatterAdd(INDArray target, int[] indexes, INDArray updates);
+
     /**
      * Concatneate ndarrays along a dimension
      *
@@ -1647,4 +1716,35 @@ public interface NDArrayFactory {
      * @return
      */
     IComplexNDArray createComplex(int[] shape, int[] complexStrides, int offset, char ordering);
+
+    /**
+     * Create a sparse matrix in compressed sparse row format
+     *
+     * @param values        the non zero values ordered by row
+     * @param columnIndices the column of every value
+     * @param rowPointers   the index of the first value of every row followed by the number of values
+     * @param shape         the shape of the matrix
+     * @return the sparse matrix
+     */
+    ISparseNDArray createSparseCSR(double[] values, int[] columnIndices, int[] rowPointers, int[] shape);
+
+    /**
+     * Create a sparse matrix in compressed sparse row format
+     * holding the non zero elements of the given dense matrix
+     *
+     * @param dense the dense matrix
+     * @return the sparse matrix
+     */
+    ISparseNDArray createSparseCSR(INDArray dense);
+
+    /**
+     * Create a sparse matrix in coordinate format
+     *
+     * @param values        the non zero values in any order
+     * @param rowIndices    the row of every value
+     * @param columnIndices the column of every value
+     * @param shape         the shape of the matrix
+     * @return the sparse matrix
+     */
+    ISparseNDArray createSparseCOO(double[] values, int[] rowIndices, int[] columnIndices, int[] shape);
 }
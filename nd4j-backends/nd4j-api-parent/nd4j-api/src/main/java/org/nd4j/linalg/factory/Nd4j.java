@@ -42,20 +42,29 @@ import org.nd4j.linalg.api.instrumentation.Instrumentation;
 import org.nd4j.linalg.api.ndarray.BaseShapeInfoProvider;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.api.ndarray.ShapeInfoProvider;
+import org.nd4j.linalg.api.ops.TransformOp;
 import org.nd4j.linalg.api.ops.executioner.DefaultOpExecutioner;
 import org.nd4j.linalg.api.ops.executioner.OpExecutioner;
+import org.nd4j.linalg.api.ops.executioner.tasks.KnnAction;
+import org.nd4j.linalg.api.ops.executioner.tasks.SortAction;
+import org.nd4j.linalg.api.ops.executioner.tasks.TopKAction;
 import org.nd4j.linalg.api.ops.factory.DefaultOpFactory;
 import org.nd4j.linalg.api.ops.factory.OpFactory;
+import org.nd4j.linalg.api.ops.impl.accum.distances.Distance;
 import org.nd4j.linalg.api.ops.impl.indexaccum.IMax;
 import org.nd4j.linalg.api.rng.DefaultRandom;
 import org.nd4j.linalg.api.rng.distribution.Distribution;
 import org.nd4j.linalg.api.rng.distribution.factory.DefaultDistributionFactory;
 import org.nd4j.linalg.api.rng.distribution.factory.DistributionFactory;
 import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.api.sparse.ISparseNDArray;
+import org.nd4j.linalg.api.sparse.SparseNDArrayCOO;
+import org.nd4j.linalg.api.sparse.SparseNDArrayCSR;
 import org.nd4j.linalg.cache.BasicConstantHandler;
 import org.nd4j.linalg.cache.ConstantHandler;
 import org.nd4j.linalg.convolution.ConvolutionInstance;
 import org.nd4j.linalg.convolution.DefaultConvolutionInstance;
+import org.nd4j.linalg.executors.ExecutorServiceProvider;
 import org.nd4j.linalg.factory.Nd4jBackend.NoAvailableBackendException;
 import org.nd4j.linalg.fft.DefaultFFTInstance;
 import org.nd4j.linalg.fft.FFTInstance;
@@ -74,6 +83,8 @@ import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.logging.Logger;
 
 /**
@@ -744,6 +755,18 @@ public class Nd4j {
         return c;
     }
 
+    /** Matrix multiply with a fused bias and activation:
+     * c = activation(alpha*op(a)*op(b) + beta*c + bias), with the bias row vector added to every row of c.
+     * The same restrictions on c apply as for {@link #gemm(INDArray, INDArray, INDArray, boolean, boolean, double, double)}.
+     * @param bias row vector with one entry per column of c (may be null)
+     * @param activation transform applied in place to c (may be null)
+     * @return result, i.e., matrix c is returned for convenience
+     */
+    public static INDArray gemm(INDArray a, INDArray b, INDArray c, boolean transposeA, boolean transposeB, double alpha, double beta, INDArray bias, TransformOp activation){
+        getBlasWrapper().level3().gemm(a,b,c,transposeA,transposeB,alpha,beta,bias,activation);
+        return c;
+    }
+
     /**
      * Given a sequence of Iterators over a transform of matrices, fill in all of
      * the matrices with the entries in the theta vector.  Errors are
@@ -1362,63 +1385,19 @@ public class Nd4j {
 
     /**
      * Sort an ndarray along a particular dimension
+     * and the original position of every sorted element.
+     * Vectors are sorted as a whole.
      *
-     * @param ndarray   the ndarray to sort
+     * @param ndarray   the ndarray to sort (in place)
      * @param dimension the dimension to sort
      * @return the indices and the sorted ndarray
      */
     public static INDArray[] sortWithIndices(INDArray ndarray, int dimension, boolean ascending) {
         INDArray indices = Nd4j.create(ndarray.shape());
-        INDArray[] ret = new INDArray[2];
-
-        for (int i = 0; i < ndarray.vectorsAlongDimension(dimension); i++) {
-            INDArray vec = ndarray.vectorAlongDimension(i, dimension);
-            INDArray indexVector = indices.vectorAlongDimension(i, dimension);
-            final Double[] data = new Double[vec.length()];
-            final Double[] index = new Double[vec.length()];
-
-            for (int j = 0; j < vec.length(); j++) {
-                data[j] = vec.getDouble(j);
-                index[j] = (double) j;
-            }
-
-            /**
-             * Inject a comparator that sorts indices relative to
-             * the actual values in the data.
-             * This allows us to retain the indices
-             * and how they were rearranged.
-             */
-
-            Arrays.sort(index, new Comparator<Double>() {
-                @Override
-                public int compare(Double o1, Double o2) {
-                    int o = (int) o1.doubleValue();
-                    int oo2 = (int) o2.doubleValue();
-                    return Double.compare(data[o], data[oo2]);
-                }
-            });
-
-            if (ascending)
-                for (int j = 0; j < vec.length(); j++) {
-                    vec.putScalar(j, data[(int) index[j].doubleValue()]);
-                    indexVector.putScalar(j, index[j]);
-                }
-            else {
-                int count = data.length - 1;
-                for (int j = 0; j < vec.length(); j++) {
-                    int currCount2 = count;
-                    count--;
-                    vec.putScalar(j, data[(int) index[currCount2].doubleValue()]);
-                    indexVector.putScalar(j, index[currCount2]);
-                }
-            }
-
-        }
-
-        ret[0] = indices;
-        ret[1] = ndarray;
-
-        return ret;
+        dimension = sortDimension(ndarray, dimension);
+        getExecutioner().commit();
+        invoke(new SortAction(ndarray, dimension, ascending, indices));
+        return new INDArray[] {indices, ndarray};
     }
 
     /**
@@ -1465,35 +1444,106 @@ public class Nd4j {
     }
 
     /**
-     * Sort an ndarray along a particular dimension
+     * Sort an ndarray along a particular dimension.
+     * Vectors are sorted as a whole.
      *
-     * @param ndarray   the ndarray to sort
+     * @param ndarray   the ndarray to sort (in place)
      * @param dimension the dimension to sort
      * @return the sorted ndarray
      */
     public static INDArray sort(INDArray ndarray, int dimension, boolean ascending) {
-        for (int i = 0; i < ndarray.vectorsAlongDimension(dimension); i++) {
-            INDArray vec = ndarray.vectorAlongDimension(i, dimension);
-            double[] data = new double[vec.length()];
-            for (int j = 0; j < vec.length(); j++) {
-                data[j] = vec.getDouble(j);
-            }
-
-            Arrays.sort(data);
+        dimension = sortDimension(ndarray, dimension);
+        getExecutioner().commit();
+        invoke(new SortAction(ndarray, dimension, ascending, null));
+        return ndarray;
+    }
 
-            if (ascending)
-                for (int j = 0; j < vec.length(); j++)
-                    vec.putScalar(j, data[j]);
-            else {
-                int count = data.length - 1;
-                for (int j = 0; j < vec.length(); j++) {
-                    vec.putScalar(j, data[count--]);
-                }
-            }
+    /**
+     * Select the k largest or smallest elements along a particular dimension.
+     * Selected elements are in order, best first; ties are broken by position, the earlier first.
+     * Vectors are selected from as a whole.
+     *
+     * @param ndarray   the ndarray to select from (not modified)
+     * @param dimension the dimension to select along
+     * @param k         the number of elements to select from every vector along the dimension
+     * @param largest   true to select the largest elements, false for the smallest
+     * @return the indices and the values of the selected elements,
+     * of the shape of the ndarray with the dimension resized to k
+     */
+    public static INDArray[] topK(INDArray ndarray, int dimension, int k, boolean largest) {
+        dimension = sortDimension(ndarray, dimension);
+        if (k < 1 || k > ndarray.size(dimension))
+            throw new IllegalArgumentException("k must be between 1 and " + ndarray.size(dimension) + ", got " + k);
+        int[] shape = ArrayUtil.copy(ndarray.shape());
+        shape[dimension] = k;
+        INDArray indices = Nd4j.create(shape);
+        INDArray values = Nd4j.create(shape);
+        getExecutioner().commit();
+        invoke(new TopKAction(ndarray, dimension, k, largest, values, indices));
+        return new INDArray[] {indices, values};
+    }
+
+    /**
+     * Brute force k nearest neighbour search:
+     * the k rows of the corpus nearest to every row of the queries, nearest first.
+     * Euclidean distances and cosine similarities are computed with gemm over tiles of the corpus,
+     * blocks of queries are searched in parallel.
+     * Ties are broken by row, the lower first.
+     *
+     * @param corpus   the rows to search (n x d)
+     * @param queries  the rows to search for (q x d)
+     * @param k        the number of neighbours of every query
+     * @param distance the measure to rank by
+     * @return the rows of the neighbours and their distances (or similarities), both q x k
+     */
+    public static INDArray[] knn(INDArray corpus, INDArray queries, int k, Distance distance) {
+        if (corpus.rank() != 2 || queries.rank() != 2)
+            throw new IllegalArgumentException("Corpus and queries must be matrices");
+        if (corpus.columns() != queries.columns())
+            throw new IllegalArgumentException("Corpus rows have " + corpus.columns() + " columns and query rows " + queries.columns());
+        if (k < 1 || k > corpus.rows())
+            throw new IllegalArgumentException("k must be between 1 and " + corpus.rows() + ", got " + k);
+        INDArray indices = Nd4j.create(queries.rows(), k);
+        INDArray values = Nd4j.create(queries.rows(), k);
+        getExecutioner().commit();
+        invoke(new KnnAction(corpus, queries, k, distance, indices, values));
+        return new INDArray[] {indices, values};
+    }
+
+    //vectors are sorted along their length whatever the dimension
+    private static int sortDimension(INDArray ndarray, int dimension) {
+        if (ndarray.isVector())
+            return ndarray.size(0) == 1 && ndarray.rank() > 1 ? ndarray.rank() - 1 : 0;
+        if (dimension < 0)
+            dimension += ndarray.rank();
+        if (dimension < 0 || dimension >= ndarray.rank())
+            throw new IllegalArgumentException("Illegal dimension " + dimension + " for an array of rank " + ndarray.rank());
+        return dimension;
+    }
+
+    private static void invoke(RecursiveAction action) {
+        if (ForkJoinTask.inForkJoinPool())
+            action.invoke();
+        else
+            ExecutorServiceProvider.getForkJoinPool().invoke(action);
+    }
 
+    /**
+     * The positions of the elements of a vector in sorted order
+     * @param vector the vector
+     * @param ascending whether to sort smallest to largest
+     * @return the positions, ties in their original order
+     */
+    private static int[] sortOrder(INDArray vector, boolean ascending) {
+        int length = vector.length();
+        double[] values = new double[length];
+        int[] order = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = vector.getDouble(i);
+            order[i] = i;
         }
-
-        return ndarray;
+        SortAction.sortIndexes(values, order, new int[length], length, ascending);
+        return order;
     }
 
     /**Sort (shuffle) the rows of a 2d array according to the value at a specified column.
@@ -1512,25 +1562,11 @@ public class Nd4j {
      * @param ascending true if smallest-to-largest; false if largest-to-smallest
      * @return
      */
-    public static INDArray sortRows( final INDArray in, final int colIdx, final boolean ascending ){
+    public static INDArray sortRows(INDArray in, int colIdx, boolean ascending) {
         if(in.rank() != 2) throw new IllegalArgumentException("Cannot sort rows on non-2d matrix");
         if(colIdx<0 || colIdx>=in.columns()) throw new IllegalArgumentException("Cannot sort on values in column " + colIdx + ", nCols="+in.columns());
 
-        INDArray out = Nd4j.create(in.shape());
-        int nRows = in.rows();
-        ArrayList<Integer> list = new ArrayList<>(nRows);
-        for( int i=0; i<nRows; i++ ) list.add(i);
-        Collections.sort(list, new Comparator<Integer>(){
-            @Override
-            public int compare(Integer o1, Integer o2) {
-                if(ascending) return Double.compare(in.getDouble(o1, colIdx), in.getDouble(o2, colIdx));
-                else return -Double.compare(in.getDouble(o1, colIdx), in.getDouble(o2, colIdx));
-            }
-        });
-        for( int i = 0; i<nRows; i++ ){
-            out.putRow(i, in.getRow(list.get(i)));
-        }
-        return out;
+        return Nd4j.pullRows(in, 1, sortOrder(in.getColumn(colIdx), ascending), 'c');
     }
 
     /**Sort (shuffle) the columns of a 2d array according to the value at a specified row.
@@ -1549,25 +1585,12 @@ public class Nd4j {
      * @param ascending true if smallest-to-largest; false if largest-to-smallest
      * @return
      */
-    public static INDArray sortColumns( final INDArray in, final int rowIdx, final boolean ascending ){
+    public static INDArray sortColumns(INDArray in, int rowIdx, boolean ascending) {
         if(in.rank() != 2 ) throw new IllegalArgumentException("Cannot sort columns on non-2d matrix");
         if(rowIdx<0 || rowIdx>=in.rows()) throw new IllegalArgumentException("Cannot sort on values in row " + rowIdx + ", nRows="+in.rows());
 
-        INDArray out = Nd4j.create(in.shape());
-        int nCols = in.columns();
-        ArrayList<Integer> list = new ArrayList<>(nCols);
-        for( int i=0; i<nCols; i++ ) list.add(i);
-        Collections.sort(list, new Comparator<Integer>(){
-            @Override
-            public int compare(Integer o1, Integer o2) {
-                if(ascending) return Double.compare(in.getDouble(rowIdx, o1), in.getDouble(rowIdx, o2));
-                else return -Double.compare(in.getDouble(rowIdx, o1), in.getDouble(rowIdx, o2));
-            }
-        });
-        for( int i=0; i<nCols; i++ ){
-            out.putColumn(i, in.getColumn(list.get(i)));
-        }
-        return out;
+        //the columns are gathered as the rows of an 'f' matrix: its transpose is a 'c' matrix of the original shape
+        return Nd4j.pullRows(in, 0, sortOrder(in.getRow(rowIdx), ascending), 'f').transpose();
     }
 
     /**
@@ -1690,6 +1713,43 @@ public class Nd4j {
         return INSTANCE.toFlattened(order,matrices);
     }
 
+    /**
+     * Flatten all of the given ndarrays in to an existing vector,
+     * for flattening repeatedly without allocating
+     * @param out the vector to write to, of the total length of the ndarrays
+     * @param order order in which to flatten ndarrays
+     * @param matrices the matrices to flatten
+     * @return out
+     */
+    public static INDArray toFlattened(INDArray out, char order, Collection<INDArray> matrices) {
+        return INSTANCE.toFlattened(out, order, matrices);
+    }
+
+    /**
+     * Flatten all of the given ndarrays in to an existing vector,
+     * for flattening repeatedly without allocating
+     * @param out the vector to write to, of the total length of the ndarrays
+     * @param order order in which to flatten ndarrays
+     * @param matrices the matrices to flatten
+     * @return out
+     */
+    public static INDArray toFlattened(INDArray out, char order, INDArray... matrices) {
+        return INSTANCE.toFlattened(out, order, Arrays.asList(matrices));
+    }
+
+    /**
+     * Views of consecutive blocks of a vector with the given shapes,
+     * the reverse of {@link #toFlattened(INDArray, char, INDArray...)} without copying:
+     * parameters can live in one flat vector and be used through the views
+     * @param flat the vector to view, of the total length of the shapes
+     * @param order the order the blocks are laid out in
+     * @param shapes the shapes of the views
+     * @return the views, one per shape
+     */
+    public static INDArray[] unflatten(INDArray flat, char order, int[]... shapes) {
+        return INSTANCE.unflatten(flat, order, shapes);
+    }
+
 
 
 
@@ -1846,6 +1906,7 @@ public class Nd4j {
      * @throws IOException
      */
     public static void write(OutputStream writer,INDArray write) throws IOException {
+        getExecutioner().commit();
         DataOutputStream dos = new DataOutputStream(writer);
         dos.writeChar(write instanceof IComplexNDArray ? 'c' : 'r');
         dos.writeInt(write.rank());
@@ -2194,6 +2255,7 @@ public class Nd4j {
      * @throws IOException
      */
     public static void write(INDArray arr, DataOutputStream dataOutputStream) throws IOException {
+        getExecutioner().commit();
         //BaseDataBuffer.write(...) doesn't know about strides etc, so dup (or equiv. strategy) is necessary here
         //Furthermore, because we only want to save the *actual* data for a view (not the full data), the shape info
         // (mainly strides, offset, element-wise stride) may be different in the duped array vs. the view array
@@ -2299,6 +2361,53 @@ public class Nd4j {
 
     }
 
+    /**
+     * Write a sparse matrix to the specified output stream.
+     * Only the elements of the matrix itself are written
+     * (not the whole buffers of a row slice).
+     *
+     * @param arr              the sparse matrix to write
+     * @param dataOutputStream the data output stream to write to
+     * @throws IOException
+     */
+    public static void writeSparse(ISparseNDArray arr, DataOutputStream dataOutputStream) throws IOException {
+        ISparseNDArray compact = arr.dup();
+        dataOutputStream.writeUTF(compact.format().name());
+        dataOutputStream.writeInt(compact.rows());
+        dataOutputStream.writeInt(compact.columns());
+        compact.data().write(dataOutputStream);
+        if (compact.format() == ISparseNDArray.Format.CSR) {
+            SparseNDArrayCSR csr = (SparseNDArrayCSR) compact;
+            csr.columnIndices().write(dataOutputStream);
+            csr.rowPointers().write(dataOutputStream);
+        } else {
+            SparseNDArrayCOO coo = (SparseNDArrayCOO) compact;
+            coo.rowIndices().write(dataOutputStream);
+            coo.columnIndices().write(dataOutputStream);
+        }
+    }
+
+    /**
+     * Read in a sparse matrix written with {@link #writeSparse(ISparseNDArray, DataOutputStream)}
+     *
+     * @param dis the data input stream to read from
+     * @return the sparse matrix
+     * @throws IOException
+     */
+    public static ISparseNDArray readSparse(DataInputStream dis) throws IOException {
+        ISparseNDArray.Format format = ISparseNDArray.Format.valueOf(dis.readUTF());
+        int[] shape = new int[] {dis.readInt(), dis.readInt()};
+        DataBuffer values = Nd4j.createBuffer(new double[1]);
+        values.read(dis);
+        DataBuffer first = Nd4j.createBuffer(new int[1]);
+        first.read(dis);
+        DataBuffer second = Nd4j.createBuffer(new int[1]);
+        second.read(dis);
+        if (format == ISparseNDArray.Format.CSR)
+            return new SparseNDArrayCSR(values, first, second, shape);
+        return new SparseNDArrayCOO(values, first, second, shape);
+    }
+
     /**
      * Reverses the passed in matrix such that m[0] becomes m[m.length - 1] etc
      *
@@ -2868,6 +2977,43 @@ public class Nd4j {
         return INSTANCE.create(data,ordering);
     }
 
+    /**
+     * Create a sparse matrix in compressed sparse row format
+     *
+     * @param values        the non zero values ordered by row
+     * @param columnIndices the column of every value
+     * @param rowPointers   the index of the first value of every row followed by the number of values
+     * @param shape         the shape of the matrix
+     * @return the sparse matrix
+     */
+    public static ISparseNDArray createSparseCSR(double[] values, int[] columnIndices, int[] rowPointers, int[] shape) {
+        return INSTANCE.createSparseCSR(values, columnIndices, rowPointers, shape);
+    }
+
+    /**
+     * Create a sparse matrix in compressed sparse row format
+     * holding the non zero elements of the given dense matrix
+     *
+     * @param dense the dense matrix
+     * @return the sparse matrix
+     */
+    public static ISparseNDArray createSparseCSR(INDArray dense) {
+        return INSTANCE.createSparseCSR(dense);
+    }
+
+    /**
+     * Create a sparse matrix in coordinate format
+     *
+     * @param values        the non zero values in any order
+     * @param rowIndices    the row of every value
+     * @param columnIndices the column of every value
+     * @param shape         the shape of the matrix
+     * @return the sparse matrix
+     */
+    public static ISparseNDArray createSparseCOO(double[] values, int[] rowIndices, int[] columnIndices, int[] shape) {
+        return INSTANCE.createSparseCOO(values, rowIndices, columnIndices, shape);
+    }
+
     /**
      * Create a complex ndarray from the passed in indarray
      *
@@ -4629,6 +4775,66 @@ public class Nd4j {
         }
     }
 
+    /**
+     * Copy the tensors along a dimension with the given indexes
+     * in to the rows of a new matrix, in one (parallel) pass
+     * without creating a view per tensor.
+     * For a matrix and dimension 1 this selects rows (e.g. embedding lookups or minibatches).
+     *
+     * @param source the array to take tensors from
+     * @param sourceDimension the dimension tensors are taken along
+     * @param indexes the indexes of the tensors, may repeat
+     * @return an indexes.length x tensor length matrix in the default ordering
+     */
+    public static INDArray pullRows(INDArray source, int sourceDimension, int[] indexes) {
+        return pullRows(source, sourceDimension, indexes, order());
+    }
+
+    /**
+     * Copy the tensors along a dimension with the given indexes
+     * in to the rows of a new matrix
+     *
+     * @param source the array to take tensors from
+     * @param sourceDimension the dimension tensors are taken along
+     * @param indexes the indexes of the tensors, may repeat
+     * @param order the ordering of the result
+     * @return an indexes.length x tensor length matrix
+     */
+    public static INDArray pullRows(INDArray source, int sourceDimension, int[] indexes, char order) {
+        INDArray ret = INSTANCE.pullRows(source, sourceDimension, indexes, order);
+        logCreationIfNecessary(ret);
+        return ret;
+    }
+
+    /**
+     * Overwrite the given rows of a matrix with the rows of updates:
+     * target[indexes[i]] = updates[i].
+     * When a row is listed more than once the last of its updates is kept.
+     *
+     * @param target the matrix to update
+     * @param indexes the target row of every row of the updates
+     * @param updates indexes.length x target.columns() updates
+     * @return target
+     */
+    public static INDArray scatterUpdate(INDArray target, int[] indexes, INDArray updates) {
+        return INSTANCE.scatterUpdate(target, indexes, updates);
+    }
+
+    /**
+     * Add the rows of updates to the given rows of a matrix:
+     * target[indexes[i]] += updates[i].
+     * Rows listed more than once get the sum of all of their updates
+     * (as for the gradients of embeddings looked up more than once in a minibatch).
+     *
+     * @param target the matrix to update
+     * @param indexes the target row of every row of the updates
+     * @param updates indexes.length x target.columns() updates
+     * @return target
+     */
+    public static INDArray scatterAdd(INDArray target, int[] indexes, INDArray updates) {
+        return INSTANCE.scatterAdd(target, indexes, updates);
+    }
+
     /**
      * Concatneate ndarrays along a dimension
      *
@@ -4644,6 +4850,19 @@ public class Nd4j {
         return ret;
     }
 
+    /**
+     * Concatenate ndarrays along a dimension in to an existing ndarray,
+     * without allocating a new one (hstack in to out is concat(out, 1, ...), vstack concat(out, 0, ...))
+     *
+     * @param out the ndarray to write to, of the shape of the result
+     * @param dimension the dimension to concatenate along
+     * @param toConcat  the ndarrays to concat
+     * @return out
+     */
+    public static INDArray concat(INDArray out, int dimension, INDArray... toConcat) {
+        return INSTANCE.concat(out, dimension, toConcat);
+    }
+
     /**
      * Concatneate ndarrays along a dimension
      *
@@ -20,15 +20,14 @@
 package org.nd4j.linalg.indexing;
 
 import com.google.common.base.Function;
+import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
-import org.nd4j.linalg.api.shape.Shape;
-import org.nd4j.linalg.api.shape.loop.coordinatefunction.CoordinateFunction;
+import org.nd4j.linalg.api.shape.loop.strided.OffsetVisitor;
+import org.nd4j.linalg.api.shape.loop.strided.StridedLoop;
 import org.nd4j.linalg.indexing.conditions.Condition;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-
 /**
  * Boolean indexing
  *
@@ -79,17 +78,17 @@ public class BooleanIndexing {
      * condition false otherwise
      */
     public static boolean and(final INDArray n, final Condition cond) {
-        boolean ret = true;
-        final AtomicBoolean a = new AtomicBoolean(ret);
-        Shape.iterate(n, new CoordinateFunction() {
+        final DataBuffer data = n.data();
+        final boolean[] ret = {true};
+        StridedLoop.forEachOffset(n, new OffsetVisitor() {
             @Override
-            public void process(int[]... coord) {
-                if (a.get())
-                    a.compareAndSet(true, a.get() && cond.apply(n.getFloat(coord[0])));
+            public void visit(int offset) {
+                if (ret[0] && !cond.apply(data.getFloat(offset)))
+                    ret[0] = false;
             }
         });
 
-        return a.get();
+        return ret[0];
     }
 
     /**
@@ -100,17 +99,17 @@ public class BooleanIndexing {
      * @return
      */
     public static boolean or(final INDArray n, final Condition cond) {
-        boolean ret = false;
-        final AtomicBoolean a = new AtomicBoolean(ret);
-        Shape.iterate(n, new CoordinateFunction() {
+        final DataBuffer data = n.data();
+        final boolean[] ret = {false};
+        StridedLoop.forEachOffset(n, new OffsetVisitor() {
             @Override
-            public void process(int[]... coord) {
-                if (!a.get())
-                    a.compareAndSet(false, a.get() || cond.apply(n.getFloat(coord[0])));
+            public void visit(int offset) {
+                if (!ret[0] && cond.apply(data.getFloat(offset)))
+                    ret[0] = true;
             }
         });
 
-        return a.get();
+        return ret[0];
     }
 
     /**
@@ -122,12 +121,13 @@ public class BooleanIndexing {
      * @param function  the function to apply the op to
      */
     public static void applyWhere(final INDArray to, final Condition condition, final Function<Number, Number> function) {
-        Shape.iterate(to, new CoordinateFunction() {
+        final DataBuffer data = to.data();
+        StridedLoop.forEachOffset(to, new OffsetVisitor() {
             @Override
-            public void process(int[]... coord) {
-                if(condition.apply(to.getDouble(coord[0])))
-                    to.putScalar(coord[0], function.apply(to.getDouble(coord[0])).floatValue());
-
+            public void visit(int offset) {
+                double value = data.getDouble(offset);
+                if (condition.apply(value))
+                    data.put(offset, function.apply(value).floatValue());
             }
         });
     }
@@ -141,14 +141,15 @@ public class BooleanIndexing {
      * @param function  the function to apply the op to
      */
     public static void applyWhere(final INDArray to, final Condition condition, final Function<Number, Number> function,final Function<Number, Number> alternativeFunction) {
-        Shape.iterate(to, new CoordinateFunction() {
+        final DataBuffer data = to.data();
+        StridedLoop.forEachOffset(to, new OffsetVisitor() {
             @Override
-            public void process(int[]... coord) {
-                if (condition.apply(to.getFloat(coord[0]))) {
-                    to.putScalar(coord[0], function.apply(to.getDouble(coord[0])).floatValue());
-                } else {
-                    to.putScalar(coord[0], alternativeFunction.apply(to.getDouble(coord[0])).floatValue());
-                }
+            public void visit(int offset) {
+                double value = data.getDouble(offset);
+                if (condition.apply((float) value))
+                    data.put(offset, function.apply(value).floatValue());
+                else
+                    data.put(offset, alternativeFunction.apply(value).floatValue());
             }
         });
 
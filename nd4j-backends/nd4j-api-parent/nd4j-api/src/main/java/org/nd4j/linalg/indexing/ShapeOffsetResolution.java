@@ -35,6 +35,70 @@ public class ShapeOffsetResolution implements Serializable {
     }
 
 
+    /**
+     * Resolve the common case of one point, unit stride interval
+     * or all index per dimension on arrays of rank 2 to 4
+     * without dimensions of size 1, directly from the sizes and strides of the array
+     * (no index resolution or intermediate lists).
+     * Dimensions indexed by a point are dropped; a single dimension left is returned
+     * as a row vector for a matrix indexed by a point first and as a column vector otherwise.
+     * @param indexes the indexes, one per dimension
+     * @return true if the indexes were resolved, false if they need the general path
+     */
+    public boolean tryFastPath(INDArrayIndex... indexes) {
+        int rank = arr.rank();
+        if (rank < 2 || rank > 4 || indexes.length != rank)
+            return false;
+
+        int[] keptShape = new int[rank];
+        int[] keptStride = new int[rank];
+        int[] keptOffset = new int[rank];
+        int kept = 0;
+        long offset = 0;
+        for (int i = 0; i < rank; i++) {
+            int size = arr.size(i);
+            int stride = arr.stride(i);
+            INDArrayIndex idx = indexes[i];
+            if (size == 1 || idx == null)
+                return false;
+            Class<?> type = idx.getClass();
+            if (type == PointIndex.class) {
+                int point = idx.offset();
+                if (point < 0 || point >= size)
+                    return false;
+                offset += (long) point * stride;
+            } else if (type == NDArrayIndexAll.class) {
+                keptShape[kept] = size;
+                keptStride[kept++] = stride;
+            } else if (type == IntervalIndex.class) {
+                int begin = idx.offset();
+                int end = Math.min(idx.end(), size);
+                if (idx.stride() != 1 || begin < 0 || begin >= end)
+                    return false;
+                offset += (long) begin * stride;
+                keptShape[kept] = end - begin;
+                keptOffset[kept] = begin;
+                keptStride[kept++] = stride;
+            } else
+                return false;
+        }
+        if (kept == 0)
+            return false;
+
+        if (kept == 1) {
+            boolean row = rank == 2 && indexes[0].getClass() == PointIndex.class;
+            this.shapes = row ? new int[]{1, keptShape[0]} : new int[]{keptShape[0], 1};
+            this.strides = row ? new int[]{1, keptStride[0]} : new int[]{keptStride[0], 1};
+            this.offsets = row ? new int[]{0, keptOffset[0]} : new int[]{keptOffset[0], 0};
+        } else {
+            this.shapes = Arrays.copyOf(keptShape, kept);
+            this.strides = Arrays.copyOf(keptStride, kept);
+            this.offsets = Arrays.copyOf(keptOffset, kept);
+        }
+        this.offset = offset;
+        return true;
+    }
+
     public boolean tryShortCircuit(INDArrayIndex...indexes) {
         int pointIndex = 0;
         int interval = 0;
@@ -310,6 +374,9 @@ public class ShapeOffsetResolution implements Serializable {
      *
      */
     public void exec(INDArrayIndex... indexes) {
+        if(tryFastPath(indexes))
+            return;
+
         int[] shape = arr.shape();
 
         // Check that given point indexes are not out of bounds
@@ -1,13 +1,32 @@
 package org.nd4j.linalg.inverse;
 
+import org.nd4j.linalg.api.blas.Lapack;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.executors.ExecutorServiceProvider;
 import org.nd4j.linalg.factory.Nd4j;
 
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
 /**
+ * Matrix inversion and linear solves
+ * through the lapack routines of the backend.
+ *
+ * Prefer {@link #solve(INDArray, INDArray)} (or {@link #solvePositiveDefinite(INDArray, INDArray)}
+ * for symmetric positive definite systems) over multiplying by an explicit inverse:
+ * it is both cheaper and numerically more accurate.
+ *
+ * The batched variants work on rank 3 arrays of shape [batch, n, n]
+ * (and [batch, n, k] right hand sides), solving the systems in parallel.
+ *
  * Created by agibsoncccc on 11/30/15.
  */
 public class InvertMatrix {
-
+    /**
+     * Block size the getri workspace is sized for (lwork = n * block size)
+     */
+    public final static int WORKSPACE_BLOCK_SIZE = 64;
 
     /**
      * Inverts a matrix
@@ -19,14 +38,159 @@ public class InvertMatrix {
             throw new IllegalArgumentException("invalid array: must be square matrix");
         }
 
-        int[] IPIV = new int[arr.length() + 1];
-        int LWORK = arr.length() * arr.length();
-        INDArray WORK = Nd4j.create(new double[LWORK]);
-        INDArray inverse = inPlace ? arr : arr.dup();
-        Nd4j.getBlasWrapper().lapack().getrf(arr.size(1),arr.size(0),inverse, arr.size(0),IPIV,0);
-        Nd4j.getBlasWrapper().lapack().getri(arr.size(0),inverse,arr.size(0),IPIV,WORK,LWORK,0);
+        int n = arr.rows();
+        int[] IPIV = new int[n];
+        int LWORK = n * WORKSPACE_BLOCK_SIZE;
+        INDArray WORK = Nd4j.create(1, LWORK);
+        //lapack needs a column major matrix without gaps
+        INDArray inverse = arr.dup('f');
+        Lapack lapack = Nd4j.getBlasWrapper().lapack();
+        lapack.getrf(n, n, inverse, n, IPIV, 0);
+        lapack.getri(n, inverse, n, IPIV, WORK, LWORK, 0);
+        if (inPlace)
+            return arr.assign(inverse);
         return inverse;
 
     }
 
+    /**
+     * Solve A * X = B through the LU decomposition of A
+     * @param A the square matrix of the system (not modified)
+     * @param B the right hand side(s): a column vector or a matrix with one column per system (not modified)
+     * @return X, of the shape of B
+     */
+    public static INDArray solve(INDArray A, INDArray B) {
+        validate(A, B);
+        int n = A.rows();
+        int[] IPIV = new int[n];
+        INDArray lu = A.dup('f');
+        INDArray x = B.dup('f');
+        Lapack lapack = Nd4j.getBlasWrapper().lapack();
+        lapack.getrf(n, n, lu, n, IPIV, 0);
+        lapack.getrs('N', n, x.columns(), lu, n, IPIV, x, n, 0);
+        return x;
+    }
+
+    /**
+     * Solve A * X = B for a symmetric positive definite A through its cholesky decomposition.
+     * Only the lower triangle of A is referenced.
+     * @param A the symmetric positive definite matrix of the system (not modified)
+     * @param B the right hand side(s): a column vector or a matrix with one column per system (not modified)
+     * @return X, of the shape of B
+     * @throws IllegalArgumentException if A is not positive definite
+     */
+    public static INDArray solvePositiveDefinite(INDArray A, INDArray B) {
+        validate(A, B);
+        int n = A.rows();
+        INDArray cholesky = A.dup('f');
+        INDArray x = B.dup('f');
+        Lapack lapack = Nd4j.getBlasWrapper().lapack();
+        lapack.potrf('L', n, cholesky, n, 0);
+        lapack.potrs('L', n, x.columns(), cholesky, n, x, n, 0);
+        return x;
+    }
+
+    /**
+     * Invert every matrix of a batch
+     * @param arr the matrices to invert, of shape [batch, n, n]
+     * @param inPlace whether to overwrite arr with the inverses
+     * @return the inverses
+     */
+    public static INDArray invertBatched(INDArray arr, boolean inPlace) {
+        if (arr.rank() != 3 || arr.size(1) != arr.size(2))
+            throw new IllegalArgumentException("Expected a batch of square matrices of shape [batch, n, n] but got " + Arrays.toString(arr.shape()));
+        INDArray ret = inPlace ? arr : Nd4j.create(arr.shape());
+        run(new BatchAction(BatchAction.INVERT, arr, null, ret, 0, arr.size(0)));
+        return ret;
+    }
+
+    /**
+     * Solve A[i] * X[i] = B[i] for every system of a batch
+     * @param A the matrices of the systems, of shape [batch, n, n]
+     * @param B the right hand sides, of shape [batch, n, k]
+     * @return the solutions, of shape [batch, n, k]
+     */
+    public static INDArray solveBatched(INDArray A, INDArray B) {
+        validateBatch(A, B);
+        INDArray ret = Nd4j.create(B.shape());
+        run(new BatchAction(BatchAction.SOLVE, A, B, ret, 0, A.size(0)));
+        return ret;
+    }
+
+    /**
+     * Solve A[i] * X[i] = B[i] for every symmetric positive definite system of a batch
+     * @param A the matrices of the systems, of shape [batch, n, n]
+     * @param B the right hand sides, of shape [batch, n, k]
+     * @return the solutions, of shape [batch, n, k]
+     */
+    public static INDArray solvePositiveDefiniteBatched(INDArray A, INDArray B) {
+        validateBatch(A, B);
+        INDArray ret = Nd4j.create(B.shape());
+        run(new BatchAction(BatchAction.SOLVE_POSITIVE_DEFINITE, A, B, ret, 0, A.size(0)));
+        return ret;
+    }
+
+    private static void validate(INDArray A, INDArray B) {
+        if (!A.isSquare())
+            throw new IllegalArgumentException("invalid array: must be square matrix");
+        if (B.rank() != 2 || B.rows() != A.rows())
+            throw new IllegalArgumentException("Right hand side of shape " + Arrays.toString(B.shape()) + " does not match a system of "
+                    + A.rows() + " equations");
+    }
+
+    private static void validateBatch(INDArray A, INDArray B) {
+        if (A.rank() != 3 || A.size(1) != A.size(2))
+            throw new IllegalArgumentException("Expected a batch of square matrices of shape [batch, n, n] but got " + Arrays.toString(A.shape()));
+        if (B.rank() != 3 || B.size(0) != A.size(0) || B.size(1) != A.size(1))
+            throw new IllegalArgumentException("Right hand sides of shape " + Arrays.toString(B.shape()) + " do not match systems of shape "
+                    + Arrays.toString(A.shape()));
+    }
+
+    private static void run(BatchAction action) {
+        if (ForkJoinTask.inForkJoinPool())
+            action.invoke();
+        else
+            ExecutorServiceProvider.getForkJoinPool().invoke(action);
+    }
+
+    /**
+     * Inverts or solves a range of the matrices of a batch, one task per matrix
+     */
+    private static class BatchAction extends RecursiveAction {
+        private final static int INVERT = 0;
+        private final static int SOLVE = 1;
+        private final static int SOLVE_POSITIVE_DEFINITE = 2;
+
+        private int type;
+        private INDArray A, B, result;
+        private int start, end;
+
+        private BatchAction(int type, INDArray A, INDArray B, INDArray result, int start, int end) {
+            this.type = type;
+            this.A = A;
+            this.B = B;
+            this.result = result;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > 1) {
+                int mid = start + (end - start) / 2;
+                invokeAll(new BatchAction(type, A, B, result, start, mid), new BatchAction(type, A, B, result, mid, end));
+                return;
+            }
+
+            INDArray a = A.tensorAlongDimension(start, 1, 2);
+            INDArray out = result.tensorAlongDimension(start, 1, 2);
+            if (type == INVERT)
+                out.assign(invert(a, false));
+            else if (type == SOLVE)
+                out.assign(solve(a, B.tensorAlongDimension(start, 1, 2)));
+            else
+                out.assign(solvePositiveDefinite(a, B.tensorAlongDimension(start, 1, 2)));
+        }
+    }
+
 }
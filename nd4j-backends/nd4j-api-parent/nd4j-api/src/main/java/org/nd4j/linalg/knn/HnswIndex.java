@@ -0,0 +1,783 @@
+package org.nd4j.linalg.knn;
+
+import org.bytedeco.javacpp.indexer.DoubleIndexer;
+import org.bytedeco.javacpp.indexer.FloatIndexer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.accum.distances.Distance;
+import org.nd4j.linalg.executors.ExecutorServiceProvider;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Approximate nearest neighbour index over the rows of a matrix:
+ * a hierarchical navigable small world graph (Malkov and Yashunin, HNSW).
+ *
+ * Every inserted row gets a random level, exponentially less likely the higher it is,
+ * and is linked to its nearest rows on every level up to its own:
+ * at most m on the upper levels and 2m on the bottom one, chosen with the neighbour diversity heuristic.
+ * Searches descend greedily from the single entry point on the top level and
+ * run a best first search with ef candidates on the bottom level.
+ *
+ * Rows are read straight from the matrix (which isn't copied when it is a row major matrix with unit column stride),
+ * distances rank the same as the {@link Distance} accumulations and are computed on the fly.
+ * Rows may be inserted concurrently from any number of threads ({@link #add(int)}), or all at once
+ * in parallel on the fork join pool ({@link #build()}); searches may run concurrently with inserts.
+ * Neighbour lists are guarded by striped locks, no thread ever holds more than one.
+ * Scratch space is pooled on the index, one per insert or search running at the same time,
+ * so it is released with the index.
+ * Graphs are written and read with the matrix through {@link Nd4j#write(INDArray, DataOutputStream)}.
+ *
+ * @author Adam Gibson
+ */
+public class HnswIndex {
+    public final static int DEFAULT_M = 16;
+    public final static int DEFAULT_EF_CONSTRUCTION = 200;
+    private final static int MAX_LEVEL = 16;
+    private final static int LOCKS = 1 << 10;
+    //rows inserted together by one task of a parallel build
+    private final static int BUILD_BATCH = 64;
+    //queries searched together by one task of a batched search
+    private final static int SEARCH_BATCH = 16;
+    private final static int MAGIC = 0x484e5357;
+    private final static int VERSION = 1;
+
+    private INDArray vectors;
+    private Distance distance;
+    private int m, maxConnections0, efConstruction;
+    private long seed;
+    private double levelMultiplier;
+    private int rows, columns;
+
+    private DataBuffer data;
+    private FloatIndexer floats;
+    private DoubleIndexer doubles;
+    private long dataOffset;
+    //norms of the inserted rows, for cosine similarities only
+    private double[] norms;
+
+    //-1 until a row is inserted
+    private AtomicIntegerArray levels;
+    //the bottom level of every row: a count, then maxConnections0 neighbours
+    private int[] links0;
+    //levels above the bottom, for the rows that have them: a count, then m neighbours
+    private int[][][] upperLinks;
+    private Object[] locks = new Object[LOCKS];
+    private volatile int entryPoint = -1;
+    private volatile int maxLevel = -1;
+    private AtomicInteger size = new AtomicInteger();
+    //scratch space of the inserts and searches that aren't running
+    private ConcurrentLinkedQueue<SearchContext> contexts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * An empty index over the rows of a matrix, with the default parameters
+     * @param vectors the rows to index
+     * @param distance the measure to rank by
+     */
+    public HnswIndex(INDArray vectors, Distance distance) {
+        this(vectors, distance, DEFAULT_M, DEFAULT_EF_CONSTRUCTION, 123);
+    }
+
+    /**
+     * An empty index over the rows of a matrix
+     * @param vectors the rows to index (not copied when row major)
+     * @param distance the measure to rank by
+     * @param m the number of neighbours per row and level (twice that on the bottom level)
+     * @param efConstruction the number of candidates considered when linking a row
+     * @param seed the seed of the random levels
+     */
+    public HnswIndex(INDArray vectors, Distance distance, int m, int efConstruction, long seed) {
+        if (vectors.rank() != 2)
+            throw new IllegalArgumentException("Vectors must be a matrix");
+        if (m < 2)
+            throw new IllegalArgumentException("m must be at least 2, got " + m);
+        if (efConstruction < 1)
+            throw new IllegalArgumentException("efConstruction must be positive, got " + efConstruction);
+        if (vectors.stride(1) != 1 || vectors.stride(0) != vectors.columns())
+            vectors = vectors.dup('c');
+        this.vectors = vectors;
+        this.distance = distance;
+        this.m = m;
+        this.maxConnections0 = 2 * m;
+        this.efConstruction = efConstruction;
+        this.seed = seed;
+        this.levelMultiplier = 1 / Math.log(m);
+        this.rows = vectors.rows();
+        this.columns = vectors.columns();
+
+        data = vectors.data();
+        dataOffset = data.offset();
+        if (data.dataType() == DataBuffer.Type.FLOAT && data.indexer() instanceof FloatIndexer)
+            floats = (FloatIndexer) data.indexer();
+        else if (data.dataType() == DataBuffer.Type.DOUBLE && data.indexer() instanceof DoubleIndexer)
+            doubles = (DoubleIndexer) data.indexer();
+        if (distance == Distance.COSINE)
+            norms = new double[rows];
+
+        levels = new AtomicIntegerArray(rows);
+        for (int i = 0; i < rows; i++)
+            levels.set(i, -1);
+        links0 = new int[rows * (maxConnections0 + 1)];
+        upperLinks = new int[rows][][];
+        for (int i = 0; i < LOCKS; i++)
+            locks[i] = new Object();
+    }
+
+    /**
+     * The number of rows inserted so far
+     */
+    public int size() {
+        return size.get();
+    }
+
+    public INDArray getVectors() {
+        return vectors;
+    }
+
+    public Distance getDistance() {
+        return distance;
+    }
+
+    /**
+     * Insert all rows that aren't inserted yet, in parallel
+     * @return this index
+     */
+    public HnswIndex build() {
+        Nd4j.getExecutioner().commit();
+        BuildAction action = new BuildAction(0, rows);
+        if (ForkJoinTask.inForkJoinPool())
+            action.invoke();
+        else
+            ExecutorServiceProvider.getForkJoinPool().invoke(action);
+        return this;
+    }
+
+    /**
+     * Insert a row of the matrix in to the graph. Safe to call concurrently.
+     * @param row the row to insert
+     */
+    public void add(int row) {
+        if (row < 0 || row >= rows)
+            throw new IndexOutOfBoundsException("Row " + row + " is out of bounds for " + rows + " rows");
+        int level = randomLevel(row);
+        if (!levels.compareAndSet(row, -1, level))
+            throw new IllegalArgumentException("Row " + row + " was already inserted");
+
+        SearchContext context = acquire();
+        try {
+            insert(context, row, level);
+        } finally {
+            contexts.offer(context);
+        }
+    }
+
+    private void insert(SearchContext context, int row, int level) {
+        double[] query = context.query;
+        row(row, query);
+        if (norms != null)
+            norms[row] = norm(query);
+        if (level > 0) {
+            int[][] upper = new int[level][m + 1];
+            synchronized (lock(row)) {
+                upperLinks[row] = upper;
+            }
+        }
+
+        int entry, top;
+        synchronized (this) {
+            if (entryPoint < 0) {
+                entryPoint = row;
+                maxLevel = level;
+                size.incrementAndGet();
+                return;
+            }
+            entry = entryPoint;
+            top = maxLevel;
+        }
+
+        double queryNorm = norms != null ? norms[row] : 0;
+        context.entries[0] = entry;
+        int entries = 1;
+        for (int l = top; l > level; l--) {
+            searchLayer(context, query, queryNorm, entries, 1, l);
+            context.entries[0] = context.results.peekId();
+        }
+
+        for (int l = Math.min(level, top); l >= 0; l--) {
+            searchLayer(context, query, queryNorm, entries, efConstruction, l);
+            int found = context.drainResults(context.candidateIds, context.candidateKeys);
+            int maxConnections = l == 0 ? maxConnections0 : m;
+            int selected = select(context, context.candidateIds, context.candidateKeys, found, maxConnections, context.selected);
+
+            synchronized (lock(row)) {
+                int[] links = l == 0 ? links0 : upperLinks[row][l - 1];
+                int offset = l == 0 ? row * (maxConnections0 + 1) : 0;
+                links[offset] = selected;
+                System.arraycopy(context.selected, 0, links, offset + 1, selected);
+            }
+            for (int i = 0; i < selected; i++)
+                link(context, context.selected[i], row, l);
+
+            //every candidate found is an entry point of the next level down
+            System.arraycopy(context.candidateIds, 0, context.entries, 0, found);
+            entries = found;
+        }
+
+        if (level > top) {
+            synchronized (this) {
+                if (level > maxLevel) {
+                    maxLevel = level;
+                    entryPoint = row;
+                }
+            }
+        }
+        size.incrementAndGet();
+    }
+
+    /**
+     * The approximate k nearest rows of a query
+     * @param query the query (a vector of the length of a row)
+     * @param k the number of neighbours
+     * @param ef the number of candidates to keep while searching (at least k, higher is more accurate and slower)
+     * @param indices written with the rows of the neighbours, nearest first
+     * @param values written with their distances (similarities for cosine)
+     * @return the number of neighbours found (less than k when the index holds less rows)
+     */
+    public int search(INDArray query, int k, int ef, int[] indices, double[] values) {
+        if (query.length() != columns)
+            throw new IllegalArgumentException("Query length " + query.length() + " doesn't match the row length " + columns);
+        SearchContext context = acquire();
+        try {
+            double[] vector = context.query;
+            for (int i = 0; i < columns; i++)
+                vector[i] = query.getDouble(i);
+            return search(context, vector, k, ef, indices, values);
+        } finally {
+            contexts.offer(context);
+        }
+    }
+
+    /**
+     * The approximate k nearest rows of every row of a matrix of queries, searched in parallel
+     * @param queries the queries (one per row)
+     * @param k the number of neighbours
+     * @param ef the number of candidates to keep while searching
+     * @return the rows of the neighbours and their distances (similarities for cosine), both queries x k
+     */
+    public INDArray[] search(INDArray queries, int k, int ef) {
+        if (queries.rank() != 2 || queries.columns() != columns)
+            throw new IllegalArgumentException("Queries must be a matrix with " + columns + " columns");
+        if (k < 1 || k > size())
+            throw new IllegalArgumentException("k must be between 1 and " + size() + ", got " + k);
+        INDArray indices = Nd4j.create(queries.rows(), k);
+        INDArray values = Nd4j.create(queries.rows(), k);
+        Nd4j.getExecutioner().commit();
+        SearchAction action = new SearchAction(queries, k, ef, indices, values, 0, queries.rows());
+        if (ForkJoinTask.inForkJoinPool())
+            action.invoke();
+        else
+            ExecutorServiceProvider.getForkJoinPool().invoke(action);
+        return new INDArray[] {indices, values};
+    }
+
+    private int search(SearchContext context, double[] query, int k, int ef, int[] indices, double[] values) {
+        int entry = entryPoint;
+        if (entry < 0)
+            return 0;
+        ef = Math.max(ef, k);
+        double queryNorm = norms != null ? norm(query) : 0;
+        context.entries[0] = entry;
+        for (int l = maxLevel; l > 0; l--) {
+            searchLayer(context, query, queryNorm, 1, 1, l);
+            context.entries[0] = context.results.peekId();
+        }
+        searchLayer(context, query, queryNorm, 1, ef, 0);
+        while (context.results.size() > k)
+            context.results.poll();
+        int found = context.drainResults(context.candidateIds, context.candidateKeys);
+        for (int i = 0; i < found; i++) {
+            indices[i] = context.candidateIds[i];
+            values[i] = value(context.candidateKeys[i]);
+        }
+        return found;
+    }
+
+    /**
+     * Best first search of one level from the first entries of the context,
+     * leaving the best ef rows found in the results of the context
+     */
+    private void searchLayer(SearchContext context, double[] query, double queryNorm, int entries, int ef, int level) {
+        NodeQueue candidates = context.candidates;
+        NodeQueue results = context.results;
+        candidates.clear();
+        results.clear();
+        int visit = context.nextVisit();
+        for (int i = 0; i < entries; i++) {
+            int entry = context.entries[i];
+            if (context.visited[entry] == visit)
+                continue;
+            context.visited[entry] = visit;
+            double key = key(context, query, queryNorm, entry);
+            candidates.push(key, entry);
+            results.push(key, entry);
+        }
+        while (results.size() > ef)
+            results.poll();
+
+        int[] neighbours = context.neighbours;
+        while (candidates.size() > 0) {
+            if (results.size() >= ef && NodeQueue.before(results.peekKey(), results.peekId(), candidates.peekKey(), candidates.peekId()))
+                break;
+            int current = candidates.poll();
+            int count = neighbours(current, level, neighbours);
+            for (int i = 0; i < count; i++) {
+                int neighbour = neighbours[i];
+                if (context.visited[neighbour] == visit)
+                    continue;
+                context.visited[neighbour] = visit;
+                double key = key(context, query, queryNorm, neighbour);
+                if (results.size() < ef || NodeQueue.before(key, neighbour, results.peekKey(), results.peekId())) {
+                    candidates.push(key, neighbour);
+                    results.push(key, neighbour);
+                    if (results.size() > ef)
+                        results.poll();
+                }
+            }
+        }
+    }
+
+    /**
+     * The neighbour diversity heuristic: walking the candidates nearest first,
+     * keep those nearer to the base row than to every row kept so far,
+     * then fill up with the nearest of the others
+     * @param ids the candidates, nearest to the base row first
+     * @param keys their distances to the base row
+     * @return the number of rows written to selected
+     */
+    private int select(SearchContext context, int[] ids, double[] keys, int count, int max, int[] selected) {
+        if (count <= max) {
+            System.arraycopy(ids, 0, selected, 0, count);
+            return count;
+        }
+        int kept = 0, pruned = 0;
+        int[] rejected = context.rejected;
+        double[] candidate = context.candidate;
+        for (int i = 0; i < count && kept < max; i++) {
+            int id = ids[i];
+            row(id, candidate);
+            double candidateNorm = norms != null ? norms[id] : 0;
+            boolean diverse = true;
+            for (int j = 0; j < kept && diverse; j++)
+                diverse = key(context, candidate, candidateNorm, selected[j]) >= keys[i];
+            if (diverse)
+                selected[kept++] = id;
+            else
+                rejected[pruned++] = id;
+        }
+        for (int i = 0; i < pruned && kept < max; i++)
+            selected[kept++] = rejected[i];
+        return kept;
+    }
+
+    /**
+     * Add a link from a row to another on a level, re-selecting the neighbours of the row when it has too many
+     */
+    private void link(SearchContext context, int from, int to, int level) {
+        int maxConnections = level == 0 ? maxConnections0 : m;
+        synchronized (lock(from)) {
+            int[] links = level == 0 ? links0 : upperLinks[from][level - 1];
+            int offset = level == 0 ? from * (maxConnections0 + 1) : 0;
+            int count = links[offset];
+            if (count < maxConnections) {
+                links[offset + 1 + count] = to;
+                links[offset] = count + 1;
+                return;
+            }
+
+            double[] base = context.base;
+            row(from, base);
+            double baseNorm = norms != null ? norms[from] : 0;
+            int[] ids = context.linkIds;
+            double[] keys = context.linkKeys;
+            for (int i = 0; i < count; i++)
+                ids[i] = links[offset + 1 + i];
+            ids[count] = to;
+            for (int i = 0; i <= count; i++)
+                keys[i] = key(context, base, baseNorm, ids[i]);
+            //at most 2m + 1 candidates: insertion sort
+            for (int i = 1; i <= count; i++) {
+                int id = ids[i];
+                double key = keys[i];
+                int j = i - 1;
+                for (; j >= 0 && NodeQueue.before(key, id, keys[j], ids[j]); j--) {
+                    ids[j + 1] = ids[j];
+                    keys[j + 1] = keys[j];
+                }
+                ids[j + 1] = id;
+                keys[j + 1] = key;
+            }
+            int selected = select(context, ids, keys, count + 1, maxConnections, context.linkSelected);
+            links[offset] = selected;
+            System.arraycopy(context.linkSelected, 0, links, offset + 1, selected);
+        }
+    }
+
+    //a copy of the neighbours of a row on a level
+    private int neighbours(int row, int level, int[] dst) {
+        synchronized (lock(row)) {
+            if (level == 0) {
+                int offset = row * (maxConnections0 + 1);
+                int count = links0[offset];
+                System.arraycopy(links0, offset + 1, dst, 0, count);
+                return count;
+            }
+            int[][] upper = upperLinks[row];
+            if (upper == null || upper.length < level)
+                return 0;
+            int count = upper[level - 1][0];
+            System.arraycopy(upper[level - 1], 1, dst, 0, count);
+            return count;
+        }
+    }
+
+    private Object lock(int row) {
+        return locks[row & (LOCKS - 1)];
+    }
+
+    private int randomLevel(int row) {
+        //splitmix64 of the seed and the row: levels don't depend on the insertion order
+        long z = seed + (row + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        double uniform = ((z >>> 11) + 1) / (double) (1L << 53);
+        return Math.min(MAX_LEVEL, (int) (-Math.log(uniform) * levelMultiplier));
+    }
+
+    private void row(int row, double[] dst) {
+        long offset = (long) row * columns;
+        if (floats != null) {
+            long index = dataOffset + offset;
+            for (int i = 0; i < columns; i++)
+                dst[i] = floats.get(index + i);
+        } else if (doubles != null) {
+            long index = dataOffset + offset;
+            for (int i = 0; i < columns; i++)
+                dst[i] = doubles.get(index + i);
+        } else {
+            for (int i = 0; i < columns; i++)
+                dst[i] = data.getDouble(offset + i);
+        }
+    }
+
+    private static double norm(double[] vector) {
+        double sum = 0;
+        for (double v : vector)
+            sum += v * v;
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * The ranking key of a row against a vector: the squared euclidean distance,
+     * one minus the cosine similarity or the manhattan distance
+     */
+    private double key(SearchContext context, double[] vector, double vectorNorm, int row) {
+        double sum = 0;
+        if (floats != null) {
+            //float rows are read in place, the other types through a copy
+            long index = dataOffset + (long) row * columns;
+            switch (distance) {
+                case EUCLIDEAN:
+                    for (int i = 0; i < columns; i++) {
+                        double diff = vector[i] - floats.get(index + i);
+                        sum += diff * diff;
+                    }
+                    return sum;
+                case COSINE:
+                    for (int i = 0; i < columns; i++)
+                        sum += vector[i] * floats.get(index + i);
+                    return cosineKey(sum, vectorNorm, norms[row]);
+                default:
+                    for (int i = 0; i < columns; i++)
+                        sum += Math.abs(vector[i] - floats.get(index + i));
+                    return sum;
+            }
+        }
+
+        double[] other = context.row;
+        row(row, other);
+        switch (distance) {
+            case EUCLIDEAN:
+                for (int i = 0; i < columns; i++) {
+                    double diff = vector[i] - other[i];
+                    sum += diff * diff;
+                }
+                return sum;
+            case COSINE:
+                for (int i = 0; i < columns; i++)
+                    sum += vector[i] * other[i];
+                return cosineKey(sum, vectorNorm, norms[row]);
+            default:
+                for (int i = 0; i < columns; i++)
+                    sum += Math.abs(vector[i] - other[i]);
+                return sum;
+        }
+    }
+
+    private static double cosineKey(double dot, double norm, double otherNorm) {
+        double product = norm * otherNorm;
+        return product == 0 ? 1 : 1 - dot / product;
+    }
+
+    //the value reported for a key
+    private double value(double key) {
+        switch (distance) {
+            case EUCLIDEAN:
+                return Math.sqrt(Math.max(0, key));
+            case COSINE:
+                return 1 - key;
+            default:
+                return key;
+        }
+    }
+
+    //scratch space that isn't in use, to be given back to the pool when done
+    private SearchContext acquire() {
+        SearchContext context = contexts.poll();
+        return context != null ? context : new SearchContext(rows, columns, maxConnections0, efConstruction);
+    }
+
+    /**
+     * Write the index: its parameters, the matrix and the graph.
+     * Inserts must not run concurrently.
+     * @param out the stream to write to
+     * @throws IOException
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(distance.ordinal());
+        out.writeInt(m);
+        out.writeInt(efConstruction);
+        out.writeLong(seed);
+        out.writeInt(entryPoint);
+        out.writeInt(maxLevel);
+        out.writeInt(size.get());
+        Nd4j.write(vectors, out);
+        for (int row = 0; row < rows; row++) {
+            int level = levels.get(row);
+            out.writeInt(level);
+            if (level < 0)
+                continue;
+            for (int l = 0; l <= level; l++) {
+                int[] links = l == 0 ? links0 : upperLinks[row][l - 1];
+                int offset = l == 0 ? row * (maxConnections0 + 1) : 0;
+                int count = links[offset];
+                out.writeInt(count);
+                for (int i = 1; i <= count; i++)
+                    out.writeInt(links[offset + i]);
+            }
+        }
+    }
+
+    /**
+     * Read an index written by {@link #write(DataOutputStream)}
+     * @param in the stream to read from
+     * @return the index
+     * @throws IOException
+     */
+    public static HnswIndex read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC)
+            throw new IOException("Not an hnsw index");
+        int version = in.readInt();
+        if (version != VERSION)
+            throw new IOException("Unsupported index version " + version);
+        Distance distance = Distance.values()[in.readInt()];
+        int m = in.readInt();
+        int efConstruction = in.readInt();
+        long seed = in.readLong();
+        int entryPoint = in.readInt();
+        int maxLevel = in.readInt();
+        int size = in.readInt();
+        INDArray vectors = Nd4j.read(in);
+
+        HnswIndex ret = new HnswIndex(vectors, distance, m, efConstruction, seed);
+        double[] scratch = new double[ret.columns];
+        for (int row = 0; row < ret.rows; row++) {
+            int level = in.readInt();
+            if (level < 0)
+                continue;
+            ret.levels.set(row, level);
+            if (level > 0)
+                ret.upperLinks[row] = new int[level][m + 1];
+            for (int l = 0; l <= level; l++) {
+                int[] links = l == 0 ? ret.links0 : ret.upperLinks[row][l - 1];
+                int offset = l == 0 ? row * (ret.maxConnections0 + 1) : 0;
+                int count = in.readInt();
+                links[offset] = count;
+                for (int i = 1; i <= count; i++)
+                    links[offset + i] = in.readInt();
+            }
+            if (ret.norms != null) {
+                ret.row(row, scratch);
+                ret.norms[row] = norm(scratch);
+            }
+        }
+        ret.entryPoint = entryPoint;
+        ret.maxLevel = maxLevel;
+        ret.size.set(size);
+        return ret;
+    }
+
+    /**
+     * Save the index to a file
+     * @param file the file to write to
+     * @throws IOException
+     */
+    public void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            write(out);
+        }
+    }
+
+    /**
+     * Load an index saved with {@link #save(File)}
+     * @param file the file to read
+     * @return the index
+     * @throws IOException
+     */
+    public static HnswIndex load(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Scratch space of the searches and inserts of one thread
+     */
+    private static class SearchContext {
+        private double[] query, candidate, base, row;
+        private int[] visited;
+        private int visit = 0;
+        private NodeQueue candidates = new NodeQueue(false);
+        private NodeQueue results = new NodeQueue(true);
+        private int[] neighbours, entries, candidateIds, selected, rejected, linkIds, linkSelected;
+        private double[] candidateKeys, linkKeys;
+
+        private SearchContext(int rows, int columns, int maxConnections0, int efConstruction) {
+            query = new double[columns];
+            candidate = new double[columns];
+            base = new double[columns];
+            row = new double[columns];
+            visited = new int[rows];
+            neighbours = new int[maxConnections0];
+            entries = new int[Math.max(efConstruction, 1)];
+            candidateIds = new int[Math.max(efConstruction, 1)];
+            candidateKeys = new double[Math.max(efConstruction, 1)];
+            selected = new int[maxConnections0];
+            rejected = new int[Math.max(efConstruction, maxConnections0 + 1)];
+            linkIds = new int[maxConnections0 + 1];
+            linkKeys = new double[maxConnections0 + 1];
+            linkSelected = new int[maxConnections0];
+        }
+
+        private int nextVisit() {
+            if (++visit == Integer.MAX_VALUE) {
+                Arrays.fill(visited, 0);
+                visit = 1;
+            }
+            return visit;
+        }
+
+        //empty the results in to the arrays, nearest first
+        private int drainResults(int[] ids, double[] keys) {
+            int count = results.size();
+            if (ids.length < count) {
+                candidateIds = ids = new int[count];
+                candidateKeys = keys = new double[count];
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                keys[i] = results.peekKey();
+                ids[i] = results.poll();
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Inserts a range of rows, split in parallel
+     */
+    private class BuildAction extends RecursiveAction {
+        private int start, end;
+
+        private BuildAction(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > BUILD_BATCH) {
+                int mid = start + (end - start) / 2;
+                invokeAll(new BuildAction(start, mid), new BuildAction(mid, end));
+                return;
+            }
+            for (int row = start; row < end; row++)
+                if (levels.get(row) < 0)
+                    add(row);
+        }
+    }
+
+    /**
+     * Searches a range of queries, split in parallel
+     */
+    private class SearchAction extends RecursiveAction {
+        private INDArray queries, indices, values;
+        private int k, ef;
+        private int start, end;
+
+        private SearchAction(INDArray queries, int k, int ef, INDArray indices, INDArray values, int start, int end) {
+            this.queries = queries;
+            this.k = k;
+            this.ef = ef;
+            this.indices = indices;
+            this.values = values;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > SEARCH_BATCH) {
+                int mid = start + (end - start) / 2;
+                invokeAll(new SearchAction(queries, k, ef, indices, values, start, mid),
+                        new SearchAction(queries, k, ef, indices, values, mid, end));
+                return;
+            }
+            int[] found = new int[k];
+            double[] distances = new double[k];
+            SearchContext context = acquire();
+            try {
+                double[] vector = context.query;
+                for (int q = start; q < end; q++) {
+                    for (int i = 0; i < columns; i++)
+                        vector[i] = queries.getDouble(q, i);
+                    int count = search(context, vector, k, ef, found, distances);
+                    for (int j = 0; j < count; j++) {
+                        indices.putScalar(q, j, found[j]);
+                        values.putScalar(q, j, distances[j]);
+                    }
+                }
+            } finally {
+                contexts.offer(context);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.nd4j.linalg.knn;
+
+import java.util.Arrays;
+
+/**
+ * Binary heap of rows keyed by their distance, in primitive arrays.
+ * Equal keys are ordered by row, the lower first.
+ *
+ * @author Adam Gibson
+ */
+class NodeQueue {
+    private double[] keys = new double[16];
+    private int[] ids = new int[16];
+    private int size;
+    //whether the farthest row is on top rather than the nearest
+    private boolean farthestFirst;
+
+    NodeQueue(boolean farthestFirst) {
+        this.farthestFirst = farthestFirst;
+    }
+
+    /**
+     * Whether a row with the first key comes before (is nearer than) a row with the second
+     */
+    static boolean before(double key, int id, double otherKey, int otherId) {
+        int ret = Double.compare(key, otherKey);
+        return ret < 0 || (ret == 0 && id < otherId);
+    }
+
+    //whether the first entry belongs above the second
+    private boolean above(double key, int id, double otherKey, int otherId) {
+        return farthestFirst ? before(otherKey, otherId, key, id) : before(key, id, otherKey, otherId);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    double peekKey() {
+        return keys[0];
+    }
+
+    int peekId() {
+        return ids[0];
+    }
+
+    void push(double key, int id) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        int position = size++;
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!above(key, id, keys[parent], ids[parent]))
+                break;
+            keys[position] = keys[parent];
+            ids[position] = ids[parent];
+            position = parent;
+        }
+        keys[position] = key;
+        ids[position] = id;
+    }
+
+    /**
+     * Remove the top row
+     * @return the row
+     */
+    int poll() {
+        int ret = ids[0];
+        size--;
+        if (size == 0)
+            return ret;
+        double key = keys[size];
+        int id = ids[size];
+        int position = 0;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size)
+                break;
+            if (child + 1 < size && above(keys[child + 1], ids[child + 1], keys[child], ids[child]))
+                child++;
+            if (!above(keys[child], ids[child], key, id))
+                break;
+            keys[position] = keys[child];
+            ids[position] = ids[child];
+            position = child;
+        }
+        keys[position] = key;
+        ids[position] = id;
+        return ret;
+    }
+}
@@ -29,6 +29,7 @@ import org.nd4j.linalg.api.ops.impl.transforms.*;
 import org.nd4j.linalg.api.ops.impl.transforms.comparison.Eps;
 import org.nd4j.linalg.api.ops.impl.transforms.comparison.GreaterThanOrEqual;
 import org.nd4j.linalg.api.ops.impl.transforms.comparison.LessThanOrEqual;
+import org.nd4j.linalg.api.quantized.QuantizedMatrix;
 import org.nd4j.linalg.convolution.Convolution;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.indexing.INDArrayIndex;
@@ -595,6 +596,62 @@ public class Transforms {
         return exec(dup ? new Negative(ndArray, ndArray.dup()) : new Negative(ndArray));
     }
 
+    /**
+     * Quantize a matrix to 8 bit integers:
+     * the range [min, max] (widened to include 0, so 0 is represented exactly)
+     * is mapped linearly on to [-128, 127]
+     *
+     * @param matrix the matrix to quantize
+     * @param perRow whether to give every row its own scale and zero point
+     *               (more accurate for weights with rows of different magnitude)
+     * @return the quantized matrix
+     */
+    public static QuantizedMatrix quantize(INDArray matrix, boolean perRow) {
+        if (!matrix.isMatrix() && !matrix.isVector())
+            throw new IllegalArgumentException("Only matrices can be quantized");
+        int rows = matrix.rows();
+        int columns = matrix.columns();
+        int groups = perRow && rows > 1 ? rows : 1;
+        double[] scales = new double[groups];
+        int[] zeroPoints = new int[groups];
+        byte[] data = new byte[rows * columns];
+        for (int g = 0; g < groups; g++) {
+            int start = perRow ? g : 0;
+            int end = groups > 1 ? g + 1 : rows;
+            double min = 0, max = 0;
+            for (int i = start; i < end; i++)
+                for (int j = 0; j < columns; j++) {
+                    double value = matrix.getDouble(i, j);
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            double scale = max > min ? (max - min) / 255.0 : 1.0;
+            int zeroPoint = (int) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, Math.round(Byte.MIN_VALUE - min / scale)));
+            scales[g] = scale;
+            zeroPoints[g] = zeroPoint;
+            for (int i = start; i < end; i++)
+                for (int j = 0; j < columns; j++) {
+                    long q = Math.round(matrix.getDouble(i, j) / scale) + zeroPoint;
+                    data[i * columns + j] = (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, q));
+                }
+        }
+        return new QuantizedMatrix(data, rows, columns, scales, zeroPoints);
+    }
+
+    /**
+     * The real values a quantized matrix stands for
+     *
+     * @param matrix the quantized matrix
+     * @return the dequantized matrix
+     */
+    public static INDArray dequantize(QuantizedMatrix matrix) {
+        INDArray ret = Nd4j.create(matrix.rows(), matrix.columns());
+        for (int i = 0; i < matrix.rows(); i++)
+            for (int j = 0; j < matrix.columns(); j++)
+                ret.putScalar(i, j, matrix.getDouble(i, j));
+        return ret;
+    }
+
     /**
      * Apply the given elementwise op
      *
@@ -1,44 +1,15 @@
 package org.nd4j.linalg.jcublas.blas;
 
 import org.nd4j.linalg.api.blas.impl.BaseLapack;
-import org.nd4j.linalg.api.ndarray.INDArray;
 
 /**
- * JCublas lapack
+ * JCublas lapack.
+ * There are no cusolver bindings yet:
+ * every routine is the java implementation of {@link BaseLapack}.
  *
  * @author Adam Gibson
  */
 public class JcublasLapack extends BaseLapack {
 
 
-    /**
-     * LU decomposiiton of a matrix
-     *
-     * @param M
-     * @param N
-     * @param A
-     * @param lda
-     * @param IPIV
-     * @param INFO
-     */
-    @Override
-    public void getrf(int M, int N, INDArray A, int lda, int[] IPIV, int INFO) {
-
-    }
-
-    /**
-     * Generate inverse ggiven LU decomp
-     *
-     * @param N
-     * @param A
-     * @param lda
-     * @param IPIV
-     * @param WORK
-     * @param lwork
-     * @param INFO
-     */
-    @Override
-    public void getri(int N, INDArray A, int lda, int[] IPIV, INDArray WORK, int lwork, int INFO) {
-
-    }
 }
@@ -0,0 +1,35 @@
+/*
+ *
+ *  * Copyright 2015 Skymind,Inc.
+ *  *
+ *  *    Licensed under the Apache License, Version 2.0 (the "License");
+ *  *    you may not use this file except in compliance with the License.
+ *  *    You may obtain a copy of the License at
+ *  *
+ *  *        http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *    Unless required by applicable law or agreed to in writing, software
+ *  *    distributed under the License is distributed on an "AS IS" BASIS,
+ *  *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *    See the License for the specific language governing permissions and
+ *  *    limitations under the License.
+ *
+ *
+ */
+
+package org.nd4j.linalg.cpu.javacpu;
+
+
+import org.nd4j.linalg.factory.BaseBlasWrapper;
+
+
+/**
+ * Copy of SimpleBlas to handle offsets implementing
+ * an interface for library neutral
+ * jblas operations
+ *
+ * @author Adam Gibson
+ */
+public class BlasWrapper extends BaseBlasWrapper {
+
+}
@@ -0,0 +1,76 @@
+/*
+ *
+ *  * Copyright 2015 Skymind,Inc.
+ *  *
+ *  *    Licensed under the Apache License, Version 2.0 (the "License");
+ *  *    you may not use this file except in compliance with the License.
+ *  *    You may obtain a copy of the License at
+ *  *
+ *  *        http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *    Unless required by applicable law or agreed to in writing, software
+ *  *    distributed under the License is distributed on an "AS IS" BASIS,
+ *  *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *    See the License for the specific language governing permissions and
+ *  *    limitations under the License.
+ *
+ *
+ */
+
+package org.nd4j.linalg.cpu.javacpu;
+
+import org.nd4j.linalg.cpu.javacpu.complex.ComplexNDArray;
+import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.io.ClassPathResource;
+import org.nd4j.linalg.io.Resource;
+
+/**
+ * Pure java cpu backend.
+ *
+ * Does not need libnd4j: ops, blas and tensor along dimension
+ * information are all computed in java. Registered with a lower priority
+ * than the native backend, so it is only picked when no other backend
+ * is on the class path.
+ *
+ * @author Adam Gibson
+ */
+public class JavaBackend extends Nd4jBackend {
+
+
+    private final static String LINALG_PROPS = "/nd4j-java.properties";
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public boolean canRun() {
+        return true;
+    }
+
+    @Override
+    public boolean allowsOrder() {
+        return false;
+    }
+
+    @Override
+    public int getPriority() {
+        return BACKEND_PRIORITY_JAVA;
+    }
+
+    @Override
+    public Resource getConfigurationResource() {
+        return new ClassPathResource(LINALG_PROPS, JavaBackend.class.getClassLoader());
+    }
+
+    @Override
+    public Class getNDArrayClass() {
+        return NDArray.class;
+    }
+
+    @Override
+    public Class getComplexNDArrayClass() {
+        return ComplexNDArray.class;
+    }
+}
@@ -0,0 +1,566 @@
+/*
+ *
+ *  * Copyright 2015 Skymind,Inc.
+ *  *
+ *  *    Licensed under the Apache License, Version 2.0 (the "License");
+ *  *    you may not use this file except in compliance with the License.
+ *  *    You may obtain a copy of the License at
+ *  *
+ *  *        http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *    Unless required by applicable law or agreed to in writing, software
+ *  *    distributed under the License is distributed on an "AS IS" BASIS,
+ *  *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *    See the License for the specific language governing permissions and
+ *  *    limitations under the License.
+ *
+ *
+ */
+
+package org.nd4j.linalg.cpu.javacpu;
+
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexDouble;
+import org.nd4j.linalg.api.complex.IComplexFloat;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.complex.IComplexNumber;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.api.shape.loop.strided.StridedKernels;
+import org.nd4j.linalg.api.iter.NdIndexIterator;
+import org.nd4j.linalg.cpu.javacpu.blas.JavaLapack;
+import org.nd4j.linalg.cpu.javacpu.blas.JavaLevel1;
+import org.nd4j.linalg.cpu.javacpu.blas.JavaLevel2;
+import org.nd4j.linalg.cpu.javacpu.blas.JavaLevel3;
+import org.nd4j.linalg.factory.BaseNDArrayFactory;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.cpu.javacpu.complex.ComplexDouble;
+import org.nd4j.linalg.cpu.javacpu.complex.ComplexFloat;
+import org.nd4j.linalg.cpu.javacpu.complex.ComplexNDArray;
+import org.nd4j.linalg.util.ArrayUtil;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * NDArray factory for the pure java backend.
+ * Same as the native cpu factory, with flattening
+ * and concatenation done in java.
+ *
+ * @author Adam Gibson
+ */
+public class JavaNDArrayFactory extends BaseNDArrayFactory {
+
+    public JavaNDArrayFactory() {
+    }
+    static {
+        //invoke the override
+        Nd4j.getBlasWrapper();
+    }
+
+
+    public JavaNDArrayFactory(DataBuffer.Type dtype, Character order) {
+        super(dtype, order);
+    }
+
+    public JavaNDArrayFactory(DataBuffer.Type dtype, char order) {
+        super(dtype, order);
+    }
+
+    @Override
+    public void createLevel1() {
+        level1 = new JavaLevel1();
+    }
+
+    @Override
+    public void createLevel2() {
+        level2 = new JavaLevel2();
+    }
+
+    @Override
+    public void createLevel3() {
+        level3 = new JavaLevel3();
+    }
+
+    @Override
+    public void createLapack() {
+        lapack = new JavaLapack();
+    }
+
+    @Override
+    public INDArray create(int[] shape, DataBuffer buffer) {
+        return new NDArray(shape, buffer);
+    }
+
+    /**
+     * Create float
+     *
+     * @param real real component
+     * @param imag imag component
+     * @return
+     */
+    @Override
+    public IComplexFloat createFloat(float real, float imag) {
+        return new ComplexFloat(real, imag);
+    }
+
+    /**
+     * Create an instance of a complex double
+     *
+     * @param real the real component
+     * @param imag the imaginary component
+     * @return a new imaginary double with the specified real and imaginary components
+     */
+    @Override
+    public IComplexDouble createDouble(double real, double imag) {
+        return new ComplexDouble(real, imag);
+    }
+
+    /**
+     * Create an ndarray with the given data layout
+     *
+     * @param data the data to create the ndarray with
+     * @return the ndarray with the given data layout
+     */
+    @Override
+    public INDArray create(double[][] data) {
+        return new NDArray(data);
+    }
+
+    @Override
+    public INDArray create(double[][] data, char ordering) {
+        return new NDArray(data,ordering);
+    }
+
+    /**
+     * Create a complex ndarray from the passed in indarray
+     *
+     * @param arr the arr to wrap
+     * @return the complex ndarray with the specified ndarray as the
+     * real components
+     */
+    @Override
+    public IComplexNDArray createComplex(INDArray arr) {
+        return new ComplexNDArray(arr);
+    }
+
+    /**
+     * Create a complex ndarray from the passed in indarray
+     *
+     * @param data  the data to wrap
+     * @param shape
+     * @return the complex ndarray with the specified ndarray as the
+     * real components
+     */
+    @Override
+    public IComplexNDArray createComplex(IComplexNumber[] data, int[] shape) {
+        return new ComplexNDArray(data, shape);
+    }
+
+    /**
+     * Create a complex ndarray from the passed in indarray
+     *
+     * @param arrs  the arr to wrap
+     * @param shape
+     * @return the complex ndarray with the specified ndarray as the
+     * real components
+     */
+    @Override
+    public IComplexNDArray createComplex(List<IComplexNDArray> arrs, int[] shape) {
+        return new ComplexNDArray(arrs, shape);
+    }
+
+    @Override
+    public INDArray create(DataBuffer data) {
+        return new NDArray(data);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(DataBuffer data) {
+        return new ComplexNDArray(data);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(DataBuffer data, int rows, int columns, int[] stride, int offset) {
+        return new ComplexNDArray(data, new int[]{rows, columns}, stride, offset);
+    }
+
+    @Override
+    public INDArray create(DataBuffer data, int rows, int columns, int[] stride, int offset) {
+        return new NDArray(data, new int[]{rows, columns}, stride, offset);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(DataBuffer data, int[] shape, int[] stride, int offset) {
+        return new ComplexNDArray(data, shape, stride, offset);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(IComplexNumber[] data, int[] shape, int[] stride, int offset) {
+        return createComplex(data, shape, stride, offset, order());
+    }
+
+    @Override
+    public IComplexNDArray createComplex(IComplexNumber[] data, int[] shape, int[] stride, int offset, char ordering) {
+        return new ComplexNDArray(data, shape, stride, offset, ordering);
+
+    }
+
+    @Override
+    public IComplexNDArray createComplex(IComplexNumber[] data, int[] shape, int[] stride, char ordering) {
+        return new ComplexNDArray(data, shape, stride, 0, ordering);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(IComplexNumber[] data, int[] shape, int offset, char ordering) {
+        return createComplex(data, shape, Nd4j.getComplexStrides(shape), offset, ordering);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(IComplexNumber[] data, int[] shape, char ordering) {
+        return createComplex(data, shape, Nd4j.getComplexStrides(shape), 0, ordering);
+    }
+
+    /**
+     * Creates a complex ndarray with the specified shape
+     *
+     * @param data   the data to use with the ndarray
+     * @param shape  the shape of the ndarray
+     * @param stride the stride for the ndarray
+     * @param offset the offset of the ndarray
+     * @return the instance
+     */
+    @Override
+    public IComplexNDArray createComplex(float[] data, int[] shape, int[] stride, int offset) {
+        return new ComplexNDArray(data, shape, stride, offset);
+    }
+
+    @Override
+    public INDArray create(int[] shape, char ordering) {
+        return new NDArray(shape, Nd4j.getStrides(shape, ordering), 0, ordering);
+    }
+
+    @Override
+    public INDArray createUninitialized(int[] shape, char ordering){
+        return new NDArray(shape, Nd4j.getStrides(shape, ordering), 0, ordering, false);
+    }
+
+    @Override
+    public INDArray create(DataBuffer data, int[] newShape, int[] newStride, int offset, char ordering) {
+        return new NDArray(data, newShape, newStride, offset, ordering);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(DataBuffer data, int[] newDims, int[] newStrides, int offset, char ordering) {
+        return new ComplexNDArray(data, newDims, newStrides, offset, ordering);
+
+    }
+
+
+    @Override
+    public IComplexNDArray createComplex(float[] data, Character order) {
+        return new ComplexNDArray(data, order);
+    }
+
+    @Override
+    public INDArray create(float[] data, int[] shape, int offset, Character order) {
+        return new NDArray(data, shape, offset, order);
+    }
+
+    @Override
+    public INDArray create(float[] data, int rows, int columns, int[] stride, int offset, char ordering) {
+        return new NDArray(data, new int[]{rows, columns}, stride, offset, ordering);
+    }
+
+    @Override
+    public INDArray create(double[] data, int[] shape, char ordering) {
+        return new NDArray(Nd4j.createBuffer(data), shape, ordering);
+    }
+
+    @Override
+    public INDArray create(List<INDArray> list, int[] shape, char ordering) {
+        return new NDArray(list, shape, ordering);
+    }
+
+    @Override
+    public INDArray create(double[] data, int[] shape, int offset) {
+        return new NDArray(Nd4j.createBuffer(data), shape, offset);
+    }
+
+    @Override
+    public INDArray create(double[] data, int[] shape, int[] stride, int offset, char ordering) {
+        return new NDArray(Nd4j.createBuffer(data), shape, stride, offset, ordering);
+    }
+
+
+    /**
+     * Creates an ndarray with the specified shape
+     *
+     * @param data
+     * @param shape  the shape of the ndarray
+     * @param stride the stride for the ndarray
+     * @param offset the offset of the ndarray
+     * @return the instance
+     */
+    @Override
+    public INDArray create(float[] data, int[] shape, int[] stride, int offset) {
+        return new NDArray(data, shape, stride, offset);
+    }
+
+    /**
+     * Creates a complex ndarray with the specified shape
+     *
+     * @param data
+     * @param shape  the shape of the ndarray
+     * @param stride the stride for the ndarray
+     * @param offset the offset of the ndarray
+     * @return the instance
+     */
+    @Override
+    public IComplexNDArray createComplex(double[] data, int[] shape, int[] stride, int offset) {
+        return new ComplexNDArray(Nd4j.createBuffer(data), shape, stride, offset);
+    }
+
+
+    /**
+     * Creates an ndarray with the specified shape
+     *
+     * @param data
+     * @param shape  the shape of the ndarray
+     * @param stride the stride for the ndarray
+     * @param offset the offset of the ndarray
+     * @return the instance
+     */
+    @Override
+    public INDArray create(double[] data, int[] shape, int[] stride, int offset) {
+        return new NDArray(data, shape, stride, offset);
+    }
+
+    @Override
+    public INDArray create(DataBuffer data, int[] shape) {
+        return new NDArray(data, shape);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(DataBuffer data, int[] shape) {
+        return new ComplexNDArray(data, shape);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(DataBuffer data, int[] shape, int[] stride) {
+        return new ComplexNDArray(data, shape, stride);
+    }
+
+    @Override
+    public INDArray create(DataBuffer data, int[] shape, int[] stride, int offset) {
+        return new NDArray(data, shape, stride, offset, Nd4j.order());
+    }
+
+    /**
+     * Creates an ndarray with the specified shape
+     *
+     * @param list
+     * @param shape the shape of the ndarray
+     * @return the instance
+     */
+    @Override
+    public INDArray create(List<INDArray> list, int[] shape) {
+        return new NDArray(list, shape, Nd4j.getStrides(shape));
+
+    }
+
+
+    /**
+     * Create a complex ndarray with the given data
+     *
+     * @param data     the data to use with tne ndarray
+     * @param shape    the shape of the ndarray
+     * @param stride   the stride for the ndarray
+     * @param offset   the offset of the ndarray
+     * @param ordering the ordering for the ndarray
+     * @return the created complex ndarray
+     */
+    @Override
+    public IComplexNDArray createComplex(double[] data, int[] shape, int[] stride, int offset, char ordering) {
+        return new ComplexNDArray(ArrayUtil.floatCopyOf(data), shape, stride, offset, ordering);
+    }
+
+    /**
+     * @param data
+     * @param shape
+     * @param offset
+     * @param ordering
+     * @return
+     */
+    @Override
+    public IComplexNDArray createComplex(double[] data, int[] shape, int offset, char ordering) {
+        return new ComplexNDArray(ArrayUtil.floatCopyOf(data), shape, offset, ordering);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(DataBuffer buffer, int[] shape, int offset, char ordering) {
+        return new ComplexNDArray(buffer, shape, Nd4j.getComplexStrides(shape), offset, ordering);
+    }
+
+    /**
+     * @param data
+     * @param shape
+     * @param offset
+     * @return
+     */
+    @Override
+    public IComplexNDArray createComplex(double[] data, int[] shape, int offset) {
+        return new ComplexNDArray(ArrayUtil.floatCopyOf(data), shape, offset);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(DataBuffer buffer, int[] shape, int offset) {
+        return new ComplexNDArray(buffer, shape, Nd4j.getComplexStrides(shape), offset, Nd4j.order());
+    }
+
+    /**
+     * Create a complex ndarray with the given data
+     *
+     * @param data     the data to use with tne ndarray
+     * @param shape    the shape of the ndarray
+     * @param stride   the stride for the ndarray
+     * @param offset   the offset of the ndarray
+     * @param ordering the ordering for the ndarray
+     * @return the created complex ndarray
+     */
+    @Override
+    public IComplexNDArray createComplex(float[] data, int[] shape, int[] stride, int offset, char ordering) {
+        return new ComplexNDArray(data, shape, stride, offset, ordering);
+    }
+
+    @Override
+    public INDArray create(float[][] floats) {
+        return new NDArray(floats);
+    }
+
+    @Override
+    public INDArray create(float[][] data, char ordering) {
+        return new NDArray(data,ordering);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(float[] dim) {
+        return new ComplexNDArray(dim);
+    }
+
+    @Override
+    public INDArray create(float[] data, int[] shape, int[] stride, int offset, char ordering) {
+        return new NDArray(data, shape, stride, offset, ordering);
+    }
+
+    @Override
+    public INDArray create(DataBuffer buffer, int[] shape, int offset) {
+        return new NDArray(buffer, shape, Nd4j.getStrides(shape), offset);
+    }
+
+    /**
+     * @param data
+     * @param shape
+     * @param offset
+     * @param ordering
+     * @return
+     */
+    @Override
+    public IComplexNDArray createComplex(float[] data, int[] shape, int offset, char ordering) {
+        return new ComplexNDArray(data, shape, Nd4j.getComplexStrides(shape, ordering), offset, ordering);
+
+    }
+
+    /**
+     * @param data
+     * @param shape
+     * @param offset
+     * @return
+     */
+    @Override
+    public IComplexNDArray createComplex(float[] data, int[] shape, int offset) {
+        return new ComplexNDArray(data, shape, offset);
+    }
+
+    @Override
+    public INDArray create(float[] data, int[] shape, int offset) {
+        return new NDArray(data, shape, offset);
+    }
+
+    @Override
+    public INDArray toFlattened(char order, Collection<INDArray> matrices) {
+        int length = 0;
+        for (INDArray m : matrices)
+            length += m.length();
+        INDArray ret = Nd4j.create(new int[]{1,length},order);
+        int linearIndex = 0;
+        for(INDArray m : matrices) {
+            if(m.ordering() == order && m.data().allocationMode() == DataBuffer.AllocationMode.HEAP
+                    && Shape.strideDescendingCAscendingF(m) && Shape.isContiguousInBuffer(m) ) {
+                //Can do array copy
+                int retFrom = linearIndex;
+                int mFrom = m.offset();
+                Object arr = m.data().array();
+                if(arr instanceof float[]) {
+                    float[] mData = (float[]) arr;
+                    float[] retData = (float[])ret.data().array();
+                    System.arraycopy(mData,mFrom,retData,retFrom,m.length());
+                }
+                else {
+                    double[] mData = (double[])arr;
+                    double[] retData = (double[])ret.data().array();
+                    System.arraycopy(mData,mFrom,retData,retFrom,m.length());
+                }
+                linearIndex += m.length();
+            } else {
+                //Works for all cases: copy in to a view of ret with the shape of m, laid out in the given order
+                INDArray target = Nd4j.create(ret.data(), m.shape(), Nd4j.getStrides(m.shape(), order), linearIndex);
+                StridedKernels.copy(m, target);
+                linearIndex += m.length();
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * concatenate ndarrays along a dimension
+     *
+     * @param dimension the dimension to concatenate along
+     * @param toConcat  the ndarrays to concatenate
+     * @return the concatenate ndarrays
+     */
+    @Override
+    public INDArray concat(int dimension, INDArray... toConcat) {
+        if (toConcat.length == 1)
+            return toConcat[0];
+
+        int sumAlongDim = 0;
+        int[] outputShape = ArrayUtil.copy(toConcat[0].shape());
+        for(int i = 0; i < toConcat.length; i++) {
+            sumAlongDim += toConcat[i].size(dimension);
+            for(int j = 0; j < toConcat[i].rank(); j++)
+                if(j != dimension) {
+                    if(toConcat[i].size(j) != outputShape[j]) {
+                        throw new IllegalArgumentException("Illegal concatneation at array " + i + " and shape element "  + j);
+                    }
+                }
+        }
+
+        outputShape[dimension] = sumAlongDim;
+
+        INDArray ret = Nd4j.createUninitialized(outputShape,Nd4j.order());
+        int offsetAlongDim = 0;
+        for(INDArray arr : toConcat) {
+            NdIndexIterator iter = new NdIndexIterator(arr.shape());
+            while(iter.hasNext()) {
+                int[] idx = iter.next();
+                double val = arr.getDouble(idx);
+                idx[dimension] += offsetAlongDim;
+                ret.putScalar(idx, val);
+            }
+            offsetAlongDim += arr.size(dimension);
+        }
+        return ret;
+    }
+}
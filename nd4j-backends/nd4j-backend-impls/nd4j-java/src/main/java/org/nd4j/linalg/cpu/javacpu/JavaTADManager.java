@@ -0,0 +1,104 @@
+package org.nd4j.linalg.cpu.javacpu;
+
+import org.apache.commons.math3.util.Pair;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.cache.TADManager;
+import org.nd4j.linalg.cache.TadDescriptor;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.util.ArrayUtil;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TAD manager computing tensor along dimension
+ * shape information and offsets in java.
+ *
+ * Offsets are computed from the shape and strides of the array
+ * (tensors are numbered in 'c' order over the dimensions that are kept)
+ * and are relative to the offset of the array itself.
+ * Elements of a tensor are visited in 'c' order over the given dimensions.
+ *
+ * @author Adam Gibson
+ */
+public class JavaTADManager implements TADManager {
+    private Map<TadDescriptor, Pair<DataBuffer, DataBuffer>> cache = new ConcurrentHashMap<>();
+
+    @Override
+    public Pair<DataBuffer, DataBuffer> getTADOnlyShapeInfo(INDArray array, int[] dimension) {
+        if (dimension == null || dimension[0] == Integer.MAX_VALUE)
+            return new Pair<>(array.shapeInfoDataBuffer(), null);
+
+        dimension = normalize(array.rank(), dimension);
+        TadDescriptor descriptor = new TadDescriptor(array, dimension);
+        Pair<DataBuffer, DataBuffer> pair = cache.get(descriptor);
+        if (pair == null) {
+            int[] shape = array.shape();
+            int[] stride = array.stride();
+            int[] tadShape = ArrayUtil.keep(shape, dimension);
+            int[] tadStride = ArrayUtil.keep(stride, dimension);
+            int[] keptShape = ArrayUtil.removeIndex(shape, dimension);
+            int[] keptStride = ArrayUtil.removeIndex(stride, dimension);
+
+            int[] offsets = new int[ArrayUtil.prod(keptShape)];
+            for (int i = 0; i < offsets.length; i++) {
+                int remaining = i;
+                int offset = 0;
+                for (int k = keptShape.length - 1; k >= 0; k--) {
+                    offset += (remaining % keptShape[k]) * keptStride[k];
+                    remaining /= keptShape[k];
+                }
+                offsets[i] = offset;
+            }
+
+            DataBuffer shapeInfo = Nd4j.getShapeInfoProvider().createShapeInformation(tadShape, tadStride, 0, elementWiseStride(tadShape, tadStride), 'c');
+            pair = new Pair<>(shapeInfo, Nd4j.createBuffer(offsets));
+            cache.put(descriptor, pair);
+        }
+
+        return pair;
+    }
+
+    /**
+     * The offsets (relative to the array's own offset)
+     * of every tensor along the given dimension
+     * @param array the array to get the offsets for
+     * @param dimension the dimension(s)
+     * @return the offset of every tensor
+     */
+    public int[] getTADOffsets(INDArray array, int... dimension) {
+        return getTADOnlyShapeInfo(array, dimension).getSecond().asInt();
+    }
+
+    private static int[] normalize(int rank, int[] dimension) {
+        int[] ret = new int[dimension.length];
+        for (int i = 0; i < dimension.length; i++)
+            ret[i] = dimension[i] < 0 ? dimension[i] + rank : dimension[i];
+        Arrays.sort(ret);
+        return ret;
+    }
+
+    /**
+     * The stride between consecutive elements of a tensor
+     * walked in 'c' order, or -1 if there is no single stride
+     */
+    private static int elementWiseStride(int[] shape, int[] stride) {
+        int ews = -1;
+        int expected = -1;
+        for (int i = shape.length - 1; i >= 0; i--) {
+            if (shape[i] == 1)
+                continue;
+            if (ews < 0) {
+                ews = stride[i];
+                expected = stride[i] * shape[i];
+            } else if (stride[i] == expected) {
+                expected *= shape[i];
+            } else {
+                return -1;
+            }
+        }
+        return ews < 0 ? 1 : ews;
+    }
+}
@@ -0,0 +1,12 @@
+package org.nd4j.linalg.cpu.javacpu.blas;
+
+import org.nd4j.linalg.api.blas.impl.BaseLapack;
+
+/**
+ * Lapack routines in plain java:
+ * every routine is the java implementation of {@link BaseLapack}.
+ *
+ * @author Adam Gibson
+ */
+public class JavaLapack extends BaseLapack {
+}
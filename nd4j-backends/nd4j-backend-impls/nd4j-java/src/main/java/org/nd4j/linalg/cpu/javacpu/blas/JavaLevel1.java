@@ -0,0 +1,374 @@
+package org.nd4j.linalg.cpu.javacpu.blas;
+
+
+import org.nd4j.linalg.api.blas.impl.BaseLevel1;
+import org.nd4j.linalg.api.blas.impl.JavaBlas;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexDouble;
+import org.nd4j.linalg.api.complex.IComplexFloat;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+
+/**
+ * Level 1 blas routines in plain java.
+ * Vector element i lives at data index i * inc,
+ * the buffer takes care of the array offset.
+ *
+ * @author Adam Gibson
+ */
+public class JavaLevel1 extends BaseLevel1 {
+
+    @Override
+    protected float sdsdot(int N, float alpha, INDArray X, int incX, INDArray Y, int incY) {
+        return (float) (alpha + dot(N, X.data(), 0, incX, Y.data(), 0, incY));
+    }
+
+    @Override
+    protected double dsdot(int N, INDArray X, int incX, INDArray Y, int incY) {
+        return JavaBlas.dot(N, X.data(), 0, incX, Y.data(), 0, incY);
+    }
+
+    @Override
+    protected float sdot(int N, INDArray X, int incX, INDArray Y, int incY) {
+        return (float) JavaBlas.dot(N, X.data(), 0, incX, Y.data(), 0, incY);
+    }
+
+    @Override
+    protected float sdot( int N, DataBuffer X, int offsetX, int incX, DataBuffer Y,  int offsetY, int incY){
+        return (float) JavaBlas.dot(N, X, offsetX, incX, Y, offsetY, incY);
+    }
+
+    @Override
+    protected double ddot(int N, INDArray X, int incX, INDArray Y, int incY) {
+        return JavaBlas.dot(N, X.data(), 0, incX, Y.data(), 0, incY);
+    }
+
+    @Override
+    protected double ddot( int N, DataBuffer X, int offsetX, int incX, DataBuffer Y,  int offsetY, int incY){
+        return JavaBlas.dot(N, X, offsetX, incX, Y, offsetY, incY);
+    }
+
+
+    @Override
+    protected void cdotu_sub(int N, IComplexNDArray X, int incX, IComplexNDArray Y, int incY, IComplexNDArray dotu) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void cdotc_sub(int N, IComplexNDArray X, int incX, IComplexNDArray Y, int incY, IComplexNDArray dotc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zdotu_sub(int N, IComplexNDArray X, int incX, IComplexNDArray Y, int incY, IComplexNDArray dotu) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zdotc_sub(int N, IComplexNDArray X, int incX, IComplexNDArray Y, int incY, IComplexNDArray dotc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected float snrm2(int N, INDArray X, int incX) {
+        return (float) javaNrm2(N, X.data(), 0, incX);
+    }
+
+    @Override
+    protected float sasum(int N, INDArray X, int incX) {
+        return (float) javaAsum(N, X.data(), 0, incX);
+    }
+
+    @Override
+    protected float sasum(int N, DataBuffer X, int offsetX, int incX) {
+        return (float) javaAsum(N, X, offsetX, incX);
+    }
+
+    @Override
+    protected double dnrm2(int N, INDArray X, int incX) {
+        return javaNrm2(N, X.data(), 0, incX);
+    }
+
+    @Override
+    protected double dasum(int N, INDArray X, int incX) {
+        return javaAsum(N, X.data(), 0, incX);
+    }
+
+    @Override
+    protected double dasum(int N, DataBuffer X, int offsetX, int incX) {
+        return javaAsum(N, X, offsetX, incX);
+    }
+
+    /**
+     * Scaled sum of squares (as reference blas does)
+     * to avoid overflow for large elements
+     */
+    private static double javaNrm2(int N, DataBuffer X, int offsetX, int incX) {
+        double scale = 0;
+        double ssq = 1;
+        for (int i = 0; i < N; i++) {
+            double abs = Math.abs(X.getDouble(offsetX + i * incX));
+            if (abs == 0)
+                continue;
+            if (scale < abs) {
+                ssq = 1 + ssq * (scale / abs) * (scale / abs);
+                scale = abs;
+            } else {
+                ssq += (abs / scale) * (abs / scale);
+            }
+        }
+        return scale * Math.sqrt(ssq);
+    }
+
+    private static double javaAsum(int N, DataBuffer X, int offsetX, int incX) {
+        double sum = 0;
+        for (int i = 0; i < N; i++)
+            sum += Math.abs(X.getDouble(offsetX + i * incX));
+        return sum;
+    }
+
+    @Override
+    protected float scnrm2(int N, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected float scasum(int N, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected double dznrm2(int N, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected double dzasum(int N, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected int isamax(int N, INDArray X, int incX) {
+        return javaIamax(N, X.data(), 0, incX);
+    }
+
+    @Override
+    protected int isamax(int N, DataBuffer X, int offsetX, int incX) {
+        return javaIamax(N, X, offsetX, incX);
+    }
+
+    @Override
+    protected int idamax(int N, INDArray X, int incX) {
+        return javaIamax(N, X.data(), 0, incX);
+    }
+
+    @Override
+    protected int idamax(int N, DataBuffer X, int offsetX, int incX) {
+        return javaIamax(N, X, offsetX, incX);
+    }
+
+    /**
+     * Index (0 based, as cblas) of the first element with the largest absolute value
+     */
+    private static int javaIamax(int N, DataBuffer X, int offsetX, int incX) {
+        int ret = 0;
+        double max = -1;
+        for (int i = 0; i < N; i++) {
+            double abs = Math.abs(X.getDouble(offsetX + i * incX));
+            if (abs > max) {
+                max = abs;
+                ret = i;
+            }
+        }
+        return ret;
+    }
+
+    @Override
+    protected int icamax(int N, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected int izamax(int N, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void sswap(int N, INDArray X, int incX, INDArray Y, int incY) {
+        javaSwap(N, X.data(), incX, Y.data(), incY);
+    }
+
+    @Override
+    protected void scopy(int N, INDArray X, int incX, INDArray Y, int incY) {
+        javaCopy(N, X.data(), 0, incX, Y.data(), 0, incY);
+    }
+
+    @Override
+    protected void scopy(int n, DataBuffer x, int offsetX, int incrX, DataBuffer y, int offsetY, int incrY ){
+        javaCopy(n, x, offsetX, incrX, y, offsetY, incrY);
+    }
+
+    @Override
+    protected void saxpy(int N, float alpha, INDArray X, int incX, INDArray Y, int incY) {
+        JavaBlas.axpy(N, alpha, X.data(), 0, incX, Y.data(), 0, incY);
+    }
+
+    @Override
+    protected void saxpy( int N, float alpha, DataBuffer x, int offsetX, int incrX, DataBuffer y, int offsetY, int incrY ){
+        JavaBlas.axpy(N, alpha, x, offsetX, incrX, y, offsetY, incrY);
+    }
+
+    @Override
+    protected void dswap(int N, INDArray X, int incX, INDArray Y, int incY) {
+        javaSwap(N, X.data(), incX, Y.data(), incY);
+    }
+
+    @Override
+    protected void dcopy(int N, INDArray X, int incX, INDArray Y, int incY) {
+        javaCopy(N, X.data(), 0, incX, Y.data(), 0, incY);
+    }
+
+    @Override
+    protected void dcopy(int n, DataBuffer x, int offsetX, int incrX, DataBuffer y, int offsetY, int incrY ){
+        javaCopy(n, x, offsetX, incrX, y, offsetY, incrY);
+    }
+
+    @Override
+    protected void daxpy(int N, double alpha, INDArray X, int incX, INDArray Y, int incY) {
+        JavaBlas.axpy(N, alpha, X.data(), 0, incX, Y.data(), 0, incY);
+    }
+
+    @Override
+    protected void daxpy( int N, double alpha, DataBuffer x, int offsetX, int incrX, DataBuffer y, int offsetY, int incrY ){
+        JavaBlas.axpy(N, alpha, x, offsetX, incrX, y, offsetY, incrY);
+    }
+
+    private static void javaSwap(int N, DataBuffer X, int incX, DataBuffer Y, int incY) {
+        for (int i = 0; i < N; i++) {
+            double tmp = X.getDouble(i * incX);
+            X.put(i * incX, Y.getDouble(i * incY));
+            Y.put(i * incY, tmp);
+        }
+    }
+
+    private static void javaCopy(int N, DataBuffer X, int offsetX, int incX, DataBuffer Y, int offsetY, int incY) {
+        for (int i = 0; i < N; i++)
+            Y.put(offsetY + i * incY, X.getDouble(offsetX + i * incX));
+    }
+
+
+    @Override
+    protected void cswap(int N, IComplexNDArray X, int incX, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ccopy(int N, IComplexNDArray X, int incX, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void caxpy(int N, IComplexFloat alpha, IComplexNDArray X, int incX, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zswap(int N, IComplexNDArray X, int incX, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zcopy(int N, IComplexNDArray X, int incX, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zaxpy(int N, IComplexDouble alpha, IComplexNDArray X, int incX, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void srotg(float a, float b, float c, float s) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void srotmg(float d1, float d2, float b1, float b2, INDArray P) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void srot(int N, INDArray X, int incX, INDArray Y, int incY, float c, float s) {
+        javaRot(N, X.data(), incX, Y.data(), incY, c, s);
+    }
+
+    @Override
+    protected void srotm(int N, INDArray X, int incX, INDArray Y, int incY, INDArray P) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void drotg(double a, double b, double c, double s) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void drotmg(double d1, double d2, double b1, double b2, INDArray P) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void drot(int N, INDArray X, int incX, INDArray Y, int incY, double c, double s) {
+        javaRot(N, X.data(), incX, Y.data(), incY, c, s);
+    }
+
+    @Override
+    protected void drotm(int N, INDArray X, int incX, INDArray Y, int incY, INDArray P) {
+        throw new UnsupportedOperationException();
+    }
+
+    private static void javaRot(int N, DataBuffer X, int incX, DataBuffer Y, int incY, double c, double s) {
+        for (int i = 0; i < N; i++) {
+            double x = X.getDouble(i * incX);
+            double y = Y.getDouble(i * incY);
+            X.put(i * incX, c * x + s * y);
+            Y.put(i * incY, c * y - s * x);
+        }
+    }
+
+    @Override
+    protected void sscal(int N, float alpha, INDArray X, int incX) {
+        javaScal(N, alpha, X.data(), incX);
+    }
+
+    @Override
+    protected void dscal(int N, double alpha, INDArray X, int incX) {
+        javaScal(N, alpha, X.data(), incX);
+    }
+
+    private static void javaScal(int N, double alpha, DataBuffer X, int incX) {
+        for (int i = 0; i < N; i++)
+            X.put(i * incX, alpha * X.getDouble(i * incX));
+    }
+
+    @Override
+    protected void cscal(int N, IComplexFloat alpha, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zscal(int N, IComplexDouble alpha, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void csscal(int N, float alpha, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zdscal(int N, double alpha, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+}
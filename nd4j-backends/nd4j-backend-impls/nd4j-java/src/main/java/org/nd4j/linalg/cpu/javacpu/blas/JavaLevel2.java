@@ -0,0 +1,563 @@
+package org.nd4j.linalg.cpu.javacpu.blas;
+
+import org.nd4j.linalg.api.blas.impl.BaseLevel2;
+import org.nd4j.linalg.api.blas.impl.JavaBlas;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexDouble;
+import org.nd4j.linalg.api.complex.IComplexFloat;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+/**
+ * Level 2 blas routines in plain java.
+ * Matrices are column major ('f') with the given leading dimension,
+ * as they are for the native backend. Band and packed matrices
+ * use the blas storage schemes, see {@link #band} and {@link #packed}.
+ * Complex routines are not supported.
+ *
+ * @author Adam Gibson
+ */
+public class JavaLevel2 extends BaseLevel2 {
+    @Override
+    protected void sgemv(char order, char TransA, int M, int N, float alpha, INDArray A, int lda, INDArray X, int incX, float beta, INDArray Y, int incY) {
+        gemv(TransA, M, N, alpha, A.data(), lda, X.data(), incX, beta, Y.data(), incY);
+    }
+
+    @Override
+    protected void sgbmv(char order, char TransA, int M, int N, int KL, int KU, float alpha, INDArray A, int lda, INDArray X, int incX, float beta, INDArray Y, int incY) {
+        gbmv(TransA, M, N, KL, KU, alpha, A.data(), lda, X.data(), incX, beta, Y.data(), incY);
+    }
+
+    @Override
+    protected void strmv(char order, char Uplo, char TransA, char Diag, int N, INDArray A, int lda, INDArray X, int incX) {
+        trmv(Uplo, TransA, Diag, N, A.data(), full(lda), X.data(), incX);
+    }
+
+    @Override
+    protected void stbmv(char order, char Uplo, char TransA, char Diag, int N, int K, INDArray A, int lda, INDArray X, int incX) {
+        trmv(Uplo, TransA, Diag, N, A.data(), triangularBand(Uplo, K, lda), X.data(), incX);
+    }
+
+    @Override
+    protected void stpmv(char order, char Uplo, char TransA, char Diag, int N, INDArray Ap, INDArray X, int incX) {
+        trmv(Uplo, TransA, Diag, N, Ap.data(), packed(Uplo, N), X.data(), incX);
+    }
+
+    @Override
+    protected void strsv(char order, char Uplo, char TransA, char Diag, int N, INDArray A, int lda, INDArray X, int incX) {
+        trsv(Uplo, TransA, Diag, N, A.data(), full(lda), X.data(), incX);
+    }
+
+    @Override
+    protected void stbsv(char order, char Uplo, char TransA, char Diag, int N, int K, INDArray A, int lda, INDArray X, int incX) {
+        trsv(Uplo, TransA, Diag, N, A.data(), triangularBand(Uplo, K, lda), X.data(), incX);
+    }
+
+    @Override
+    protected void stpsv(char order, char Uplo, char TransA, char Diag, int N, INDArray Ap, INDArray X, int incX) {
+        trsv(Uplo, TransA, Diag, N, Ap.data(), packed(Uplo, N), X.data(), incX);
+    }
+
+    @Override
+    protected void dgemv(char order, char TransA, int M, int N, double alpha, INDArray A, int lda, INDArray X, int incX, double beta, INDArray Y, int incY) {
+        gemv(TransA, M, N, alpha, A.data(), lda, X.data(), incX, beta, Y.data(), incY);
+    }
+
+    @Override
+    protected void dgbmv(char order, char TransA, int M, int N, int KL, int KU, double alpha, INDArray A, int lda, INDArray X, int incX, double beta, INDArray Y, int incY) {
+        gbmv(TransA, M, N, KL, KU, alpha, A.data(), lda, X.data(), incX, beta, Y.data(), incY);
+    }
+
+    @Override
+    protected void dtrmv(char order, char Uplo, char TransA, char Diag, int N, INDArray A, int lda, INDArray X, int incX) {
+        trmv(Uplo, TransA, Diag, N, A.data(), full(lda), X.data(), incX);
+    }
+
+    @Override
+    protected void dtbmv(char order, char Uplo, char TransA, char Diag, int N, int K, INDArray A, int lda, INDArray X, int incX) {
+        trmv(Uplo, TransA, Diag, N, A.data(), triangularBand(Uplo, K, lda), X.data(), incX);
+    }
+
+    @Override
+    protected void dtpmv(char order, char Uplo, char TransA, char Diag, int N, INDArray Ap, INDArray X, int incX) {
+        trmv(Uplo, TransA, Diag, N, Ap.data(), packed(Uplo, N), X.data(), incX);
+    }
+
+    @Override
+    protected void dtrsv(char order, char Uplo, char TransA, char Diag, int N, INDArray A, int lda, INDArray X, int incX) {
+        trsv(Uplo, TransA, Diag, N, A.data(), full(lda), X.data(), incX);
+    }
+
+    @Override
+    protected void dtbsv(char order, char Uplo, char TransA, char Diag, int N, int K, INDArray A, int lda, INDArray X, int incX) {
+        trsv(Uplo, TransA, Diag, N, A.data(), triangularBand(Uplo, K, lda), X.data(), incX);
+    }
+
+    @Override
+    protected void dtpsv(char order, char Uplo, char TransA, char Diag, int N, INDArray Ap, INDArray X, int incX) {
+        trsv(Uplo, TransA, Diag, N, Ap.data(), packed(Uplo, N), X.data(), incX);
+    }
+
+    @Override
+    protected void cgemv(char order, char TransA, int M, int N, IComplexFloat alpha, IComplexNDArray A, int lda, IComplexNDArray X, int incX, IComplexFloat beta, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void cgbmv(char order, char TransA, int M, int N, int KL, int KU, IComplexFloat alpha, IComplexNDArray A, int lda, IComplexNDArray X, int incX, IComplexFloat beta, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ctrmv(char order, char Uplo, char TransA, char Diag, int N, IComplexNDArray A, int lda, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ctbmv(char order, char Uplo, char TransA, char Diag, int N, int K, IComplexNDArray A, int lda, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ctpmv(char order, char Uplo, char TransA, char Diag, int N, IComplexNDArray Ap, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ctrsv(char order, char Uplo, char TransA, char Diag, int N, IComplexNDArray A, int lda, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ctbsv(char order, char Uplo, char TransA, char Diag, int N, int K, IComplexNDArray A, int lda, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ctpsv(char order, char Uplo, char TransA, char Diag, int N, IComplexNDArray Ap, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zgemv(char order, char TransA, int M, int N, IComplexDouble alpha, IComplexNDArray A, int lda, IComplexNDArray X, int incX, IComplexDouble beta, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zgbmv(char order, char TransA, int M, int N, int KL, int KU, IComplexDouble alpha, IComplexNDArray A, int lda, IComplexNDArray X, int incX, IComplexDouble beta, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ztrmv(char order, char Uplo, char TransA, char Diag, int N, IComplexNDArray A, int lda, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ztbmv(char order, char Uplo, char TransA, char Diag, int N, int K, IComplexNDArray A, int lda, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ztpmv(char order, char Uplo, char TransA, char Diag, int N, IComplexNDArray Ap, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ztrsv(char order, char Uplo, char TransA, char Diag, int N, IComplexNDArray A, int lda, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ztbsv(char order, char Uplo, char TransA, char Diag, int N, int K, IComplexNDArray A, int lda, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ztpsv(char order, char Uplo, char TransA, char Diag, int N, IComplexNDArray Ap, IComplexNDArray X, int incX) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ssymv(char order, char Uplo, int N, float alpha, INDArray A, int lda, INDArray X, int incX, float beta, INDArray Y, int incY) {
+        symv(Uplo, N, alpha, A.data(), full(lda), X.data(), incX, beta, Y.data(), incY);
+    }
+
+    @Override
+    protected void ssbmv(char order, char Uplo, int N, int K, float alpha, INDArray A, int lda, INDArray X, int incX, float beta, INDArray Y, int incY) {
+        symv(Uplo, N, alpha, A.data(), triangularBand(Uplo, K, lda), X.data(), incX, beta, Y.data(), incY);
+    }
+
+    @Override
+    protected void sspmv(char order, char Uplo, int N, float alpha, INDArray Ap, INDArray X, int incX, float beta, INDArray Y, int incY) {
+        symv(Uplo, N, alpha, Ap.data(), packed(Uplo, N), X.data(), incX, beta, Y.data(), incY);
+    }
+
+    @Override
+    protected void sger(char order, int M, int N, float alpha, INDArray X, int incX, INDArray Y, int incY, INDArray A, int lda) {
+        ger(M, N, alpha, X.data(), incX, Y.data(), incY, A.data(), lda);
+    }
+
+    @Override
+    protected void ssyr(char order, char Uplo, int N, float alpha, INDArray X, int incX, INDArray A, int lda) {
+        syr2(Uplo, N, alpha, X.data(), incX, null, 0, A.data(), full(lda));
+    }
+
+    @Override
+    protected void sspr(char order, char Uplo, int N, float alpha, INDArray X, int incX, INDArray Ap) {
+        syr2(Uplo, N, alpha, X.data(), incX, null, 0, Ap.data(), packed(Uplo, N));
+    }
+
+    @Override
+    protected void ssyr2(char order, char Uplo, int N, float alpha, INDArray X, int incX, INDArray Y, int incY, INDArray A, int lda) {
+        syr2(Uplo, N, alpha, X.data(), incX, Y.data(), incY, A.data(), full(lda));
+    }
+
+    @Override
+    protected void sspr2(char order, char Uplo, int N, float alpha, INDArray X, int incX, INDArray Y, int incY, INDArray A) {
+        syr2(Uplo, N, alpha, X.data(), incX, Y.data(), incY, A.data(), packed(Uplo, N));
+    }
+
+    @Override
+    protected void dsymv(char order, char Uplo, int N, double alpha, INDArray A, int lda, INDArray X, int incX, double beta, INDArray Y, int incY) {
+        symv(Uplo, N, alpha, A.data(), full(lda), X.data(), incX, beta, Y.data(), incY);
+    }
+
+    @Override
+    protected void dsbmv(char order, char Uplo, int N, int K, double alpha, INDArray A, int lda, INDArray X, int incX, double beta, INDArray Y, int incY) {
+        symv(Uplo, N, alpha, A.data(), triangularBand(Uplo, K, lda), X.data(), incX, beta, Y.data(), incY);
+    }
+
+    @Override
+    protected void dspmv(char order, char Uplo, int N, double alpha, INDArray Ap, INDArray X, int incX, double beta, INDArray Y, int incY) {
+        symv(Uplo, N, alpha, Ap.data(), packed(Uplo, N), X.data(), incX, beta, Y.data(), incY);
+    }
+
+    @Override
+    protected void dger(char order, int M, int N, double alpha, INDArray X, int incX, INDArray Y, int incY, INDArray A, int lda) {
+        ger(M, N, alpha, X.data(), incX, Y.data(), incY, A.data(), lda);
+    }
+
+    @Override
+    protected void dsyr(char order, char Uplo, int N, double alpha, INDArray X, int incX, INDArray A, int lda) {
+        syr2(Uplo, N, alpha, X.data(), incX, null, 0, A.data(), full(lda));
+    }
+
+    @Override
+    protected void dspr(char order, char Uplo, int N, double alpha, INDArray X, int incX, INDArray Ap) {
+        syr2(Uplo, N, alpha, X.data(), incX, null, 0, Ap.data(), packed(Uplo, N));
+    }
+
+    @Override
+    protected void dsyr2(char order, char Uplo, int N, double alpha, INDArray X, int incX, INDArray Y, int incY, INDArray A, int lda) {
+        syr2(Uplo, N, alpha, X.data(), incX, Y.data(), incY, A.data(), full(lda));
+    }
+
+    @Override
+    protected void dspr2(char order, char Uplo, int N, double alpha, INDArray X, int incX, INDArray Y, int incY, INDArray A) {
+        syr2(Uplo, N, alpha, X.data(), incX, Y.data(), incY, A.data(), packed(Uplo, N));
+    }
+
+    @Override
+    protected void chemv(char order, char Uplo, int N, IComplexFloat alpha, IComplexNDArray A, int lda, IComplexNDArray X, int incX, IComplexFloat beta, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void chbmv(char order, char Uplo, int N, int K, IComplexFloat alpha, IComplexNDArray A, int lda, IComplexNDArray X, int incX, IComplexFloat beta, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void chpmv(char order, char Uplo, int N, IComplexFloat alpha, IComplexNDArray Ap, IComplexNDArray X, int incX, IComplexFloat beta, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void cgeru(char order, int M, int N, IComplexFloat alpha, IComplexNDArray X, int incX, IComplexNDArray Y, int incY, IComplexNDArray A, int lda) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void cgerc(char order, int M, int N, IComplexFloat alpha, IComplexNDArray X, int incX, IComplexNDArray Y, int incY, IComplexNDArray A, int lda) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void cher(char order, char Uplo, int N, float alpha, IComplexNDArray X, int incX, IComplexNDArray A, int lda) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void chpr(char order, char Uplo, int N, INDArray alpha, IComplexNDArray X, int incX, IComplexNDArray A) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void cher2(char order, char Uplo, int N, IComplexFloat alpha, IComplexNDArray X, int incX, IComplexNDArray Y, int incY, IComplexNDArray A, int lda) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void chpr2(char order, char Uplo, int N, IComplexFloat alpha, IComplexNDArray X, int incX, IComplexNDArray Y, int incY, IComplexNDArray Ap) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zhemv(char order, char Uplo, int N, IComplexDouble alpha, IComplexNDArray A, int lda, IComplexNDArray X, int incX, IComplexDouble beta, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zhbmv(char order, char Uplo, int N, int K, IComplexDouble alpha, IComplexNDArray A, int lda, IComplexNDArray X, int incX, IComplexDouble beta, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zhpmv(char order, char Uplo, int N, IComplexDouble alpha, IComplexNDArray Ap, IComplexNDArray X, int incX, IComplexDouble beta, IComplexNDArray Y, int incY) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zgeru(char order, int M, int N, IComplexDouble alpha, IComplexNDArray X, int incX, IComplexNDArray Y, int incY, IComplexNDArray A, int lda) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zgerc(char order, int M, int N, IComplexDouble alpha, IComplexNDArray X, int incX, IComplexNDArray Y, int incY, IComplexNDArray A, int lda) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zher(char order, char Uplo, int N, double alpha, IComplexNDArray X, int incX, IComplexNDArray A, int lda) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zhpr(char order, char Uplo, int N, INDArray alpha, IComplexNDArray X, int incX, IComplexNDArray A) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zher2(char order, char Uplo, int N, IComplexDouble alpha, IComplexNDArray X, int incX, IComplexNDArray Y, int incY, IComplexNDArray A, int lda) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zhpr2(char order, char Uplo, int N, IComplexDouble alpha, IComplexNDArray X, int incX, IComplexNDArray Y, int incY, IComplexNDArray Ap) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * y := alpha * op(A) * x + beta * y for a column major A
+     */
+    private static void gemv(char transA, int M, int N, double alpha, DataBuffer A, int lda, DataBuffer X, int incX, double beta, DataBuffer Y, int incY) {
+        boolean trans = transA == 'T' || transA == 't' || transA == 'C' || transA == 'c';
+        if (trans)
+            JavaBlas.gemv(N, M, alpha, A, 0, lda, 1, X, 0, incX, beta, Y, 0, incY);
+        else
+            JavaBlas.gemv(M, N, alpha, A, 0, 1, lda, X, 0, incX, beta, Y, 0, incY);
+    }
+
+    /**
+     * y := alpha * op(A) * x + beta * y for an M x N band matrix A with KL sub and KU super diagonals
+     */
+    private static void gbmv(char transA, int M, int N, int KL, int KU, double alpha, DataBuffer A, int lda, DataBuffer X, int incX, double beta, DataBuffer Y, int incY) {
+        boolean trans = transA == 'T' || transA == 't' || transA == 'C' || transA == 'c';
+        Layout layout = band(KL, KU, lda);
+        int rows = trans ? N : M;
+        int columns = trans ? M : N;
+        for (int i = 0; i < rows; i++) {
+            double sum = 0;
+            for (int j = layout.first(i), end = layout.last(i, columns); j <= end; j++)
+                sum += (trans ? element(A, layout, j, i) : element(A, layout, i, j)) * X.getDouble(j * incX);
+            Y.put(i * incY, alpha * sum + (beta == 0 ? 0 : beta * Y.getDouble(i * incY)));
+        }
+    }
+
+    /**
+     * y := alpha * A * x + beta * y for a symmetric A of which only the given triangle is referenced
+     */
+    private static void symv(char uplo, int N, double alpha, DataBuffer A, Layout layout, DataBuffer X, int incX, double beta, DataBuffer Y, int incY) {
+        boolean upper = uplo == 'U' || uplo == 'u';
+        for (int i = 0; i < N; i++) {
+            double sum = 0;
+            for (int j = layout.first(i), end = layout.last(i, N); j <= end; j++) {
+                boolean stored = upper ? i <= j : i >= j;
+                double aij = stored ? element(A, layout, i, j) : element(A, layout, j, i);
+                sum += aij * X.getDouble(j * incX);
+            }
+            Y.put(i * incY, alpha * sum + (beta == 0 ? 0 : beta * Y.getDouble(i * incY)));
+        }
+    }
+
+    /**
+     * A := alpha * x * y' + A
+     */
+    private static void ger(int M, int N, double alpha, DataBuffer X, int incX, DataBuffer Y, int incY, DataBuffer A, int lda) {
+        for (int j = 0; j < N; j++) {
+            double yj = alpha * Y.getDouble(j * incY);
+            int col = j * lda;
+            for (int i = 0; i < M; i++)
+                A.put(col + i, A.getDouble(col + i) + yj * X.getDouble(i * incX));
+        }
+    }
+
+    /**
+     * A := alpha * (x * y' + y * x') + A on the given triangle,
+     * or A := alpha * x * x' + A when y is null
+     */
+    private static void syr2(char uplo, int N, double alpha, DataBuffer X, int incX, DataBuffer Y, int incY, DataBuffer A, Layout layout) {
+        boolean upper = uplo == 'U' || uplo == 'u';
+        for (int j = 0; j < N; j++) {
+            int start = upper ? 0 : j;
+            int end = upper ? j + 1 : N;
+            double xj = X.getDouble(j * incX);
+            double yj = Y == null ? 0 : Y.getDouble(j * incY);
+            for (int i = start; i < end; i++) {
+                double xi = X.getDouble(i * incX);
+                double update = Y == null ? xi * xj : xi * yj + Y.getDouble(i * incY) * xj;
+                int idx = layout.index(i, j);
+                A.put(idx, A.getDouble(idx) + alpha * update);
+            }
+        }
+    }
+
+    private static double triangular(DataBuffer A, Layout layout, boolean upper, boolean trans, boolean unit, int i, int j) {
+        if (trans) {
+            int tmp = i;
+            i = j;
+            j = tmp;
+        }
+        if (i == j)
+            return unit ? 1 : element(A, layout, i, j);
+        if (upper ? i > j : i < j)
+            return 0;
+        return element(A, layout, i, j);
+    }
+
+    /**
+     * x := op(A) * x for a triangular A
+     */
+    private static void trmv(char uplo, char transA, char diag, int N, DataBuffer A, Layout layout, DataBuffer X, int incX) {
+        boolean upper = uplo == 'U' || uplo == 'u';
+        boolean trans = transA == 'T' || transA == 't' || transA == 'C' || transA == 'c';
+        boolean unit = diag == 'U' || diag == 'u';
+        //op(A) is upper triangular: row i only depends on x[j >= i], so go top down (bottom up when lower)
+        boolean effectiveUpper = upper != trans;
+        for (int k = 0; k < N; k++) {
+            int i = effectiveUpper ? k : N - 1 - k;
+            double sum = 0;
+            for (int j = layout.first(i), end = layout.last(i, N); j <= end; j++)
+                sum += triangular(A, layout, upper, trans, unit, i, j) * X.getDouble(j * incX);
+            X.put(i * incX, sum);
+        }
+    }
+
+    /**
+     * Solves op(A) * x = b for a triangular A, b is overwritten by x
+     */
+    private static void trsv(char uplo, char transA, char diag, int N, DataBuffer A, Layout layout, DataBuffer X, int incX) {
+        boolean upper = uplo == 'U' || uplo == 'u';
+        boolean trans = transA == 'T' || transA == 't' || transA == 'C' || transA == 'c';
+        boolean unit = diag == 'U' || diag == 'u';
+        //back substitution for an upper op(A), forward substitution for a lower one
+        boolean effectiveUpper = upper != trans;
+        for (int k = 0; k < N; k++) {
+            int i = effectiveUpper ? N - 1 - k : k;
+            double sum = X.getDouble(i * incX);
+            for (int j = layout.first(i), end = layout.last(i, N); j <= end; j++)
+                if (j != i)
+                    sum -= triangular(A, layout, upper, trans, unit, i, j) * X.getDouble(j * incX);
+            X.put(i * incX, sum / triangular(A, layout, upper, trans, unit, i, i));
+        }
+    }
+
+    private static double element(DataBuffer A, Layout layout, int i, int j) {
+        int idx = layout.index(i, j);
+        return idx < 0 ? 0 : A.getDouble(idx);
+    }
+
+    /**
+     * Where element (i, j) of a matrix is kept in its buffer
+     */
+    private static abstract class Layout {
+        /**
+         * Largest distance from the diagonal of a stored element
+         */
+        private final int bandwidth;
+
+        private Layout(int bandwidth) {
+            this.bandwidth = bandwidth;
+        }
+
+        /**
+         * The offset of element (i, j), -1 for an element that isn't stored (a zero)
+         */
+        abstract int index(int i, int j);
+
+        /**
+         * First column of row i that can be stored
+         */
+        int first(int i) {
+            return Math.max(0, i - bandwidth);
+        }
+
+        /**
+         * Last column of row i that can be stored, in a matrix of the given number of columns
+         */
+        int last(int i, int columns) {
+            return (int) Math.min(columns - 1, (long) i + bandwidth);
+        }
+    }
+
+    /**
+     * A column major matrix with the given leading dimension
+     */
+    private static Layout full(final int lda) {
+        return new Layout(Integer.MAX_VALUE) {
+            @Override
+            int index(int i, int j) {
+                return i + j * lda;
+            }
+        };
+    }
+
+    /**
+     * Band storage of a matrix with kl sub and ku super diagonals:
+     * column j of A holds column j of the matrix, its diagonal at row ku
+     */
+    private static Layout band(final int kl, final int ku, final int lda) {
+        return new Layout(Math.max(kl, ku)) {
+            @Override
+            int index(int i, int j) {
+                if (i - j > kl || j - i > ku)
+                    return -1;
+                return ku + i - j + j * lda;
+            }
+        };
+    }
+
+    /**
+     * Band storage of the given triangle of a matrix with k diagonals next to the main one
+     */
+    private static Layout triangularBand(char uplo, int k, int lda) {
+        boolean upper = uplo == 'U' || uplo == 'u';
+        return upper ? band(0, k, lda) : band(k, 0, lda);
+    }
+
+    /**
+     * The given triangle of an n x n matrix packed column by column
+     */
+    private static Layout packed(char uplo, final int n) {
+        final boolean upper = uplo == 'U' || uplo == 'u';
+        return new Layout(Integer.MAX_VALUE) {
+            @Override
+            int index(int i, int j) {
+                if (upper)
+                    return i > j ? -1 : i + j * (j + 1) / 2;
+                return i < j ? -1 : i + j * (2 * n - j - 1) / 2;
+            }
+        };
+    }
+}
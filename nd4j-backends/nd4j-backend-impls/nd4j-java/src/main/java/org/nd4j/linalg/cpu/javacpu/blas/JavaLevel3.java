@@ -0,0 +1,326 @@
+package org.nd4j.linalg.cpu.javacpu.blas;
+
+import org.nd4j.linalg.api.blas.impl.BaseLevel3;
+import org.nd4j.linalg.api.blas.impl.JavaGemm;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexDouble;
+import org.nd4j.linalg.api.complex.IComplexFloat;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+/**
+ * Level 3 blas routines in plain java.
+ * Matrices are column major ('f') with the given leading dimension,
+ * as they are for the native backend.
+ * gemm is the blocked, parallel {@link JavaGemm},
+ * complex routines are not supported.
+ *
+ * @author Adam Gibson
+ */
+public class JavaLevel3 extends BaseLevel3 {
+    @Override
+    protected void sgemm(char Order, char TransA, char TransB, int M, int N, int K, float alpha, INDArray A, int lda, INDArray B, int ldb, float beta, INDArray C, int ldc) {
+        gemm(TransA, TransB, M, N, K, alpha, A.data(), lda, B.data(), ldb, beta, C.data(), ldc);
+    }
+
+    @Override
+    protected void ssymm(char Order, char Side, char Uplo, int M, int N, float alpha, INDArray A, int lda, INDArray B, int ldb, float beta, INDArray C, int ldc) {
+        symm(Side, Uplo, M, N, alpha, A.data(), lda, B.data(), ldb, beta, C.data(), ldc);
+    }
+
+    @Override
+    protected void ssyrk(char Order, char Uplo, char Trans, int N, int K, float alpha, INDArray A, int lda, float beta, INDArray C, int ldc) {
+        syr2k(Uplo, Trans, N, K, alpha, A.data(), lda, null, 0, beta, C.data(), ldc);
+    }
+
+    @Override
+    protected void ssyr2k(char Order, char Uplo, char Trans, int N, int K, float alpha, INDArray A, int lda, INDArray B, int ldb, float beta, INDArray C, int ldc) {
+        syr2k(Uplo, Trans, N, K, alpha, A.data(), lda, B.data(), ldb, beta, C.data(), ldc);
+    }
+
+    @Override
+    protected void strmm(char Order, char Side, char Uplo, char TransA, char Diag, int M, int N, float alpha, INDArray A, int lda, INDArray B, int ldb) {
+        triangular(false, Side, Uplo, TransA, Diag, M, N, alpha, A.data(), lda, B.data(), ldb);
+    }
+
+    @Override
+    protected void strsm(char Order, char Side, char Uplo, char TransA, char Diag, int M, int N, float alpha, INDArray A, int lda, INDArray B, int ldb) {
+        triangular(true, Side, Uplo, TransA, Diag, M, N, alpha, A.data(), lda, B.data(), ldb);
+    }
+
+    @Override
+    protected void dgemm(char Order, char TransA, char TransB, int M, int N, int K, double alpha, INDArray A, int lda, INDArray B, int ldb, double beta, INDArray C, int ldc) {
+        gemm(TransA, TransB, M, N, K, alpha, A.data(), lda, B.data(), ldb, beta, C.data(), ldc);
+    }
+
+    @Override
+    protected void dsymm(char Order, char Side, char Uplo, int M, int N, double alpha, INDArray A, int lda, INDArray B, int ldb, double beta, INDArray C, int ldc) {
+        symm(Side, Uplo, M, N, alpha, A.data(), lda, B.data(), ldb, beta, C.data(), ldc);
+    }
+
+    @Override
+    protected void dsyrk(char Order, char Uplo, char Trans, int N, int K, double alpha, INDArray A, int lda, double beta, INDArray C, int ldc) {
+        syr2k(Uplo, Trans, N, K, alpha, A.data(), lda, null, 0, beta, C.data(), ldc);
+    }
+
+    @Override
+    protected void dsyr2k(char Order, char Uplo, char Trans, int N, int K, double alpha, INDArray A, int lda, INDArray B, int ldb, double beta, INDArray C, int ldc) {
+        syr2k(Uplo, Trans, N, K, alpha, A.data(), lda, B.data(), ldb, beta, C.data(), ldc);
+    }
+
+    @Override
+    protected void dtrmm(char Order, char Side, char Uplo, char TransA, char Diag, int M, int N, double alpha, INDArray A, int lda, INDArray B, int ldb) {
+        triangular(false, Side, Uplo, TransA, Diag, M, N, alpha, A.data(), lda, B.data(), ldb);
+    }
+
+    @Override
+    protected void dtrsm(char Order, char Side, char Uplo, char TransA, char Diag, int M, int N, double alpha, INDArray A, int lda, INDArray B, int ldb) {
+        triangular(true, Side, Uplo, TransA, Diag, M, N, alpha, A.data(), lda, B.data(), ldb);
+    }
+
+    @Override
+    protected void cgemm(char Order, char TransA, char TransB, int M, int N, int K, IComplexFloat alpha, IComplexNDArray A, int lda, IComplexNDArray B, int ldb, IComplexFloat beta, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void csymm(char Order, char Side, char Uplo, int M, int N, IComplexFloat alpha, IComplexNDArray A, int lda, IComplexNDArray B, int ldb, IComplexFloat beta, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void csyrk(char Order, char Uplo, char Trans, int N, int K, IComplexFloat alpha, IComplexNDArray A, int lda, IComplexFloat beta, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void csyr2k(char Order, char Uplo, char Trans, int N, int K, IComplexFloat alpha, IComplexNDArray A, int lda, IComplexNDArray B, int ldb, IComplexFloat beta, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ctrmm(char Order, char Side, char Uplo, char TransA, char Diag, int M, int N, IComplexFloat alpha, IComplexNDArray A, int lda, IComplexNDArray B, int ldb, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ctrsm(char Order, char Side, char Uplo, char TransA, char Diag, int M, int N, IComplexFloat alpha, IComplexNDArray A, int lda, IComplexNDArray B, int ldb) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zgemm(char Order, char TransA, char TransB, int M, int N, int K, IComplexDouble alpha, IComplexNDArray A, int lda, IComplexNDArray B, int ldb, IComplexDouble beta, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zsymm(char Order, char Side, char Uplo, int M, int N, IComplexDouble alpha, IComplexNDArray A, int lda, IComplexNDArray B, int ldb, IComplexDouble beta, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zsyrk(char Order, char Uplo, char Trans, int N, int K, IComplexDouble alpha, IComplexNDArray A, int lda, IComplexDouble beta, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zsyr2k(char Order, char Uplo, char Trans, int N, int K, IComplexDouble alpha, IComplexNDArray A, int lda, IComplexNDArray B, int ldb, IComplexDouble beta, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ztrmm(char Order, char Side, char Uplo, char TransA, char Diag, int M, int N, IComplexDouble alpha, IComplexNDArray A, int lda, IComplexNDArray B, int ldb, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void ztrsm(char Order, char Side, char Uplo, char TransA, char Diag, int M, int N, IComplexDouble alpha, IComplexNDArray A, int lda, IComplexNDArray B, int ldb) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void chemm(char Order, char Side, char Uplo, int M, int N, IComplexFloat alpha, IComplexNDArray A, int lda, IComplexNDArray B, int ldb, IComplexFloat beta, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void cherk(char Order, char Uplo, char Trans, int N, int K, IComplexFloat alpha, IComplexNDArray A, int lda, IComplexFloat beta, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void cher2k(char Order, char Uplo, char Trans, int N, int K, IComplexFloat alpha, IComplexNDArray A, int lda, IComplexNDArray B, int ldb, IComplexFloat beta, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zhemm(char Order, char Side, char Uplo, int M, int N, IComplexDouble alpha, IComplexNDArray A, int lda, IComplexNDArray B, int ldb, IComplexDouble beta, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zherk(char Order, char Uplo, char Trans, int N, int K, IComplexDouble alpha, IComplexNDArray A, int lda, IComplexDouble beta, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void zher2k(char Order, char Uplo, char Trans, int N, int K, IComplexDouble alpha, IComplexNDArray A, int lda, IComplexNDArray B, int ldb, IComplexDouble beta, IComplexNDArray C, int ldc) {
+        throw new UnsupportedOperationException();
+    }
+
+    private static boolean isTrans(char trans) {
+        return trans == 'T' || trans == 't' || trans == 'C' || trans == 'c';
+    }
+
+    /**
+     * Copy op(A) in to a dense column major array with a leading dimension of rows
+     */
+    private static double[] pack(DataBuffer A, int lda, boolean trans, int rows, int cols) {
+        double[] ret = new double[rows * cols];
+        for (int j = 0; j < cols; j++)
+            for (int i = 0; i < rows; i++)
+                ret[i + j * rows] = trans ? A.getDouble(j + i * lda) : A.getDouble(i + j * lda);
+        return ret;
+    }
+
+    /**
+     * C := alpha * op(A) * op(B) + beta * C on column major matrices, see {@link JavaGemm}
+     */
+    private static void gemm(char transA, char transB, int M, int N, int K, double alpha, DataBuffer A, int lda, DataBuffer B, int ldb, double beta, DataBuffer C, int ldc) {
+        boolean tA = isTrans(transA);
+        boolean tB = isTrans(transB);
+        JavaGemm.gemm(M, N, K, alpha,
+                A, 0, tA ? lda : 1, tA ? 1 : lda,
+                B, 0, tB ? ldb : 1, tB ? 1 : ldb,
+                beta, C, 0, 1, ldc);
+    }
+
+    /**
+     * Dense copy of a symmetric matrix of which only the given triangle is referenced
+     */
+    private static double[] symmetric(DataBuffer A, int lda, boolean upper, int n) {
+        double[] ret = new double[n * n];
+        for (int j = 0; j < n; j++)
+            for (int i = 0; i < n; i++) {
+                boolean stored = upper ? i <= j : i >= j;
+                ret[i + j * n] = stored ? A.getDouble(i + j * lda) : A.getDouble(j + i * lda);
+            }
+        return ret;
+    }
+
+    /**
+     * C := alpha * A * B + beta * C (side 'L') or C := alpha * B * A + beta * C (side 'R')
+     * for a symmetric A
+     */
+    private static void symm(char side, char uplo, int M, int N, double alpha, DataBuffer A, int lda, DataBuffer B, int ldb, double beta, DataBuffer C, int ldc) {
+        boolean left = side == 'L' || side == 'l';
+        int n = left ? M : N;
+        double[] a = symmetric(A, lda, uplo == 'U' || uplo == 'u', n);
+        for (int j = 0; j < N; j++)
+            for (int i = 0; i < M; i++) {
+                double sum = 0;
+                if (left)
+                    for (int p = 0; p < M; p++)
+                        sum += a[i + p * n] * B.getDouble(p + j * ldb);
+                else
+                    for (int p = 0; p < N; p++)
+                        sum += B.getDouble(i + p * ldb) * a[p + j * n];
+                int idx = i + j * ldc;
+                C.put(idx, alpha * sum + (beta == 0 ? 0 : beta * C.getDouble(idx)));
+            }
+    }
+
+    /**
+     * C := alpha * (op(A) * op(B)' + op(B) * op(A)') + beta * C on the given triangle of C,
+     * or the rank k update C := alpha * op(A) * op(A)' + beta * C when B is null.
+     * op(X) is X for trans 'N' (n x k) and X' otherwise
+     */
+    private static void syr2k(char uplo, char trans, int N, int K, double alpha, DataBuffer A, int lda, DataBuffer B, int ldb, double beta, DataBuffer C, int ldc) {
+        boolean upper = uplo == 'U' || uplo == 'u';
+        boolean t = isTrans(trans);
+        double[] a = pack(A, lda, t, N, K);
+        double[] b = B == null ? a : pack(B, ldb, t, N, K);
+        for (int j = 0; j < N; j++) {
+            int start = upper ? 0 : j;
+            int end = upper ? j + 1 : N;
+            for (int i = start; i < end; i++) {
+                double sum = 0;
+                for (int p = 0; p < K; p++) {
+                    sum += a[i + p * N] * b[j + p * N];
+                    if (B != null)
+                        sum += b[i + p * N] * a[j + p * N];
+                }
+                int idx = i + j * ldc;
+                C.put(idx, alpha * sum + (beta == 0 ? 0 : beta * C.getDouble(idx)));
+            }
+        }
+    }
+
+    /**
+     * trmm (B := alpha * op(A) * B or B := alpha * B * op(A))
+     * or trsm (solve op(A) * X = alpha * B or X * op(A) = alpha * B, B is overwritten by X)
+     * for a triangular A
+     */
+    private static void triangular(boolean solve, char side, char uplo, char transA, char diag, int M, int N, double alpha, DataBuffer A, int lda, DataBuffer B, int ldb) {
+        boolean left = side == 'L' || side == 'l';
+        boolean upper = uplo == 'U' || uplo == 'u';
+        boolean trans = isTrans(transA);
+        boolean unit = diag == 'U' || diag == 'u';
+        int n = left ? M : N;
+
+        //dense op(A) with the unreferenced triangle zeroed
+        double[] t = new double[n * n];
+        for (int j = 0; j < n; j++)
+            for (int i = 0; i < n; i++) {
+                int r = trans ? j : i;
+                int c = trans ? i : j;
+                double val;
+                if (r == c)
+                    val = unit ? 1 : A.getDouble(r + c * lda);
+                else
+                    val = (upper ? r < c : r > c) ? A.getDouble(r + c * lda) : 0;
+                t[i + j * n] = val;
+            }
+        boolean opUpper = upper != trans;
+
+        //right side: work on rows of B, which means applying op(A)' to every row
+        int vectors = left ? N : M;
+        double[] v = new double[n];
+        double[] out = new double[n];
+        for (int k = 0; k < vectors; k++) {
+            for (int i = 0; i < n; i++)
+                v[i] = alpha * (left ? B.getDouble(i + k * ldb) : B.getDouble(k + i * ldb));
+
+            boolean matUpper = left ? opUpper : !opUpper;
+            if (solve) {
+                for (int s = 0; s < n; s++) {
+                    int i = matUpper ? n - 1 - s : s;
+                    double sum = v[i];
+                    int from = matUpper ? i + 1 : 0;
+                    int to = matUpper ? n : i;
+                    for (int j = from; j < to; j++)
+                        sum -= element(t, n, left, i, j) * out[j];
+                    out[i] = sum / element(t, n, left, i, i);
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    double sum = 0;
+                    for (int j = 0; j < n; j++)
+                        sum += element(t, n, left, i, j) * v[j];
+                    out[i] = sum;
+                }
+            }
+
+            for (int i = 0; i < n; i++) {
+                if (left)
+                    B.put(i + k * ldb, out[i]);
+                else
+                    B.put(k + i * ldb, out[i]);
+            }
+        }
+    }
+
+    private static double element(double[] t, int n, boolean left, int i, int j) {
+        return left ? t[i + j * n] : t[j + i * n];
+    }
+}
@@ -0,0 +1,358 @@
+package org.nd4j.linalg.cpu.javacpu.ops;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.Accumulation;
+import org.nd4j.linalg.api.ops.BroadcastOp;
+import org.nd4j.linalg.api.ops.IndexAccumulation;
+import org.nd4j.linalg.api.ops.Op;
+import org.nd4j.linalg.api.ops.ScalarOp;
+import org.nd4j.linalg.api.ops.TransformOp;
+import org.nd4j.linalg.api.ops.executioner.DefaultOpExecutioner;
+import org.nd4j.linalg.api.ops.executioner.tasks.TransformAction;
+import org.nd4j.linalg.api.ops.impl.accum.Variance;
+import org.nd4j.linalg.api.ops.impl.transforms.IsMax;
+import org.nd4j.linalg.api.ops.impl.transforms.convolution.Col2Im;
+import org.nd4j.linalg.api.ops.impl.transforms.convolution.Im2col;
+import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.cpu.javacpu.JavaTADManager;
+import org.nd4j.linalg.util.ArrayUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Op executioner for the pure java backend.
+ *
+ * Every op runs through the parallel java paths of {@link DefaultOpExecutioner},
+ * exec special ops (which native handles in libnd4j) are implemented here.
+ * Reductions along dimensions walk the buffer directly
+ * using the tensor offsets of the {@link JavaTADManager}
+ * rather than creating a view per tensor.
+ *
+ * @author Adam Gibson
+ */
+public class JavaOpExecutioner extends DefaultOpExecutioner {
+    private static Logger log = LoggerFactory.getLogger(JavaOpExecutioner.class);
+    private JavaTADManager tadManager = new JavaTADManager();
+
+    public JavaOpExecutioner() {
+        executionMode = ExecutionMode.JAVA;
+    }
+
+    @Override
+    public void setExecutionMode(ExecutionMode executionMode) {
+        if (executionMode != ExecutionMode.JAVA)
+            log.warn("Execution mode " + executionMode + " is not available on the java backend, ignoring");
+    }
+
+    /**
+     * The tad manager used for reductions along a dimension
+     * @return the tad manager of this executioner
+     */
+    public JavaTADManager getTADManager() {
+        return tadManager;
+    }
+
+    @Override
+    public Op exec(Op op) {
+        if (op instanceof TransformOp && op.isExecSpecial()) {
+            commit();
+            execSpecial((TransformOp) op);
+            return op;
+        }
+
+        if (op instanceof ScalarOp || op instanceof TransformOp) {
+            if (record(op))
+                return op;
+        } else if (op instanceof Accumulation || op instanceof IndexAccumulation) {
+            commit();
+        }
+
+        return super.exec(op);
+    }
+
+    @Override
+    public Op exec(Op op, int... dimension) {
+        if (op instanceof TransformOp && op.isExecSpecial() && !op.isPassThrough()) {
+            commit();
+            if (op instanceof IsMax) {
+                isMax(op, dimension);
+                return op;
+            }
+            op.exec(dimension);
+            return op;
+        }
+
+        commit();
+        return super.exec(op, dimension);
+    }
+
+    @Override
+    public INDArray exec(BroadcastOp broadcast, int... dimension) {
+        if (record(broadcast, dimension))
+            return broadcast.z();
+        return super.exec(broadcast, dimension);
+    }
+
+    @Override
+    public INDArray exec(Accumulation op, int... dimension) {
+        commit();
+        if (canReduceByOffsets(op, dimension)) {
+            INDArray ret = reductionResult(op, reductionShape(op.x().shape(), normalizeDimension(op.x().rank(), dimension)), op.zeroDouble());
+            reduceByOffsets(op, ret, dimension);
+            return ret;
+        }
+
+        return super.exec(op, dimension);
+    }
+
+    @Override
+    public INDArray exec(IndexAccumulation op, int... dimension) {
+        commit();
+        if (dimension.length == 1 && canReduceByOffsets(op, dimension)) {
+            INDArray ret = reductionResult(op, reductionShape(op.x().shape(), normalizeDimension(op.x().rank(), dimension)), 0.0);
+            reduceByOffsets(op, ret, dimension);
+            return ret;
+        }
+
+        return super.exec(op, dimension);
+    }
+
+    /**
+     * Whether the reduction is over a subset of the dimensions
+     * of a plain real array, in which case every tensor starts
+     * at one of the offsets of the tad manager
+     */
+    private boolean canReduceByOffsets(Op op, int... dimension) {
+        return dimension.length < op.x().rank() && dimension[0] != Integer.MAX_VALUE
+                && !op.isPassThrough() && op.y() == null
+                && !(op.x() instanceof IComplexNDArray) && !(op instanceof Variance);
+    }
+
+    private void reduceByOffsets(Op op, INDArray ret, int... dimension) {
+        INDArray x = op.x();
+        dimension = normalizeDimension(x.rank(), dimension);
+        int[] offsets = tadManager.getTADOffsets(x, dimension);
+        int[] tadShape = ArrayUtil.keep(x.shape(), dimension);
+        int[] tadStride = ArrayUtil.keep(x.stride(), dimension);
+
+        //offset of every element of a tensor relative to its start, in 'c' order
+        int[] elementOffsets = new int[ArrayUtil.prod(tadShape)];
+        for (int j = 0; j < elementOffsets.length; j++) {
+            int remaining = j;
+            for (int k = tadShape.length - 1; k >= 0; k--) {
+                elementOffsets[j] += (remaining % tadShape[k]) * tadStride[k];
+                remaining /= tadShape[k];
+            }
+        }
+
+        invoke(new TadReduceAction(op, ret, offsets, elementOffsets, 0, offsets.length));
+        op.setZ(ret);
+    }
+
+    private void execSpecial(TransformOp op) {
+        if (op.isPassThrough()) {
+            op.exec();
+        } else if (op instanceof IsMax) {
+            Object[] extraArgs = op.extraArgs();
+            if (extraArgs == null || extraArgs.length < 2) {
+                isMax(op);
+            } else {
+                int[] dimension = new int[((Number) extraArgs[0]).intValue()];
+                for (int i = 0; i < dimension.length; i++)
+                    dimension[i] = ((Number) extraArgs[i + 1]).intValue();
+                isMax(op, dimension);
+            }
+        } else if (op instanceof Im2col || op instanceof Col2Im) {
+            INDArray z = op.z();
+            int planes = z.size(0) * z.size(1);
+            invoke(new ImageAction(op, 0, planes));
+        } else {
+            op.exec();
+        }
+    }
+
+    /**
+     * z is 1 at the position of the maximum of x and 0 everywhere else
+     */
+    private void isMax(Op op) {
+        isMax(op.x(), op.z());
+    }
+
+    /**
+     * Sets z to 1 at the first maximum of x (in 'c' order) and 0 elsewhere
+     */
+    private static void isMax(INDArray x, INDArray z) {
+        int[] maxIndex = null;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < x.length(); i++) {
+            int[] index = Shape.ind2subC(x, i);
+            double val = x.getDouble(index);
+            if (maxIndex == null || val > max) {
+                max = val;
+                maxIndex = index;
+            }
+        }
+        z.assign(0);
+        z.putScalar(maxIndex, 1);
+    }
+
+    private void isMax(Op op, int... dimension) {
+        INDArray x = op.x();
+        INDArray z = op.z();
+        if (dimension.length == x.rank() || dimension[0] == Integer.MAX_VALUE) {
+            isMax(op);
+            return;
+        }
+
+        dimension = normalizeDimension(x.rank(), dimension);
+        int tads = x.tensorssAlongDimension(dimension);
+        for (int i = 0; i < tads; i++) {
+            INDArray xTad = x.tensorAlongDimension(i, dimension);
+            INDArray zTad = z.tensorAlongDimension(i, dimension);
+            isMax(xTad, zTad);
+        }
+    }
+
+    /**
+     * Reduces a range of tensors, each starting at the
+     * given offset from the start of the array
+     */
+    private class TadReduceAction extends RecursiveAction {
+        private Op op;
+        private INDArray result;
+        private int[] offsets;
+        private int[] elementOffsets;
+        private int length, start, end;
+
+        private TadReduceAction(Op op, INDArray result, int[] offsets, int[] elementOffsets, int start, int end) {
+            this.op = op;
+            this.result = result;
+            this.offsets = offsets;
+            this.elementOffsets = elementOffsets;
+            this.length = elementOffsets.length;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if ((long) (end - start) * length > TransformAction.THRESHOLD && end - start > 1) {
+                int mid = start + (end - start) / 2;
+                invokeAll(new TadReduceAction(op, result, offsets, elementOffsets, start, mid),
+                        new TadReduceAction(op, result, offsets, elementOffsets, mid, end));
+                return;
+            }
+
+            DataBuffer data = op.x().data();
+            for (int i = start; i < end; i++) {
+                int offset = offsets[i];
+                if (op instanceof IndexAccumulation) {
+                    IndexAccumulation acc = (IndexAccumulation) op;
+                    double accum = acc.zeroDouble();
+                    int idx = -1;
+                    for (int j = 0; j < length; j++) {
+                        double val = data.getDouble(offset + elementOffsets[j]);
+                        int next = acc.update(accum, idx, val, j);
+                        if (next != idx) {
+                            idx = next;
+                            accum = val;
+                        }
+                    }
+                    result.putScalar(i, idx);
+                } else {
+                    Accumulation acc = (Accumulation) op;
+                    double accum = acc.zeroDouble();
+                    for (int j = 0; j < length; j++)
+                        accum = acc.update(accum, acc.op(data.getDouble(offset + elementOffsets[j])));
+                    result.putScalar(i, acc.calculateFinalResult(accum, length));
+                }
+            }
+        }
+    }
+
+    /**
+     * im2col/col2im over a range of (example, channel) planes.
+     * The image is [n, c, h, w] and the columns are [n, c, kh, kw, oh, ow]
+     */
+    private static class ImageAction extends RecursiveAction {
+        private TransformOp op;
+        private int start, end;
+
+        private ImageAction(TransformOp op, int start, int end) {
+            this.op = op;
+            this.start = start;
+            this.end = end;
+        }
+
+        private static int arg(Object[] args, int i) {
+            return ((Number) args[i]).intValue();
+        }
+
+        @Override
+        protected void compute() {
+            boolean toCol = op instanceof Im2col;
+            INDArray col = toCol ? op.z() : op.x();
+            INDArray img = toCol ? op.x() : op.z();
+            int kh = col.size(2), kw = col.size(3), oh = col.size(4), ow = col.size(5);
+            int planeLength = kh * kw * oh * ow;
+            if ((long) (end - start) * planeLength > TransformAction.THRESHOLD && end - start > 1) {
+                int mid = start + (end - start) / 2;
+                invokeAll(new ImageAction(op, start, mid), new ImageAction(op, mid, end));
+                return;
+            }
+
+            Object[] args = op.extraArgs();
+            int sx, sy, pw, ph;
+            if (toCol) {
+                sx = arg(args, 2);
+                sy = arg(args, 3);
+                pw = arg(args, 4);
+                ph = arg(args, 5);
+            } else {
+                sx = arg(args, 0);
+                sy = arg(args, 1);
+                pw = arg(args, 2);
+                ph = arg(args, 3);
+            }
+
+            int h = img.size(2), w = img.size(3);
+            int channels = img.size(1);
+            int[] imgStride = img.stride();
+            int[] colStride = col.stride();
+            DataBuffer imgData = img.data();
+            DataBuffer colData = col.data();
+
+            for (int plane = start; plane < end; plane++) {
+                int n = plane / channels;
+                int c = plane % channels;
+                int imgOffset = n * imgStride[0] + c * imgStride[1];
+                int colOffset = n * colStride[0] + c * colStride[1];
+                if (!toCol)
+                    for (int y = 0; y < h; y++)
+                        for (int x = 0; x < w; x++)
+                            imgData.put(imgOffset + y * imgStride[2] + x * imgStride[3], 0.0);
+
+                for (int ky = 0; ky < kh; ky++)
+                    for (int kx = 0; kx < kw; kx++)
+                        for (int oy = 0; oy < oh; oy++) {
+                            int y = oy * sy - ph + ky;
+                            for (int ox = 0; ox < ow; ox++) {
+                                int x = ox * sx - pw + kx;
+                                int colIdx = colOffset + ky * colStride[2] + kx * colStride[3] + oy * colStride[4] + ox * colStride[5];
+                                boolean inside = y >= 0 && y < h && x >= 0 && x < w;
+                                int imgIdx = imgOffset + y * imgStride[2] + x * imgStride[3];
+                                if (toCol)
+                                    colData.put(colIdx, inside ? imgData.getDouble(imgIdx) : 0.0);
+                                else if (inside)
+                                    imgData.put(imgIdx, imgData.getDouble(imgIdx) + colData.getDouble(colIdx));
+                            }
+                        }
+            }
+        }
+    }
+}
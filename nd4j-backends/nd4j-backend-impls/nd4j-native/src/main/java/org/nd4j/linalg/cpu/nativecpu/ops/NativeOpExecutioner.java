@@ -66,6 +66,9 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
 
     @Override
     public INDArray exec(IndexAccumulation op, int... dimension) {
+        commit();
+        if(executionMode() == ExecutionMode.JAVA)
+            return super.exec(op, dimension);
         Arrays.sort(dimension);
         for(int i = 0; i < dimension.length; i++) {
             if(dimension[i] < 0)
@@ -92,7 +95,7 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
             retShape = new int[]{1, 1};
         }
 
-        INDArray ret = Nd4j.valueArrayOf(retShape,op.zeroDouble());
+        INDArray ret = reductionResult(op, retShape, op.zeroDouble());
         op.setZ(ret);
         //do op along all dimensions
         if (dimension.length == op.x().rank())
@@ -147,6 +150,9 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
 
     @Override
     public INDArray exec(Accumulation op, int... dimension) {
+        commit();
+        if(executionMode() == ExecutionMode.JAVA)
+            return super.exec(op, dimension);
         Arrays.sort(dimension);
 
         for(int i = 0; i < dimension.length; i++) {
@@ -172,7 +178,7 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
         if(op.x().isVector() && op.x().length() == ArrayUtil.prod(retShape))
             return op.noOp();
 
-        INDArray ret = Nd4j.valueArrayOf(retShape,op.zeroDouble());
+        INDArray ret = reductionResult(op, retShape, op.zeroDouble());
         op.setZ(ret);
 
 
@@ -340,6 +346,8 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
     }
 
     private void exec(ScalarOp op) {
+        if(record(op))
+            return;
         if(op.x() instanceof IComplexNDArray || executionMode() == ExecutionMode.JAVA) {
             super.exec(op);
         }
@@ -404,6 +412,12 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
     }
 
     private void exec(TransformOp op) {
+            if(record(op))
+                return;
+            if(executionMode() == ExecutionMode.JAVA && !op.isExecSpecial()) {
+                super.exec(op);
+                return;
+            }
             PointerPointer dummy = new PointerPointer(new Pointer[] {null});
             if(op.x().data().dataType() == DataBuffer.Type.DOUBLE) {
                 if(op.y() != null) {
@@ -515,6 +529,10 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
 
     @Override
     public INDArray exec(BroadcastOp op,int...dimension) {
+        if(record(op, dimension))
+            return op.z();
+        if(executionMode() == ExecutionMode.JAVA)
+            return super.exec(op, dimension);
         Arrays.sort(dimension);
 
         Pair<DataBuffer, DataBuffer> tadBuffers = tadManager.getTADOnlyShapeInfo(op.x(), dimension);
@@ -552,6 +570,7 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
     }
 
     private void exec(IndexAccumulation op) {
+        commit();
         if(op.x() instanceof IComplexNDArray || executionMode() == ExecutionMode.JAVA) {
             super.exec(op);
 
@@ -579,6 +598,7 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
     }
 
     private void exec(Accumulation op) {
+        commit();
         if(op.x() instanceof IComplexNDArray || executionMode() == ExecutionMode.JAVA) {
             super.exec(op);
 
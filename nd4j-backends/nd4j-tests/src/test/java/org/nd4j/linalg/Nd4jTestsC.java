@@ -131,7 +131,7 @@ public  class Nd4jTestsC extends BaseNd4jTest {
 
     @Test(expected = IllegalStateException.class)
     public void testShapeEqualsOnElementWise() {
-        Nd4j.ones(10000, 1).sub(Nd4j.ones(1, 2));
+        Nd4j.ones(10000, 3).sub(Nd4j.ones(1, 2));
     }
 
     @Test
@@ -1568,11 +1568,17 @@ public  class Nd4jTestsC extends BaseNd4jTest {
 
         assertTrue(mmul.equals(mmulCopy));
 
-        INDArray mmul2 = tad.mmul(first);
-        INDArray mmul2copy = copy.mmul(first);
+        INDArray second = Nd4j.rand(new int[]{5, 2});
+        INDArray mmul2 = tad.mmul(second);
+        INDArray mmul2copy = copy.mmul(second);
         assertTrue(mmul2.equals(mmul2copy));
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testMMulInnerDimensionMismatch() {
+        Nd4j.rand(new int[]{7, 5}).mmul(Nd4j.rand(new int[]{2, 7}));
+    }
+
     @Test
     public void testTADMMulLeadingOne(){
         Nd4j.getRandom().setSeed(12345);
@@ -1601,8 +1607,9 @@ public  class Nd4jTestsC extends BaseNd4jTest {
 
         assertTrue(mmul.equals(mmulCopy));
 
-        INDArray mmul2 = tad.mmul(first);
-        INDArray mmul2copy = copy.mmul(first);
+        INDArray second = Nd4j.rand(new int[]{5, 2});
+        INDArray mmul2 = tad.mmul(second);
+        INDArray mmul2copy = copy.mmul(second);
         assertTrue(mmul2.equals(mmul2copy));
     }
 
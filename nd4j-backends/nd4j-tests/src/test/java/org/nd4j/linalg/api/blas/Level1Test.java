@@ -6,6 +6,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.blas.impl.BlasThresholds;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
@@ -41,6 +42,27 @@ public class Level1Test extends BaseNd4jTest {
 
     }
 
+    @Test
+    public void testSmallVectorsInJava() {
+        INDArray x = Nd4j.linspace(1, 20, 20).reshape(4, 5).getColumn(2);
+        INDArray y = Nd4j.linspace(1, 8, 8).reshape(2, 4).getRow(1);
+        int threshold = BlasThresholds.getLevel1Threshold();
+        try {
+            BlasThresholds.setLevel1Threshold(0);
+            double blasDot = Nd4j.getBlasWrapper().level1().dot(4, 1.0, x, y);
+            INDArray blasAxpy = y.dup();
+            Nd4j.getBlasWrapper().level1().axpy(4, 2.0, x, blasAxpy);
+
+            BlasThresholds.setLevel1Threshold(Integer.MAX_VALUE);
+            assertEquals(blasDot, Nd4j.getBlasWrapper().level1().dot(4, 1.0, x, y), 1e-3);
+            INDArray javaAxpy = y.dup();
+            Nd4j.getBlasWrapper().level1().axpy(4, 2.0, x, javaAxpy);
+            assertEquals(blasAxpy, javaAxpy);
+        } finally {
+            BlasThresholds.setLevel1Threshold(threshold);
+        }
+    }
+
     @Override
     public char ordering() {
         return 'f';
@@ -5,9 +5,12 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.blas.impl.BlasThresholds;
+import org.nd4j.linalg.api.blas.impl.JavaBlas;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.indexing.NDArrayIndex;
 
 import static org.junit.Assert.assertEquals;
 
@@ -124,6 +127,168 @@ public class Level2Test extends BaseNd4jTest {
         assertEquals(3353200f, array3.getFloat(3), 0.001f);
     }
 
+    @Test
+    public void testSmallGemvInJava() {
+        INDArray a = Nd4j.linspace(1, 48, 48).reshape(6, 8).get(NDArrayIndex.interval(1, 5), NDArrayIndex.interval(2, 7));
+        INDArray x = Nd4j.linspace(1, 5, 5).reshape(5, 1);
+        int threshold = BlasThresholds.getLevel2Threshold();
+        try {
+            BlasThresholds.setLevel2Threshold(0);
+            INDArray blas = a.mmul(x);
+            BlasThresholds.setLevel2Threshold(Integer.MAX_VALUE);
+            assertEquals(blas, a.mmul(x));
+            assertEquals(blas.transpose(), x.transpose().mmul(a.transpose()));
+        } finally {
+            BlasThresholds.setLevel2Threshold(threshold);
+        }
+    }
+
+    @Test
+    public void testParallelJavaGemv() {
+        INDArray a = Nd4j.rand(300, 200);
+        INDArray x = Nd4j.rand(200, 1);
+        INDArray y = Nd4j.rand(300, 1);
+        INDArray serial = y.dup();
+        INDArray parallel = y.dup();
+        int parallelThreshold = BlasThresholds.getParallelThreshold();
+        try {
+            JavaBlas.gemv(300, 200, 2.0, a.data(), 0, a.stride(0), a.stride(1), x.data(), 0, 1, 0.5, serial.data(), 0, 1);
+            BlasThresholds.setParallelThreshold(1000);
+            JavaBlas.gemv(300, 200, 2.0, a.data(), 0, a.stride(0), a.stride(1), x.data(), 0, 1, 0.5, parallel.data(), 0, 1);
+        } finally {
+            BlasThresholds.setParallelThreshold(parallelThreshold);
+        }
+        assertEquals(serial, parallel);
+        INDArray assertion = a.mmul(x).muli(2).addi(y.mul(0.5));
+        for (int i = 0; i < 300; i++)
+            assertEquals(assertion.getDouble(i), serial.getDouble(i), 1e-2);
+    }
+
+    @Test
+    public void testGbmv() {
+        //a 6 x 5 matrix with 2 sub and 1 super diagonals
+        INDArray dense = bandPart(Nd4j.linspace(1, 30, 30).reshape(6, 5), 2, 1);
+        INDArray a = band(dense, 2, 1);
+        INDArray x = Nd4j.linspace(1, 5, 5);
+        INDArray y = Nd4j.linspace(1, 6, 6);
+        INDArray exp = dense.mmul(x.transpose()).muli(2).addi(y.transpose().mul(0.5));
+        Nd4j.getBlasWrapper().level2().gbmv('f', 'N', 2, 1, 2.0, a, x, 0.5, y);
+        assertVector(exp, y);
+
+        INDArray xt = Nd4j.linspace(1, 6, 6);
+        INDArray yt = Nd4j.create(1, 5);
+        Nd4j.getBlasWrapper().level2().gbmv('f', 'T', 2, 1, 1.0, a, xt, 0.0, yt);
+        assertVector(dense.transpose().mmul(xt.transpose()), yt);
+    }
+
+    @Test
+    public void testSbmvAndSpmv() {
+        INDArray square = Nd4j.linspace(1, 25, 25).reshape(5, 5);
+        INDArray symmetric = square.add(square.transpose());
+        INDArray x = Nd4j.linspace(1, 5, 5);
+        for (char uplo : new char[]{'U', 'L'}) {
+            boolean upper = uplo == 'U';
+            INDArray banded = bandPart(symmetric, 2, 2);
+            INDArray y = Nd4j.linspace(1, 5, 5);
+            INDArray exp = banded.mmul(x.transpose()).addi(y.transpose().mul(2));
+            INDArray a = upper ? band(bandPart(banded, 0, 2), 0, 2) : band(bandPart(banded, 2, 0), 2, 0);
+            Nd4j.getBlasWrapper().level2().sbmv('f', uplo, 1.0, a, x, 2.0, y);
+            assertVector(exp, y);
+
+            INDArray packedY = Nd4j.create(1, 5);
+            Nd4j.getBlasWrapper().level2().spmv('f', uplo, 3.0, packed(symmetric, upper), x, 0.0, packedY);
+            assertVector(symmetric.mmul(x.transpose()).muli(3), packedY);
+        }
+    }
+
+    @Test
+    public void testTriangularBandAndPacked() {
+        INDArray square = Nd4j.linspace(1, 25, 25).reshape(5, 5);
+        INDArray x = Nd4j.linspace(1, 5, 5);
+        for (char uplo : new char[]{'U', 'L'}) {
+            boolean upper = uplo == 'U';
+            for (char trans : new char[]{'N', 'T'}) {
+                INDArray triangle = upper ? bandPart(square, 0, 5) : bandPart(square, 5, 0);
+                INDArray bandTriangle = upper ? bandPart(square, 0, 2) : bandPart(square, 2, 0);
+                INDArray opBand = trans == 'T' ? bandTriangle.transpose() : bandTriangle;
+                INDArray opTriangle = trans == 'T' ? triangle.transpose() : triangle;
+
+                //x := op(A) * x, then solving op(A) * x = b gives x back
+                INDArray a = upper ? band(bandTriangle, 0, 2) : band(bandTriangle, 2, 0);
+                INDArray bandX = x.dup();
+                Nd4j.getBlasWrapper().level2().tbmv('f', uplo, trans, 'N', a, bandX);
+                assertVector(opBand.mmul(x.transpose()), bandX);
+                Nd4j.getBlasWrapper().level2().tbsv('f', uplo, trans, 'N', a, bandX);
+                assertVector(x, bandX);
+
+                INDArray ap = packed(triangle, upper);
+                INDArray packedX = x.dup();
+                Nd4j.getBlasWrapper().level2().tpmv('f', uplo, trans, 'N', ap, packedX);
+                assertVector(opTriangle.mmul(x.transpose()), packedX);
+                Nd4j.getBlasWrapper().level2().tpsv('f', uplo, trans, 'N', ap, packedX);
+                assertVector(x, packedX);
+            }
+        }
+    }
+
+    @Test
+    public void testSprAndSpr2() {
+        INDArray square = Nd4j.linspace(1, 16, 16).reshape(4, 4);
+        INDArray symmetric = square.add(square.transpose());
+        INDArray x = Nd4j.linspace(1, 4, 4);
+        INDArray y = Nd4j.linspace(-2, 1, 4);
+        for (char uplo : new char[]{'U', 'L'}) {
+            boolean upper = uplo == 'U';
+            INDArray ap = packed(symmetric, upper);
+            Nd4j.getBlasWrapper().level2().spr('f', uplo, 2.0, x, ap);
+            INDArray exp = symmetric.add(x.transpose().mmul(x).muli(2));
+            assertVector(packed(exp, upper), ap);
+
+            Nd4j.getBlasWrapper().level2().spr2('f', uplo, 0.5, x, y, ap);
+            exp.addi(x.transpose().mmul(y).addi(y.transpose().mmul(x)).muli(0.5));
+            assertVector(packed(exp, upper), ap);
+        }
+    }
+
+    //the band storage of blas: column j holds the diagonals of column j, the main one at row ku
+    private static INDArray band(INDArray dense, int kl, int ku) {
+        int m = dense.rows(), n = dense.columns();
+        INDArray ret = Nd4j.create(new int[]{kl + ku + 1, n}, 'f');
+        for (int j = 0; j < n; j++)
+            for (int i = Math.max(0, j - ku); i <= Math.min(m - 1, j + kl); i++)
+                ret.putScalar(ku + i - j, j, dense.getDouble(i, j));
+        return ret;
+    }
+
+    //a copy of dense without the elements outside of the band
+    private static INDArray bandPart(INDArray dense, int kl, int ku) {
+        INDArray ret = dense.dup();
+        for (int i = 0; i < dense.rows(); i++)
+            for (int j = 0; j < dense.columns(); j++)
+                if (i - j > kl || j - i > ku)
+                    ret.putScalar(i, j, 0);
+        return ret;
+    }
+
+    //the given triangle of a square matrix packed column by column
+    private static INDArray packed(INDArray dense, boolean upper) {
+        int n = dense.rows();
+        INDArray ret = Nd4j.create(1, n * (n + 1) / 2);
+        int k = 0;
+        for (int j = 0; j < n; j++)
+            for (int i = upper ? 0 : j; i <= (upper ? j : n - 1); i++)
+                ret.putScalar(k++, dense.getDouble(i, j));
+        return ret;
+    }
+
+    private static void assertVector(INDArray expected, INDArray actual) {
+        assertEquals(expected.length(), actual.length());
+        for (int i = 0; i < expected.length(); i++) {
+            double e = expected.getDouble(i);
+            assertEquals(e, actual.getDouble(i), 1e-4 * Math.max(1, Math.abs(e)));
+        }
+    }
+
     @Override
     public char ordering() {
         return 'c';
@@ -5,11 +5,25 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.blas.impl.BaseLevel3;
+import org.nd4j.linalg.api.blas.impl.BlasThresholds;
+import org.nd4j.linalg.api.blas.impl.QuantizedGemm;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.transforms.Sigmoid;
+import org.nd4j.linalg.api.quantized.QuantizedMatrix;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+import org.nd4j.linalg.ops.transforms.Transforms;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author raver119@gmail.com
@@ -84,9 +98,10 @@ public class Level3Test extends BaseNd4jTest {
 
         //System.out.println("Array3: " + Arrays.toString(array3.data().asFloat()));
 
-        assertEquals(3.293408E7f, array3.data().getFloat(0),10f);
-        assertEquals(3.29837E7f, array3.data().getFloat(1),10f);
-        assertEquals(3.3835E7f, array3.data().getFloat(99),10f);
+        //exact values: a float sum of 100 products may be off by a few ulps (4 at this magnitude)
+        assertEquals(3.29341E7f, array3.data().getFloat(0),32f);
+        assertEquals(3.29837E7f, array3.data().getFloat(1),32f);
+        assertEquals(3.3835E7f, array3.data().getFloat(99),32f);
     }
 
     @Test
@@ -106,6 +121,224 @@ public class Level3Test extends BaseNd4jTest {
         assertEquals(1.32831E7f, array3.data().getFloat(21),5f);
     }
 
+    @Test
+    public void testGemmAlphaBeta() throws Exception {
+        INDArray a = Nd4j.rand('f', new int[]{4, 3});
+        INDArray b = Nd4j.rand('f', new int[]{3, 5});
+        INDArray c = Nd4j.ones(4, 5).dup('f');
+        INDArray exp = a.mmul(b).muli(2).addi(3);
+
+        Nd4j.getBlasWrapper().level3().gemm('f', 'N', 'N', 2.0, a, b, 3.0, c);
+        assertEquals(exp, c);
+    }
+
+    @Test
+    public void testGemmBiasActivation() throws Exception {
+        //wide enough for C to be computed in several blocks of columns
+        INDArray a = Nd4j.rand('f', new int[]{300, 20});
+        INDArray b = Nd4j.rand('f', new int[]{20, 200});
+        INDArray bias = Nd4j.linspace(-1, 1, 200);
+        INDArray c = Nd4j.create(new int[]{300, 200}, 'f');
+        INDArray exp = Transforms.sigmoid(a.mmul(b).addiRowVector(bias));
+
+        Nd4j.gemm(a, b, c, false, false, 1.0, 0.0, bias, new Sigmoid(c));
+        assertEquals(exp, c);
+
+        INDArray c2 = Nd4j.create(new int[]{200, 300}, 'f');
+        Nd4j.gemm(b, a, c2, true, true, 1.0, 0.0, Nd4j.linspace(-1, 1, 300), null);
+        assertEquals(b.transpose().mmul(a.transpose()).addiRowVector(Nd4j.linspace(-1, 1, 300)), c2);
+
+        //columns longer than a block: one gemm then the epilogue
+        INDArray tall = Nd4j.rand('f', new int[]{BaseLevel3.EPILOGUE_TILE_LENGTH + 100, 4});
+        INDArray narrow = Nd4j.rand('f', new int[]{4, 3});
+        INDArray bias3 = Nd4j.create(new double[]{-1, 0, 1});
+        INDArray c3 = Nd4j.create(new int[]{tall.rows(), 3}, 'f');
+        Nd4j.gemm(tall, narrow, c3, false, false, 1.0, 0.0, bias3, new Sigmoid(c3));
+        assertEquals(Transforms.sigmoid(tall.mmul(narrow).addiRowVector(bias3)), c3);
+    }
+
+    @Test
+    public void testGemmBatched() throws Exception {
+        List<INDArray> a = new ArrayList<>();
+        List<INDArray> b = new ArrayList<>();
+        List<INDArray> c = new ArrayList<>();
+        List<INDArray> exp = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            INDArray first = Nd4j.rand(i == 3 ? 'f' : 'c', new int[]{5, 7});
+            INDArray second = Nd4j.rand(i == 5 ? 'c' : 'f', new int[]{7, 4});
+            a.add(first);
+            b.add(second);
+            c.add(Nd4j.ones(5, 4).dup(i % 2 == 0 ? 'c' : 'f'));
+            exp.add(first.mmul(second).muli(2).addi(1));
+        }
+
+        Nd4j.getBlasWrapper().level3().gemmBatched(a, b, c, false, false, 2.0, 1.0);
+        for (int i = 0; i < 20; i++)
+            assertEquals(exp.get(i), c.get(i));
+    }
+
+    @Test
+    public void testGemmBatchedStrided() throws Exception {
+        INDArray a = Nd4j.rand(new int[]{6, 4, 3});
+        INDArray b = Nd4j.rand(new int[]{6, 4, 5});
+        INDArray c = Nd4j.create(6, 3, 5);
+
+        Nd4j.getBlasWrapper().level3().gemmBatched(a, b, c, true, false, 1.0, 0.0);
+        for (int i = 0; i < 6; i++) {
+            INDArray first = a.tensorAlongDimension(i, 1, 2);
+            INDArray second = b.tensorAlongDimension(i, 1, 2);
+            assertEquals(first.transpose().mmul(second), c.tensorAlongDimension(i, 1, 2));
+        }
+    }
+
+    @Test
+    public void testGemmBatchedStridedFortran() throws Exception {
+        //the matrices of 'f' ordered and permuted batches are strided views: results must land in c itself
+        INDArray a = Nd4j.rand('f', new int[]{6, 4, 3});
+        INDArray b = Nd4j.rand('c', new int[]{5, 6, 4}).permute(1, 2, 0);
+        INDArray c = Nd4j.create(new int[]{6, 3, 5}, 'f');
+
+        Nd4j.getBlasWrapper().level3().gemmBatched(a, b, c, true, false, 1.0, 0.0);
+        for (int i = 0; i < 6; i++) {
+            INDArray first = a.tensorAlongDimension(i, 1, 2);
+            INDArray second = b.tensorAlongDimension(i, 1, 2);
+            assertEquals(first.transpose().mmul(second), c.tensorAlongDimension(i, 1, 2));
+        }
+    }
+
+    @Test
+    public void testGemmTiled() throws Exception {
+        //several blocks in every dimension, split over tasks, checked against the backend gemm
+        INDArray a = Nd4j.rand('c', new int[]{150, 300});
+        INDArray b = Nd4j.rand('f', new int[]{300, 170});
+        INDArray c = Nd4j.ones(150, 170);
+        INDArray exp = Nd4j.create(new int[]{150, 170}, 'f');
+        Nd4j.getBlasWrapper().level3().gemm(a, b, exp, false, false, 1.5, 0.0);
+        exp.addi(0.5);
+
+        Nd4j.getBlasWrapper().level3().gemmTiled(a, b, c, false, false, 1.5, 0.5);
+        assertClose(exp, c, 1e-3);
+        for (int i = 0; i < 150; i += 37)
+            for (int j = 0; j < 170; j += 41) {
+                double dot = 0;
+                for (int p = 0; p < 300; p++)
+                    dot += a.getDouble(i, p) * b.getDouble(p, j);
+                assertEquals(1.5 * dot + 0.5, c.getDouble(i, j), 1e-3 * dot);
+            }
+
+        //transposed strided views
+        INDArray big = Nd4j.rand('f', new int[]{40, 60});
+        INDArray view = big.get(NDArrayIndex.interval(5, 35), NDArrayIndex.interval(10, 50));
+        INDArray out = Nd4j.create(40, 40);
+        Nd4j.getBlasWrapper().level3().gemmTiled(view, view, out, true, false, 1.0, 0.0);
+        assertClose(view.transpose().mmul(view), out, 1e-4);
+    }
+
+    @Test
+    public void testGemmStrassen() throws Exception {
+        INDArray a = Nd4j.rand('f', new int[]{70, 90});
+        INDArray b = Nd4j.rand('c', new int[]{50, 90});
+        INDArray exp = Nd4j.create(new int[]{70, 50}, 'f');
+        Nd4j.getBlasWrapper().level3().gemm(a, b, exp, false, true, 1.0, 0.0);
+
+        int threshold = BlasThresholds.getStrassenThreshold();
+        BlasThresholds.setStrassenThreshold(16);
+        try {
+            INDArray c = Nd4j.create(70, 50);
+            Nd4j.getBlasWrapper().level3().gemmTiled(a, b, c, false, true, 1.0, 0.0);
+            assertClose(exp, c, 1e-3);
+        } finally {
+            BlasThresholds.setStrassenThreshold(threshold);
+        }
+    }
+
+    @Test
+    public void testQuantizeRoundTrip() throws Exception {
+        //rows of very different magnitude
+        INDArray x = Nd4j.rand(8, 30).subi(0.25).muliColumnVector(Nd4j.linspace(1, 8, 8).transpose());
+        QuantizedMatrix perTensor = Transforms.quantize(x, false);
+        QuantizedMatrix perRow = Transforms.quantize(x, true);
+        assertFalse(perTensor.isPerRow());
+        assertTrue(perRow.isPerRow());
+
+        INDArray restored = Transforms.dequantize(perRow);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(perRow.scale(i) <= perTensor.scale(i));
+            for (int j = 0; j < 30; j++)
+                assertEquals(x.getDouble(i, j), restored.getDouble(i, j), perRow.scale(i) / 2 + 1e-6);
+        }
+        //zero is represented exactly
+        assertEquals(0, Transforms.dequantize(Transforms.quantize(Nd4j.zeros(2, 3), false)).sumNumber().doubleValue(), 0);
+    }
+
+    @Test
+    public void testGemmQuantized() throws Exception {
+        Nd4j.getRandom().setSeed(12345);
+        INDArray x = Nd4j.rand(20, 64).subi(0.5);
+        INDArray w = Nd4j.randn(10, 64).muli(0.1);
+        QuantizedMatrix xq = Transforms.quantize(x, false);
+        QuantizedMatrix wq = Transforms.quantize(w, true);
+
+        INDArray c = Nd4j.create(20, 10);
+        Nd4j.getBlasWrapper().level3().gemmQuantized(xq, wq, c);
+        //exact for the quantized values, close to the real product
+        assertClose(Transforms.dequantize(xq).mmul(Transforms.dequantize(wq).transpose()), c, 1e-4);
+        INDArray exp = x.mmul(w.transpose());
+        assertEquals(0, exp.sub(c).norm2Number().doubleValue(), 0.02 * exp.norm2Number().doubleValue());
+
+        //the output range is taken from the accumulated result: values outside of it would be clamped
+        QuantizedMatrix out = Transforms.quantize(c, false);
+        double scale = out.scale(0);
+        int zeroPoint = out.zeroPoint(0);
+        QuantizedMatrix requantized = Nd4j.getBlasWrapper().level3().gemmQuantized(xq, wq, scale, zeroPoint);
+        assertArrayEquals(new int[] {20, 10}, requantized.shape());
+        for (int i = 0; i < 20; i++)
+            for (int j = 0; j < 10; j++) {
+                double value = c.getDouble(i, j);
+                //the rounded zero point may leave the extremes half a step outside of the range
+                if (value < scale * (Byte.MIN_VALUE - zeroPoint) || value > scale * (Byte.MAX_VALUE - zeroPoint))
+                    continue;
+                assertEquals(value, requantized.getDouble(i, j), scale / 2 + 1e-6);
+            }
+    }
+
+    @Test
+    public void testGemmQuantizedWorstCaseAccumulation() {
+        //every term is (-128 - 127) * (127 + 128): the largest magnitude the accumulators must hold
+        int k = QuantizedGemm.MAX_K;
+        byte[] a = new byte[k];
+        byte[] b = new byte[k];
+        Arrays.fill(a, Byte.MIN_VALUE);
+        Arrays.fill(b, Byte.MAX_VALUE);
+        QuantizedMatrix A = new QuantizedMatrix(a, 1, k, new double[] {1}, new int[] {Byte.MAX_VALUE});
+        QuantizedMatrix B = new QuantizedMatrix(b, 1, k, new double[] {1}, new int[] {Byte.MIN_VALUE});
+        assertEquals(-255L * 255L * k, QuantizedGemm.accumulate(A, B)[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGemmQuantizedInnerDimensionTooLarge() {
+        int k = QuantizedGemm.MAX_K + 1;
+        QuantizedMatrix A = new QuantizedMatrix(new byte[k], 1, k, new double[] {1}, new int[] {0});
+        QuantizedGemm.accumulate(A, A);
+    }
+
+    private static void assertClose(INDArray expected, INDArray actual, double relativeTolerance) {
+        assertArrayEquals(expected.shape(), actual.shape());
+        for (int i = 0; i < expected.rows(); i++)
+            for (int j = 0; j < expected.columns(); j++) {
+                double e = expected.getDouble(i, j);
+                assertEquals(e, actual.getDouble(i, j), relativeTolerance * Math.max(1, Math.abs(e)));
+            }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGemmBatchedShapeMismatch() throws Exception {
+        List<INDArray> a = Arrays.asList(Nd4j.create(3, 4), Nd4j.create(3, 5));
+        List<INDArray> b = Arrays.asList(Nd4j.create(4, 2), Nd4j.create(4, 2));
+        List<INDArray> c = Arrays.asList(Nd4j.create(3, 2), Nd4j.create(3, 2));
+        Nd4j.getBlasWrapper().level3().gemmBatched(a, b, c, false, false, 1.0, 0.0);
+    }
+
     @Override
     public char ordering() {
         return 'c';
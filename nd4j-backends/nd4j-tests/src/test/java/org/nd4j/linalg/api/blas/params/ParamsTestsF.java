@@ -9,6 +9,7 @@ import org.nd4j.linalg.BaseNd4jTest;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.indexing.NDArrayIndex;
 
 /**
  * @author Adam Gibson
@@ -35,6 +36,40 @@ public class ParamsTestsF extends BaseNd4jTest {
         assertEquals(c.rows(),params.getLdc());
     }
 
+    @Test
+    public void testGemmSubMatrixNotCopied() {
+        INDArray a = Nd4j.linspace(1, 48, 48).reshape('c', 6, 8);
+        INDArray sub = a.get(NDArrayIndex.interval(1, 4), NDArrayIndex.interval(2, 7));
+        INDArray b = Nd4j.rand('f', new int[]{5, 4});
+        INDArray c = Nd4j.create(new int[]{3, 4}, 'f');
+
+        GemmParams.resetCopies();
+        GemmParams params = new GemmParams(sub, b, c);
+        assertEquals(0, GemmParams.getCopies());
+        assertTrue(params.getA() == sub);
+        assertEquals('T', params.getTransA());
+        assertEquals(8, params.getLda());
+        params.release();
+
+        Nd4j.gemm(sub, b, c, false, false, 1.0, 0.0);
+        assertEquals(sub.dup('f').mmul(b), c);
+        assertEquals(0, GemmParams.getCopies());
+    }
+
+    @Test
+    public void testGemmCopyCounted() {
+        //tensor along dimensions 0 and 1 of a 'c' ordered array: no unit stride
+        INDArray a = Nd4j.rand('c', new int[]{4, 5, 6}).tensorAlongDimension(0, 0, 1);
+        INDArray b = Nd4j.rand('f', new int[]{5, 3});
+        INDArray c = Nd4j.create(new int[]{4, 3}, 'f');
+
+        GemmParams.resetCopies();
+        Nd4j.gemm(a, b, c, false, false, 1.0, 0.0);
+        assertEquals(1, GemmParams.getCopies());
+        assertEquals(a.length(), GemmParams.getCopiedElements());
+        assertEquals(a.dup('f').mmul(b), c);
+    }
+
     @Override
     public char ordering() {
         return 'f';
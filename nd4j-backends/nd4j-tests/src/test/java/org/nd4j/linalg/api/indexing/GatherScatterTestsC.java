@@ -0,0 +1,104 @@
+package org.nd4j.linalg.api.indexing;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Adam Gibson
+ */
+@RunWith(Parameterized.class)
+public class GatherScatterTestsC extends BaseNd4jTest {
+
+    public GatherScatterTestsC(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    @Test
+    public void testPullRows() {
+        INDArray arr = Nd4j.linspace(1, 20, 20).reshape(5, 4);
+        int[] indexes = {3, 0, 3, 4};
+        for (INDArray source : new INDArray[] {arr, arr.dup('f')}) {
+            for (char order : new char[] {'c', 'f'}) {
+                INDArray rows = Nd4j.pullRows(source, 1, indexes, order);
+                assertArrayEquals(new int[] {4, 4}, rows.shape());
+                assertEquals(order, rows.ordering());
+                for (int i = 0; i < indexes.length; i++)
+                    assertEquals(arr.getRow(indexes[i]), rows.getRow(i));
+            }
+        }
+        assertEquals(Nd4j.pullRows(arr, 1, indexes), arr.getRows(indexes));
+    }
+
+    @Test
+    public void testPullTensors() {
+        INDArray arr = Nd4j.linspace(1, 60, 60).reshape(3, 4, 5);
+        //columns of a matrix
+        INDArray matrix = arr.slice(1);
+        INDArray columns = Nd4j.pullRows(matrix, 0, new int[] {4, 1});
+        assertEquals(matrix.getColumn(4).transpose(), columns.getRow(0));
+        assertEquals(matrix.getColumn(1).transpose(), columns.getRow(1));
+
+        //tensors along the middle dimension, numbered in 'c' order over the others
+        INDArray tensors = Nd4j.pullRows(arr, 1, new int[] {0, 7, 14});
+        assertArrayEquals(new int[] {3, 4}, tensors.shape());
+        int[][] coords = {{0, 0}, {1, 2}, {2, 4}};
+        for (int i = 0; i < coords.length; i++)
+            for (int j = 0; j < 4; j++)
+                assertEquals(arr.getDouble(coords[i][0], j, coords[i][1]), tensors.getDouble(i, j), 0);
+
+        //a view of a larger array
+        INDArray view = arr.permute(2, 0, 1);
+        INDArray fromView = Nd4j.pullRows(view, 2, new int[] {6});
+        assertEquals(view.tensorAlongDimension(6, 2).reshape(1, 4), fromView);
+    }
+
+    @Test
+    public void testScatterUpdate() {
+        INDArray target = Nd4j.zeros(5, 3);
+        INDArray updates = Nd4j.linspace(1, 9, 9).reshape(3, 3);
+        Nd4j.scatterUpdate(target, new int[] {4, 1, 4}, updates);
+        //the last update of a row wins
+        assertEquals(updates.getRow(2), target.getRow(4));
+        assertEquals(updates.getRow(1), target.getRow(1));
+        assertEquals(Nd4j.zeros(1, 3), target.getRow(0));
+        assertEquals(7 + 8 + 9 + 4 + 5 + 6, target.sumNumber().doubleValue(), 1e-6);
+    }
+
+    @Test
+    public void testScatterAddDuplicates() {
+        int rows = 50;
+        int columns = 200;
+        INDArray target = Nd4j.ones(rows, columns);
+        int n = 1000;
+        int[] indexes = new int[n];
+        for (int i = 0; i < n; i++)
+            indexes[i] = (i * 7) % rows;
+        INDArray updates = Nd4j.rand(n, columns);
+        //a strided view of the updates as well
+        Nd4j.scatterAdd(target, indexes, updates.dup('f'));
+
+        INDArray expected = Nd4j.ones(rows, columns);
+        for (int i = 0; i < n; i++)
+            expected.getRow(indexes[i]).addi(updates.getRow(i));
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < columns; j++)
+                assertEquals(expected.getDouble(i, j), target.getDouble(i, j), 1e-3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testScatterOutOfBounds() {
+        Nd4j.scatterAdd(Nd4j.zeros(2, 2), new int[] {2}, Nd4j.ones(1, 2));
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
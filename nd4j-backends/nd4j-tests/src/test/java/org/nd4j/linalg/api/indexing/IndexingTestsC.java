@@ -9,6 +9,8 @@ import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
 import org.nd4j.linalg.indexing.INDArrayIndex;
 import org.nd4j.linalg.indexing.NDArrayIndex;
+import org.nd4j.linalg.indexing.ShapeOffsetResolution;
+import org.nd4j.linalg.indexing.SpecifiedIndex;
 
 import static org.junit.Assert.*;
 
@@ -184,6 +186,42 @@ public class IndexingTestsC extends BaseNd4jTest {
     }
 
 
+    @Test
+    public void testIntervalsAndPointsOnTensors() {
+        INDArray arr = Nd4j.linspace(1, 120, 120).reshape(2, 3, 4, 5);
+        for (INDArray source : new INDArray[] {arr, arr.dup('f')}) {
+            INDArray view = source.get(NDArrayIndex.point(1), NDArrayIndex.interval(1, 3), NDArrayIndex.all(), NDArrayIndex.interval(2, 4));
+            assertArrayEquals(new int[] {2, 4, 2}, view.shape());
+            for (int i = 0; i < 2; i++)
+                for (int j = 0; j < 4; j++)
+                    for (int k = 0; k < 2; k++)
+                        assertEquals(arr.getDouble(1, i + 1, j, k + 2), view.getDouble(i, j, k), 0);
+
+            INDArray column = source.get(NDArrayIndex.interval(0, 2), NDArrayIndex.point(2), NDArrayIndex.point(3), NDArrayIndex.point(4));
+            assertArrayEquals(new int[] {2, 1}, column.shape());
+            assertEquals(arr.getDouble(1, 2, 3, 4), column.getDouble(1), 0);
+        }
+
+        INDArray matrix = Nd4j.linspace(1, 20, 20).reshape(4, 5);
+        INDArray row = matrix.get(NDArrayIndex.point(2), NDArrayIndex.interval(1, 4));
+        assertEquals(Nd4j.create(new double[] {12, 13, 14}), row);
+    }
+
+    @Test
+    public void testFastPathResolution() {
+        INDArray arr = Nd4j.create(3, 4, 5);
+        ShapeOffsetResolution resolution = new ShapeOffsetResolution(arr);
+        assertTrue(resolution.tryFastPath(NDArrayIndex.interval(1, 3), NDArrayIndex.point(2), NDArrayIndex.all()));
+        assertArrayEquals(new int[] {2, 5}, resolution.getShapes());
+        assertArrayEquals(new int[] {20, 1}, resolution.getStrides());
+        assertEquals(20 + 2 * 5, resolution.getOffset());
+
+        //strided intervals, specified and new axis indexes go through the general resolution
+        assertFalse(new ShapeOffsetResolution(arr).tryFastPath(NDArrayIndex.interval(0, 2, 3), NDArrayIndex.all(), NDArrayIndex.all()));
+        assertFalse(new ShapeOffsetResolution(arr).tryFastPath(new SpecifiedIndex(0, 2), NDArrayIndex.all(), NDArrayIndex.all()));
+        assertFalse(new ShapeOffsetResolution(Nd4j.create(1, 4)).tryFastPath(NDArrayIndex.all(), NDArrayIndex.interval(1, 2)));
+    }
+
     @Override
     public char ordering() {
         return 'c';
@@ -4,10 +4,13 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.iter.LinearIndexLookup;
 import org.nd4j.linalg.api.iter.NdIndexIterator;
+import org.nd4j.linalg.api.shape.Shape;
 import org.nd4j.linalg.factory.Nd4jBackend;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import static org.junit.Assert.*;
 
@@ -38,6 +41,68 @@ public class NDIndexIteratorTest extends BaseNd4jTest {
 
     }
 
+    @Test
+    public void testNextIntoMatchesLinearIndex() {
+        int[] shape = {3, 1, 4, 2};
+        for (char order : new char[] {'c', 'f'}) {
+            for (boolean cache : new boolean[] {false, true}) {
+                NdIndexIterator iter = new NdIndexIterator(order, cache, shape);
+                int[] idx = new int[shape.length];
+                for (int i = 0; i < 24; i++) {
+                    int[] expected = order == 'c' ? Shape.ind2subC(shape, i) : Shape.ind2sub(shape, i);
+                    assertTrue(iter.hasNext());
+                    assertSame(idx, iter.nextInto(idx));
+                    assertArrayEquals(expected, idx);
+                }
+                assertFalse(iter.hasNext());
+                try {
+                    iter.nextInto(idx);
+                    fail("Expected the iterator to be exhausted");
+                } catch (NoSuchElementException e) {
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLookupCacheIsKeyedByContent() {
+        LinearIndexLookup.clearCache();
+        LinearIndexLookup first = LinearIndexLookup.get(new int[] {2, 3}, 'c');
+        assertSame(first, LinearIndexLookup.get(new int[] {2, 3}, 'c'));
+        assertNotSame(first, LinearIndexLookup.get(new int[] {2, 3}, 'f'));
+        assertEquals(2, LinearIndexLookup.cachedTables());
+
+        //returned indexes are copies, the cached table can't be changed through them
+        first.lookup(1)[1] = 100;
+        assertArrayEquals(new int[] {0, 1}, first.lookup(1));
+        LinearIndexLookup.clearCache();
+    }
+
+    @Test
+    public void testLookupCacheIsBounded() {
+        long size = LinearIndexLookup.getCacheSize();
+        try {
+            LinearIndexLookup.clearCache();
+            //every 10 x 10 table holds 200 ints
+            LinearIndexLookup.setCacheSize(500);
+            LinearIndexLookup first = LinearIndexLookup.get(new int[] {10, 10}, 'c');
+            LinearIndexLookup.get(new int[] {10, 10}, 'f');
+            assertEquals(2, LinearIndexLookup.cachedTables());
+            //touching the first table makes the 'f' table the least recently used
+            LinearIndexLookup.get(new int[] {10, 10}, 'c');
+            LinearIndexLookup.get(new int[] {5, 20}, 'c');
+            assertEquals(2, LinearIndexLookup.cachedTables());
+            assertSame(first, LinearIndexLookup.get(new int[] {10, 10}, 'c'));
+
+            //larger than the whole cache: built but not kept
+            LinearIndexLookup.get(new int[] {30, 30}, 'c');
+            assertEquals(2, LinearIndexLookup.cachedTables());
+        } finally {
+            LinearIndexLookup.setCacheSize(size);
+            LinearIndexLookup.clearCache();
+        }
+    }
+
     @Override
     public char ordering() {
         return 'f';
@@ -0,0 +1,146 @@
+package org.nd4j.linalg.api.sparse;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Adam Gibson
+ */
+@RunWith(Parameterized.class)
+public class SparseNDArrayTests extends BaseNd4jTest {
+    public SparseNDArrayTests(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    private INDArray dense() {
+        return Nd4j.create(new double[][] {{1, 0, 0, 2}, {0, 0, 0, 0}, {0, 3, 0, 0}, {4, 0, 5, 6}});
+    }
+
+    @Test
+    public void testCreateCSR() {
+        ISparseNDArray csr = Nd4j.createSparseCSR(new double[] {1, 2, 3, 4, 5, 6}, new int[] {0, 3, 1, 0, 2, 3}, new int[] {0, 2, 2, 3, 6}, new int[] {4, 4});
+        assertEquals(6, csr.nnz());
+        assertEquals(dense(), csr.toDense());
+        assertEquals(csr.toDense(), Nd4j.createSparseCSR(dense()).toDense());
+        assertEquals(5, csr.getDouble(3, 2), 1e-6);
+        assertEquals(0, csr.getDouble(1, 2), 1e-6);
+    }
+
+    @Test
+    public void testCOOToCSR() {
+        //unordered with element (3, 3) stored twice
+        ISparseNDArray coo = Nd4j.createSparseCOO(new double[] {6, 3, 1, 5, 2, 4, -1, 1}, new int[] {3, 2, 0, 3, 0, 3, 3, 3},
+                new int[] {3, 1, 0, 2, 3, 0, 3, 3}, new int[] {4, 4});
+        assertEquals(dense(), coo.toDense());
+        ISparseNDArray csr = coo.toCSR();
+        assertEquals(6, csr.nnz());
+        assertEquals(dense(), csr.toDense());
+        assertEquals(dense(), csr.toCOO().toDense());
+    }
+
+    @Test
+    public void testMmul() {
+        INDArray dense = dense();
+        INDArray other = Nd4j.linspace(1, 12, 12).reshape(4, 3);
+        ISparseNDArray csr = Nd4j.createSparseCSR(dense);
+        assertEquals(dense.mmul(other), csr.mmul(other));
+        assertEquals(dense.mmul(other), csr.toCOO().mmul(other));
+
+        INDArray transposed = Nd4j.linspace(1, 12, 12).reshape(3, 4).transpose();
+        INDArray result = Nd4j.create(new int[] {4, 3}, 'f');
+        csr.mmul(transposed, result);
+        assertEquals(dense.mmul(transposed), result);
+    }
+
+    @Test
+    public void testMmulLarge() {
+        INDArray dense = Nd4j.rand(200, 100);
+        dense.muli(dense.gt(0.9));
+        INDArray other = Nd4j.rand(100, 50);
+        INDArray assertion = dense.mmul(other);
+        INDArray test = Nd4j.createSparseCSR(dense).mmul(other);
+        for (int i = 0; i < assertion.rows(); i++)
+            for (int j = 0; j < assertion.columns(); j++)
+                assertEquals(assertion.getDouble(i, j), test.getDouble(i, j), 1e-4);
+    }
+
+    @Test
+    public void testRowSlice() {
+        INDArray dense = dense();
+        ISparseNDArray csr = Nd4j.createSparseCSR(dense);
+        ISparseNDArray rows = csr.getRows(2, 4);
+        assertEquals(csr.data(), rows.data());
+        assertEquals(2, rows.valueOffset());
+        assertEquals(4, rows.nnz());
+        assertEquals(dense.get(NDArrayIndex.interval(2, 4), NDArrayIndex.all()), rows.toDense());
+        for (int i = 0; i < dense.rows(); i++)
+            assertEquals(dense.getRow(i), csr.getRow(i).toDense());
+        assertEquals(0, csr.getRow(1).nnz());
+
+        INDArray other = Nd4j.linspace(1, 12, 12).reshape(4, 3);
+        assertEquals(rows.toDense().mmul(other), rows.mmul(other));
+    }
+
+    @Test
+    public void testAccumulations() {
+        INDArray dense = dense();
+        ISparseNDArray csr = Nd4j.createSparseCSR(dense);
+        for (ISparseNDArray arr : new ISparseNDArray[] {csr, csr.toCOO(), csr.getRows(0, 4)}) {
+            assertEquals(dense.sumNumber().doubleValue(), arr.sumNumber().doubleValue(), 1e-6);
+            assertEquals(dense.norm1Number().doubleValue(), arr.norm1Number().doubleValue(), 1e-6);
+            assertEquals(dense.norm2Number().doubleValue(), arr.norm2Number().doubleValue(), 1e-6);
+            assertEquals(dense.sum(0), arr.sum(0));
+            assertEquals(dense.sum(1), arr.sum(1));
+            assertEquals(dense.norm2(0), arr.norm2(0));
+        }
+    }
+
+    @Test
+    public void testCOODuplicateAccumulations() {
+        //element (3, 3) stored as 6, -1 and 1
+        ISparseNDArray coo = Nd4j.createSparseCOO(new double[] {6, 3, 1, 5, 2, 4, -1, 1}, new int[] {3, 2, 0, 3, 0, 3, 3, 3},
+                new int[] {3, 1, 0, 2, 3, 0, 3, 3}, new int[] {4, 4});
+        INDArray dense = dense();
+        assertEquals(dense.sumNumber().doubleValue(), coo.sumNumber().doubleValue(), 1e-6);
+        assertEquals(dense.norm1Number().doubleValue(), coo.norm1Number().doubleValue(), 1e-6);
+        assertEquals(dense.norm2Number().doubleValue(), coo.norm2Number().doubleValue(), 1e-6);
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        ISparseNDArray csr = Nd4j.createSparseCSR(dense());
+        for (ISparseNDArray arr : new ISparseNDArray[] {csr, csr.toCOO(), csr.getRows(2, 4)}) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            DataOutputStream dos = new DataOutputStream(bos);
+            Nd4j.writeSparse(arr, dos);
+            dos.flush();
+            ISparseNDArray read = Nd4j.readSparse(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+            assertEquals(arr.format(), read.format());
+            assertEquals(arr.nnz(), read.nnz());
+            assertEquals(arr.toDense(), read.toDense());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRowPointers() {
+        Nd4j.createSparseCSR(new double[] {1, 2}, new int[] {0, 1}, new int[] {0, 2}, new int[] {2, 2});
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
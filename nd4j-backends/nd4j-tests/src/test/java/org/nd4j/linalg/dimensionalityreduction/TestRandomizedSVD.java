@@ -0,0 +1,97 @@
+package org.nd4j.linalg.dimensionalityreduction;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.ViewIterator;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.ops.transforms.Transforms;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Adam Gibson
+ */
+@RunWith(Parameterized.class)
+public class TestRandomizedSVD extends BaseNd4jTest {
+    public TestRandomizedSVD(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    /**
+     * A 200 x 30 matrix with singular values 10, 5, 2 and (small) noise
+     */
+    private INDArray lowRank() {
+        Nd4j.getRandom().setSeed(12345);
+        INDArray U = RandomizedSVD.orthonormalize(Nd4j.randn(200, 3));
+        INDArray V = RandomizedSVD.orthonormalize(Nd4j.randn(30, 3));
+        INDArray S = Nd4j.diag(Nd4j.create(new double[] {10, 5, 2}));
+        return U.mmul(S).mmul(V.transpose()).addi(Nd4j.randn(200, 30).muli(1e-4));
+    }
+
+    @Test
+    public void testOrthonormalize() {
+        INDArray Q = RandomizedSVD.orthonormalize(Nd4j.rand(50, 5));
+        INDArray identity = Q.transpose().mmul(Q);
+        for (int i = 0; i < 5; i++)
+            for (int j = 0; j < 5; j++)
+                assertEquals(i == j ? 1 : 0, identity.getDouble(i, j), 1e-4);
+    }
+
+    @Test
+    public void testSvd() {
+        INDArray X = lowRank();
+        INDArray[] usv = RandomizedSVD.svd(X, 3);
+        assertArrayEquals(new int[] {200, 3}, usv[0].shape());
+        assertArrayEquals(new int[] {30, 3}, usv[2].shape());
+        assertEquals(10, usv[1].getDouble(0), 1e-2);
+        assertEquals(5, usv[1].getDouble(1), 1e-2);
+        assertEquals(2, usv[1].getDouble(2), 1e-2);
+
+        INDArray reconstructed = usv[0].mulRowVector(usv[1]).mmul(usv[2].transpose());
+        assertEquals(0, reconstructed.sub(X).norm2Number().doubleValue(), 1e-2);
+    }
+
+    @Test
+    public void testPcaRandomized() {
+        INDArray X = lowRank();
+        INDArray reduced = PCA.pcaRandomized(X, 2, true);
+        assertArrayEquals(new int[] {200, 2}, reduced.shape());
+        INDArray components = PCA.principalComponents(X, 2);
+        INDArray centered = X.subRowVector(X.mean(0));
+        INDArray projected = centered.mmul(components);
+        for (int i = 0; i < 200; i++)
+            for (int j = 0; j < 2; j++)
+                assertEquals(Math.abs(projected.getDouble(i, j)), Math.abs(reduced.getDouble(i, j)), 1e-3);
+    }
+
+    @Test
+    public void testIncrementalPca() {
+        INDArray X = lowRank().addRowVector(Nd4j.linspace(1, 30, 30));
+        IncrementalPCA pca = new IncrementalPCA(3).fit(new ViewIterator(new DataSet(X, Nd4j.zeros(200, 2)), 40));
+        assertEquals(200, pca.getExamplesSeen());
+        assertEquals(X.mean(0), pca.getMean());
+
+        INDArray components = PCA.principalComponents(X, 3);
+        INDArray incremental = pca.getComponents();
+        for (int j = 0; j < 3; j++) {
+            //same directions up to sign
+            double cos = Math.abs(Nd4j.getBlasWrapper().dot(components.getColumn(j), incremental.getColumn(j)));
+            assertEquals(1, cos, 1e-3);
+        }
+
+        INDArray variance = pca.getExplainedVariance();
+        INDArray singular = RandomizedSVD.svd(X.subRowVector(X.mean(0)), 3)[1];
+        assertEquals(Transforms.pow(singular, 2).divi(199), variance);
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
@@ -0,0 +1,96 @@
+package org.nd4j.linalg.eigen;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dimensionalityreduction.RandomizedSVD;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Adam Gibson
+ */
+@RunWith(Parameterized.class)
+public class TestEigen extends BaseNd4jTest {
+    public TestEigen(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    /**
+     * A 6 x 6 symmetric matrix with eigenvalues 9, 4, 2, 1, -1 and -3
+     */
+    private INDArray symmetric() {
+        Nd4j.getRandom().setSeed(12345);
+        INDArray Q = RandomizedSVD.orthonormalize(Nd4j.randn(6, 6));
+        INDArray D = Nd4j.diag(Nd4j.create(new double[] {4, -1, 9, 1, -3, 2}));
+        return Q.mmul(D).mmul(Q.transpose());
+    }
+
+    @Test
+    public void testSymmetricEigenvalues() {
+        INDArray[] eigen = Eigen.symmetricEigen(Nd4j.create(new double[][] {{2, 1}, {1, 2}}), false);
+        assertEquals(1, eigen.length);
+        assertEquals(3, eigen[0].getDouble(0), 1e-6);
+        assertEquals(1, eigen[0].getDouble(1), 1e-6);
+    }
+
+    @Test
+    public void testSymmetricEigen() {
+        INDArray A = symmetric();
+        INDArray copy = A.dup();
+        INDArray[] eigen = Eigen.symmetricEigen(A, true);
+        assertEquals(copy, A);
+
+        double[] expected = {9, 4, 2, 1, -1, -3};
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], eigen[0].getDouble(i), 1e-4);
+
+        INDArray V = eigen[1];
+        INDArray AV = A.mmul(V);
+        for (int j = 0; j < expected.length; j++)
+            for (int i = 0; i < expected.length; i++)
+                assertEquals(expected[j] * V.getDouble(i, j), AV.getDouble(i, j), 1e-4);
+
+        INDArray identity = V.transpose().mmul(V);
+        for (int i = 0; i < expected.length; i++)
+            for (int j = 0; j < expected.length; j++)
+                assertEquals(i == j ? 1 : 0, identity.getDouble(i, j), 1e-4);
+    }
+
+    @Test
+    public void testSymmetricEigenTopK() {
+        INDArray A = symmetric();
+        INDArray[] eigen = Eigen.symmetricEigen(A, 2, true);
+        assertArrayEquals(new int[] {1, 2}, eigen[0].shape());
+        assertArrayEquals(new int[] {6, 2}, eigen[1].shape());
+        assertEquals(9, eigen[0].getDouble(0), 1e-4);
+        assertEquals(4, eigen[0].getDouble(1), 1e-4);
+
+        INDArray AV = A.mmul(eigen[1]);
+        for (int j = 0; j < 2; j++)
+            for (int i = 0; i < 6; i++)
+                assertEquals(eigen[0].getDouble(j) * eigen[1].getDouble(i, j), AV.getDouble(i, j), 1e-4);
+    }
+
+    @Test
+    public void testSymmetricEigenUpperTriangleOnly() {
+        INDArray A = Nd4j.create(new double[][] {{2, 1}, {-100, 2}});
+        INDArray[] eigen = Eigen.symmetricEigen(A, 1, false);
+        assertEquals(3, eigen[0].getDouble(0), 1e-6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSymmetricEigenNotSquare() {
+        Eigen.symmetricEigen(Nd4j.create(2, 3), false);
+    }
+
+    @Override
+    public char ordering() {
+        return 'f';
+    }
+}
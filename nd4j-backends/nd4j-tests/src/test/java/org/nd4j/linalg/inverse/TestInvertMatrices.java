@@ -11,11 +11,13 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.blas.Lapack;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.checkutil.CheckUtil;
 import org.nd4j.linalg.checkutil.NDArrayCreationUtil;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.indexing.NDArrayIndex;
 
 import java.util.List;
 
@@ -82,6 +84,102 @@ public class TestInvertMatrices extends BaseNd4jTest {
         }catch(Exception e){ }
     }
 
+    @Test
+    public void testInvertView() {
+        INDArray arr = Nd4j.create(new double[][]{{9, 9, 9}, {9, 4, 7}, {9, 2, 6}}).get(NDArrayIndex.interval(1, 3), NDArrayIndex.interval(1, 3));
+        INDArray inverse = InvertMatrix.invert(arr, false);
+        assertEquals(Nd4j.eye(2), arr.mmul(inverse));
+        InvertMatrix.invert(arr, true);
+        assertEquals(inverse, arr);
+    }
+
+    @Test
+    public void testSolve() {
+        INDArray A = Nd4j.create(new double[][]{{2, 1, 1}, {1, 3, 2}, {1, 0, 0}});
+        INDArray x = Nd4j.create(new double[][]{{1, 2}, {-1, 0}, {3, 1}});
+        INDArray B = A.mmul(x);
+        assertEquals(x, InvertMatrix.solve(A, B));
+        assertEquals(x.getColumn(1), InvertMatrix.solve(A, B.getColumn(1)));
+    }
+
+    @Test
+    public void testBackendLUFactorization() {
+        //runs against the lapack of every backend (native included): getrf must factor the matrix
+        INDArray A = Nd4j.create(new double[][]{{2, 1, 1}, {1, 3, 2}, {1, 0, 0}});
+        INDArray x = Nd4j.create(new double[][]{{1, 2}, {-1, 0}, {3, 1}});
+        Lapack lapack = Nd4j.getBlasWrapper().lapack();
+        INDArray lu = A.dup('f');
+        INDArray B = A.mmul(x).dup('f');
+        int[] ipiv = new int[3];
+        lapack.getrf(3, 3, lu, 3, ipiv, 0);
+        for (int pivot : ipiv)
+            assertTrue(pivot >= 1 && pivot <= 3);
+        assertNotEquals(A.dup('f'), lu);
+        lapack.getrs('N', 3, 2, lu, 3, ipiv, B, 3, 0);
+        assertEquals(x, B);
+
+        lapack.getri(3, lu, 3, ipiv, Nd4j.create(1, 3), 3, 0);
+        assertEquals(Nd4j.eye(3), A.mmul(lu));
+        assertEquals(x, InvertMatrix.solve(A, A.mmul(x)));
+    }
+
+    @Test
+    public void testSolvePositiveDefinite() {
+        INDArray m = Nd4j.create(new double[][]{{1, 2, 0}, {0, 1, 3}, {1, 0, 1}});
+        INDArray A = m.mmul(m.transpose()).addi(Nd4j.eye(3));
+        INDArray x = Nd4j.create(new double[][]{{1, 2}, {-1, 0}, {3, 1}});
+        INDArray B = A.mmul(x);
+        assertEquals(x, InvertMatrix.solvePositiveDefinite(A, B));
+        assertEquals(InvertMatrix.solve(A, B), InvertMatrix.solvePositiveDefinite(A, B));
+
+        //the upper triangle variant of the decomposition
+        INDArray upper = A.dup('f');
+        INDArray solution = B.dup('f');
+        Nd4j.getBlasWrapper().lapack().potrf('U', 3, upper, 3, 0);
+        Nd4j.getBlasWrapper().lapack().potrs('U', 3, 2, upper, 3, solution, 3, 0);
+        assertEquals(x, solution);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSolveNotPositiveDefinite() {
+        InvertMatrix.solvePositiveDefinite(Nd4j.create(new double[][]{{1, 2}, {2, 1}}), Nd4j.ones(2, 1));
+    }
+
+    @Test
+    public void testTransposedLUSolve() {
+        INDArray A = Nd4j.create(new double[][]{{2, 1, 1}, {1, 3, 2}, {1, 0, 0}});
+        INDArray x = Nd4j.create(new double[]{1, -1, 3}, new int[]{3, 1});
+        INDArray B = A.transpose().mmul(x).dup('f');
+        INDArray lu = A.dup('f');
+        int[] ipiv = new int[3];
+        Nd4j.getBlasWrapper().lapack().getrf(3, 3, lu, 3, ipiv, 0);
+        Nd4j.getBlasWrapper().lapack().getrs('T', 3, 1, lu, 3, ipiv, B, 3, 0);
+        assertEquals(x, B);
+    }
+
+    @Test
+    public void testBatched() {
+        INDArray m = Nd4j.create(new double[][]{{1, 2, 0}, {0, 1, 3}, {1, 0, 1}});
+        INDArray A = Nd4j.create(4, 3, 3);
+        INDArray B = Nd4j.create(4, 3, 2);
+        for (int i = 0; i < 4; i++) {
+            INDArray a = m.mmul(m.transpose()).addi(Nd4j.eye(3).muli(i + 1));
+            A.tensorAlongDimension(i, 1, 2).assign(a);
+            B.tensorAlongDimension(i, 1, 2).assign(Nd4j.linspace(1, 6, 6).reshape(3, 2).addi(i));
+        }
+
+        INDArray inverses = InvertMatrix.invertBatched(A, false);
+        INDArray solutions = InvertMatrix.solveBatched(A, B);
+        INDArray choleskySolutions = InvertMatrix.solvePositiveDefiniteBatched(A, B);
+        for (int i = 0; i < 4; i++) {
+            INDArray a = A.tensorAlongDimension(i, 1, 2);
+            INDArray b = B.tensorAlongDimension(i, 1, 2);
+            assertEquals(InvertMatrix.invert(a, false), inverses.tensorAlongDimension(i, 1, 2));
+            assertEquals(InvertMatrix.solve(a, b), solutions.tensorAlongDimension(i, 1, 2));
+            assertEquals(InvertMatrix.solve(a, b), choleskySolutions.tensorAlongDimension(i, 1, 2));
+        }
+    }
+
     @Override
     public char ordering() {
         return 'c';
@@ -0,0 +1,175 @@
+package org.nd4j.linalg.knn;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.accum.distances.Distance;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import java.io.*;
+import java.lang.ref.WeakReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Adam Gibson
+ */
+@RunWith(Parameterized.class)
+public class HnswIndexTest extends BaseNd4jTest {
+
+    public HnswIndexTest(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    @Test
+    public void testRecallAgainstBruteForce() {
+        Nd4j.getRandom().setSeed(12345);
+        INDArray vectors = Nd4j.rand(2000, 16);
+        INDArray queries = Nd4j.rand(50, 16);
+        int k = 10;
+        for (Distance distance : Distance.values()) {
+            HnswIndex index = new HnswIndex(vectors, distance, 8, 100, 42).build();
+            assertEquals(vectors.rows(), index.size());
+            INDArray[] approximate = index.search(queries, k, 50);
+            INDArray[] exact = Nd4j.knn(vectors, queries, k, distance);
+            assertTrue(distance + " recall", recall(approximate[0], exact[0]) >= 0.9);
+            for (int q = 0; q < queries.rows(); q++) {
+                int row = approximate[0].getInt(q, 0);
+                assertEquals(measure(distance, queries.getRow(q), vectors.getRow(row)), approximate[1].getDouble(q, 0), 1e-3);
+            }
+        }
+    }
+
+    @Test
+    public void testRowsFindThemselves() {
+        Nd4j.getRandom().setSeed(123);
+        INDArray vectors = Nd4j.rand(500, 8);
+        HnswIndex index = new HnswIndex(vectors, Distance.EUCLIDEAN).build();
+        int[] indices = new int[3];
+        double[] values = new double[3];
+        for (int i = 0; i < vectors.rows(); i += 7) {
+            assertEquals(3, index.search(vectors.getRow(i), 3, 20, indices, values));
+            assertEquals(i, indices[0]);
+            assertEquals(0, values[0], 1e-6);
+            assertTrue(values[1] <= values[2]);
+        }
+    }
+
+    @Test
+    public void testConcurrentInserts() throws Exception {
+        Nd4j.getRandom().setSeed(7);
+        final INDArray vectors = Nd4j.rand(1200, 12);
+        final HnswIndex index = new HnswIndex(vectors, Distance.EUCLIDEAN, 8, 64, 1);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int row = offset; row < vectors.rows(); row += 4)
+                        index.add(row);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        assertEquals(vectors.rows(), index.size());
+
+        INDArray queries = Nd4j.rand(30, 12);
+        assertTrue(recall(index.search(queries, 5, 40)[0], Nd4j.knn(vectors, queries, 5, Distance.EUCLIDEAN)[0]) >= 0.9);
+    }
+
+    @Test
+    public void testIndexIsCollectedAfterUse() throws Exception {
+        HnswIndex index = new HnswIndex(Nd4j.rand(200, 4), Distance.EUCLIDEAN).build();
+        index.search(Nd4j.rand(3, 4), 2, 10);
+        index.search(Nd4j.rand(1, 4), 2, 10, new int[2], new double[2]);
+        //scratch space is pooled on the index, nothing left on the threads that used it keeps it alive
+        WeakReference<HnswIndex> reference = new WeakReference<>(index);
+        index = null;
+        for (int i = 0; i < 20 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+
+    @Test
+    public void testSingleRows() {
+        HnswIndex index = new HnswIndex(Nd4j.create(new double[] {1, 2, 3}), Distance.EUCLIDEAN).build();
+        assertEquals(1, index.size());
+        INDArray[] result = index.search(Nd4j.create(new double[] {1, 2, 4}), 1, 10);
+        assertEquals(0, result[0].getInt(0, 0));
+        assertEquals(1, result[1].getDouble(0, 0), 1e-6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDoubleInsert() {
+        HnswIndex index = new HnswIndex(Nd4j.rand(10, 3), Distance.EUCLIDEAN);
+        index.add(4);
+        index.add(4);
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        Nd4j.getRandom().setSeed(99);
+        INDArray vectors = Nd4j.rand(300, 6);
+        HnswIndex index = new HnswIndex(vectors, Distance.COSINE, 6, 40, 3).build();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        index.write(out);
+        out.flush();
+        HnswIndex read = HnswIndex.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(index.size(), read.size());
+        assertEquals(Distance.COSINE, read.getDistance());
+        assertEquals(vectors, read.getVectors());
+        INDArray queries = Nd4j.rand(20, 6);
+        INDArray[] expected = index.search(queries, 5, 30);
+        INDArray[] actual = read.search(queries, 5, 30);
+        assertEquals(expected[0], actual[0]);
+        assertEquals(expected[1], actual[1]);
+    }
+
+    private static double recall(INDArray approximate, INDArray exact) {
+        int hits = 0;
+        for (int q = 0; q < exact.rows(); q++)
+            for (int i = 0; i < exact.columns(); i++)
+                for (int j = 0; j < approximate.columns(); j++)
+                    if (exact.getInt(q, i) == approximate.getInt(q, j)) {
+                        hits++;
+                        break;
+                    }
+        return hits / (double) exact.length();
+    }
+
+    private static double measure(Distance distance, INDArray x, INDArray y) {
+        double dot = 0, xx = 0, yy = 0, squared = 0, absolute = 0;
+        for (int i = 0; i < x.length(); i++) {
+            double a = x.getDouble(i), b = y.getDouble(i);
+            dot += a * b;
+            xx += a * a;
+            yy += b * b;
+            squared += (a - b) * (a - b);
+            absolute += Math.abs(a - b);
+        }
+        switch (distance) {
+            case EUCLIDEAN:
+                return Math.sqrt(squared);
+            case COSINE:
+                return dot / Math.sqrt(xx * yy);
+            default:
+                return absolute;
+        }
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
@@ -0,0 +1,115 @@
+package org.nd4j.linalg.ops;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.executioner.tasks.KnnAction;
+import org.nd4j.linalg.api.ops.impl.accum.distances.Distance;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.ops.transforms.Transforms;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Adam Gibson
+ */
+@RunWith(Parameterized.class)
+public class KnnTestsC extends BaseNd4jTest {
+
+    public KnnTestsC(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    @Test
+    public void testKnnMatchesAccumulations() {
+        Nd4j.getRandom().setSeed(12345);
+        //more rows than fit a tile and more queries than fit a block
+        int columns = KnnAction.TILE_ELEMENTS / 300;
+        INDArray corpus = Nd4j.rand(700, columns);
+        INDArray queries = Nd4j.rand(KnnAction.QUERY_BLOCK * 2 + 3, columns);
+        int k = 4;
+        for (Distance distance : Distance.values()) {
+            INDArray[] result = Nd4j.knn(corpus, queries, k, distance);
+            assertArrayEquals(new int[] {queries.rows(), k}, result[0].shape());
+            for (int q = 0; q < queries.rows(); q += 17) {
+                INDArray query = queries.getRow(q);
+                double[] all = new double[corpus.rows()];
+                for (int i = 0; i < all.length; i++)
+                    all[i] = measure(distance, query, corpus.getRow(i));
+
+                for (int j = 0; j < k; j++) {
+                    int row = result[0].getInt(q, j);
+                    double value = result[1].getDouble(q, j);
+                    assertEquals(all[row], value, 1e-3);
+                    //nothing outside of the neighbours is nearer than the last one
+                    if (j == k - 1)
+                        for (int i = 0; i < all.length; i++)
+                            assertTrue(distance == Distance.COSINE ? all[i] <= value + 1e-3 || contains(result[0].getRow(q), i)
+                                    : all[i] >= value - 1e-3 || contains(result[0].getRow(q), i));
+                    else
+                        assertTrue(distance == Distance.COSINE ? value >= result[1].getDouble(q, j + 1) : value <= result[1].getDouble(q, j + 1));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testKnnExactMatches() {
+        INDArray corpus = Nd4j.create(new double[][] {{0, 0}, {1, 0}, {0, 2}, {1, 0}, {3, 3}});
+        INDArray queries = Nd4j.create(new double[][] {{1, 0}, {3, 3}});
+        INDArray[] result = Nd4j.knn(corpus, queries, 3, Distance.EUCLIDEAN);
+        //the duplicate rows tie, the lower comes first
+        assertEquals(Nd4j.create(new double[][] {{1, 3, 0}, {4, 2, 1}}), result[0]);
+        assertEquals(0, result[1].getDouble(0, 0), 1e-6);
+        assertEquals(1, result[1].getDouble(0, 2), 1e-6);
+
+        result = Nd4j.knn(corpus, queries, 2, Distance.MANHATTAN);
+        assertEquals(Nd4j.create(new double[][] {{1, 3}, {4, 2}}), result[0]);
+        assertEquals(4, result[1].getDouble(1, 1), 1e-6);
+    }
+
+    @Test
+    public void testKnnSingleRows() {
+        INDArray corpus = Nd4j.create(new double[][] {{0, 0}, {1, 0}, {0, 2}});
+        INDArray[] result = Nd4j.knn(corpus, Nd4j.create(new double[] {0, 1.5}), 2, Distance.EUCLIDEAN);
+        assertEquals(Nd4j.create(new double[] {2, 0}), result[0]);
+
+        result = Nd4j.knn(corpus.getRow(1), corpus, 1, Distance.EUCLIDEAN);
+        assertEquals(Nd4j.create(new double[] {0, 0, 0}, new int[] {3, 1}), result[0]);
+        assertEquals(1, result[1].getDouble(0, 0), 1e-6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testKnnTooManyNeighbours() {
+        Nd4j.knn(Nd4j.create(3, 2), Nd4j.create(1, 2), 4, Distance.EUCLIDEAN);
+    }
+
+    private static double measure(Distance distance, INDArray x, INDArray y) {
+        switch (distance) {
+            case EUCLIDEAN:
+                return x.distance2(y);
+            case COSINE:
+                return Transforms.cosineSim(x, y);
+            default:
+                double sum = 0;
+                for (int i = 0; i < x.length(); i++)
+                    sum += Math.abs(x.getDouble(i) - y.getDouble(i));
+                return sum;
+        }
+    }
+
+    private static boolean contains(INDArray rows, int row) {
+        for (int i = 0; i < rows.length(); i++)
+            if (rows.getInt(i) == row)
+                return true;
+        return false;
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
@@ -29,6 +29,7 @@ import org.nd4j.linalg.BaseNd4jTest;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.api.ops.*;
 import org.nd4j.linalg.api.ops.exception.IllegalOpException;
+import org.nd4j.linalg.api.ops.executioner.AsyncOpExecutioner;
 import org.nd4j.linalg.api.ops.executioner.OpExecutioner;
 import org.nd4j.linalg.api.ops.impl.accum.*;
 import org.nd4j.linalg.api.ops.impl.accum.distances.EuclideanDistance;
@@ -41,11 +42,14 @@ import org.nd4j.linalg.api.ops.impl.transforms.*;
 import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.*;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.indexing.BooleanIndexing;
+import org.nd4j.linalg.indexing.conditions.Conditions;
 import org.nd4j.linalg.ops.transforms.Transforms;
 import org.nd4j.linalg.util.ArrayUtil;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.assertEquals;
 
@@ -648,6 +652,23 @@ public  class OpExecutionerTestsC extends BaseNd4jTest {
         assertEquals(exp,var,1e-7f);
     }
 
+    @Test
+    public void testBiasCorrectedVarianceAlongDimension() {
+        INDArray arr = Nd4j.create(new double[][]{{5.1, 3.5, 1.4}, {4.9, 3.0, 1.4}, {4.7, 3.2, 1.3}});
+        //column 0 deviates from its mean by 0.2, 0.0, -0.2: sum of squares is 0.08
+        INDArray sample = Nd4j.getExecutioner().exec(new Variance(arr, true), 0);
+        INDArray population = Nd4j.getExecutioner().exec(new Variance(arr, false), 0);
+        assertEquals(0.08 / 2, sample.getDouble(0), 1e-6);
+        assertEquals(0.08 / 3, population.getDouble(0), 1e-6);
+
+        INDArray sampleStd = Nd4j.getExecutioner().exec(new StandardDeviation(arr, true), 0);
+        INDArray populationStd = Nd4j.getExecutioner().exec(new StandardDeviation(arr, false), 0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Math.sqrt(sample.getDouble(i)), sampleStd.getDouble(i), 1e-6);
+            assertEquals(Math.sqrt(population.getDouble(i)), populationStd.getDouble(i), 1e-6);
+        }
+    }
+
     @Test
     public void testEpsOps() {
         INDArray ones = Nd4j.ones(6);
@@ -659,6 +680,152 @@ public  class OpExecutionerTestsC extends BaseNd4jTest {
         assertTrue(consec.sub(1).eps(5).getDouble(0,5) == 1);
     }
 
+    @Test
+    public void testLazyFusedChain() {
+        INDArray arr = Nd4j.linspace(1, 6, 6).reshape(2, 3);
+        INDArray row = Nd4j.create(new double[]{1, 2, 3});
+        INDArray assertion = Transforms.sigmoid(arr.mul(2).addiRowVector(row).muli(3));
+
+        Nd4j.getExecutioner().setLazy(true);
+        try {
+            INDArray result = arr.mul(2).addiRowVector(row).muli(3);
+            Transforms.sigmoid(result, false);
+            Nd4j.getExecutioner().commit();
+            assertEquals(assertion, result);
+            assertEquals(Nd4j.linspace(1, 6, 6).reshape(2, 3), arr);
+        } finally {
+            Nd4j.getExecutioner().setLazy(false);
+        }
+        assertFalse(Nd4j.getExecutioner().isLazy());
+    }
+
+    @Test
+    public void testLazyCommitsOnAccess() {
+        Nd4j.getExecutioner().setLazy(true);
+        try {
+            //element access
+            INDArray x = Nd4j.ones(4, 4);
+            x.addi(1);
+            assertEquals(2.0, x.getDouble(0), 1e-6);
+            assertEquals(2.0, x.getDouble(3, 3), 1e-6);
+            x.muli(2);
+            x.putScalar(0, 1, 10);
+            x.addi(1);
+            assertEquals(5.0, x.getDouble(0, 0), 1e-6);
+            assertEquals(11.0, x.getDouble(0, 1), 1e-6);
+
+            //blas
+            INDArray y = Nd4j.ones(4, 4);
+            y.muli(3);
+            assertEquals(12.0, y.mmul(Nd4j.ones(4, 1)).getDouble(0), 1e-6);
+            INDArray z = Nd4j.ones(5);
+            assertEquals(25.0, Nd4j.getBlasWrapper().dot(z.addi(4), Nd4j.ones(5)), 1e-6);
+            INDArray w = Nd4j.ones(5);
+            w.muli(2);
+            assertEquals(10.0, Nd4j.getBlasWrapper().asum(w), 1e-6);
+
+            //strided loops
+            INDArray v = Nd4j.zeros(3, 3);
+            v.addi(5);
+            assertTrue(BooleanIndexing.and(v, Conditions.greaterThan(4)));
+        } finally {
+            Nd4j.getExecutioner().setLazy(false);
+        }
+    }
+
+    @Test
+    public void testAsyncExecutionerOrdering() throws Exception {
+        AsyncOpExecutioner executioner = new AsyncOpExecutioner(Nd4j.getExecutioner());
+        INDArray arr = Nd4j.linspace(1, 6, 6);
+        INDArray other = Nd4j.ones(6);
+        executioner.execAsync(new ScalarAdd(arr, 1));
+        executioner.execAsync(new ScalarMultiplication(arr, 2));
+        Future<INDArray> otherResult = executioner.execAsync(new ScalarAdd(other, 1));
+        Future<INDArray> sum = executioner.execAsync(new Sum(arr));
+
+        assertEquals(54, sum.get().getDouble(0), 1e-3);
+        assertEquals(Nd4j.valueArrayOf(6, 2.0), otherResult.get());
+        executioner.synchronize();
+        assertEquals(Nd4j.linspace(2, 7, 6).muli(2), arr);
+    }
+
+    @Test
+    public void testJavaExecutionMode() {
+        INDArray arr = Nd4j.linspace(1, 60000, 60000).reshape(300, 200);
+        INDArray row = Nd4j.linspace(1, 200, 200);
+        INDArray expSum = arr.sum(1);
+        INDArray expMax = Nd4j.argMax(arr, 0);
+        INDArray expBroadcast = arr.addRowVector(row);
+        INDArray expTransposed = Transforms.exp(arr.transpose().mul(1e-5));
+        double expMean = arr.meanNumber().doubleValue();
+
+        OpExecutioner.ExecutionMode mode = Nd4j.getExecutioner().executionMode();
+        Nd4j.getExecutioner().setExecutionMode(OpExecutioner.ExecutionMode.JAVA);
+        try {
+            assertEquals(expSum, arr.sum(1));
+            assertEquals(expMax, Nd4j.argMax(arr, 0));
+            assertEquals(expBroadcast, arr.addRowVector(row));
+            assertEquals(expTransposed, Transforms.exp(arr.transpose().mul(1e-5)));
+            assertEquals(expMean, arr.meanNumber().doubleValue(), 1e-3);
+            assertEquals(59999, Nd4j.getExecutioner().execAndReturn(new IMax(arr)).getFinalResult());
+        } finally {
+            Nd4j.getExecutioner().setExecutionMode(mode);
+        }
+    }
+
+    @Test
+    public void testIterateOverAllRowsAndColumns() {
+        for (char order : new char[]{'c', 'f'}) {
+            INDArray arr = Nd4j.linspace(1, 60000, 60000).reshape(300, 200).dup(order);
+            INDArray exp = Transforms.exp(arr.mul(1e-5));
+            INDArray rows = arr.mul(1e-5);
+            Nd4j.getExecutioner().iterateOverAllRows(new Exp(rows));
+            assertEquals(exp, rows);
+            INDArray columns = arr.mul(1e-5);
+            Nd4j.getExecutioner().iterateOverAllColumns(new Exp(columns));
+            assertEquals(exp, columns);
+
+            INDArray tensor = Nd4j.linspace(1, 24, 24).reshape(2, 3, 4).dup(order);
+            INDArray out = Nd4j.create(new int[]{2, 3, 4}, order);
+            Nd4j.getExecutioner().iterateOverAllRows(new ScalarAdd(tensor, null, out, tensor.length(), 1));
+            assertEquals(tensor.add(1), out);
+        }
+    }
+
+    @Test
+    public void testReusedOp() {
+        INDArray arr = Nd4j.linspace(1, 6, 6).reshape(2, 3);
+        INDArray result = Nd4j.create(1, 3);
+        Sum sum = new Sum(arr);
+        sum.rebind(arr, null, result);
+        assertTrue(result == Nd4j.getExecutioner().exec(sum, 0));
+        assertEquals(Nd4j.create(new double[]{5, 7, 9}), result);
+
+        sum.rebind(arr.mul(2), null, result);
+        assertTrue(result == Nd4j.getExecutioner().exec(sum, 0));
+        assertEquals(Nd4j.create(new double[]{10, 14, 18}), result);
+
+        INDArray out = Nd4j.create(2, 3);
+        ScalarAdd add = new ScalarAdd(arr, 1);
+        Nd4j.getExecutioner().exec(add.rebind(arr, null, out));
+        assertEquals(arr.add(1), out);
+        add.setScalar(2);
+        Nd4j.getExecutioner().exec(add);
+        assertEquals(arr.add(2), out);
+    }
+
+    @Test
+    public void testReexecutedOpKeepsEarlierResult() {
+        INDArray arr = Nd4j.linspace(1, 6, 6).reshape(2, 3);
+        Sum sum = new Sum(arr);
+        INDArray first = Nd4j.getExecutioner().exec(sum, 0);
+        sum.rebind(arr.mul(2), null, null);
+        INDArray second = Nd4j.getExecutioner().exec(sum, 0);
+        assertFalse(first == second);
+        assertEquals(Nd4j.create(new double[]{5, 7, 9}), first);
+        assertEquals(Nd4j.create(new double[]{10, 14, 18}), second);
+    }
+
     @Override
     public char ordering() {
         return 'c';
@@ -0,0 +1,128 @@
+package org.nd4j.linalg.ops;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Adam Gibson
+ */
+@RunWith(Parameterized.class)
+public class SortTestsC extends BaseNd4jTest {
+
+    public SortTestsC(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    @Test
+    public void testSortAlongEveryDimension() {
+        INDArray arr = randomTensor(new Random(12345), 4, 50, 3);
+        for (int dimension = 0; dimension < 3; dimension++) {
+            for (boolean ascending : new boolean[] {true, false}) {
+                for (char order : new char[] {'c', 'f'}) {
+                    INDArray sorted = Nd4j.sort(arr.dup(order), dimension, ascending);
+                    INDArray[] withIndices = Nd4j.sortWithIndices(arr.dup(order), dimension, ascending);
+                    assertEquals(sorted, withIndices[1]);
+                    for (int i = 0; i < arr.tensorssAlongDimension(dimension); i++) {
+                        INDArray original = arr.tensorAlongDimension(i, dimension);
+                        INDArray vec = sorted.tensorAlongDimension(i, dimension);
+                        INDArray indices = withIndices[0].tensorAlongDimension(i, dimension);
+                        double[] expected = values(original);
+                        Arrays.sort(expected);
+                        for (int j = 0; j < vec.length(); j++) {
+                            double value = expected[ascending ? j : expected.length - 1 - j];
+                            assertEquals(value, vec.getDouble(j), 0);
+                            assertEquals(value, original.getDouble(indices.getInt(j)), 0);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSortVectorAndViews() {
+        INDArray vec = Nd4j.create(new double[] {3, 1, 2, 5, 4});
+        assertEquals(Nd4j.create(new double[] {1, 2, 3, 4, 5}), Nd4j.sort(vec.dup(), 0, true));
+        assertEquals(Nd4j.create(new double[] {5, 4, 3, 2, 1}), Nd4j.sort(vec.dup(), 1, false));
+
+        //only the view is sorted, the rest of the array is untouched
+        INDArray arr = Nd4j.create(new double[][] {{3, 9, 1}, {8, 2, 7}, {6, 5, 4}});
+        Nd4j.sort(arr.getColumn(1), 0, true);
+        assertEquals(Nd4j.create(new double[][] {{3, 2, 1}, {8, 5, 7}, {6, 9, 4}}), arr);
+    }
+
+    @Test
+    public void testSortWithIndicesTies() {
+        INDArray arr = Nd4j.create(new double[] {2, 1, 2, 1});
+        INDArray[] ascending = Nd4j.sortWithIndices(arr.dup(), 1, true);
+        assertEquals(Nd4j.create(new double[] {1, 3, 0, 2}), ascending[0]);
+        INDArray[] descending = Nd4j.sortWithIndices(arr.dup(), 1, false);
+        assertEquals(Nd4j.create(new double[] {0, 2, 1, 3}), descending[0]);
+        assertEquals(Nd4j.create(new double[] {2, 2, 1, 1}), descending[1]);
+    }
+
+    @Test
+    public void testTopK() {
+        Random random = new Random(42);
+        INDArray arr = randomTensor(random, 3, 40, 2);
+        for (int dimension = 0; dimension < 3; dimension++) {
+            int k = Math.min(5, arr.size(dimension));
+            for (boolean largest : new boolean[] {true, false}) {
+                INDArray[] top = Nd4j.topK(arr, dimension, k, largest);
+                assertEquals(k, top[0].size(dimension));
+                assertEquals(k, top[1].size(dimension));
+
+                INDArray sorted = Nd4j.sort(arr.dup(), dimension, !largest);
+                for (int i = 0; i < arr.tensorssAlongDimension(dimension); i++) {
+                    INDArray original = arr.tensorAlongDimension(i, dimension);
+                    INDArray expected = sorted.tensorAlongDimension(i, dimension);
+                    INDArray values = top[1].tensorAlongDimension(i, dimension);
+                    INDArray indices = top[0].tensorAlongDimension(i, dimension);
+                    for (int j = 0; j < k; j++) {
+                        assertEquals(expected.getDouble(j), values.getDouble(j), 0);
+                        assertEquals(values.getDouble(j), original.getDouble(indices.getInt(j)), 0);
+                    }
+                }
+            }
+        }
+
+        //ties keep the earlier position
+        INDArray[] top = Nd4j.topK(Nd4j.create(new double[] {1, 3, 2, 3, 0}), 1, 3, true);
+        assertEquals(Nd4j.create(new double[] {1, 3, 2}), top[0]);
+        assertEquals(Nd4j.create(new double[] {3, 3, 2}), top[1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTopKTooLarge() {
+        Nd4j.topK(Nd4j.create(2, 3), 1, 4, true);
+    }
+
+    private static INDArray randomTensor(Random random, int... shape) {
+        INDArray ret = Nd4j.create(shape);
+        for (int i = 0; i < ret.length(); i++)
+            ret.putScalar(i, random.nextInt(20));
+        return ret;
+    }
+
+    private static double[] values(INDArray vec) {
+        double[] ret = new double[vec.length()];
+        for (int i = 0; i < ret.length; i++)
+            ret[i] = vec.getDouble(i);
+        return ret;
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
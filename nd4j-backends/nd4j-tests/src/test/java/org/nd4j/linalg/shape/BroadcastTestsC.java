@@ -0,0 +1,190 @@
+package org.nd4j.linalg.shape;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.broadcast.BroadcastAddOp;
+import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Adam Gibson
+ */
+@RunWith(Parameterized.class)
+public class BroadcastTestsC extends BaseNd4jTest {
+
+    public BroadcastTestsC(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    @Test
+    public void testBroadcastOutputShape() {
+        assertArrayEquals(new int[] {2, 3, 4}, Shape.broadcastOutputShape(new int[] {2, 1, 4}, new int[] {1, 3, 1}));
+        assertArrayEquals(new int[] {2, 3, 4}, Shape.broadcastOutputShape(new int[] {3, 1}, new int[] {2, 1, 4}));
+        assertArrayEquals(new int[] {5, 2}, Shape.broadcastOutputShape(new int[] {5, 2}, new int[] {5, 2}));
+        assertNull(Shape.broadcastOutputShape(new int[] {2, 3}, new int[] {4, 3}));
+    }
+
+    @Test
+    public void testBroadcastView() {
+        INDArray arr = Nd4j.linspace(1, 12, 12).reshape(3, 4);
+        INDArray view = Shape.broadcastView(arr.getRow(1), new int[] {2, 5, 4});
+        assertArrayEquals(new int[] {0, 0, 1}, view.stride());
+        for (int i = 0; i < 2; i++)
+            for (int j = 0; j < 5; j++)
+                assertEquals(arr.getRow(1), view.get(NDArrayIndex.point(i), NDArrayIndex.point(j), NDArrayIndex.all()));
+        assertTrue(arr == Shape.broadcastView(arr, new int[] {3, 4}));
+    }
+
+    @Test
+    public void testBroadcastArithmetic() {
+        INDArray left = Nd4j.linspace(1, 10, 10).reshape(2, 1, 5);
+        INDArray right = Nd4j.linspace(1, 3, 3).reshape(1, 3, 1);
+        for (char order : new char[] {'c', 'f'}) {
+            INDArray x = left.dup(order);
+            INDArray y = right.dup(order);
+            assertEquals(expected(left, right, 'a'), x.add(y));
+            assertEquals(expected(left, right, 's'), x.sub(y));
+            assertEquals(expected(left, right, 'm'), x.mul(y));
+            assertEquals(expected(left, right, 'd'), x.div(y));
+            assertEquals(expected(left, right, 'h'), x.rsub(y));
+            assertEquals(expected(left, right, 't'), x.rdiv(y));
+            //either side can be stretched
+            assertEquals(expected(left, right, 's'), y.rsub(x));
+            assertArrayEquals(new int[] {2, 3, 5}, y.mul(x).shape());
+        }
+
+        //missing leading dimensions
+        INDArray tensor = Nd4j.linspace(1, 24, 24).reshape(2, 3, 4);
+        INDArray row = Nd4j.create(new double[] {1, 2, 3, 4});
+        INDArray sum = tensor.add(row);
+        for (int i = 0; i < 2; i++)
+            for (int j = 0; j < 3; j++)
+                assertEquals(tensor.get(NDArrayIndex.point(i), NDArrayIndex.point(j), NDArrayIndex.all()).reshape(1, 4).add(row),
+                        sum.get(NDArrayIndex.point(i), NDArrayIndex.point(j), NDArrayIndex.all()).reshape(1, 4));
+    }
+
+    @Test
+    public void testBroadcastInPlace() {
+        INDArray tensor = Nd4j.linspace(1, 24, 24).reshape(2, 3, 4);
+        INDArray column = Nd4j.linspace(1, 3, 3).reshape(3, 1);
+        INDArray exp = expected(tensor, column.reshape(1, 3, 1), 'm');
+        assertTrue(tensor == tensor.muli(column));
+        assertEquals(exp, tensor);
+
+        //the stretched operand is a view of the result: it is read before it is written
+        INDArray matrix = Nd4j.linspace(1, 12, 12).reshape(3, 4);
+        exp = matrix.dup();
+        for (int i = 0; i < 3; i++)
+            exp.getRow(i).addi(matrix.getRow(0));
+        matrix.addi(matrix.getRow(0));
+        assertEquals(exp, matrix);
+    }
+
+    @Test
+    public void testBroadcastInToResult() {
+        INDArray left = Nd4j.linspace(1, 4, 4).reshape(4, 1);
+        INDArray right = Nd4j.linspace(1, 3, 3).reshape(1, 3);
+        INDArray big = Nd4j.zeros(6, 5);
+        INDArray view = big.get(NDArrayIndex.interval(1, 5), NDArrayIndex.interval(2, 5));
+        assertTrue(view == left.sub(right, view));
+        assertEquals(expected(left, right, 's'), view);
+        assertEquals(expected(left, right, 's').sumNumber().doubleValue(), big.sumNumber().doubleValue(), 1e-6);
+    }
+
+    @Test
+    public void testBroadcastComparisons() {
+        INDArray column = Nd4j.create(new double[] {1, 2, 3}, new int[] {3, 1});
+        INDArray row = Nd4j.create(new double[] {2, 2});
+        assertEquals(Nd4j.create(new double[][] {{0, 0}, {0, 0}, {1, 1}}), column.gt(row));
+        assertEquals(Nd4j.create(new double[][] {{1, 1}, {0, 0}, {0, 0}}), column.lt(row));
+        assertEquals(Nd4j.create(new double[][] {{0, 0}, {1, 1}, {0, 0}}), column.eq(row));
+        assertEquals(Nd4j.create(new double[][] {{1, 1}, {0, 0}, {1, 1}}), column.neq(row));
+    }
+
+    @Test
+    public void testSameLengthDifferentShapes() {
+        //arrays of the same length broadcast by their shapes
+        INDArray row = Nd4j.create(new double[] {1, 2, 3});
+        INDArray column = Nd4j.create(new double[] {1, 2, 3}, new int[] {3, 1});
+        assertEquals(Nd4j.create(new double[][] {{2, 3, 4}, {3, 4, 5}, {4, 5, 6}}), column.add(row));
+        assertEquals(Nd4j.create(new double[][] {{2, 3, 4}, {3, 4, 5}, {4, 5, 6}}), row.add(column));
+        assertEquals(expected(column, row, 'm'), column.mul(row));
+
+        INDArray left = Nd4j.linspace(1, 4, 4).reshape(2, 1, 2);
+        INDArray right = Nd4j.linspace(1, 4, 4).reshape(1, 4, 1);
+        assertArrayEquals(new int[] {2, 4, 2}, left.sub(right).shape());
+        assertEquals(expected(left, right, 's'), left.sub(right));
+        assertEquals(expected(left, right, 'g'), left.gt(right));
+
+        //the same shape: element by element
+        assertEquals(Nd4j.create(new double[] {2, 4, 6}), row.add(row));
+    }
+
+    @Test
+    public void testSameLengthIncompatibleIsElementWise() {
+        //shapes that can't be broadcast, of the same length, are still matched element by element
+        INDArray x = Nd4j.linspace(1, 6, 6).reshape(2, 3);
+        INDArray y = Nd4j.linspace(1, 6, 6).reshape(3, 2);
+        assertEquals(Nd4j.linspace(2, 12, 6).reshape(2, 3), x.add(y));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSameLengthBroadcastInPlaceTooSmall() {
+        Nd4j.create(3, 1).addi(Nd4j.create(1, 3));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBroadcastIncompatible() {
+        Nd4j.create(2, 3).add(Nd4j.create(4, 3));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBroadcastInPlaceTooSmall() {
+        Nd4j.create(1, 3).addi(Nd4j.create(4, 3));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void testBroadcastOpVectorLengthMismatch() {
+        //checked by the executioner itself, independently of -ea
+        Nd4j.getExecutioner().exec(new BroadcastAddOp(Nd4j.ones(3, 5), Nd4j.ones(1, 3), Nd4j.create(3, 5), 1), 1);
+    }
+
+    //the broadcast op computed element by element
+    private static INDArray expected(INDArray x, INDArray y, char operation) {
+        int[] shape = Shape.broadcastOutputShape(x.shape(), y.shape());
+        INDArray ret = Nd4j.create(shape);
+        int[] xIdx = new int[x.rank()], yIdx = new int[y.rank()];
+        for (int i = 0; i < ret.length(); i++) {
+            int[] idx = Shape.ind2subC(ret, i);
+            for (int d = 0; d < xIdx.length; d++)
+                xIdx[d] = x.size(d) == 1 ? 0 : idx[d + shape.length - xIdx.length];
+            for (int d = 0; d < yIdx.length; d++)
+                yIdx[d] = y.size(d) == 1 ? 0 : idx[d + shape.length - yIdx.length];
+            double a = x.getDouble(xIdx), b = y.getDouble(yIdx);
+            double value;
+            switch (operation) {
+                case 'a': value = a + b; break;
+                case 's': value = a - b; break;
+                case 'm': value = a * b; break;
+                case 'd': value = a / b; break;
+                case 'h': value = b - a; break;
+                case 'g': value = a > b ? 1 : 0; break;
+                default: value = b / a;
+            }
+            ret.putScalar(idx, value);
+        }
+        return ret;
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
@@ -0,0 +1,216 @@
+package org.nd4j.linalg.shape;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.iter.NdIndexIterator;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.api.shape.loop.strided.OffsetPairVisitor;
+import org.nd4j.linalg.api.shape.loop.strided.OffsetVisitor;
+import org.nd4j.linalg.api.shape.loop.strided.ScalarFunction;
+import org.nd4j.linalg.api.shape.loop.strided.StridedKernels;
+import org.nd4j.linalg.api.shape.loop.strided.StridedLoop;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.indexing.BooleanIndexing;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+import org.nd4j.linalg.indexing.conditions.Conditions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Adam Gibson
+ */
+@RunWith(Parameterized.class)
+public class StridedLoopTest extends BaseNd4jTest {
+
+    public StridedLoopTest(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    private static List<Integer> offsets(INDArray arr) {
+        final List<Integer> ret = new ArrayList<>();
+        StridedLoop.forEachOffset(arr, new OffsetVisitor() {
+            @Override
+            public void visit(int offset) {
+                ret.add(offset);
+            }
+        });
+        return ret;
+    }
+
+    @Test
+    public void testContiguousCollapses() {
+        for (char order : new char[] {'c', 'f'}) {
+            INDArray arr = Nd4j.create(new int[] {3, 4, 5}, order);
+            assertEquals(1, new StridedLoop(arr).rank());
+            List<Integer> offsets = offsets(arr);
+            assertEquals(60, offsets.size());
+            for (int i = 0; i < 60; i++)
+                assertEquals(i, (int) offsets.get(i));
+        }
+    }
+
+    @Test
+    public void testViewsVisitEveryElementInMemoryOrder() {
+        INDArray arr = Nd4j.linspace(1, 120, 120).reshape(4, 5, 6);
+        INDArray[] views = {
+                arr.permute(2, 0, 1),
+                arr.get(NDArrayIndex.interval(1, 3), NDArrayIndex.all(), NDArrayIndex.interval(2, 5)),
+                arr.tensorAlongDimension(1, 0, 2),
+                arr.dup('f').get(NDArrayIndex.all(), NDArrayIndex.point(2), NDArrayIndex.interval(0, 4))
+        };
+        for (INDArray view : views) {
+            List<Integer> offsets = offsets(view);
+            List<Integer> expected = new ArrayList<>();
+            NdIndexIterator iter = new NdIndexIterator(view.shape());
+            while (iter.hasNext())
+                expected.add((int) Shape.getOffset(view.shapeInfo(), iter.next()));
+            assertEquals(view.length(), offsets.size());
+
+            //memory order: the offsets only ever increase
+            for (int i = 1; i < offsets.size(); i++)
+                assertTrue(offsets.get(i) > offsets.get(i - 1));
+            Collections.sort(expected);
+            assertEquals(expected, offsets);
+        }
+    }
+
+    @Test
+    public void testPairsMatchElements() {
+        INDArray x = Nd4j.linspace(1, 60, 60).reshape(3, 4, 5);
+        INDArray y = x.dup('f');
+        final DataBuffer xData = x.data();
+        final DataBuffer yData = y.data();
+        final int[] count = new int[1];
+        StridedLoop.forEachOffset(x, y, new OffsetPairVisitor() {
+            @Override
+            public void visit(int offsetX, int offsetY) {
+                assertEquals(xData.getDouble(offsetX), yData.getDouble(offsetY), 0);
+                count[0]++;
+            }
+        });
+        assertEquals(60, count[0]);
+    }
+
+    @Test
+    public void testApplyOnView() {
+        INDArray arr = Nd4j.linspace(1, 20, 20).reshape(4, 5);
+        INDArray view = arr.get(NDArrayIndex.interval(1, 3), NDArrayIndex.interval(1, 4));
+        INDArray expected = arr.dup();
+        expected.get(NDArrayIndex.interval(1, 3), NDArrayIndex.interval(1, 4)).muli(-1);
+
+        StridedLoop.apply(view, new ScalarFunction() {
+            @Override
+            public double apply(double value) {
+                return -value;
+            }
+        });
+        assertEquals(expected, arr);
+    }
+
+    @Test
+    public void testTransformOnStridedViews() {
+        INDArray arr = Nd4j.linspace(1, 120, 120).reshape(4, 5, 6);
+        INDArray permuted = arr.permute(2, 0, 1);
+        INDArray other = Nd4j.linspace(1, 120, 120).reshape(6, 4, 5);
+        INDArray expected = permuted.dup('c').addi(other);
+        assertEquals(expected, permuted.add(other));
+
+        INDArray view = arr.get(NDArrayIndex.interval(1, 3), NDArrayIndex.all(), NDArrayIndex.interval(2, 5));
+        INDArray viewExpected = view.dup().muli(2);
+        view.muli(2);
+        assertEquals(viewExpected, view);
+    }
+
+    @Test
+    public void testBooleanIndexingOnView() {
+        INDArray arr = Nd4j.linspace(1, 20, 20).reshape(4, 5);
+        INDArray view = arr.get(NDArrayIndex.all(), NDArrayIndex.interval(0, 2));
+        assertTrue(BooleanIndexing.and(view, Conditions.lessThan(18)));
+        assertFalse(BooleanIndexing.and(arr, Conditions.lessThan(18)));
+        assertTrue(BooleanIndexing.or(view, Conditions.greaterThan(16)));
+        assertFalse(BooleanIndexing.or(view, Conditions.greaterThan(17)));
+    }
+
+    @Test
+    public void testCopyKernelsAllRanks() {
+        int[][] shapes = {{1, 7}, {3, 4}, {2, 3, 4}, {2, 3, 2, 5}, {3, 1, 2, 2, 3}};
+        for (int[] shape : shapes) {
+            int length = 1;
+            for (int size : shape)
+                length *= size;
+            INDArray arr = Nd4j.linspace(1, length, length).reshape(shape);
+            int[] rearrange = new int[shape.length];
+            for (int i = 0; i < shape.length; i++)
+                rearrange[i] = shape.length - 1 - i;
+            INDArray permuted = arr.permute(rearrange);
+
+            for (char order : new char[] {'c', 'f'}) {
+                INDArray out = Nd4j.create(permuted.shape(), order);
+                StridedKernels.copy(permuted, out);
+                NdIndexIterator iter = new NdIndexIterator(permuted.shape());
+                while (iter.hasNext()) {
+                    int[] next = iter.next();
+                    assertEquals(permuted.getDouble(next), out.getDouble(next), 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCopyKernelRange() {
+        INDArray arr = Nd4j.linspace(1, 60, 60).reshape(3, 4, 5);
+        INDArray view = arr.permute(2, 1, 0);
+        INDArray out = Nd4j.create(view.shape(), 'c');
+        StridedLoop loop = new StridedLoop(view, out);
+        //split the outermost dimension in 2, as the parallel transforms do
+        int mid = loop.outerLength() / 2;
+        StridedKernels.copy(loop, 0, view.data(), 1, out.data(), 0, mid);
+        StridedKernels.copy(loop, 0, view.data(), 1, out.data(), mid, loop.outerLength());
+        assertEquals(view, out);
+    }
+
+    @Test
+    public void testDupAndAssignOnViews() {
+        INDArray arr = Nd4j.linspace(1, 120, 120).reshape(4, 5, 6);
+        INDArray view = arr.get(NDArrayIndex.interval(1, 3), NDArrayIndex.all(), NDArrayIndex.interval(2, 5));
+        INDArray dupC = view.dup('c');
+        INDArray dupF = view.dup('f');
+        assertEquals(view, dupC);
+        assertEquals(view, dupF);
+
+        INDArray target = Nd4j.zeros(4, 5, 6);
+        target.get(NDArrayIndex.interval(1, 3), NDArrayIndex.all(), NDArrayIndex.interval(2, 5)).assign(dupF);
+        assertEquals(view, target.get(NDArrayIndex.interval(1, 3), NDArrayIndex.all(), NDArrayIndex.interval(2, 5)));
+        assertEquals(view.sumNumber().doubleValue(), target.sumNumber().doubleValue(), 1e-3);
+    }
+
+    @Test
+    public void testToFlattenedViews() {
+        INDArray first = Nd4j.linspace(1, 12, 12).reshape(3, 4);
+        INDArray second = Nd4j.linspace(13, 36, 24).reshape(2, 3, 4).permute(2, 0, 1);
+        for (char order : new char[] {'c', 'f'}) {
+            INDArray flat = Nd4j.toFlattened(order, first, second);
+            int i = 0;
+            for (INDArray arr : new INDArray[] {first, second}) {
+                NdIndexIterator iter = new NdIndexIterator(order, arr.shape());
+                while (iter.hasNext())
+                    assertEquals(arr.getDouble(iter.next()), flat.getDouble(i++), 0);
+            }
+            assertEquals(36, i);
+        }
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
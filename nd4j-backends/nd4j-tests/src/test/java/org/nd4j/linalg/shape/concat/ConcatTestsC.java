@@ -279,6 +279,96 @@ public class ConcatTestsC extends BaseNd4jTest {
     }
 
 
+    @Test
+    public void testConcatInToOutput() {
+        INDArray first = Nd4j.linspace(1, 6, 6).reshape(2, 3);
+        INDArray second = Nd4j.linspace(7, 10, 4).reshape(2, 2);
+        for (char order : new char[] {'c', 'f'}) {
+            INDArray out = Nd4j.create(new int[] {2, 5}, order);
+            INDArray ret = Nd4j.concat(out, 1, first, second.dup('f'));
+            assertTrue(ret == out);
+            assertEquals(Nd4j.hstack(first, second), out);
+
+            out = Nd4j.create(new int[] {5, 2}, order);
+            Nd4j.concat(out, 0, first.transpose(), second);
+            assertEquals(Nd4j.vstack(first.transpose(), second), out);
+        }
+
+        //in to a view: the rest of the array is untouched
+        INDArray big = Nd4j.zeros(4, 6);
+        INDArray view = big.get(NDArrayIndex.interval(1, 3), NDArrayIndex.interval(1, 6));
+        Nd4j.concat(view, 1, first, second);
+        assertEquals(Nd4j.hstack(first, second), view);
+        assertEquals(Nd4j.hstack(first, second).sumNumber().doubleValue(), big.sumNumber().doubleValue(), 1e-6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConcatInToWrongOutput() {
+        Nd4j.concat(Nd4j.create(2, 4), 1, Nd4j.create(2, 3), Nd4j.create(2, 2));
+    }
+
+    @Test
+    public void testToFlattenedInToOutput() {
+        INDArray first = Nd4j.linspace(1, 6, 6).reshape(2, 3);
+        INDArray second = Nd4j.linspace(7, 18, 12).reshape(3, 4).transpose();
+        INDArray third = Nd4j.linspace(19, 27, 9).reshape(3, 3).getColumn(1);
+        for (char order : new char[] {'c', 'f'}) {
+            INDArray out = Nd4j.create(1, 21);
+            INDArray ret = Nd4j.toFlattened(out, order, first, second, third);
+            assertTrue(ret == out);
+            assertEquals(Nd4j.toFlattened(order, first, second, third), out);
+        }
+
+        //in to a strided view
+        INDArray column = Nd4j.create(21, 2).getColumn(1);
+        Nd4j.toFlattened(column, 'c', first, second, third);
+        assertEquals(Nd4j.toFlattened('c', first, second, third), column.reshape(1, 21));
+    }
+
+    @Test
+    public void testUnflattenViews() {
+        INDArray first = Nd4j.linspace(1, 6, 6).reshape(2, 3);
+        INDArray second = Nd4j.linspace(7, 18, 12).reshape(3, 4);
+        for (char order : new char[] {'c', 'f'}) {
+            INDArray flat = Nd4j.toFlattened(order, first, second);
+            INDArray[] views = Nd4j.unflatten(flat, order, new int[] {2, 3}, new int[] {3, 4});
+            assertEquals(first, views[0]);
+            assertEquals(second, views[1]);
+
+            //the views share the buffer of the vector both ways
+            views[1].putScalar(2, 1, 100);
+            assertEquals(100, flat.getDouble(6 + (order == 'c' ? 9 : 5)), 0);
+            flat.putScalar(1, -1);
+            assertEquals(-1, views[0].getDouble(order == 'c' ? 0 : 1, order == 'c' ? 1 : 0), 0);
+        }
+
+        //views of a vector which is itself a view
+        INDArray big = Nd4j.create(3, 18);
+        INDArray row = big.getRow(1);
+        Nd4j.toFlattened(row, 'c', first, second);
+        INDArray[] views = Nd4j.unflatten(row, 'c', new int[] {2, 3}, new int[] {3, 4});
+        assertEquals(first, views[0]);
+        assertEquals(second, views[1]);
+        assertEquals(0, big.getRow(0).sumNumber().doubleValue(), 0);
+        assertEquals(0, big.getRow(2).sumNumber().doubleValue(), 0);
+    }
+
+    @Test
+    public void testUnflattenRankOneShapes() {
+        INDArray weights = Nd4j.linspace(1, 6, 6).reshape(2, 3);
+        INDArray bias = Nd4j.create(new double[] {7, 8, 9});
+        INDArray flat = Nd4j.toFlattened('f', weights, bias);
+        INDArray[] views = Nd4j.unflatten(flat, 'f', new int[] {2, 3}, new int[] {3});
+        assertEquals(weights, views[0]);
+        assertArrayEquals(new int[] {1, 3}, views[1].shape());
+        assertEquals(bias, views[1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnflattenWrongLength() {
+        Nd4j.unflatten(Nd4j.create(1, 10), 'c', new int[] {2, 3}, new int[] {2, 3});
+    }
+
     @Override
     public char ordering() {
         return 'c';
@@ -149,6 +149,9 @@ public abstract class BaseDataBuffer implements DataBuffer {
             pointer = underlyingBuffer.pointer();
             indexer = underlyingBuffer.indexer();
         }
+
+        if(allocationMode == AllocationMode.DIRECT)
+            wrappedBuffer = underlyingBuffer.asNio();
     }
 
     /**
@@ -182,9 +185,16 @@ public abstract class BaseDataBuffer implements DataBuffer {
         allocationMode = AllocUtil.getAllocationModeFromContext();
         initTypeAndSize();
 
-        pointer = new FloatPointer(data);
-        indexer = FloatIndexer.create((FloatPointer)pointer);
-        wrappedBuffer = pointer.asByteBuffer();
+        if(allocationMode == AllocationMode.DIRECT) {
+            allocateDirect(data.length);
+            for(int i = 0; i < data.length; i++)
+                put(i, data[i]);
+        }
+        else {
+            pointer = new FloatPointer(data);
+            indexer = FloatIndexer.create((FloatPointer)pointer);
+            wrappedBuffer = pointer.asByteBuffer();
+        }
 
         length = data.length;
         underlyingLength = data.length;
@@ -212,9 +222,16 @@ public abstract class BaseDataBuffer implements DataBuffer {
         allocationMode = AllocUtil.getAllocationModeFromContext();
         initTypeAndSize();
 
-        pointer = new DoublePointer(data);
-        indexer = DoubleIndexer.create((DoublePointer)pointer);
-        wrappedBuffer = pointer.asByteBuffer();
+        if(allocationMode == AllocationMode.DIRECT) {
+            allocateDirect(data.length);
+            for(int i = 0; i < data.length; i++)
+                put(i, data[i]);
+        }
+        else {
+            pointer = new DoublePointer(data);
+            indexer = DoubleIndexer.create((DoublePointer)pointer);
+            wrappedBuffer = pointer.asByteBuffer();
+        }
 
         length = data.length;
         underlyingLength = data.length;
@@ -242,9 +259,16 @@ public abstract class BaseDataBuffer implements DataBuffer {
         allocationMode = AllocUtil.getAllocationModeFromContext();
         initTypeAndSize();
 
-        pointer = new IntPointer(data);
-        indexer = IntIndexer.create((IntPointer)pointer);
-        wrappedBuffer = pointer.asByteBuffer();
+        if(allocationMode == AllocationMode.DIRECT) {
+            allocateDirect(data.length);
+            for(int i = 0; i < data.length; i++)
+                put(i, data[i]);
+        }
+        else {
+            pointer = new IntPointer(data);
+            indexer = IntIndexer.create((IntPointer)pointer);
+            wrappedBuffer = pointer.asByteBuffer();
+        }
 
         length = data.length;
         underlyingLength = data.length;
@@ -300,7 +324,10 @@ public abstract class BaseDataBuffer implements DataBuffer {
         this.underlyingLength = length;
         this.elementSize = elementSize;
 
-        if(dataType() == Type.DOUBLE) {
+        if(allocationMode == AllocationMode.DIRECT) {
+            allocateDirect(length);
+        }
+        else if(dataType() == Type.DOUBLE) {
             pointer = new DoublePointer(length);
             indexer = DoubleIndexer.create((DoublePointer)pointer);
         }
@@ -343,7 +370,18 @@ public abstract class BaseDataBuffer implements DataBuffer {
         this.length = length;
         allocationMode = AllocUtil.getAllocationModeFromContext();
 
-        if(dataType() == Type.DOUBLE) {
+        if(allocationMode == AllocationMode.DIRECT) {
+            allocateDirect(length);
+            for(int i = 0; i < length; i++) {
+                if(dataType() == Type.DOUBLE)
+                    put(i, buffer.asDoubleBuffer().get(i));
+                else if(dataType() == Type.FLOAT)
+                    put(i, buffer.asFloatBuffer().get(i));
+                else
+                    put(i, buffer.asIntBuffer().get(i));
+            }
+        }
+        else if(dataType() == Type.DOUBLE) {
             pointer = new DoublePointer(buffer.asDoubleBuffer());
             indexer = DoubleIndexer.create((DoublePointer)pointer);
         }
@@ -425,6 +463,27 @@ public abstract class BaseDataBuffer implements DataBuffer {
         Pointer.memset(this.pointer(),0,getElementSize() * length());
     }
 
+    /**
+     * Allocate the buffer as java nio direct memory
+     * accessed through nio indexers rather than a javacpp pointer.
+     * Used for {@link AllocationMode#DIRECT}, so no native library is needed
+     * (the buffer has no pointer and can't be handed to native code)
+     *
+     * @param length the number of elements to allocate
+     */
+    protected void allocateDirect(long length) {
+        if(getElementSize() * length >= Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Unable to create buffer of length " + length);
+        pointer = null;
+        wrappedBuffer = ByteBuffer.allocateDirect((int) (getElementSize() * length)).order(ByteOrder.nativeOrder());
+        if(dataType() == Type.DOUBLE)
+            indexer = DoubleIndexer.create(wrappedBuffer.asDoubleBuffer());
+        else if(dataType() == Type.FLOAT)
+            indexer = FloatIndexer.create(wrappedBuffer.asFloatBuffer());
+        else
+            indexer = IntIndexer.create(wrappedBuffer.asIntBuffer());
+    }
+
     /**
      * Instantiate a buffer with the given length
      *
@@ -444,7 +503,11 @@ public abstract class BaseDataBuffer implements DataBuffer {
         if(length < 0)
             throw new IllegalArgumentException("Unable to create a buffer of length <= 0");
 
-        if(dataType() == Type.DOUBLE) {
+        //direct nio memory is always zeroed
+        if(allocationMode == AllocationMode.DIRECT) {
+            allocateDirect(length);
+        }
+        else if(dataType() == Type.DOUBLE) {
             pointer = new DoublePointer(length());
             indexer = DoubleIndexer.create((DoublePointer)pointer);
             if(initialize) fillPointerWithZero();
@@ -489,6 +552,8 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
     @Override
     public Pointer addressPointer() {
+        if (pointer == null)
+            return null;
         if (offset() > 0) {
             if(dataType() == Type.DOUBLE) {
                 return new DoublePointer(pointer) { { address = pointer.address() + getElementSize() * offset(); } };
@@ -994,6 +1059,8 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
     @Override
     public boolean sameUnderlyingData(DataBuffer buffer) {
+        if(pointer() == null)
+            return buffer.pointer() == null && asNio() == buffer.asNio();
         return pointer() == buffer.pointer();
     }
 
@@ -1195,7 +1262,18 @@ public abstract class BaseDataBuffer implements DataBuffer {
             else if(type == Type.FLOAT || type == Type.INT)
                 elementSize = 4;
 
-            if(type == Type.DOUBLE) {
+            if(allocationMode == AllocationMode.DIRECT) {
+                allocateDirect(length());
+                for(int i = 0; i < length(); i++) {
+                    if(type == Type.DOUBLE)
+                        put(i,s.readDouble());
+                    else if(type == Type.FLOAT)
+                        put(i,s.readFloat());
+                    else
+                        put(i,s.readInt());
+                }
+            }
+            else if(type == Type.DOUBLE) {
                 pointer = new DoublePointer(length());
                 indexer = DoubleIndexer.create((DoublePointer) pointer);
                 for(int i = 0; i < length(); i++) {
@@ -38,6 +38,7 @@ public abstract class Nd4jBackend {
 
     public static final int BACKEND_PRIORITY_CPU =   0;
     public static final int BACKEND_PRIORITY_GPU = 100;
+    public static final int BACKEND_PRIORITY_JAVA = -100;
 
     private static final Logger log = LoggerFactory.getLogger(Nd4jBackend.class);
 
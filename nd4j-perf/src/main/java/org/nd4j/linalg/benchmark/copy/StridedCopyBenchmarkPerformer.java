@@ -0,0 +1,23 @@
+package org.nd4j.linalg.benchmark.copy;
+
+import org.nd4j.linalg.benchmark.api.BaseBenchmarkPerformer;
+
+/**
+ * Benchmark the strided copy kernels
+ * ({@link org.nd4j.linalg.api.shape.loop.strided.StridedKernels})
+ * against a generic strided loop.
+ *
+ * @author Adam Gibson
+ */
+public class StridedCopyBenchmarkPerformer extends BaseBenchmarkPerformer {
+
+    /**
+     * @param nTimes the number of trials
+     * @param shape the shape of the array to copy
+     * @param kernel whether to use the copy kernels
+     */
+    public StridedCopyBenchmarkPerformer(int nTimes, int[] shape, boolean kernel) {
+        super(new StridedCopyOpRunner(shape, kernel), nTimes);
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.nd4j.linalg.benchmark.copy;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.shape.loop.strided.OffsetPairVisitor;
+import org.nd4j.linalg.api.shape.loop.strided.StridedKernels;
+import org.nd4j.linalg.api.shape.loop.strided.StridedLoop;
+import org.nd4j.linalg.benchmark.api.OpRunner;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.util.ArrayUtil;
+
+/**
+ * Copies a permuted view in to a 'c' ordered array,
+ * either with the strided copy kernels or with a generic strided loop
+ * calling back for every element.
+ *
+ * @author Adam Gibson
+ */
+public class StridedCopyOpRunner implements OpRunner {
+    INDArray src;
+    INDArray dst;
+    boolean kernel;
+
+    /**
+     * @param shape the shape of the array that is permuted (dimensions reversed) and copied
+     * @param kernel whether to use the copy kernels rather than the generic loop
+     */
+    public StridedCopyOpRunner(int[] shape, boolean kernel) {
+        int[] rearrange = new int[shape.length];
+        for (int i = 0; i < shape.length; i++)
+            rearrange[i] = shape.length - 1 - i;
+        src = Nd4j.rand(shape).permute(rearrange);
+        dst = Nd4j.create(ArrayUtil.reverseCopy(shape), 'c');
+        this.kernel = kernel;
+    }
+
+    @Override
+    public void runOp() {
+        if (kernel) {
+            StridedKernels.copy(src, dst);
+        } else {
+            final DataBuffer srcData = src.data();
+            final DataBuffer dstData = dst.data();
+            StridedLoop.forEachOffset(src, dst, new OffsetPairVisitor() {
+                @Override
+                public void visit(int offsetX, int offsetY) {
+                    dstData.put(offsetY, srcData.getDouble(offsetX));
+                }
+            });
+        }
+    }
+}
@@ -11,6 +11,18 @@ public class GemmBenchmarkPerformer extends BaseBenchmarkPerformer {
         super(new GemmOpRunner(),nTimes);
     }
 
+    /**
+     * Benchmark square matrix multiplies,
+     * either with the backend's gemm or with the java tiled gemm
+     * (see {@link org.nd4j.linalg.api.blas.Level3#gemmTiled}).
+     * @param nTimes the number of trials
+     * @param size the number of rows and columns of the matrices
+     * @param tiled whether to use the java tiled gemm
+     */
+    public GemmBenchmarkPerformer(int nTimes, int size, boolean tiled) {
+        super(new GemmOpRunner(size, tiled),nTimes);
+    }
+
 
 
 }
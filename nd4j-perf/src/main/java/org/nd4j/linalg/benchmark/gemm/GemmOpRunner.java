@@ -8,11 +8,35 @@ import org.nd4j.linalg.factory.Nd4j;
  * @author Adam Gibson
  */
 public class GemmOpRunner implements OpRunner {
-    INDArray arr = Nd4j.create(1000000);
-    INDArray arr2 = arr.transpose();
+    INDArray arr;
+    INDArray arr2;
+    INDArray result;
+    boolean tiled;
+
+    public GemmOpRunner() {
+        arr = Nd4j.create(1000000);
+        arr2 = arr.transpose();
+    }
+
+    /**
+     * Multiply two random size x size matrices
+     * @param size the number of rows and columns of the matrices
+     * @param tiled whether to use the java tiled gemm rather than the backend's gemm
+     */
+    public GemmOpRunner(int size, boolean tiled) {
+        arr = Nd4j.rand('f', new int[]{size, size});
+        arr2 = Nd4j.rand('f', new int[]{size, size});
+        result = Nd4j.create(new int[]{size, size}, 'f');
+        this.tiled = tiled;
+    }
 
     @Override
     public void runOp() {
-        arr.mmul(arr2);
+        if (result == null)
+            arr.mmul(arr2);
+        else if (tiled)
+            Nd4j.getBlasWrapper().level3().gemmTiled(arr, arr2, result, false, false, 1.0, 0.0);
+        else
+            Nd4j.getBlasWrapper().level3().gemm(arr, arr2, result, false, false, 1.0, 0.0);
     }
 }
@@ -0,0 +1,34 @@
+package org.nd4j.linalg.benchmark.knn;
+
+import org.nd4j.linalg.benchmark.api.BaseBenchmarkPerformer;
+
+/**
+ * Benchmark the latency of approximate nearest neighbour search
+ * ({@link org.nd4j.linalg.knn.HnswIndex}) against brute force search.
+ * The recall of the index is available from {@link #recall()}.
+ *
+ * @author Adam Gibson
+ */
+public class HnswBenchmarkPerformer extends BaseBenchmarkPerformer {
+
+    /**
+     * @param nTimes the number of trials
+     * @param rows the number of indexed rows
+     * @param columns the length of every row
+     * @param queries the number of queries per trial
+     * @param k the number of neighbours per query
+     * @param ef the number of candidates kept while searching
+     * @param bruteForce whether to search with brute force instead of the index
+     */
+    public HnswBenchmarkPerformer(int nTimes, int rows, int columns, int queries, int k, int ef, boolean bruteForce) {
+        super(new HnswOpRunner(rows, columns, queries, k, ef, bruteForce), nTimes);
+    }
+
+    /**
+     * The recall of the index against brute force search
+     */
+    public double recall() {
+        return ((HnswOpRunner) runner).recall();
+    }
+
+}
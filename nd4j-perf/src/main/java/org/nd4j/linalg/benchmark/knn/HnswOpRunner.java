@@ -0,0 +1,67 @@
+package org.nd4j.linalg.benchmark.knn;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.accum.distances.Distance;
+import org.nd4j.linalg.benchmark.api.OpRunner;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.knn.HnswIndex;
+
+/**
+ * Searches a batch of random queries in an hnsw index over random rows,
+ * or with brute force search for comparison.
+ * The index is built once up front; {@link #recall()} measures the recall of the index against brute force.
+ *
+ * @author Adam Gibson
+ */
+public class HnswOpRunner implements OpRunner {
+    HnswIndex index;
+    INDArray queries;
+    int k, ef;
+    boolean bruteForce;
+
+    /**
+     * @param rows the number of indexed rows
+     * @param columns the length of every row
+     * @param queries the number of queries per run
+     * @param k the number of neighbours per query
+     * @param ef the number of candidates kept while searching
+     * @param bruteForce whether to search with {@link Nd4j#knn(INDArray, INDArray, int, Distance)} instead of the index
+     */
+    public HnswOpRunner(int rows, int columns, int queries, int k, int ef, boolean bruteForce) {
+        this.index = new HnswIndex(Nd4j.rand(rows, columns), Distance.EUCLIDEAN);
+        if (!bruteForce)
+            index.build();
+        this.queries = Nd4j.rand(queries, columns);
+        this.k = k;
+        this.ef = ef;
+        this.bruteForce = bruteForce;
+    }
+
+    @Override
+    public void runOp() {
+        if (bruteForce)
+            Nd4j.knn(index.getVectors(), queries, k, Distance.EUCLIDEAN);
+        else
+            index.search(queries, k, ef);
+    }
+
+    /**
+     * The fraction of the exact neighbours of the queries the index finds
+     * @return the recall
+     */
+    public double recall() {
+        if (bruteForce)
+            return 1;
+        INDArray exact = Nd4j.knn(index.getVectors(), queries, k, Distance.EUCLIDEAN)[0];
+        INDArray approximate = index.search(queries, k, ef)[0];
+        int hits = 0;
+        for (int q = 0; q < exact.rows(); q++)
+            for (int i = 0; i < k; i++)
+                for (int j = 0; j < k; j++)
+                    if (exact.getInt(q, i) == approximate.getInt(q, j)) {
+                        hits++;
+                        break;
+                    }
+        return hits / (double) exact.length();
+    }
+}